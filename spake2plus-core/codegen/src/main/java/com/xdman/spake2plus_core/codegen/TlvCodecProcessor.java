@@ -0,0 +1,580 @@
+package com.xdman.spake2plus_core.codegen;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.Messager;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.TypeKind;
+import javax.tools.Diagnostic;
+import javax.tools.JavaFileObject;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Generates {@code <Class>Codec} for every {@link TlvMessage} class.
+ * <p>
+ * The generated encoder sizes the APDU up front and writes tags, lengths and values straight into a
+ * single exact-size array; tag bytes and fixed lengths are emitted as constants. The generated
+ * decoder walks the APDU once with {@code TlvReader} and switches on the tag. Neither uses
+ * reflection or format strings.
+ */
+@SupportedAnnotationTypes("com.xdman.spake2plus_core.codegen.TlvMessage")
+public class TlvCodecProcessor extends AbstractProcessor {
+  private static final String RUNTIME_PACKAGE = "com.xdman.spake2plus_core.model.tlv";
+  // Locals of the generated methods; fields become locals of the same name
+  private static final Set<String> RESERVED_NAMES = Set.of(
+	"message", "apdu", "offset", "length", "reader", "nested", "trailer", "dataLength", "out", "p");
+
+  private enum Kind { BYTES, HEX, INT }
+
+  private record Field(String name, String label, Kind kind, boolean primitive, int tag, boolean mandatory, int length, int parent) {
+  }
+
+  private record Container(int tag, String label, List<Field> children) {
+	boolean mandatory() {
+	  return children.stream().anyMatch(Field::mandatory);
+	}
+  }
+
+  /**
+   * A top-level entry: either a field or a constructed TLV, in encoding order
+   */
+  private record Item(Field field, Container container) {
+  }
+
+  @Override
+  public SourceVersion getSupportedSourceVersion() {
+	return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+	for (Element element : roundEnv.getElementsAnnotatedWith(TlvMessage.class)) {
+	  if (element.getKind() != ElementKind.CLASS) {
+		error(element, "@TlvMessage is only supported on classes");
+		continue;
+	  }
+	  TypeElement type = (TypeElement) element;
+	  List<Item> items = collect(type);
+	  if (items != null) {
+		write(type, items);
+	  }
+	}
+	return true;
+  }
+
+  private List<Item> collect(TypeElement type) {
+	TlvMessage message = type.getAnnotation(TlvMessage.class);
+	if (message.header().length != 0 && message.header().length != 4) {
+	  error(type, "@TlvMessage header must be CLA, INS, P1 and P2");
+	  return null;
+	}
+
+	Map<Integer, Container> containers = new LinkedHashMap<>();
+	for (TlvConstructed constructed : message.constructed()) {
+	  containers.put(constructed.tag(), new Container(constructed.tag(), constructed.name(), new ArrayList<>()));
+	}
+
+	List<Item> items = new ArrayList<>();
+	Set<Integer> topLevelTags = new HashSet<>();
+	Map<Integer, Set<Integer>> nestedTags = new LinkedHashMap<>();
+	boolean valid = true;
+
+	for (Element member : type.getEnclosedElements()) {
+	  TlvField annotation = member.getAnnotation(TlvField.class);
+	  if (member.getKind() != ElementKind.FIELD || annotation == null) {
+		continue;
+	  }
+	  VariableElement variable = (VariableElement) member;
+	  Field field = toField(variable, annotation);
+	  if (field == null) {
+		valid = false;
+		continue;
+	  }
+
+	  if (field.parent() == 0) {
+		if (!topLevelTags.add(field.tag())) {
+		  error(variable, "Duplicate TLV tag " + hex(field.tag()));
+		  valid = false;
+		}
+		items.add(new Item(field, null));
+		continue;
+	  }
+
+	  Container container = containers.get(field.parent());
+	  if (container == null) {
+		error(variable, "No @TlvConstructed declared for parent tag " + hex(field.parent()));
+		valid = false;
+		continue;
+	  }
+	  if (!nestedTags.computeIfAbsent(container.tag(), t -> new HashSet<>()).add(field.tag())) {
+		error(variable, "Duplicate TLV tag " + hex(field.tag()) + " in " + container.label());
+		valid = false;
+	  }
+	  if (container.children().isEmpty()) {
+		if (!topLevelTags.add(container.tag())) {
+		  error(variable, "Duplicate TLV tag " + hex(container.tag()));
+		  valid = false;
+		}
+		items.add(new Item(null, container));
+	  }
+	  container.children().add(field);
+	}
+	return valid ? items : null;
+  }
+
+  private Field toField(VariableElement variable, TlvField annotation) {
+	Kind kind;
+	boolean primitive = false;
+	String type = variable.asType().toString();
+	if (variable.asType().getKind() == TypeKind.ARRAY && type.equals("byte[]")) {
+	  kind = Kind.BYTES;
+	} else if (type.equals("java.lang.String")) {
+	  kind = Kind.HEX;
+	} else if (type.equals("java.lang.Integer") || type.equals("int")) {
+	  kind = Kind.INT;
+	  primitive = type.equals("int");
+	} else {
+	  error(variable, "Unsupported @TlvField type " + type + "; use byte[], String or Integer");
+	  return null;
+	}
+
+	if (kind == Kind.INT && annotation.length() != 1 && annotation.length() != 2 && annotation.length() != 4) {
+	  error(variable, "Integer @TlvField needs a length of 1, 2 or 4");
+	  return null;
+	}
+	if (primitive && !annotation.mandatory()) {
+	  error(variable, "Optional @TlvField must not be a primitive");
+	  return null;
+	}
+	if (RESERVED_NAMES.contains(variable.getSimpleName().toString())) {
+	  error(variable, "@TlvField name clashes with a local of the generated codec");
+	  return null;
+	}
+	if (annotation.tag() <= 0 || annotation.tag() > 0xFFFFFF) {
+	  error(variable, "@TlvField tag must be 1 to 3 bytes");
+	  return null;
+	}
+	return new Field(
+	  variable.getSimpleName().toString(),
+	  annotation.name(),
+	  kind,
+	  primitive,
+	  annotation.tag(),
+	  annotation.mandatory(),
+	  annotation.length(),
+	  annotation.parent()
+	);
+  }
+
+  private void write(TypeElement type, List<Item> items) {
+	TlvMessage message = type.getAnnotation(TlvMessage.class);
+	String packageName = ((PackageElement) processingEnv.getElementUtils().getPackageOf(type)).getQualifiedName().toString();
+	String className = type.getSimpleName().toString();
+	String codecName = className + "Codec";
+
+	Source out = new Source();
+	out.line("package " + packageName + ";");
+	out.line("");
+	if (!packageName.equals(RUNTIME_PACKAGE)) {
+	  out.line("import " + RUNTIME_PACKAGE + ".TlvReader;");
+	  out.line("import " + RUNTIME_PACKAGE + ".TlvWriter;");
+	}
+	out.line("import javax.annotation.processing.Generated;");
+	out.line("");
+	out.line("/**");
+	out.line(" * Generated from {@link " + className + "}. Do not edit.");
+	out.line(" */");
+	out.line("@Generated(\"" + TlvCodecProcessor.class.getName() + "\")");
+	out.line("final class " + codecName + " {");
+	out.indent();
+	out.line("private " + codecName + "() {");
+	out.line("}");
+	out.line("");
+	writeEncode(out, className, message, items);
+	out.line("");
+	writeDecode(out, className, message, items);
+	out.outdent();
+	out.line("}");
+
+	try {
+	  JavaFileObject file = processingEnv.getFiler().createSourceFile(packageName + "." + codecName, type);
+	  try (Writer writer = file.openWriter()) {
+		writer.write(out.toString());
+	  }
+	} catch (IOException e) {
+	  error(type, "Failed to write " + codecName + ": " + e.getMessage());
+	}
+  }
+
+  private void writeEncode(Source out, String className, TlvMessage message, List<Item> items) {
+	boolean command = message.header().length == 4;
+	out.line("static byte[] encode(" + className + " message) {");
+	out.indent();
+
+	// Read and check every field once
+	for (Field field : fields(items)) {
+	  String getter = "message." + accessor("get", field.name()) + "()";
+	  String local = local(field);
+	  switch (field.kind()) {
+		case BYTES -> out.line("byte[] " + local + " = " + getter + ";");
+		case HEX -> out.line("byte[] " + local + " = TlvWriter.fromHex(" + getter + ");");
+		case INT -> out.line((field.primitive() ? "int " : "Integer ") + local + " = " + getter + ";");
+	  }
+	  if (field.mandatory() && !field.primitive()) {
+		out.line("if (" + local + " == null) {");
+		out.line("  throw new IllegalArgumentException(\"Missing mandatory field: " + escape(field.label()) + "\");");
+		out.line("}");
+	  }
+	  if (field.kind() != Kind.INT && field.length() >= 0) {
+		out.line("if (" + local + " != null && " + local + ".length != " + field.length() + ") {");
+		out.line("  throw new IllegalArgumentException(\"" + escape(field.label()) + " must be exactly " + bytes(field.length()) + "\");");
+		out.line("}");
+	  }
+	}
+	out.line("");
+
+	// Size everything up front so the output is allocated once at its exact size
+	List<String> dataTerms = new ArrayList<>();
+	for (Item item : items) {
+	  if (item.field() != null) {
+		dataTerms.add(sizeTerm(item.field()));
+		continue;
+	  }
+	  Container container = item.container();
+	  List<String> terms = new ArrayList<>();
+	  for (Field child : container.children()) {
+		terms.add(sizeTerm(child));
+	  }
+	  String contentLength = containerLocal(container);
+	  out.line("int " + contentLength + " = " + String.join(" + ", terms) + ";");
+	  String size = "TlvWriter.sizeOf(" + tagBytes(container.tag()).length + ", " + contentLength + ")";
+	  dataTerms.add(container.mandatory() ? size : "(" + contentLength + " == 0 ? 0 : " + size + ")");
+	}
+	out.line("int dataLength = " + (dataTerms.isEmpty() ? "0" : String.join(" + ", dataTerms)) + ";");
+
+	if (command) {
+	  out.line("if (dataLength > 255) {");
+	  out.line("  throw new IllegalArgumentException(\"Command data longer than 255 bytes\");");
+	  out.line("}");
+	  out.line("");
+	  out.line("byte[] out = new byte[5 + dataLength + 1];");
+	  int[] header = message.header();
+	  out.line("out[0] = " + byteLiteral(header[0]) + "; // CLA");
+	  out.line("out[1] = " + byteLiteral(header[1]) + "; // INS");
+	  out.line("out[2] = " + byteLiteral(header[2]) + "; // P1");
+	  out.line("out[3] = " + byteLiteral(header[3]) + "; // P2");
+	  out.line("out[4] = (byte) dataLength; // Lc");
+	  out.line("int p = 5;");
+	} else {
+	  out.line("");
+	  out.line("byte[] out = new byte[dataLength + 2];");
+	  out.line("int p = 0;");
+	}
+
+	for (Item item : items) {
+	  if (item.field() != null) {
+		writeField(out, item.field());
+		continue;
+	  }
+	  Container container = item.container();
+	  String contentLength = containerLocal(container);
+	  if (!container.mandatory()) {
+		out.line("if (" + contentLength + " != 0) {");
+		out.indent();
+	  }
+	  writeTag(out, container.tag());
+	  out.line("p = TlvWriter.writeLength(out, p, " + contentLength + ");");
+	  for (Field child : container.children()) {
+		writeField(out, child);
+	  }
+	  if (!container.mandatory()) {
+		out.outdent();
+		out.line("}");
+	  }
+	}
+
+	if (command) {
+	  out.line("out[p] = 0x00; // Le");
+	} else {
+	  out.line("out[p++] = (byte) 0x90;");
+	  out.line("out[p] = 0x00;");
+	}
+	out.line("return out;");
+	out.outdent();
+	out.line("}");
+  }
+
+  private void writeField(Source out, Field field) {
+	String local = local(field);
+	boolean optional = !field.mandatory();
+	if (optional) {
+	  out.line("if (" + local + " != null) {");
+	  out.indent();
+	}
+	writeTag(out, field.tag());
+	if (field.kind() == Kind.INT) {
+	  out.line("out[p++] = " + byteLiteral(field.length()) + ";");
+	  for (int shift = (field.length() - 1) * 8; shift >= 0; shift -= 8) {
+		String value = shift == 0 ? (field.primitive() ? local : "(int) " + local) : "(" + local + " >>> " + shift + ")";
+		out.line("out[p++] = (byte) " + value + ";");
+	  }
+	} else {
+	  out.line("p = TlvWriter.writeValue(out, p, " + local + ");");
+	}
+	if (optional) {
+	  out.outdent();
+	  out.line("}");
+	}
+  }
+
+  private void writeDecode(Source out, String className, TlvMessage message, List<Item> items) {
+	boolean command = message.header().length == 4;
+	out.line("static void decode(" + className + " message, byte[] apdu, int offset, int length) {");
+	out.indent();
+
+	if (command) {
+	  out.line("if (apdu == null || length == 0) {");
+	  out.line("  throw new IllegalArgumentException(\"APDU cannot be null or empty\");");
+	  out.line("}");
+	  out.line("if (length < 6) {");
+	  out.line("  throw new IllegalArgumentException(\"Command APDU too short\");");
+	  out.line("}");
+	  out.line("// Data part: after command header (5 bytes) and before trailer (1 byte)");
+	  out.line("TlvReader reader = TlvReader.of(apdu, offset + 5, length - 6);");
+	} else if (message.trailerRequired()) {
+	  out.line("if (apdu == null || length < 2 || apdu[offset + length - 2] != (byte) 0x90 || apdu[offset + length - 1] != 0x00) {");
+	  out.line("  throw new IllegalArgumentException(\"Invalid response format: must end with 9000\");");
+	  out.line("}");
+	  out.line("TlvReader reader = TlvReader.of(apdu, offset, length - 2);");
+	} else {
+	  out.line("if (apdu == null || length == 0) {");
+	  out.line("  throw new IllegalArgumentException(\"APDU cannot be null or empty\");");
+	  out.line("}");
+	  out.line("// Skip success trailer if present");
+	  out.line("boolean trailer = length >= 2 && apdu[offset + length - 2] == (byte) 0x90 && apdu[offset + length - 1] == 0x00;");
+	  out.line("TlvReader reader = TlvReader.of(apdu, offset, trailer ? length - 2 : length);");
+	}
+	out.line("");
+
+	for (Field field : fields(items)) {
+	  String type = switch (field.kind()) {
+		case BYTES -> "byte[]";
+		case HEX -> "String";
+		case INT -> "Integer";
+	  };
+	  out.line(type + " " + local(field) + " = null;");
+	}
+	for (Item item : items) {
+	  if (item.container() != null) {
+		out.line("boolean " + containerLocal(item.container()) + " = false;");
+	  }
+	}
+	out.line("");
+
+	out.line("while (reader.next()) {");
+	out.indent();
+	out.line("switch (reader.tag()) {");
+	out.indent();
+	for (Item item : items) {
+	  if (item.field() != null) {
+		writeCase(out, "reader", item.field());
+		continue;
+	  }
+	  Container container = item.container();
+	  String seen = containerLocal(container);
+	  out.line("case " + hex(container.tag()) + " -> {");
+	  out.indent();
+	  out.line("if (!reader.isConstructed()) {");
+	  out.line("  throw new IllegalArgumentException(\"" + escape(container.label()) + " must be a constructed TLV\");");
+	  out.line("}");
+	  out.line("if (!" + seen + ") {");
+	  out.indent();
+	  out.line(seen + " = true;");
+	  out.line("TlvReader nested = reader.enter();");
+	  out.line("while (nested.next()) {");
+	  out.indent();
+	  out.line("switch (nested.tag()) {");
+	  out.indent();
+	  for (Field child : container.children()) {
+		writeCase(out, "nested", child);
+	  }
+	  out.line("default -> {");
+	  out.line("}");
+	  out.outdent();
+	  out.line("}");
+	  out.outdent();
+	  out.line("}");
+	  out.outdent();
+	  out.line("}");
+	  out.outdent();
+	  out.line("}");
+	}
+	out.line("default -> {");
+	out.line("}");
+	out.outdent();
+	out.line("}");
+	out.outdent();
+	out.line("}");
+	out.line("");
+
+	// Mandatory checks in encoding order, then hand the values over
+	for (Item item : items) {
+	  if (item.container() != null && item.container().mandatory()) {
+		out.line("if (!" + containerLocal(item.container()) + ") {");
+		out.line("  throw new IllegalArgumentException(\"Missing mandatory field: " + escape(item.container().label()) + "\");");
+		out.line("}");
+	  }
+	  List<Field> group = item.field() != null ? List.of(item.field()) : item.container().children();
+	  for (Field field : group) {
+		if (field.mandatory()) {
+		  out.line("if (" + local(field) + " == null) {");
+		  out.line("  throw new IllegalArgumentException(\"Missing mandatory field: " + escape(field.label()) + "\");");
+		  out.line("}");
+		}
+	  }
+	}
+	for (Field field : fields(items)) {
+	  String set = "message." + accessor("set", field.name()) + "(" + local(field) + ");";
+	  out.line(field.mandatory() ? set : "if (" + local(field) + " != null) " + set);
+	}
+	out.outdent();
+	out.line("}");
+  }
+
+  private void writeCase(Source out, String reader, Field field) {
+	String local = local(field);
+	out.line("case " + hex(field.tag()) + " -> {");
+	out.indent();
+	out.line("if (" + local + " == null) {");
+	out.indent();
+	if (field.kind() == Kind.INT || field.length() >= 0) {
+	  out.line("if (" + reader + ".valueLength() != " + field.length() + ") {");
+	  out.line("  throw new IllegalArgumentException(\"" + escape(field.label()) + " must be exactly " + bytes(field.length()) + "\");");
+	  out.line("}");
+	}
+	String value = switch (field.kind()) {
+	  case BYTES -> reader + ".valueBytes()";
+	  case HEX -> reader + ".valueHex()";
+	  case INT -> switch (field.length()) {
+		case 1 -> reader + ".buffer()[" + reader + ".valueOffset()] & 0xFF";
+		case 2 -> "(int) " + reader + ".valueShort()";
+		default -> reader + ".valueInt()";
+	  };
+	};
+	out.line(local + " = " + value + ";");
+	out.outdent();
+	out.line("}");
+	out.outdent();
+	out.line("}");
+  }
+
+  private static List<Field> fields(List<Item> items) {
+	List<Field> fields = new ArrayList<>();
+	for (Item item : items) {
+	  if (item.field() != null) {
+		fields.add(item.field());
+	  } else {
+		fields.addAll(item.container().children());
+	  }
+	}
+	return fields;
+  }
+
+  private static String sizeTerm(Field field) {
+	int tagLength = tagBytes(field.tag()).length;
+	String size = field.kind() == Kind.INT
+	  ? String.valueOf(tagLength + 1 + field.length())
+	  : "TlvWriter.sizeOf(" + tagLength + ", " + local(field) + ".length)";
+	return field.mandatory() ? size : "(" + local(field) + " == null ? 0 : " + size + ")";
+  }
+
+  private static void writeTag(Source out, int tag) {
+	for (byte b : tagBytes(tag)) {
+	  out.line("out[p++] = " + byteLiteral(b & 0xFF) + ";");
+	}
+  }
+
+  private static byte[] tagBytes(int tag) {
+	if (tag > 0xFFFF) {
+	  return new byte[]{(byte) (tag >>> 16), (byte) (tag >>> 8), (byte) tag};
+	}
+	if (tag > 0xFF) {
+	  return new byte[]{(byte) (tag >>> 8), (byte) tag};
+	}
+	return new byte[]{(byte) tag};
+  }
+
+  private static String byteLiteral(int value) {
+	return value < 0x80 ? String.format("0x%02X", value) : String.format("(byte) 0x%02X", value);
+  }
+
+  private static String hex(int tag) {
+	return String.format("0x%02X", tag);
+  }
+
+  private static String bytes(int length) {
+	return length + (length == 1 ? " byte" : " bytes");
+  }
+
+  private static String local(Field field) {
+	return field.name();
+  }
+
+  private static String containerLocal(Container container) {
+	return "constructed" + Integer.toHexString(container.tag()).toUpperCase();
+  }
+
+  private static String accessor(String prefix, String name) {
+	return prefix + Character.toUpperCase(name.charAt(0)) + name.substring(1);
+  }
+
+  private static String escape(String text) {
+	return text.replace("\\", "\\\\").replace("\"", "\\\"");
+  }
+
+  private void error(Element element, String message) {
+	Messager messager = processingEnv.getMessager();
+	messager.printMessage(Diagnostic.Kind.ERROR, message, element);
+  }
+
+  /**
+   * Minimal indenting writer for the generated source
+   */
+  private static final class Source {
+	private final StringBuilder text = new StringBuilder();
+	private int depth;
+
+	void line(String line) {
+	  if (!line.isEmpty()) {
+		text.append("  ".repeat(depth));
+	  }
+	  text.append(line).append('\n');
+	}
+
+	void indent() {
+	  depth++;
+	}
+
+	void outdent() {
+	  depth--;
+	}
+
+	@Override
+	public String toString() {
+	  return text.toString();
+	}
+  }
+}
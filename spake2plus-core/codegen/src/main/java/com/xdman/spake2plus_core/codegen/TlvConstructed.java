@@ -0,0 +1,21 @@
+package com.xdman.spake2plus_core.codegen;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A constructed TLV grouping the fields whose {@link TlvField#parent()} is {@link #tag()}. It is
+ * written where its first field is declared.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target({})
+public @interface TlvConstructed {
+
+  int tag();
+
+  /**
+   * Used in error messages
+   */
+  String name();
+}
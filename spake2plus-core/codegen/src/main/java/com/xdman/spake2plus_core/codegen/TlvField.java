@@ -0,0 +1,41 @@
+package com.xdman.spake2plus_core.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * A TLV field of a {@link TlvMessage}. Fields are encoded in declaration order and read through the
+ * class's {@code getX}/{@code setX} accessors.
+ * <p>
+ * Supported types: {@code byte[]} (raw value), {@code String} (value as hex) and
+ * {@code Integer}/{@code int} (big-endian, {@link #length()} of 1, 2 or 4; two-byte values are read
+ * as signed shorts).
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.FIELD)
+public @interface TlvField {
+
+  /**
+   * Tag bytes as an int, e.g. {@code 0x5B} or {@code 0x7F50}
+   */
+  int tag();
+
+  /**
+   * Used in error messages
+   */
+  String name();
+
+  boolean mandatory() default true;
+
+  /**
+   * Exact value length in bytes, or -1 for any length. Required for integer fields.
+   */
+  int length() default -1;
+
+  /**
+   * Tag of the enclosing {@link TlvConstructed}, or 0 for a top-level field
+   */
+  int parent() default 0;
+}
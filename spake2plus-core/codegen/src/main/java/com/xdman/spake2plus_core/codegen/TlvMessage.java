@@ -0,0 +1,33 @@
+package com.xdman.spake2plus_core.codegen;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a TLV message class for {@link TlvCodecProcessor}, which generates a {@code <Class>Codec}
+ * with static {@code encode} and {@code decode} methods in the same package.
+ * <p>
+ * With a {@link #header()} the message is a command APDU: {@code CLA INS P1 P2 Lc [Data] 00}.
+ * Without one it is a response APDU: {@code [Data] 90 00}.
+ */
+@Retention(RetentionPolicy.SOURCE)
+@Target(ElementType.TYPE)
+public @interface TlvMessage {
+
+  /**
+   * CLA, INS, P1 and P2 of a command APDU; empty for a response
+   */
+  int[] header() default {};
+
+  /**
+   * Whether decoding a response requires the 90 00 status word. Encoding always appends it.
+   */
+  boolean trailerRequired() default true;
+
+  /**
+   * Constructed TLVs that {@link TlvField#parent()} can refer to
+   */
+  TlvConstructed[] constructed() default {};
+}
@@ -0,0 +1,97 @@
+package com.xdman.spake2plus_core.crypto;
+
+import org.bouncycastle.math.ec.ECPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the BouncyCastle default multiplier (wNAF with per-point precomputation) against the
+ * comb tables of {@link FixedBaseMultiplier}.
+ * <p>
+ * The {@code *Pairing} benchmarks replay every fixed-base multiplication that one inter-service
+ * pairing performs across {@code Spake2PlusDeviceService} and {@code Spake2PlusVehicleService}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FixedBaseMultiplierBenchmark {
+  private BigInteger w0;
+  private BigInteger w1;
+  private BigInteger x;
+  private BigInteger y;
+
+  @Setup
+  public void setUp() {
+	SecureRandom random = new SecureRandom();
+	w0 = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+	w1 = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+	x = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+	y = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+  }
+
+  @Benchmark
+  public ECPoint defaultMultiplyG() {
+	return FixedBaseMultiplier.G.multiply(x).normalize();
+  }
+
+  @Benchmark
+  public ECPoint fixedBaseMultiplyG() {
+	return FixedBaseMultiplier.multiplyG(x);
+  }
+
+  @Benchmark
+  public ECPoint defaultMultiplyM() {
+	return FixedBaseMultiplier.M.multiply(w0).normalize();
+  }
+
+  @Benchmark
+  public ECPoint fixedBaseMultiplyM() {
+	return FixedBaseMultiplier.multiplyM(w0);
+  }
+
+  @Benchmark
+  public void defaultPairing(Blackhole blackhole) {
+	// Device: processSpake2PlusRequest
+	blackhole.consume(FixedBaseMultiplier.G.multiply(w1).normalize());
+	blackhole.consume(FixedBaseMultiplier.G.multiply(x).add(FixedBaseMultiplier.M.multiply(w0)).normalize());
+	// Vehicle: validateSpake2PlusRequest
+	blackhole.consume(FixedBaseMultiplier.G.multiply(w1).normalize());
+	blackhole.consume(FixedBaseMultiplier.G.multiply(y).add(FixedBaseMultiplier.N.multiply(w0)).normalize());
+	blackhole.consume(FixedBaseMultiplier.M.multiply(w0).normalize());
+	// Device: processSpake2PlusVerifyRequest
+	blackhole.consume(FixedBaseMultiplier.N.multiply(w0).normalize());
+	blackhole.consume(FixedBaseMultiplier.N.multiply(w0).normalize());
+	blackhole.consume(FixedBaseMultiplier.G.multiply(x).add(FixedBaseMultiplier.M.multiply(w0)).normalize());
+  }
+
+  @Benchmark
+  public void fixedBasePairing(Blackhole blackhole) {
+	// Device: processSpake2PlusRequest
+	blackhole.consume(FixedBaseMultiplier.multiplyG(w1));
+	blackhole.consume(FixedBaseMultiplier.multiplyG(x).add(FixedBaseMultiplier.multiplyM(w0)).normalize());
+	// Vehicle: validateSpake2PlusRequest
+	blackhole.consume(FixedBaseMultiplier.multiplyG(w1));
+	blackhole.consume(FixedBaseMultiplier.multiplyG(y).add(FixedBaseMultiplier.multiplyN(w0)).normalize());
+	blackhole.consume(FixedBaseMultiplier.multiplyM(w0));
+	// Device: processSpake2PlusVerifyRequest
+	blackhole.consume(FixedBaseMultiplier.multiplyN(w0));
+	blackhole.consume(FixedBaseMultiplier.multiplyN(w0));
+	blackhole.consume(FixedBaseMultiplier.multiplyG(x).add(FixedBaseMultiplier.multiplyM(w0)).normalize());
+  }
+}
@@ -0,0 +1,86 @@
+package com.xdman.spake2plus_core.crypto;
+
+import org.bouncycastle.math.ec.ECAlgorithms;
+import org.bouncycastle.math.ec.ECPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Share generation (x*G + w0*M) and share unblinding (x*(Y - w0*N), w1*(Y - w0*N)) as computed
+ * before and after the interleaved multi-scalar paths of {@link FixedBaseMultiplier}.
+ * <p>
+ * {@code unblindInterleavedWnaf} rewrites the unblinding as x*Y + (-x*w0)*N and evaluates it with
+ * BouncyCastle's interleaved wNAF (Shamir's trick), for comparison with the comb-based path.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MultiScalarBenchmark {
+  private BigInteger w0;
+  private BigInteger w1;
+  private BigInteger x;
+  private ECPoint Y;
+
+  @Setup
+  public void setUp() {
+	SecureRandom random = new SecureRandom();
+	w0 = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+	w1 = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+	x = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+	BigInteger y = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+	Y = FixedBaseMultiplier.multiplyGPlusN(y, w0);
+  }
+
+  @Benchmark
+  public ECPoint shareSeparateDefault() {
+	return FixedBaseMultiplier.G.multiply(x).add(FixedBaseMultiplier.M.multiply(w0)).normalize();
+  }
+
+  @Benchmark
+  public ECPoint shareSeparateComb() {
+	return FixedBaseMultiplier.multiplyG(x).add(FixedBaseMultiplier.multiplyM(w0)).normalize();
+  }
+
+  @Benchmark
+  public ECPoint shareInterleavedComb() {
+	return FixedBaseMultiplier.multiplyGPlusM(x, w0);
+  }
+
+  @Benchmark
+  public void unblindDefault(Blackhole blackhole) {
+	// A fresh decode per iteration, as in processSpake2PlusVerifyRequest
+	ECPoint peer = FixedBaseMultiplier.CURVE.decodePoint(Y.getEncoded(false));
+	blackhole.consume(peer.subtract(FixedBaseMultiplier.N.multiply(w0)).multiply(x).normalize());
+	blackhole.consume(peer.subtract(FixedBaseMultiplier.N.multiply(w0)).multiply(w1).normalize());
+  }
+
+  @Benchmark
+  public void unblindInterleavedWnaf(Blackhole blackhole) {
+	ECPoint peer = FixedBaseMultiplier.CURVE.decodePoint(Y.getEncoded(false));
+	BigInteger n = FixedBaseMultiplier.ORDER;
+	blackhole.consume(ECAlgorithms.sumOfTwoMultiplies(peer, x, FixedBaseMultiplier.N, x.multiply(w0).negate().mod(n)).normalize());
+	blackhole.consume(ECAlgorithms.sumOfTwoMultiplies(peer, w1, FixedBaseMultiplier.N, w1.multiply(w0).negate().mod(n)).normalize());
+  }
+
+  @Benchmark
+  public ECPoint[] unblindShared() {
+	ECPoint peer = FixedBaseMultiplier.CURVE.decodePoint(Y.getEncoded(false));
+	return FixedBaseMultiplier.multiplyUnblindedByN(peer, w0, x, w1);
+  }
+}
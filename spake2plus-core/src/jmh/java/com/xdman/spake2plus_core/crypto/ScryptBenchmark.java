@@ -0,0 +1,60 @@
+package com.xdman.spake2plus_core.crypto;
+
+import org.bouncycastle.crypto.generators.SCrypt;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * scrypt derivation with the SPAKE2+ parameters (Nscrypt = 4096, r = 8, p = 1, 80 output bytes),
+ * computed by BouncyCastle, by {@link ScryptEngine} and served from {@link ScryptKeyCache}. Compare
+ * {@code gc.alloc.rate.norm} of {@code derive} and {@code deriveReusingArena}: the first allocates the 4 MiB
+ * V table on every call, the second only the output and a few small buffers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScryptBenchmark {
+  private static final int SCRYPT_COST = 4096;
+  private static final int BLOCK_SIZE = 8;
+  private static final int PARALLELIZATION = 1;
+  private static final int LENGTH = 80;
+
+  private final byte[] password = "benchmarkPassword".getBytes();
+  private final byte[] salt = new byte[16];
+  private ScryptKeyCache cache;
+
+  @Setup
+  public void setUp() {
+	cache = new ScryptKeyCache(16, Duration.ofHours(1), true);
+	cache.derive(password, salt, SCRYPT_COST, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+  }
+
+  @Benchmark
+  public byte[] derive() {
+	return SCrypt.generate(password, salt, SCRYPT_COST, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+  }
+
+  @Benchmark
+  public byte[] deriveReusingArena() {
+	return ScryptEngine.generate(password, salt, SCRYPT_COST, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+  }
+
+  @Benchmark
+  public byte[] deriveCached() {
+	return cache.derive(password, salt, SCRYPT_COST, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+  }
+}
@@ -0,0 +1,53 @@
+package com.xdman.spake2plus_core.crypto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link ScryptEngine} latency with the scalar and the Vector API Salsa20/8 core, at the current
+ * {@code DEFAULT_SCRYPT_COST} (4096) and the larger costs it could be raised to (r = 8, p = 1, 80 output
+ * bytes). The vector rows need the JVM started with {@code --add-modules jdk.incubator.vector}, which the
+ * jmh task passes; {@code vectorized} falls back to scalar otherwise, and the setup log says so.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScryptCostBenchmark {
+  private static final int BLOCK_SIZE = 8;
+  private static final int PARALLELIZATION = 1;
+  private static final int LENGTH = 80;
+
+  @Param({"4096", "16384", "65536"})
+  private int cost;
+
+  @Param({"false", "true"})
+  private boolean vectorSalsa;
+
+  private final byte[] password = "benchmarkPassword".getBytes();
+  private final byte[] salt = new byte[16];
+  private ScryptEngine engine;
+
+  @Setup
+  public void setUp() {
+	engine = ScryptEngine.create(vectorSalsa);
+  }
+
+  @Benchmark
+  public byte[] derive() {
+	return engine.derive(password, salt, cost, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+  }
+}
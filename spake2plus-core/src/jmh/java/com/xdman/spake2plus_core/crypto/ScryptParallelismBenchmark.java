@@ -0,0 +1,58 @@
+package com.xdman.spake2plus_core.crypto;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of one scrypt derivation (Nscrypt = 4096, r = 8, 80 output bytes) against the parallelization
+ * parameter p, with the ROMix lanes run one after the other and on the lane pool (one slot per processor).
+ * Run it on a box with at least p cores; on fewer the parallel rows converge on the sequential ones.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ScryptParallelismBenchmark {
+  private static final int SCRYPT_COST = 4096;
+  private static final int BLOCK_SIZE = 8;
+  private static final int LENGTH = 80;
+
+  @Param({"1", "2", "4", "8"})
+  private int parallelization;
+
+  @Param({"false", "true"})
+  private boolean parallelLanes;
+
+  private final byte[] password = "benchmarkPassword".getBytes();
+  private final byte[] salt = new byte[16];
+  private ScryptEngine engine;
+
+  @Setup
+  public void setUp() {
+	engine = ScryptEngine.create(false, parallelLanes ? Runtime.getRuntime().availableProcessors() : 0);
+  }
+
+  @TearDown
+  public void tearDown() {
+	engine.close();
+  }
+
+  @Benchmark
+  public byte[] derive() {
+	return engine.derive(password, salt, SCRYPT_COST, BLOCK_SIZE, parallelization, LENGTH);
+  }
+}
@@ -0,0 +1,108 @@
+package com.xdman.spake2plus_core.crypto;
+
+import org.bouncycastle.math.ec.ECPoint;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per-pairing steps after scrypt: EC share generation, shared-secret computation, the
+ * transcript hash, the HKDF key derivations and the CMAC evidence.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class Spake2PlusBenchmark {
+  private BigInteger w0;
+  private BigInteger w1;
+  private BigInteger x;
+  private BigInteger y;
+  private ECPoint X;
+  private ECPoint Y;
+  private ECPoint L;
+  private ECPoint Z;
+  private ECPoint V;
+  private byte[] encodedY;
+  private byte[] CK;
+  private byte[] SK;
+  private byte[] K1;
+
+  @Setup
+  public void setUp() {
+	SecureRandom random = new SecureRandom();
+	w0 = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+	w1 = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+	x = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+	y = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+	X = FixedBaseMultiplier.multiplyGPlusM(x, w0);
+	Y = FixedBaseMultiplier.multiplyGPlusN(y, w0);
+	L = FixedBaseMultiplier.multiplyG(w1);
+	ECPoint[] unblinded = FixedBaseMultiplier.multiplyUnblindedByN(Y, w0, x, w1);
+	Z = unblinded[0];
+	V = unblinded[1];
+	encodedY = Y.getEncoded(false);
+
+	byte[] K = Spake2PlusKeySchedule.computeK(w0, X, Y, Z, V);
+	CK = Arrays.copyOfRange(K, 0, 16);
+	SK = Arrays.copyOfRange(K, 16, 32);
+	K1 = Arrays.copyOfRange(Spake2PlusKeySchedule.deriveEvidenceKeys(CK), 0, 16);
+  }
+
+  @Benchmark
+  public ECPoint deviceShare() {
+	return FixedBaseMultiplier.multiplyGPlusM(x, w0);
+  }
+
+  @Benchmark
+  public ECPoint vehicleShare() {
+	return FixedBaseMultiplier.multiplyGPlusN(y, w0);
+  }
+
+  @Benchmark
+  public ECPoint[] deviceSharedSecret() {
+	ECPoint peer = FixedBaseMultiplier.CURVE.decodePoint(encodedY);
+	return FixedBaseMultiplier.multiplyUnblindedByN(peer, w0, x, w1);
+  }
+
+  @Benchmark
+  public ECPoint[] vehicleSharedSecret() {
+	ECPoint peer = FixedBaseMultiplier.CURVE.decodePoint(X.getEncoded(false));
+	ECPoint Zv = FixedBaseMultiplier.multiplyUnblindedByM(peer, w0, y)[0];
+	return new ECPoint[] {Zv, L.multiply(y).normalize()};
+  }
+
+  @Benchmark
+  public byte[] transcriptHash() {
+	return Spake2PlusKeySchedule.computeK(w0, X, Y, Z, V);
+  }
+
+  @Benchmark
+  public byte[] hkdfEvidenceKeys() {
+	return Spake2PlusKeySchedule.deriveEvidenceKeys(CK);
+  }
+
+  @Benchmark
+  public byte[] hkdfSystemKeys() {
+	return Spake2PlusKeySchedule.deriveSystemKeys(SK, false);
+  }
+
+  @Benchmark
+  public byte[] cmacEvidence() {
+	return Spake2PlusKeySchedule.computeCMAC(K1, encodedY);
+  }
+}
@@ -0,0 +1,225 @@
+package com.xdman.spake2plus_core.model.tlv;
+
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.crypto.FixedBaseMultiplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * encode() and decode() of every SPAKE2+ pairing APDU, using messages shaped like the ones the
+ * services exchange. The *Bytes variants use the binary API the workflows carry; the others include
+ * the hex conversion done at the JSON endpoints.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TlvCodecBenchmark {
+  private SelectCommandTlv selectCommand;
+  private ResponseToSelectCommandTlv selectResponse;
+  private Spake2PlusRequestCommandTlv requestCommand;
+  private Spake2PlusRequestResponseTlv requestResponse;
+  private Spake2PlusVerifyCommandTlv verifyCommand;
+  private Spake2PlusVerifyResponseTlv verifyResponse;
+
+  private String selectCommandHex;
+  private String selectResponseHex;
+  private String requestCommandHex;
+  private String requestResponseHex;
+  private String verifyCommandHex;
+  private String verifyResponseHex;
+
+  private byte[] selectCommandBytes;
+  private byte[] selectResponseBytes;
+  private byte[] requestCommandBytes;
+  private byte[] requestResponseBytes;
+  private byte[] verifyCommandBytes;
+  private byte[] verifyResponseBytes;
+
+  @Setup
+  public void setUp() {
+	byte[] salt = new byte[16];
+	for (int i = 0; i < salt.length; i++) {
+	  salt[i] = (byte) (i + 1);
+	}
+	byte[] point = FixedBaseMultiplier.multiplyG(BigInteger.valueOf(0x5EED)).getEncoded(false);
+	byte[] evidence = new byte[16];
+
+	selectCommand = new SelectCommandTlv();
+
+	selectResponse = new ResponseToSelectCommandTlv();
+	selectResponse.setFrameworkVersions(new byte[]{0x01, 0x00});
+	selectResponse.setProtocolVersions(new byte[]{0x01, 0x00});
+	selectResponse.setPairingMode(ResponseToSelectCommandTlv.PAIRING_MODE_STARTED_WITH_PASSWORD);
+
+	requestCommand = new Spake2PlusRequestCommandTlv();
+	requestCommand.setScryptConfig(ByteBuffer.allocate(24).put(salt).putInt(4096).putShort((short) 8).putShort((short) 1).array());
+	requestCommand.setCryptographicSalt(HexUtil.toHexString(salt));
+	requestCommand.setScryptCost(4096);
+	requestCommand.setBlockSize(8);
+	requestCommand.setParallelization(1);
+	requestCommand.setVodFwVersions(new byte[]{0x01, 0x00});
+	requestCommand.setDkProtocolVersions(new byte[]{0x01, 0x00});
+	requestCommand.setBtVersions(new byte[]{0x05, 0x00});
+	requestCommand.setVehicleBrand("0003");
+
+	requestResponse = new Spake2PlusRequestResponseTlv();
+	requestResponse.setCurvePointX(point);
+	requestResponse.setSelectedVodFwVersion(new byte[]{0x01, 0x00});
+
+	verifyCommand = new Spake2PlusVerifyCommandTlv();
+	verifyCommand.setCurvePointY(point);
+	verifyCommand.setVehicleEvidence(evidence);
+
+	verifyResponse = new Spake2PlusVerifyResponseTlv();
+	verifyResponse.setDeviceEvidence(evidence);
+
+	selectCommandHex = selectCommand.encode();
+	selectResponseHex = selectResponse.encode();
+	requestCommandHex = requestCommand.encode();
+	requestResponseHex = requestResponse.encode();
+	verifyCommandHex = verifyCommand.encode();
+	verifyResponseHex = verifyResponse.encode();
+
+	selectCommandBytes = selectCommand.encodeBytes();
+	selectResponseBytes = selectResponse.encodeBytes();
+	requestCommandBytes = requestCommand.encodeBytes();
+	requestResponseBytes = requestResponse.encodeBytes();
+	verifyCommandBytes = verifyCommand.encodeBytes();
+	verifyResponseBytes = verifyResponse.encodeBytes();
+  }
+
+  @Benchmark
+  public String selectCommandEncode() {
+	return selectCommand.encode();
+  }
+
+  @Benchmark
+  public SelectCommandTlv selectCommandDecode() {
+	return new SelectCommandTlv().decode(selectCommandHex);
+  }
+
+  @Benchmark
+  public byte[] selectCommandEncodeBytes() {
+	return selectCommand.encodeBytes();
+  }
+
+  @Benchmark
+  public SelectCommandTlv selectCommandDecodeBytes() {
+	return new SelectCommandTlv().decode(selectCommandBytes);
+  }
+
+  @Benchmark
+  public String selectResponseEncode() {
+	return selectResponse.encode();
+  }
+
+  @Benchmark
+  public ResponseToSelectCommandTlv selectResponseDecode() {
+	return new ResponseToSelectCommandTlv().decode(selectResponseHex);
+  }
+
+  @Benchmark
+  public byte[] selectResponseEncodeBytes() {
+	return selectResponse.encodeBytes();
+  }
+
+  @Benchmark
+  public ResponseToSelectCommandTlv selectResponseDecodeBytes() {
+	return new ResponseToSelectCommandTlv().decode(selectResponseBytes);
+  }
+
+  @Benchmark
+  public String requestCommandEncode() {
+	return requestCommand.encode();
+  }
+
+  @Benchmark
+  public Spake2PlusRequestCommandTlv requestCommandDecode() {
+	return new Spake2PlusRequestCommandTlv().decode(requestCommandHex);
+  }
+
+  @Benchmark
+  public byte[] requestCommandEncodeBytes() {
+	return requestCommand.encodeBytes();
+  }
+
+  @Benchmark
+  public Spake2PlusRequestCommandTlv requestCommandDecodeBytes() {
+	return new Spake2PlusRequestCommandTlv().decode(requestCommandBytes);
+  }
+
+  @Benchmark
+  public String requestResponseEncode() {
+	return requestResponse.encode();
+  }
+
+  @Benchmark
+  public Spake2PlusRequestResponseTlv requestResponseDecode() {
+	return new Spake2PlusRequestResponseTlv().decode(requestResponseHex);
+  }
+
+  @Benchmark
+  public byte[] requestResponseEncodeBytes() {
+	return requestResponse.encodeBytes();
+  }
+
+  @Benchmark
+  public Spake2PlusRequestResponseTlv requestResponseDecodeBytes() {
+	return new Spake2PlusRequestResponseTlv().decode(requestResponseBytes);
+  }
+
+  @Benchmark
+  public String verifyCommandEncode() {
+	return verifyCommand.encode();
+  }
+
+  @Benchmark
+  public Spake2PlusVerifyCommandTlv verifyCommandDecode() {
+	return new Spake2PlusVerifyCommandTlv().decode(verifyCommandHex);
+  }
+
+  @Benchmark
+  public byte[] verifyCommandEncodeBytes() {
+	return verifyCommand.encodeBytes();
+  }
+
+  @Benchmark
+  public Spake2PlusVerifyCommandTlv verifyCommandDecodeBytes() {
+	return new Spake2PlusVerifyCommandTlv().decode(verifyCommandBytes);
+  }
+
+  @Benchmark
+  public String verifyResponseEncode() {
+	return verifyResponse.encode();
+  }
+
+  @Benchmark
+  public Spake2PlusVerifyResponseTlv verifyResponseDecode() {
+	return new Spake2PlusVerifyResponseTlv().decode(verifyResponseHex);
+  }
+
+  @Benchmark
+  public byte[] verifyResponseEncodeBytes() {
+	return verifyResponse.encodeBytes();
+  }
+
+  @Benchmark
+  public Spake2PlusVerifyResponseTlv verifyResponseDecodeBytes() {
+	return new Spake2PlusVerifyResponseTlv().decode(verifyResponseBytes);
+  }
+}
@@ -0,0 +1,119 @@
+package com.xdman.spake2plus_core.model.tlv;
+
+import com.payneteasy.tlv.BerTag;
+import com.payneteasy.tlv.BerTlv;
+import com.payneteasy.tlv.BerTlvParser;
+import com.payneteasy.tlv.BerTlvs;
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.crypto.FixedBaseMultiplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Field extraction from already-parsed APDU bytes: the BerTlvParser tree plus one find() per field
+ * that the decoders used to do, against a single TlvReader walk. Run with the gc profiler (the
+ * default in build.gradle) and compare gc.alloc.rate.norm between the legacy* and reader* methods.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TlvParserBenchmark {
+  private static final BerTag VOD_FW_VERSIONS = new BerTag(0x5B);
+  private static final BerTag DK_PROTOCOL_VERSIONS = new BerTag(0x5C);
+  private static final BerTag BT_VERSIONS = new BerTag(0x5E);
+  private static final BerTag SCRYPT_CONFIG = new BerTag(0x7F, 0x50);
+  private static final BerTag VEHICLE_BRAND = new BerTag(0xD6);
+  private static final BerTag CURVE_POINT_Y = new BerTag(0x52);
+  private static final BerTag VEHICLE_EVIDENCE = new BerTag(0x57);
+
+  private byte[] requestCommand;
+  private byte[] verifyCommand;
+
+  @Setup
+  public void setUp() {
+	byte[] salt = new byte[16];
+	for (int i = 0; i < salt.length; i++) {
+	  salt[i] = (byte) (i + 1);
+	}
+	byte[] point = FixedBaseMultiplier.multiplyG(BigInteger.valueOf(0x5EED)).getEncoded(false);
+
+	Spake2PlusRequestCommandTlv request = new Spake2PlusRequestCommandTlv();
+	request.setScryptConfig(ByteBuffer.allocate(24).put(salt).putInt(4096).putShort((short) 8).putShort((short) 1).array());
+	request.setCryptographicSalt(HexUtil.toHexString(salt));
+	request.setScryptCost(4096);
+	request.setBlockSize(8);
+	request.setParallelization(1);
+	request.setVodFwVersions(new byte[]{0x01, 0x00});
+	request.setDkProtocolVersions(new byte[]{0x01, 0x00});
+	request.setBtVersions(new byte[]{0x05, 0x00});
+	request.setVehicleBrand("0003");
+	requestCommand = request.encodeBytes();
+
+	Spake2PlusVerifyCommandTlv verify = new Spake2PlusVerifyCommandTlv();
+	verify.setCurvePointY(point);
+	verify.setVehicleEvidence(new byte[16]);
+	verifyCommand = verify.encodeBytes();
+  }
+
+  @Benchmark
+  public void legacyRequestCommand(Blackhole bh) {
+	byte[] dataPart = new byte[requestCommand.length - 6];
+	System.arraycopy(requestCommand, 5, dataPart, 0, dataPart.length);
+	BerTlvs tlvs = new BerTlvParser().parse(dataPart);
+	bh.consume(tlvs.find(VOD_FW_VERSIONS).getBytesValue());
+	bh.consume(tlvs.find(DK_PROTOCOL_VERSIONS).getBytesValue());
+	bh.consume(tlvs.find(BT_VERSIONS).getBytesValue());
+	for (BerTlv tlv : tlvs.find(SCRYPT_CONFIG).getValues()) {
+	  bh.consume(tlv.getBytesValue());
+	}
+	bh.consume(tlvs.find(VEHICLE_BRAND).getBytesValue());
+  }
+
+  @Benchmark
+  public void readerRequestCommand(Blackhole bh) {
+	TlvReader reader = TlvReader.of(requestCommand, 5, requestCommand.length - 6);
+	while (reader.next()) {
+	  if (reader.isConstructed()) {
+		TlvReader scrypt = reader.enter();
+		while (scrypt.next()) {
+		  bh.consume(scrypt.valueOffset());
+		}
+	  } else {
+		bh.consume(reader.valueOffset());
+	  }
+	}
+  }
+
+  @Benchmark
+  public void legacyVerifyCommand(Blackhole bh) {
+	byte[] dataPart = new byte[verifyCommand.length - 6];
+	System.arraycopy(verifyCommand, 5, dataPart, 0, dataPart.length);
+	BerTlvs tlvs = new BerTlvParser().parse(dataPart);
+	bh.consume(tlvs.find(CURVE_POINT_Y).getBytesValue());
+	bh.consume(tlvs.find(VEHICLE_EVIDENCE).getBytesValue());
+  }
+
+  @Benchmark
+  public void readerVerifyCommand(Blackhole bh) {
+	TlvReader reader = TlvReader.of(verifyCommand, 5, verifyCommand.length - 6);
+	while (reader.next()) {
+	  bh.consume(reader.valueOffset());
+	}
+  }
+}
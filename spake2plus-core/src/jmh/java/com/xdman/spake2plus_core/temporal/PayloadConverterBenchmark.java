@@ -0,0 +1,135 @@
+package com.xdman.spake2plus_core.temporal;
+
+import com.xdman.spake2plus_core.crypto.EphemeralKeyPool;
+import com.xdman.spake2plus_core.crypto.ScryptKeyCache;
+import com.xdman.spake2plus_core.model.Spake2PlusRequestWrapper;
+import com.xdman.spake2plus_core.model.Spake2PlusResponseWrapper;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
+import com.xdman.spake2plus_core.service.Spake2PlusDeviceService;
+import com.xdman.spake2plus_core.service.Spake2PlusVehicleService;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.common.converter.JacksonJsonPayloadConverter;
+import io.temporal.common.converter.PayloadConverter;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON vs binary/spake2plus for the activity inputs and results a pairing records in its workflow
+ * histories. The payloads come from one real pairing run at setup. The converter benchmarks time the
+ * largest result, the REQUEST response with the device's scalars; {@link #historySize} reports the
+ * bytes of that result and of every crypto activity payload of the pairing through {@link PayloadBytes}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PayloadConverterBenchmark {
+  private static final String PASSWORD = "0102030405060708";
+  private static final String SALT = "0102030405060708090A0B0C0D0E0F10";
+
+  private final JacksonJsonPayloadConverter json = new JacksonJsonPayloadConverter();
+  private final Spake2PlusPayloadConverter binary = new Spake2PlusPayloadConverter();
+
+  private Spake2PlusResponseWrapper response;
+  private List<Object> history;
+  private Payload jsonPayload;
+  private Payload binaryPayload;
+
+  /**
+   * Payload bytes per invocation of {@link #historySize}, which runs once: one pairing
+   */
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class PayloadBytes {
+	public long responseJsonBytes;
+	public long responseBinaryBytes;
+	public long historyJsonBytes;
+	public long historyBinaryBytes;
+
+	@Setup(Level.Iteration)
+	public void reset() {
+	  responseJsonBytes = 0;
+	  responseBinaryBytes = 0;
+	  historyJsonBytes = 0;
+	  historyBinaryBytes = 0;
+	}
+  }
+
+  @Setup
+  public void setUp() {
+	ScryptKeyCache scryptKeyCache = new ScryptKeyCache(16, Duration.ofMinutes(1), false);
+	EphemeralKeyPool ephemeralKeyPool = new EphemeralKeyPool("benchmark", 0, 0, Duration.ofSeconds(1), false);
+	Spake2PlusVehicleService vehicleService = new Spake2PlusVehicleService(scryptKeyCache, ephemeralKeyPool);
+	Spake2PlusDeviceService deviceService = new Spake2PlusDeviceService(scryptKeyCache, ephemeralKeyPool);
+
+	Spake2PlusRequestWrapper request = vehicleService.createSpake2PlusRequest(PASSWORD, SALT);
+	response = deviceService.processSpake2PlusRequest(request.request(), PASSWORD);
+	Spake2PlusVerifyCommandTlv verifyCommand = vehicleService.validateSpake2PlusRequest(response.response(), request.config());
+	Spake2PlusVerifyResponseTlv verifyResponse = deviceService.processSpake2PlusVerifyRequest(verifyCommand, response.config());
+
+	// Inputs and results of the crypto activities of both workflows; the APDU exchanges are byte[] either way
+	history = List.of(
+	  request,
+	  request.request(), response,
+	  response.response(), request.config(), verifyCommand,
+	  verifyCommand, response.config(), verifyResponse
+	);
+
+	jsonPayload = json.toData(response).orElseThrow();
+	binaryPayload = binary.toData(response).orElseThrow();
+  }
+
+  private static long size(PayloadConverter converter, Object value) {
+	return converter.toData(value).orElseThrow().getSerializedSize();
+  }
+
+  @Benchmark
+  public Payload jsonToData() {
+	return json.toData(response).orElseThrow();
+  }
+
+  @Benchmark
+  public Spake2PlusResponseWrapper jsonFromData() {
+	return json.fromData(jsonPayload, Spake2PlusResponseWrapper.class, Spake2PlusResponseWrapper.class);
+  }
+
+  @Benchmark
+  public Payload binaryToData() {
+	return binary.toData(response).orElseThrow();
+  }
+
+  @Benchmark
+  public Spake2PlusResponseWrapper binaryFromData() {
+	return binary.fromData(binaryPayload, Spake2PlusResponseWrapper.class, Spake2PlusResponseWrapper.class);
+  }
+
+  @Benchmark
+  @BenchmarkMode(Mode.SingleShotTime)
+  @Warmup(iterations = 0)
+  @Measurement(iterations = 1)
+  public void historySize(PayloadBytes bytes) {
+	bytes.responseJsonBytes += size(json, response);
+	bytes.responseBinaryBytes += size(binary, response);
+	for (Object value : history) {
+	  bytes.historyJsonBytes += size(json, value);
+	  bytes.historyBinaryBytes += size(binary, value);
+	}
+  }
+}
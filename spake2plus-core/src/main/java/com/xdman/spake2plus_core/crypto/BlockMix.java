@@ -0,0 +1,22 @@
+package com.xdman.spake2plus_core.crypto;
+
+/**
+ * BlockMix_{Salsa20/8, r} over int words, as used by {@link ScryptEngine}'s ROMix.
+ * <p>
+ * An implementation may keep the 16 words of each 64-byte block in its own order ({@link #layout()}); the
+ * engine permutes the lane into that order once before ROMix and back once after it. XOR and copies are
+ * word-wise, so ROMix itself does not care about the order as long as word x0 stays first.
+ */
+interface BlockMix {
+
+  /**
+   * Mixes the 2r blocks at {@code xy[in]} into {@code xy[out]}, even blocks to the first half and odd
+   * blocks to the second. The two ranges must not overlap.
+   */
+  void mix(int[] xy, int in, int out, int r);
+
+  /**
+   * {@code layout()[i]} is the Salsa20 word stored at position i of a block, or null for the natural order
+   */
+  int[] layout();
+}
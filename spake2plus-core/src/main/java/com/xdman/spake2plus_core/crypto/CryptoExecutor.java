@@ -0,0 +1,141 @@
+package com.xdman.spake2plus_core.crypto;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Fixed pool for scrypt and EC work with a bounded queue.
+ * <p>
+ * {@code threads} workers (one per core by default) run the jobs, so a burst of pairings cannot
+ * oversubscribe the CPU or hold more than {@code threads} scrypt buffers at once. At most
+ * {@code queueCapacity} jobs wait; past that {@link #submit(Callable)} throws
+ * {@link RejectedExecutionException} at once, so the caller can push back instead of piling up work.
+ * When disabled, jobs run inline on the calling thread.
+ */
+public class CryptoExecutor implements AutoCloseable {
+  private final AtomicLong submitted = new AtomicLong();
+  private final AtomicLong rejected = new AtomicLong();
+  private final AtomicLong started = new AtomicLong();
+  private final AtomicLong waitNanos = new AtomicLong();
+  private final ThreadPoolExecutor executor;
+
+  public CryptoExecutor(int threads, int queueCapacity, boolean enabled) {
+	if (enabled) {
+	  AtomicInteger count = new AtomicInteger();
+	  this.executor = new ThreadPoolExecutor(
+		threads, threads, 0L, TimeUnit.MILLISECONDS,
+		new ArrayBlockingQueue<>(queueCapacity),
+		runnable -> {
+		  Thread thread = new Thread(runnable, "spake2plus-crypto-" + count.incrementAndGet());
+		  thread.setDaemon(true);
+		  return thread;
+		},
+		new ThreadPoolExecutor.AbortPolicy()
+	  );
+	  this.executor.prestartAllCoreThreads();
+	} else {
+	  this.executor = null;
+	}
+  }
+
+  public boolean isEnabled() {
+	return executor != null;
+  }
+
+  /**
+   * Queues {@code task} and returns its future; a failed task completes the future exceptionally
+   *
+   * @throws RejectedExecutionException when the queue is full or the executor is closed
+   */
+  public <T> CompletableFuture<T> submit(Callable<T> task) {
+	CompletableFuture<T> future = new CompletableFuture<>();
+	if (executor == null) {
+	  run(task, future);
+	  return future;
+	}
+	long queuedAt = System.nanoTime();
+	try {
+	  executor.execute(() -> {
+		waitNanos.addAndGet(System.nanoTime() - queuedAt);
+		started.incrementAndGet();
+		run(task, future);
+	  });
+	} catch (RejectedExecutionException e) {
+	  rejected.incrementAndGet();
+	  throw e;
+	}
+	submitted.incrementAndGet();
+	return future;
+  }
+
+  /**
+   * Runs {@code task} on the pool and waits for it, for callers that cannot complete asynchronously
+   *
+   * @throws RejectedExecutionException when the queue is full or the executor is closed
+   */
+  public <T> T call(Callable<T> task) throws Exception {
+	if (executor == null) {
+	  return task.call();
+	}
+	try {
+	  return submit(task).join();
+	} catch (CompletionException e) {
+	  throw e.getCause() instanceof Exception cause ? cause : e;
+	}
+  }
+
+  /**
+   * Jobs waiting for a worker
+   */
+  public int queueDepth() {
+	return executor == null ? 0 : executor.getQueue().size();
+  }
+
+  public int activeCount() {
+	return executor == null ? 0 : executor.getActiveCount();
+  }
+
+  public long submittedCount() {
+	return submitted.get();
+  }
+
+  public long rejectedCount() {
+	return rejected.get();
+  }
+
+  /**
+   * Jobs that have left the queue, the count for {@link #totalWaitNanos()}
+   */
+  public long startedCount() {
+	return started.get();
+  }
+
+  /**
+   * Total time jobs spent queued before a worker picked them up
+   */
+  public long totalWaitNanos() {
+	return waitNanos.get();
+  }
+
+  @Override
+  public void close() {
+	if (executor != null) {
+	  executor.shutdown();
+	}
+  }
+
+  private static <T> void run(Callable<T> task, CompletableFuture<T> future) {
+	try {
+	  future.complete(task.call());
+	} catch (Throwable e) {
+	  future.completeExceptionally(e);
+	}
+  }
+}
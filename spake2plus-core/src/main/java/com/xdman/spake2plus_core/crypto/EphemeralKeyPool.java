@@ -0,0 +1,143 @@
+package com.xdman.spake2plus_core.crypto;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Bounded pool of pre-generated SPAKE2+ ephemerals {@code (s, s*G)}.
+ * <p>
+ * A background thread tops the pool up to {@code capacity}, producing at most {@code refillBatch}
+ * keys per run, every {@code refillInterval} and whenever the pool drops below half full. Callers
+ * take keys without locking. A key leaves the queue exactly once and is never put back, so an
+ * ephemeral is never handed out twice. When the pool is empty, {@link #take()} generates a key
+ * inline and counts the miss as an exhaustion.
+ */
+@Slf4j
+public class EphemeralKeyPool implements AutoCloseable {
+  private final SecureRandom secureRandom = new SecureRandom();
+  private final Queue<EphemeralKey> keys = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger size = new AtomicInteger();
+  private final AtomicBoolean refillRequested = new AtomicBoolean();
+  private final AtomicLong produced = new AtomicLong();
+  private final AtomicLong consumed = new AtomicLong();
+  private final AtomicLong exhausted = new AtomicLong();
+  private final int capacity;
+  private final int refillBatch;
+  private final ScheduledExecutorService producer;
+
+  public EphemeralKeyPool(String name, int capacity, int refillBatch, Duration refillInterval, boolean enabled) {
+	this.capacity = enabled ? capacity : 0;
+	this.refillBatch = refillBatch;
+	if (this.capacity > 0) {
+	  this.producer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "spake2plus-ephemeral-" + name);
+		thread.setDaemon(true);
+		return thread;
+	  });
+	  this.producer.scheduleWithFixedDelay(this::refill, 0, refillInterval.toMillis(), TimeUnit.MILLISECONDS);
+	} else {
+	  this.producer = null;
+	}
+  }
+
+  /**
+   * Removes one ephemeral from the pool, or generates one inline when the pool is empty
+   */
+  public EphemeralKey take() {
+	EphemeralKey key = keys.poll();
+	if (key == null) {
+	  exhausted.incrementAndGet();
+	  requestRefill();
+	  return generate();
+	}
+	consumed.incrementAndGet();
+	if (size.decrementAndGet() < capacity / 2) {
+	  requestRefill();
+	}
+	return key;
+  }
+
+  public int size() {
+	return size.get();
+  }
+
+  public long producedCount() {
+	return produced.get();
+  }
+
+  public long consumedCount() {
+	return consumed.get();
+  }
+
+  public long exhaustedCount() {
+	return exhausted.get();
+  }
+
+  @Override
+  public void close() {
+	if (producer != null) {
+	  producer.shutdownNow();
+	}
+	keys.clear();
+	size.set(0);
+  }
+
+  /**
+   * Queues at most one extra refill on the producer thread in addition to the scheduled ones
+   */
+  private void requestRefill() {
+	if (producer == null || !refillRequested.compareAndSet(false, true)) {
+	  return;
+	}
+	try {
+	  producer.execute(() -> {
+		refillRequested.set(false);
+		refill();
+	  });
+	} catch (RejectedExecutionException e) {
+	  refillRequested.set(false);
+	}
+  }
+
+  /**
+   * Runs only on the producer thread, so the pool never grows past {@code capacity}
+   */
+  private void refill() {
+	try {
+	  for (int i = 0; i < refillBatch && size.get() < capacity; i++) {
+		keys.offer(generate());
+		size.incrementAndGet();
+		produced.incrementAndGet();
+	  }
+	} catch (RuntimeException e) {
+	  log.warn("Failed to refill ephemeral key pool", e);
+	}
+  }
+
+  private EphemeralKey generate() {
+	BigInteger scalar;
+	do {
+	  scalar = new BigInteger(256, secureRandom).mod(FixedBaseMultiplier.ORDER);
+	} while (scalar.signum() == 0);
+	return new EphemeralKey(scalar, FixedBaseMultiplier.multiplyG(scalar));
+  }
+
+  /**
+   * Random scalar s in [1, n-1] and its public point s*G
+   */
+  public record EphemeralKey(BigInteger scalar, ECPoint point) {
+  }
+}
@@ -0,0 +1,191 @@
+package com.xdman.spake2plus_core.crypto;
+
+import com.payneteasy.tlv.HexUtil;
+import org.bouncycastle.jce.ECNamedCurveTable;
+import org.bouncycastle.jce.spec.ECParameterSpec;
+import org.bouncycastle.math.ec.ECCurve;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+
+/**
+ * Fixed-base scalar multiplication for the SPAKE2+ points G, M and N on secp256r1 (NIST P-256).
+ * <p>
+ * A Lim-Lee comb table is built once per point when the class is loaded. Table entry {@code i} holds
+ * the sum of {@code 2^(b * COMB_SPACING) * P} for every bit {@code b} set in {@code i}, so a 256-bit
+ * scalar costs 32 doublings and at most 32 additions instead of the full double-and-add chain that
+ * {@link ECPoint#multiply(BigInteger)} runs for an arbitrary point.
+ * <p>
+ * Linear combinations of two fixed points, such as the SPAKE2+ shares {@code x*G + w0*M} and
+ * {@code y*G + w0*N}, walk both combs in one interleaved loop so the doublings are shared.
+ */
+public final class FixedBaseMultiplier {
+  public static final ECParameterSpec EC_PARAMS = ECNamedCurveTable.getParameterSpec("secp256r1");
+  public static final ECCurve CURVE = EC_PARAMS.getCurve();
+  public static final BigInteger ORDER = EC_PARAMS.getN();
+
+  // Number of teeth per comb; the table for each point holds 2^COMB_WIDTH entries
+  private static final int COMB_WIDTH = 8;
+  // Distance in bits between two teeth of the comb, i.e. the number of doublings per multiplication
+  private static final int COMB_SPACING = (ORDER.bitLength() + COMB_WIDTH - 1) / COMB_WIDTH;
+
+  // Base point
+  public static final ECPoint G = EC_PARAMS.getG();
+
+  // Protocol points
+  public static final ECPoint M = validatePoint(
+	"04" +
+	  "886E2F97ACE46E55BA9DD7242579F2993B64E16EF3DCAB95AFD497333D8FA12F" +
+	  "5FF355163E43CE224E0B0E65FF02AC8E5C7BE09419C785E0CA547D55A12E2D20",
+	"M"
+  );
+
+  public static final ECPoint N = validatePoint(
+	"04" +
+	  "D8BBD6C639C62937B04D997F38C3770719C629D7014D49A24B4F98BAA1292B49" +
+	  "07D60AA6BFADE45008A636337F5168C64D9BD36034808CD564490B1E656EDBE7",
+	"N"
+  );
+
+  private static final ECPoint[] G_TABLE = buildCombTable(G);
+  private static final ECPoint[] M_TABLE = buildCombTable(M);
+  private static final ECPoint[] N_TABLE = buildCombTable(N);
+
+  private FixedBaseMultiplier() {
+  }
+
+  /**
+   * Computes k * G
+   */
+  public static ECPoint multiplyG(BigInteger k) {
+	return multiply(G_TABLE, k);
+  }
+
+  /**
+   * Computes k * M
+   */
+  public static ECPoint multiplyM(BigInteger k) {
+	return multiply(M_TABLE, k);
+  }
+
+  /**
+   * Computes k * N
+   */
+  public static ECPoint multiplyN(BigInteger k) {
+	return multiply(N_TABLE, k);
+  }
+
+  /**
+   * Computes a * G + b * M
+   */
+  public static ECPoint multiplyGPlusM(BigInteger a, BigInteger b) {
+	return sumOfMultiplies(G_TABLE, a, M_TABLE, b);
+  }
+
+  /**
+   * Computes a * G + b * N
+   */
+  public static ECPoint multiplyGPlusN(BigInteger a, BigInteger b) {
+	return sumOfMultiplies(G_TABLE, a, N_TABLE, b);
+  }
+
+  /**
+   * Computes k * (P - w0 * M) for every k in {@code scalars}
+   */
+  public static ECPoint[] multiplyUnblindedByM(ECPoint p, BigInteger w0, BigInteger... scalars) {
+	return multiplyUnblinded(p, M_TABLE, w0, scalars);
+  }
+
+  /**
+   * Computes k * (P - w0 * N) for every k in {@code scalars}
+   */
+  public static ECPoint[] multiplyUnblindedByN(ECPoint p, BigInteger w0, BigInteger... scalars) {
+	return multiplyUnblinded(p, N_TABLE, w0, scalars);
+  }
+
+  private static ECPoint multiply(ECPoint[] table, BigInteger k) {
+	BigInteger scalar = k.mod(ORDER);
+	ECPoint result = CURVE.getInfinity();
+	for (int column = COMB_SPACING - 1; column >= 0; column--) {
+	  result = result.twicePlus(table[combIndex(scalar, column)]);
+	}
+	return result.normalize();
+  }
+
+  /**
+   * Straus-style interleaving of two comb evaluations: one doubling per column serves both scalars
+   */
+  private static ECPoint sumOfMultiplies(ECPoint[] tableA, BigInteger a, ECPoint[] tableB, BigInteger b) {
+	BigInteger scalarA = a.mod(ORDER);
+	BigInteger scalarB = b.mod(ORDER);
+	ECPoint result = CURVE.getInfinity();
+	for (int column = COMB_SPACING - 1; column >= 0; column--) {
+	  result = result.twicePlus(tableA[combIndex(scalarA, column)])
+		.add(tableB[combIndex(scalarB, column)]);
+	}
+	return result.normalize();
+  }
+
+  /**
+   * The blinding term w0 * M (or N) is removed once with the comb table. The variable-base
+   * multiplications that follow all run on the same unblinded point, so BouncyCastle builds its
+   * wNAF precomputation for that point once and reuses it for every scalar.
+   */
+  private static ECPoint[] multiplyUnblinded(ECPoint p, ECPoint[] blindingTable, BigInteger w0, BigInteger... scalars) {
+	ECPoint unblinded = CURVE.importPoint(p).subtract(multiply(blindingTable, w0)).normalize();
+	ECPoint[] results = new ECPoint[scalars.length];
+	for (int i = 0; i < scalars.length; i++) {
+	  results[i] = unblinded.multiply(scalars[i].mod(ORDER)).normalize();
+	}
+	return results;
+  }
+
+  /**
+   * Collects the scalar bits at {@code column}, {@code column + COMB_SPACING}, ... into a table index
+   */
+  private static int combIndex(BigInteger scalar, int column) {
+	int index = 0;
+	for (int tooth = COMB_WIDTH - 1; tooth >= 0; tooth--) {
+	  index <<= 1;
+	  if (scalar.testBit(tooth * COMB_SPACING + column)) {
+		index |= 1;
+	  }
+	}
+	return index;
+  }
+
+  private static ECPoint[] buildCombTable(ECPoint base) {
+	ECPoint[] table = new ECPoint[1 << COMB_WIDTH];
+	table[0] = CURVE.getInfinity();
+
+	ECPoint tooth = base.normalize();
+	for (int bit = 0; bit < COMB_WIDTH; bit++) {
+	  int step = 1 << bit;
+	  for (int i = 0; i < step; i++) {
+		table[step + i] = table[i].add(tooth);
+	  }
+	  tooth = tooth.timesPow2(COMB_SPACING);
+	}
+
+	// Affine table entries make every addition in the main loop a cheaper mixed addition
+	CURVE.normalizeAll(table);
+	return table;
+  }
+
+  /**
+   * Validates an EC point from its hex representation
+   */
+  private static ECPoint validatePoint(String hexPoint, String pointName) {
+	try {
+	  ECPoint point = CURVE.decodePoint(HexUtil.parseHex(hexPoint));
+
+	  if (!point.isValid()) {
+		throw new IllegalArgumentException("Invalid point: " + pointName);
+	  }
+
+	  return point;
+	} catch (Exception e) {
+	  throw new RuntimeException("Error validating point " + pointName, e);
+	}
+  }
+}
@@ -0,0 +1,80 @@
+package com.xdman.spake2plus_core.crypto;
+
+/**
+ * BlockMix with Salsa20/8 on sixteen local ints, in the natural word order
+ */
+final class ScalarBlockMix implements BlockMix {
+
+  static final ScalarBlockMix INSTANCE = new ScalarBlockMix();
+
+  private ScalarBlockMix() {
+  }
+
+  @Override
+  public int[] layout() {
+	return null;
+  }
+
+  @Override
+  public void mix(int[] xy, int in, int out, int r) {
+	int last = in + (2 * r - 1) * 16;
+	int x0 = xy[last], x1 = xy[last + 1], x2 = xy[last + 2], x3 = xy[last + 3];
+	int x4 = xy[last + 4], x5 = xy[last + 5], x6 = xy[last + 6], x7 = xy[last + 7];
+	int x8 = xy[last + 8], x9 = xy[last + 9], x10 = xy[last + 10], x11 = xy[last + 11];
+	int x12 = xy[last + 12], x13 = xy[last + 13], x14 = xy[last + 14], x15 = xy[last + 15];
+
+	for (int i = 0; i < 2 * r; i++) {
+	  int s = in + i * 16;
+	  x0 ^= xy[s]; x1 ^= xy[s + 1]; x2 ^= xy[s + 2]; x3 ^= xy[s + 3];
+	  x4 ^= xy[s + 4]; x5 ^= xy[s + 5]; x6 ^= xy[s + 6]; x7 ^= xy[s + 7];
+	  x8 ^= xy[s + 8]; x9 ^= xy[s + 9]; x10 ^= xy[s + 10]; x11 ^= xy[s + 11];
+	  x12 ^= xy[s + 12]; x13 ^= xy[s + 13]; x14 ^= xy[s + 14]; x15 ^= xy[s + 15];
+
+	  int j0 = x0, j1 = x1, j2 = x2, j3 = x3, j4 = x4, j5 = x5, j6 = x6, j7 = x7;
+	  int j8 = x8, j9 = x9, j10 = x10, j11 = x11, j12 = x12, j13 = x13, j14 = x14, j15 = x15;
+	  for (int round = 0; round < 8; round += 2) {
+		j4 ^= Integer.rotateLeft(j0 + j12, 7);
+		j8 ^= Integer.rotateLeft(j4 + j0, 9);
+		j12 ^= Integer.rotateLeft(j8 + j4, 13);
+		j0 ^= Integer.rotateLeft(j12 + j8, 18);
+		j9 ^= Integer.rotateLeft(j5 + j1, 7);
+		j13 ^= Integer.rotateLeft(j9 + j5, 9);
+		j1 ^= Integer.rotateLeft(j13 + j9, 13);
+		j5 ^= Integer.rotateLeft(j1 + j13, 18);
+		j14 ^= Integer.rotateLeft(j10 + j6, 7);
+		j2 ^= Integer.rotateLeft(j14 + j10, 9);
+		j6 ^= Integer.rotateLeft(j2 + j14, 13);
+		j10 ^= Integer.rotateLeft(j6 + j2, 18);
+		j3 ^= Integer.rotateLeft(j15 + j11, 7);
+		j7 ^= Integer.rotateLeft(j3 + j15, 9);
+		j11 ^= Integer.rotateLeft(j7 + j3, 13);
+		j15 ^= Integer.rotateLeft(j11 + j7, 18);
+
+		j1 ^= Integer.rotateLeft(j0 + j3, 7);
+		j2 ^= Integer.rotateLeft(j1 + j0, 9);
+		j3 ^= Integer.rotateLeft(j2 + j1, 13);
+		j0 ^= Integer.rotateLeft(j3 + j2, 18);
+		j6 ^= Integer.rotateLeft(j5 + j4, 7);
+		j7 ^= Integer.rotateLeft(j6 + j5, 9);
+		j4 ^= Integer.rotateLeft(j7 + j6, 13);
+		j5 ^= Integer.rotateLeft(j4 + j7, 18);
+		j11 ^= Integer.rotateLeft(j10 + j9, 7);
+		j8 ^= Integer.rotateLeft(j11 + j10, 9);
+		j9 ^= Integer.rotateLeft(j8 + j11, 13);
+		j10 ^= Integer.rotateLeft(j9 + j8, 18);
+		j12 ^= Integer.rotateLeft(j15 + j14, 7);
+		j13 ^= Integer.rotateLeft(j12 + j15, 9);
+		j14 ^= Integer.rotateLeft(j13 + j12, 13);
+		j15 ^= Integer.rotateLeft(j14 + j13, 18);
+	  }
+	  x0 += j0; x1 += j1; x2 += j2; x3 += j3; x4 += j4; x5 += j5; x6 += j6; x7 += j7;
+	  x8 += j8; x9 += j9; x10 += j10; x11 += j11; x12 += j12; x13 += j13; x14 += j14; x15 += j15;
+
+	  int d = out + ((i >> 1) + (i & 1) * r) * 16;
+	  xy[d] = x0; xy[d + 1] = x1; xy[d + 2] = x2; xy[d + 3] = x3;
+	  xy[d + 4] = x4; xy[d + 5] = x5; xy[d + 6] = x6; xy[d + 7] = x7;
+	  xy[d + 8] = x8; xy[d + 9] = x9; xy[d + 10] = x10; xy[d + 11] = x11;
+	  xy[d + 12] = x12; xy[d + 13] = x13; xy[d + 14] = x14; xy[d + 15] = x15;
+	}
+  }
+}
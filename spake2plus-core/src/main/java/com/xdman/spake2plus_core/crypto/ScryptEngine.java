@@ -0,0 +1,416 @@
+package com.xdman.spake2plus_core.crypto;
+
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.macs.HMac;
+import org.bouncycastle.crypto.params.KeyParameter;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * scrypt (RFC 7914) with the same inputs and output as {@code SCrypt.generate}, working in per-thread
+ * arenas instead of fresh arrays.
+ * <p>
+ * {@code SCrypt.generate} allocates the 128 * r * Nscrypt byte V table (4 MiB for the SPAKE2+ parameters)
+ * and its scratch blocks on every call. Here each thread keeps its V, X/Y and PBKDF2 buffers and grows them
+ * only when a call needs more, so a warm thread derives with a handful of small allocations (the password
+ * key copy and the output). The buffers are zeroized before every call returns, so nothing derived from the
+ * password stays in the heap between derivations.
+ * <p>
+ * Threads keep arenas up to {@link #MAX_RETAINED_INTS} ints; larger cost parameters get a throwaway arena for
+ * that call. Reuse pays off on long-lived threads such as the {@link CryptoExecutor} workers; a virtual
+ * thread that derives once gets a fresh arena and drops it with the thread.
+ * <p>
+ * The Salsa20/8 core is either scalar or, with {@link #create(boolean) create(true)} on a JVM started with
+ * {@code --add-modules jdk.incubator.vector}, written with the Vector API. Both give the same output.
+ * <p>
+ * With {@code maxParallelLanes} above zero, the p ROMix lanes of a derivation with p > 1 are independent and
+ * run side by side: the caller keeps lane 0 and forks the others onto the engine's ForkJoin pool, each in
+ * that worker's arena. At most {@code maxParallelLanes} forked lanes run at once across the node; a lane that
+ * finds the bound reached runs on the caller instead of queuing, so a busy node degrades to the sequential
+ * derivation rather than waiting on the pool.
+ */
+@Slf4j
+public final class ScryptEngine implements AutoCloseable {
+
+  /**
+   * Largest V table (in ints, 16 MiB) a thread keeps between calls
+   */
+  static final int MAX_RETAINED_INTS = 4 * 1024 * 1024;
+
+  private static final String VECTOR_MODULE = "jdk.incubator.vector";
+
+  private static final KeyParameter EMPTY_KEY = new KeyParameter(new byte[0]);
+
+  private static final ThreadLocal<Arena> ARENA = ThreadLocal.withInitial(Arena::new);
+
+  private static final ScryptEngine SCALAR = new ScryptEngine(ScalarBlockMix.INSTANCE, 0);
+
+  private final AtomicLong forkedLanes = new AtomicLong();
+  private final AtomicLong inlinedLanes = new AtomicLong();
+  private final BlockMix blockMix;
+  private final int maxParallelLanes;
+  private final Semaphore lanePermits;
+  private final ForkJoinPool lanePool;
+
+  private ScryptEngine(BlockMix blockMix, int maxParallelLanes) {
+	this.blockMix = blockMix;
+	this.maxParallelLanes = Math.max(maxParallelLanes, 0);
+	if (this.maxParallelLanes > 0) {
+	  this.lanePermits = new Semaphore(this.maxParallelLanes);
+	  this.lanePool = new ForkJoinPool(this.maxParallelLanes, pool -> {
+		ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+		thread.setName("spake2plus-scrypt-lane-" + thread.getPoolIndex());
+		return thread;
+	  }, null, false);
+	} else {
+	  this.lanePermits = null;
+	  this.lanePool = null;
+	}
+  }
+
+  /**
+   * An engine with the Vector API Salsa20/8 core when {@code vectorSalsa} is set and the module is
+   * available with 128-bit hardware vectors, otherwise the scalar one. Lanes run one after the other.
+   */
+  public static ScryptEngine create(boolean vectorSalsa) {
+	return create(vectorSalsa, 0);
+  }
+
+  /**
+   * As {@link #create(boolean)}, running up to {@code maxParallelLanes} ROMix lanes of p > 1 derivations on
+   * a pool of that size; 0 keeps every lane on the calling thread
+   */
+  public static ScryptEngine create(boolean vectorSalsa, int maxParallelLanes) {
+	BlockMix blockMix = vectorSalsa ? vectorBlockMix() : ScalarBlockMix.INSTANCE;
+	if (blockMix == ScalarBlockMix.INSTANCE && maxParallelLanes <= 0) {
+	  return SCALAR;
+	}
+	return new ScryptEngine(blockMix, maxParallelLanes);
+  }
+
+  private static BlockMix vectorBlockMix() {
+	if (ModuleLayer.boot().findModule(VECTOR_MODULE).isEmpty()) {
+	  log.warn("Vector Salsa20/8 requested but {} is not loaded (--add-modules {}); using the scalar core",
+		VECTOR_MODULE, VECTOR_MODULE);
+	  return ScalarBlockMix.INSTANCE;
+	}
+	try {
+	  // Loaded by name so this class still links when the module is absent
+	  Class<?> type = Class.forName(ScryptEngine.class.getPackageName() + ".VectorBlockMix");
+	  if (!(boolean) type.getDeclaredMethod("isSupported").invoke(null)) {
+		log.warn("Vector Salsa20/8 requested but the CPU has no 128-bit int vectors; using the scalar core");
+		return ScalarBlockMix.INSTANCE;
+	  }
+	  return (BlockMix) type.getDeclaredConstructor().newInstance();
+	} catch (ReflectiveOperationException | LinkageError e) {
+	  log.warn("Vector Salsa20/8 unavailable; using the scalar core", e);
+	  return ScalarBlockMix.INSTANCE;
+	}
+  }
+
+  /**
+   * scrypt(password, salt, cost, blockSize, parallelization, length) with the scalar core
+   *
+   * @throws IllegalArgumentException on the same parameter ranges {@code SCrypt.generate} rejects
+   */
+  public static byte[] generate(byte[] password, byte[] salt, int cost, int blockSize, int parallelization, int length) {
+	return SCALAR.derive(password, salt, cost, blockSize, parallelization, length);
+  }
+
+  public boolean isVectorized() {
+	return blockMix != ScalarBlockMix.INSTANCE;
+  }
+
+  public int maxParallelLanes() {
+	return maxParallelLanes;
+  }
+
+  /**
+   * Lanes currently running on the lane pool
+   */
+  public int activeLaneCount() {
+	return lanePermits == null ? 0 : maxParallelLanes - lanePermits.availablePermits();
+  }
+
+  /**
+   * Lanes handed to the lane pool
+   */
+  public long forkedLaneCount() {
+	return forkedLanes.get();
+  }
+
+  /**
+   * Lanes after the first that ran on the caller because {@code maxParallelLanes} lanes were already running
+   */
+  public long inlinedLaneCount() {
+	return inlinedLanes.get();
+  }
+
+  @Override
+  public void close() {
+	if (lanePool != null) {
+	  lanePool.shutdown();
+	}
+  }
+
+  /**
+   * scrypt(password, salt, cost, blockSize, parallelization, length)
+   *
+   * @throws IllegalArgumentException on the same parameter ranges {@code SCrypt.generate} rejects
+   */
+  public byte[] derive(byte[] password, byte[] salt, int cost, int blockSize, int parallelization, int length) {
+	if (password == null) {
+	  throw new IllegalArgumentException("Passphrase P must be provided.");
+	}
+	if (salt == null) {
+	  throw new IllegalArgumentException("Salt S must be provided.");
+	}
+	if (cost <= 1 || (cost & (cost - 1)) != 0) {
+	  throw new IllegalArgumentException("Cost parameter N must be > 1 and a power of 2");
+	}
+	if (blockSize == 1 && cost >= 65536) {
+	  throw new IllegalArgumentException("Cost parameter N must be > 1 and < 65536.");
+	}
+	if (blockSize < 1) {
+	  throw new IllegalArgumentException("Block size r must be >= 1.");
+	}
+	int maxParallel = Integer.MAX_VALUE / (128 * blockSize * 8);
+	if (parallelization < 1 || parallelization > maxParallel) {
+	  throw new IllegalArgumentException("Parallelisation parameter p must be >= 1 and <= " + maxParallel
+		+ " (based on block size r of " + blockSize + ")");
+	}
+	if (length < 1) {
+	  throw new IllegalArgumentException("Generated key length dkLen must be >= 1.");
+	}
+	if ((long) cost * blockSize > Integer.MAX_VALUE / 32) {
+	  throw new IllegalArgumentException("Cost parameter N too large for block size r of " + blockSize);
+	}
+
+	int bLength = parallelization * 128 * blockSize;
+	boolean oversized = (long) cost * 32 * blockSize > MAX_RETAINED_INTS || bLength / 4 > MAX_RETAINED_INTS;
+	Arena arena = oversized ? new Arena() : ARENA.get();
+	arena.ensureBuffer(bLength);
+	try {
+	  pbkdf2(arena, password, salt, 0, salt.length, arena.b, bLength);
+	  romixLanes(arena, cost, blockSize, parallelization);
+	  byte[] output = new byte[length];
+	  pbkdf2(arena, password, arena.b, 0, bLength, output, length);
+	  return output;
+	} finally {
+	  arena.clearBuffer(bLength);
+	}
+  }
+
+  /**
+   * Runs ROMix over each of the p lanes of B in place, forking lanes 1..p-1 while permits last
+   */
+  private void romixLanes(Arena arena, int cost, int r, int parallelization) {
+	byte[] b = arena.b;
+	int laneBytes = 128 * r;
+	ForkJoinTask<?>[] forked = new ForkJoinTask<?>[parallelization];
+	try {
+	  for (int lane = 1; lane < parallelization && lanePool != null && lanePermits.tryAcquire(); lane++) {
+		int offset = lane * laneBytes;
+		try {
+		  forked[lane] = lanePool.submit(() -> {
+			try {
+			  romixLane(null, b, offset, cost, r);
+			} finally {
+			  lanePermits.release();
+			}
+		  });
+		} catch (RejectedExecutionException e) {
+		  // Pool shut down; the lane runs below on the caller
+		  lanePermits.release();
+		  break;
+		}
+		forkedLanes.incrementAndGet();
+	  }
+	  for (int lane = 0; lane < parallelization; lane++) {
+		if (forked[lane] == null) {
+		  if (lane > 0 && lanePool != null) {
+			inlinedLanes.incrementAndGet();
+		  }
+		  romixLane(arena, b, lane * laneBytes, cost, r);
+		}
+	  }
+	} finally {
+	  // B is zeroized once this returns, so no forked lane may still be writing to it
+	  for (ForkJoinTask<?> task : forked) {
+		if (task != null) {
+		  task.quietlyJoin();
+		}
+	  }
+	}
+	for (ForkJoinTask<?> task : forked) {
+	  if (task != null) {
+		task.join();
+	  }
+	}
+  }
+
+  /**
+   * ROMix over the lane at {@code b[offset]}, in {@code arena} or, when null, in the current thread's own
+   */
+  private void romixLane(Arena arena, byte[] b, int offset, int cost, int r) {
+	int laneInts = 32 * r;
+	int vInts = laneInts * cost;
+	if (arena == null) {
+	  arena = vInts > MAX_RETAINED_INTS ? new Arena() : ARENA.get();
+	}
+	arena.ensureLane(vInts, laneInts);
+	try {
+	  decode(b, offset, arena.xy, laneInts, blockMix.layout());
+	  romix(blockMix, arena.xy, arena.v, cost, r);
+	  encode(arena.xy, laneInts, b, offset, blockMix.layout());
+	} finally {
+	  arena.clearLane(vInts, laneInts);
+	}
+  }
+
+  /**
+   * Whether the calling thread's arena holds nothing but zeros
+   */
+  static boolean threadArenaZeroized() {
+	Arena arena = ARENA.get();
+	for (int value : arena.v) {
+	  if (value != 0) return false;
+	}
+	for (int value : arena.xy) {
+	  if (value != 0) return false;
+	}
+	for (byte value : arena.b) {
+	  if (value != 0) return false;
+	}
+	for (byte value : arena.block) {
+	  if (value != 0) return false;
+	}
+	return true;
+  }
+
+  /**
+   * PBKDF2-HMAC-SHA256 with one iteration: T_i = HMAC(P, S || INT(i)), written straight into {@code out}
+   */
+  private static void pbkdf2(Arena arena, byte[] password, byte[] salt, int saltOffset, int saltLength,
+							 byte[] out, int outLength) {
+	HMac hmac = arena.hmac;
+	hmac.init(new KeyParameter(password));
+	byte[] counter = arena.counter;
+	byte[] block = arena.block;
+	int macSize = block.length;
+	for (int i = 1, offset = 0; offset < outLength; i++, offset += macSize) {
+	  counter[0] = (byte) (i >>> 24);
+	  counter[1] = (byte) (i >>> 16);
+	  counter[2] = (byte) (i >>> 8);
+	  counter[3] = (byte) i;
+	  hmac.update(salt, saltOffset, saltLength);
+	  hmac.update(counter, 0, 4);
+	  if (outLength - offset >= macSize) {
+		hmac.doFinal(out, offset);
+	  } else {
+		hmac.doFinal(block, 0);
+		System.arraycopy(block, 0, out, offset, outLength - offset);
+	  }
+	}
+	// Replace the password-derived pads so the HMac kept by this thread holds no key material
+	hmac.init(EMPTY_KEY);
+  }
+
+  /**
+   * ROMix over the lane in {@code xy[0, 32r)}, using {@code xy[32r, 64r)} as the other half of the ping-pong
+   */
+  private static void romix(BlockMix blockMix, int[] xy, int[] v, int cost, int r) {
+	int laneInts = 32 * r;
+	int x = 0;
+	int y = laneInts;
+	int last = (2 * r - 1) * 16;
+	int mask = cost - 1;
+
+	for (int i = 0; i < cost; i += 2) {
+	  System.arraycopy(xy, x, v, i * laneInts, laneInts);
+	  blockMix.mix(xy, x, y, r);
+	  System.arraycopy(xy, y, v, (i + 1) * laneInts, laneInts);
+	  blockMix.mix(xy, y, x, r);
+	}
+	for (int i = 0; i < cost; i += 2) {
+	  int j = (xy[x + last] & mask) * laneInts;
+	  for (int k = 0; k < laneInts; k++) {
+		xy[x + k] ^= v[j + k];
+	  }
+	  blockMix.mix(xy, x, y, r);
+	  j = (xy[y + last] & mask) * laneInts;
+	  for (int k = 0; k < laneInts; k++) {
+		xy[y + k] ^= v[j + k];
+	  }
+	  blockMix.mix(xy, y, x, r);
+	}
+  }
+
+  /**
+   * Reads {@code count} little-endian words, placing the words of each block in {@code layout} order
+   */
+  private static void decode(byte[] src, int offset, int[] dst, int count, int[] layout) {
+	for (int i = 0; i < count; i++) {
+	  int p = offset + 4 * (layout == null ? i : (i & ~15) | layout[i & 15]);
+	  dst[i] = (src[p] & 0xFF)
+		| (src[p + 1] & 0xFF) << 8
+		| (src[p + 2] & 0xFF) << 16
+		| src[p + 3] << 24;
+	}
+  }
+
+  private static void encode(int[] src, int count, byte[] dst, int offset, int[] layout) {
+	for (int i = 0; i < count; i++) {
+	  int p = offset + 4 * (layout == null ? i : (i & ~15) | layout[i & 15]);
+	  int value = src[i];
+	  dst[p] = (byte) value;
+	  dst[p + 1] = (byte) (value >>> 8);
+	  dst[p + 2] = (byte) (value >>> 16);
+	  dst[p + 3] = (byte) (value >>> 24);
+	}
+  }
+
+  /**
+   * Working memory of one thread: V, the X/Y ping-pong pair, the PBKDF2 output B and the HMAC state
+   */
+  private static final class Arena {
+	private final HMac hmac = new HMac(new SHA256Digest());
+	private final byte[] counter = new byte[4];
+	private final byte[] block = new byte[hmac.getMacSize()];
+	private int[] v = new int[0];
+	private int[] xy = new int[0];
+	private byte[] b = new byte[0];
+
+	void ensureLane(int vInts, int laneInts) {
+	  if (v.length < vInts) {
+		v = new int[vInts];
+	  }
+	  if (xy.length < 2 * laneInts) {
+		xy = new int[2 * laneInts];
+	  }
+	}
+
+	void ensureBuffer(int bBytes) {
+	  if (b.length < bBytes) {
+		b = new byte[bBytes];
+	  }
+	}
+
+	void clearLane(int vInts, int laneInts) {
+	  Arrays.fill(v, 0, vInts, 0);
+	  Arrays.fill(xy, 0, 2 * laneInts, 0);
+	}
+
+	void clearBuffer(int bBytes) {
+	  Arrays.fill(b, 0, bBytes, (byte) 0);
+	  Arrays.fill(block, (byte) 0);
+	}
+  }
+}
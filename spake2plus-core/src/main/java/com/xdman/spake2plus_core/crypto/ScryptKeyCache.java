@@ -0,0 +1,121 @@
+package com.xdman.spake2plus_core.crypto;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.payneteasy.tlv.HexUtil;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Size- and TTL-bounded cache of scrypt outputs keyed by (password, salt, Nscrypt, r, p).
+ * <p>
+ * Concurrent requests for the same inputs collapse into a single derivation. Entries are indexed by an
+ * HMAC of the inputs under a per-process random key, so neither the password nor the salt is kept as a
+ * map key, and the derived bytes are zeroized as soon as an entry is evicted, expires or is invalidated.
+ */
+public class ScryptKeyCache {
+  private final Cache<String, DerivedKey> cache;
+  private final byte[] indexKey = new byte[32];
+  private final boolean enabled;
+  private final ScryptEngine engine;
+
+  public ScryptKeyCache(long maximumSize, Duration ttl, boolean enabled) {
+	this(maximumSize, ttl, enabled, ScryptEngine.create(false));
+  }
+
+  public ScryptKeyCache(long maximumSize, Duration ttl, boolean enabled, ScryptEngine engine) {
+	this.enabled = enabled;
+	this.engine = engine;
+	new SecureRandom().nextBytes(indexKey);
+	this.cache = Caffeine.newBuilder()
+	  .maximumSize(maximumSize)
+	  .expireAfterWrite(ttl)
+	  .removalListener((String key, DerivedKey value, RemovalCause cause) -> {
+		if (value != null) {
+		  value.destroy();
+		}
+	  })
+	  .recordStats()
+	  .build();
+  }
+
+  /**
+   * Returns SCrypt(password, salt, cost, blockSize, parallelization, length), computing it at most once
+   * per distinct input while the entry is cached. The caller owns the returned array and should zeroize it
+   * after use.
+   */
+  public byte[] derive(byte[] password, byte[] salt, int cost, int blockSize, int parallelization, int length) {
+	if (!enabled) {
+	  return engine.derive(password, salt, cost, blockSize, parallelization, length);
+	}
+
+	String key = indexOf(password, salt, cost, blockSize, parallelization, length);
+	while (true) {
+	  DerivedKey entry = cache.get(key, k ->
+		new DerivedKey(engine.derive(password, salt, cost, blockSize, parallelization, length)));
+	  byte[] copy = entry.copy();
+	  if (copy != null) {
+		return copy;
+	  }
+	  // The entry was zeroized by a concurrent eviction between lookup and copy; drop it and derive again
+	  cache.asMap().remove(key, entry);
+	}
+  }
+
+  public CacheStats stats() {
+	return cache.stats();
+  }
+
+  public long estimatedSize() {
+	return cache.estimatedSize();
+  }
+
+  public void invalidateAll() {
+	cache.invalidateAll();
+  }
+
+  private String indexOf(byte[] password, byte[] salt, int cost, int blockSize, int parallelization, int length) {
+	try {
+	  ByteBuffer buffer = ByteBuffer.allocate(4 + password.length + 4 + salt.length + 16);
+	  buffer.putInt(password.length).put(password);
+	  buffer.putInt(salt.length).put(salt);
+	  buffer.putInt(cost).putInt(blockSize).putInt(parallelization).putInt(length);
+
+	  Mac mac = Mac.getInstance("HmacSHA256");
+	  mac.init(new SecretKeySpec(indexKey, "HmacSHA256"));
+	  byte[] digest = mac.doFinal(buffer.array());
+	  Arrays.fill(buffer.array(), (byte) 0);
+	  return HexUtil.toHexString(digest);
+	} catch (Exception e) {
+	  throw new RuntimeException("Error computing scrypt cache key", e);
+	}
+  }
+
+  /**
+   * Cached scrypt output. Reads and zeroization are serialized so a caller never copies a half-wiped key.
+   */
+  private static final class DerivedKey {
+	private final byte[] value;
+	private boolean destroyed;
+
+	private DerivedKey(byte[] value) {
+	  this.value = value;
+	}
+
+	synchronized byte[] copy() {
+	  return destroyed ? null : value.clone();
+	}
+
+	synchronized void destroy() {
+	  Arrays.fill(value, (byte) 0);
+	  destroyed = true;
+	}
+  }
+}
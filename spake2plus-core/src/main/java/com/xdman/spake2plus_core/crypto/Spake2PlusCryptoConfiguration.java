@@ -0,0 +1,183 @@
+package com.xdman.spake2plus_core.crypto;
+
+import com.xdman.spake2plus_core.service.Spake2PlusDeviceService;
+import com.xdman.spake2plus_core.service.Spake2PlusVehicleService;
+import com.xdman.spake2plus_core.temporal.CryptoActivityCompletion;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.temporal.client.WorkflowClient;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The crypto engines, pools and SPAKE2+ services of both applications with their metrics, imported by
+ * their {@code Spake2PlusCoreConfig}
+ */
+@Configuration
+public class Spake2PlusCryptoConfiguration {
+
+  @Bean(destroyMethod = "close")
+  public ScryptEngine scryptEngine(
+	@Value("${spake2plus.scrypt.vector-salsa:false}") boolean vectorSalsa,
+	@Value("${spake2plus.scrypt.parallel-lanes.enabled:false}") boolean parallelLanes,
+	@Value("${spake2plus.scrypt.parallel-lanes.max-concurrent:0}") int maxConcurrentLanes
+  ) {
+	int lanes = maxConcurrentLanes > 0 ? maxConcurrentLanes : Runtime.getRuntime().availableProcessors();
+	return ScryptEngine.create(vectorSalsa, parallelLanes ? lanes : 0);
+  }
+
+  @Bean
+  public MeterBinder scryptEngineMetrics(ScryptEngine scryptEngine) {
+	return registry -> {
+	  Gauge.builder("spake2plus.scrypt.lanes.active", scryptEngine, ScryptEngine::activeLaneCount)
+		.description("Scrypt ROMix lanes running on the lane pool")
+		.register(registry);
+	  FunctionCounter.builder("spake2plus.scrypt.lanes.forked", scryptEngine, ScryptEngine::forkedLaneCount)
+		.description("Scrypt ROMix lanes run on the lane pool")
+		.register(registry);
+	  FunctionCounter.builder("spake2plus.scrypt.lanes.inlined", scryptEngine, ScryptEngine::inlinedLaneCount)
+		.description("Scrypt ROMix lanes run on the caller because the lane bound was reached")
+		.register(registry);
+	};
+  }
+
+  @Bean(destroyMethod = "invalidateAll")
+  public ScryptKeyCache scryptKeyCache(
+	@Value("${spake2plus.scrypt-cache.enabled:true}") boolean enabled,
+	@Value("${spake2plus.scrypt-cache.maximum-size:1024}") long maximumSize,
+	@Value("${spake2plus.scrypt-cache.ttl:PT10M}") Duration ttl,
+	ScryptEngine scryptEngine
+  ) {
+	return new ScryptKeyCache(maximumSize, ttl, enabled, scryptEngine);
+  }
+
+  @Bean
+  public MeterBinder scryptKeyCacheMetrics(ScryptKeyCache scryptKeyCache) {
+	return registry -> {
+	  FunctionCounter.builder("spake2plus.scrypt.cache.hits", scryptKeyCache, cache -> cache.stats().hitCount())
+		.description("Scrypt derivations served from the cache")
+		.register(registry);
+	  FunctionCounter.builder("spake2plus.scrypt.cache.misses", scryptKeyCache, cache -> cache.stats().missCount())
+		.description("Scrypt derivations that had to be computed")
+		.register(registry);
+	  FunctionCounter.builder("spake2plus.scrypt.cache.evictions", scryptKeyCache, cache -> cache.stats().evictionCount())
+		.description("Cached scrypt outputs evicted by size or TTL and zeroized")
+		.register(registry);
+	  Gauge.builder("spake2plus.scrypt.cache.size", scryptKeyCache, ScryptKeyCache::estimatedSize)
+		.description("Approximate number of cached scrypt outputs")
+		.register(registry);
+	};
+  }
+
+  @Bean(destroyMethod = "close")
+  public EphemeralKeyPool deviceEphemeralKeyPool(
+	@Value("${spake2plus.ephemeral-pool.enabled:true}") boolean enabled,
+	@Value("${spake2plus.ephemeral-pool.capacity:256}") int capacity,
+	@Value("${spake2plus.ephemeral-pool.refill-batch:32}") int refillBatch,
+	@Value("${spake2plus.ephemeral-pool.refill-interval:PT1S}") Duration refillInterval
+  ) {
+	return new EphemeralKeyPool("device", capacity, refillBatch, refillInterval, enabled);
+  }
+
+  @Bean(destroyMethod = "close")
+  public EphemeralKeyPool vehicleEphemeralKeyPool(
+	@Value("${spake2plus.ephemeral-pool.enabled:true}") boolean enabled,
+	@Value("${spake2plus.ephemeral-pool.capacity:256}") int capacity,
+	@Value("${spake2plus.ephemeral-pool.refill-batch:32}") int refillBatch,
+	@Value("${spake2plus.ephemeral-pool.refill-interval:PT1S}") Duration refillInterval
+  ) {
+	return new EphemeralKeyPool("vehicle", capacity, refillBatch, refillInterval, enabled);
+  }
+
+  /**
+   * Threads default to the processors visible to the JVM; on hosts with SMT set this to the physical core
+   * count, since scrypt gains little from hyper-threads
+   */
+  @Bean(destroyMethod = "close")
+  public CryptoExecutor cryptoExecutor(
+	@Value("${spake2plus.crypto-executor.enabled:true}") boolean enabled,
+	@Value("${spake2plus.crypto-executor.threads:0}") int threads,
+	@Value("${spake2plus.crypto-executor.queue-capacity:256}") int queueCapacity
+  ) {
+	int size = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+	return new CryptoExecutor(size, queueCapacity, enabled);
+  }
+
+  @Bean
+  public CryptoActivityCompletion cryptoActivityCompletion(CryptoExecutor cryptoExecutor, WorkflowClient workflowClient) {
+	return new CryptoActivityCompletion(cryptoExecutor, workflowClient.newActivityCompletionClient());
+  }
+
+  @Bean
+  public MeterBinder cryptoExecutorMetrics(CryptoExecutor cryptoExecutor) {
+	return registry -> {
+	  Gauge.builder("spake2plus.crypto.queue.depth", cryptoExecutor, CryptoExecutor::queueDepth)
+		.description("Crypto jobs waiting for a worker thread")
+		.register(registry);
+	  Gauge.builder("spake2plus.crypto.active", cryptoExecutor, CryptoExecutor::activeCount)
+		.description("Crypto jobs running")
+		.register(registry);
+	  FunctionTimer.builder("spake2plus.crypto.queue.wait", cryptoExecutor,
+		  CryptoExecutor::startedCount, CryptoExecutor::totalWaitNanos, TimeUnit.NANOSECONDS)
+		.description("Time crypto jobs spent queued")
+		.register(registry);
+	  FunctionCounter.builder("spake2plus.crypto.rejected", cryptoExecutor, CryptoExecutor::rejectedCount)
+		.description("Crypto jobs rejected because the queue was full")
+		.register(registry);
+	};
+  }
+
+  @Bean
+  public Spake2PlusDeviceService spake2PlusDeviceService(
+	ScryptKeyCache scryptKeyCache,
+	@Qualifier("deviceEphemeralKeyPool") EphemeralKeyPool deviceEphemeralKeyPool
+  ) {
+	return new Spake2PlusDeviceService(scryptKeyCache, deviceEphemeralKeyPool);
+  }
+
+  @Bean
+  public Spake2PlusVehicleService spake2PlusVehicleService(
+	ScryptKeyCache scryptKeyCache,
+	@Qualifier("vehicleEphemeralKeyPool") EphemeralKeyPool vehicleEphemeralKeyPool
+  ) {
+	return new Spake2PlusVehicleService(scryptKeyCache, vehicleEphemeralKeyPool);
+  }
+
+  @Bean
+  public MeterBinder ephemeralKeyPoolMetrics(
+	@Qualifier("deviceEphemeralKeyPool") EphemeralKeyPool deviceEphemeralKeyPool,
+	@Qualifier("vehicleEphemeralKeyPool") EphemeralKeyPool vehicleEphemeralKeyPool
+  ) {
+	return registry -> {
+	  bindEphemeralKeyPool(registry, "device", deviceEphemeralKeyPool);
+	  bindEphemeralKeyPool(registry, "vehicle", vehicleEphemeralKeyPool);
+	};
+  }
+
+  private static void bindEphemeralKeyPool(MeterRegistry registry, String role, EphemeralKeyPool pool) {
+	FunctionCounter.builder("spake2plus.ephemeral.pool.produced", pool, EphemeralKeyPool::producedCount)
+	  .description("Ephemeral key pairs generated in the background")
+	  .tag("role", role)
+	  .register(registry);
+	FunctionCounter.builder("spake2plus.ephemeral.pool.consumed", pool, EphemeralKeyPool::consumedCount)
+	  .description("Ephemeral key pairs served from the pool")
+	  .tag("role", role)
+	  .register(registry);
+	FunctionCounter.builder("spake2plus.ephemeral.pool.exhausted", pool, EphemeralKeyPool::exhaustedCount)
+	  .description("Requests that found the pool empty and generated their ephemeral inline")
+	  .tag("role", role)
+	  .register(registry);
+	Gauge.builder("spake2plus.ephemeral.pool.size", pool, EphemeralKeyPool::size)
+	  .description("Ephemeral key pairs ready for use")
+	  .tag("role", role)
+	  .register(registry);
+  }
+}
@@ -0,0 +1,178 @@
+package com.xdman.spake2plus_core.crypto;
+
+import org.bouncycastle.jce.provider.BouncyCastleProvider;
+import org.bouncycastle.math.ec.ECPoint;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+
+/**
+ * SPAKE2+ key schedule shared by the device and vehicle roles: the transcript hash K, the HKDF
+ * derivations of the evidence and system keys, and the CMAC evidence itself.
+ */
+public final class Spake2PlusKeySchedule {
+
+  private Spake2PlusKeySchedule() {
+  }
+
+  /**
+   * Computes K value based on Listing 18-4/18-5
+   */
+  public static byte[] computeK(BigInteger w0, ECPoint X, ECPoint Y, ECPoint Z, ECPoint V) {
+	try {
+	  MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+
+	  byte[] xBytes = X.getEncoded(false);
+	  byte[] yBytes = Y.getEncoded(false);
+	  byte[] zBytes = Z.getEncoded(false);
+	  byte[] vBytes = V.getEncoded(false);
+	  byte[] w0Bytes = w0.toByteArray();
+
+	  // Add length prefixes (8-byte little-endian)
+	  ByteBuffer buffer = ByteBuffer.allocate(
+		8 + xBytes.length + 8 + yBytes.length +
+		  8 + zBytes.length + 8 + vBytes.length +
+		  8 + w0Bytes.length
+	  );
+
+	  buffer.order(java.nio.ByteOrder.LITTLE_ENDIAN);
+
+	  buffer.putLong(xBytes.length);
+	  buffer.put(xBytes);
+
+	  buffer.putLong(yBytes.length);
+	  buffer.put(yBytes);
+
+	  buffer.putLong(zBytes.length);
+	  buffer.put(zBytes);
+
+	  buffer.putLong(vBytes.length);
+	  buffer.put(vBytes);
+
+	  buffer.putLong(w0Bytes.length);
+	  buffer.put(w0Bytes);
+
+	  return sha256.digest(buffer.array());
+	} catch (Exception e) {
+	  throw new RuntimeException("Error computing K", e);
+	}
+  }
+
+  /**
+   * Derives evidence keys based on Listing 18-6
+   */
+  public static byte[] deriveEvidenceKeys(byte[] CK) {
+	try {
+	  // HKDF implementation (RFC5869)
+	  // Note: This is a simplified version
+	  MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+
+	  // Extract
+	  byte[] prk = hmacSha256(null, CK);
+
+	  // Info string preparation
+	  byte[] info = "ConfirmationKeys".getBytes();
+	  byte[] tlv5B = new byte[]{0x5B, 0x01, 0x00}; // Example TLV
+	  byte[] tlv5C = new byte[]{0x5C, 0x01, 0x01}; // Example TLV
+
+	  byte[] infoBytes = new byte[info.length + tlv5B.length + tlv5C.length];
+	  System.arraycopy(info, 0, infoBytes, 0, info.length);
+	  System.arraycopy(tlv5B, 0, infoBytes, info.length, tlv5B.length);
+	  System.arraycopy(tlv5C, 0, infoBytes, info.length + tlv5B.length, tlv5C.length);
+
+	  // Expand
+	  byte[] okm = new byte[32]; // K1 + K2 = 32 bytes
+	  byte[] t = new byte[0];
+
+	  for (int i = 1; i <= Math.ceil(32.0 / sha256.getDigestLength()); i++) {
+		byte[] input = new byte[t.length + infoBytes.length + 1];
+		System.arraycopy(t, 0, input, 0, t.length);
+		System.arraycopy(infoBytes, 0, input, t.length, infoBytes.length);
+		input[input.length - 1] = (byte) i;
+
+		t = hmacSha256(prk, input);
+
+		int copyLength = Math.min(t.length, okm.length - (i - 1) * sha256.getDigestLength());
+		System.arraycopy(t, 0, okm, (i - 1) * sha256.getDigestLength(), copyLength);
+	  }
+
+	  return okm;
+	} catch (Exception e) {
+	  throw new RuntimeException("Error deriving evidence keys", e);
+	}
+  }
+
+  /**
+   * Derives system keys based on Listing 18-9
+   */
+  public static byte[] deriveSystemKeys(byte[] SK, boolean extendedKeysSupport) {
+	try {
+	  // HKDF implementation (RFC5869)
+	  // Note: This is a simplified version
+	  MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+
+	  // Extract
+	  byte[] prk = hmacSha256(null, SK);
+
+	  // Info string preparation
+	  byte[] info = "SystemKeys".getBytes();
+
+	  // Expand
+	  int okmLength = extendedKeysSupport ? 96 : 64; // With or without extended keys
+	  byte[] okm = new byte[okmLength];
+	  byte[] t = new byte[0];
+
+	  for (int i = 1; i <= Math.ceil(okmLength * 1.0 / sha256.getDigestLength()); i++) {
+		byte[] input = new byte[t.length + info.length + 1];
+		System.arraycopy(t, 0, input, 0, t.length);
+		System.arraycopy(info, 0, input, t.length, info.length);
+		input[input.length - 1] = (byte) i;
+
+		t = hmacSha256(prk, input);
+
+		int copyLength = Math.min(t.length, okm.length - (i - 1) * sha256.getDigestLength());
+		System.arraycopy(t, 0, okm, (i - 1) * sha256.getDigestLength(), copyLength);
+	  }
+
+	  return okm;
+	} catch (Exception e) {
+	  throw new RuntimeException("Error deriving system keys", e);
+	}
+  }
+
+  /**
+   * Computes CMAC for evidence based on Listing 18-7/18-8
+   */
+  public static byte[] computeCMAC(byte[] key, byte[] data) {
+	try {
+	  // CMAC-AES-128 as defined in RFC4493
+	  Mac mac = Mac.getInstance("AESCMAC", new BouncyCastleProvider());
+	  SecretKeySpec keySpec = new SecretKeySpec(key, "AES");
+	  mac.init(keySpec);
+	  return mac.doFinal(data);
+	} catch (Exception e) {
+	  throw new RuntimeException("Error computing CMAC", e);
+	}
+  }
+
+  /**
+   * HMAC-SHA256 implementation for HKDF
+   */
+  private static byte[] hmacSha256(byte[] key, byte[] data) {
+	try {
+	  Mac mac = Mac.getInstance("HmacSHA256");
+	  if (key == null) {
+		key = new byte[mac.getMacLength()];
+	  }
+
+	  SecretKeySpec keySpec = new SecretKeySpec(key, "HmacSHA256");
+	  mac.init(keySpec);
+	  return mac.doFinal(data);
+	} catch (Exception e) {
+	  throw new RuntimeException("Error in HMAC-SHA256", e);
+	}
+  }
+}
@@ -0,0 +1,88 @@
+package com.xdman.spake2plus_core.crypto;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorShuffle;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * BlockMix with Salsa20/8 on four 128-bit int vectors (jdk.incubator.vector).
+ * <p>
+ * Blocks are stored as the diagonals A = (x0, x5, x10, x15), B = (x4, x9, x14, x3), C = (x8, x13, x2, x7)
+ * and D = (x12, x1, x6, x11), so each column round is four quarter-rounds in parallel across the lanes. For
+ * the row round B, C and D are rotated by one, two and three lanes, and rotated back afterwards.
+ * <p>
+ * Only loaded through {@link ScryptEngine#create(boolean)} once the module has been found, so the class
+ * never links on a JVM started without {@code --add-modules jdk.incubator.vector}.
+ */
+final class VectorBlockMix implements BlockMix {
+
+  private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_128;
+  private static final int[] LAYOUT = {0, 5, 10, 15, 4, 9, 14, 3, 8, 13, 2, 7, 12, 1, 6, 11};
+
+  // Lane i takes lane i + 1, i + 2 or i + 3
+  private static final VectorShuffle<Integer> NEXT = VectorShuffle.fromValues(SPECIES, 1, 2, 3, 0);
+  private static final VectorShuffle<Integer> OPPOSITE = VectorShuffle.fromValues(SPECIES, 2, 3, 0, 1);
+  private static final VectorShuffle<Integer> PREVIOUS = VectorShuffle.fromValues(SPECIES, 3, 0, 1, 2);
+
+  /**
+   * Whether the platform runs 128-bit int vectors in hardware; on anything narrower the API falls back to
+   * a Java emulation that is far slower than {@link ScalarBlockMix}
+   */
+  static boolean isSupported() {
+	return IntVector.SPECIES_PREFERRED.vectorBitSize() >= SPECIES.vectorBitSize();
+  }
+
+  @Override
+  public int[] layout() {
+	return LAYOUT;
+  }
+
+  @Override
+  public void mix(int[] xy, int in, int out, int r) {
+	int last = in + (2 * r - 1) * 16;
+	IntVector a = IntVector.fromArray(SPECIES, xy, last);
+	IntVector b = IntVector.fromArray(SPECIES, xy, last + 4);
+	IntVector c = IntVector.fromArray(SPECIES, xy, last + 8);
+	IntVector d = IntVector.fromArray(SPECIES, xy, last + 12);
+
+	for (int i = 0; i < 2 * r; i++) {
+	  int s = in + i * 16;
+	  a = a.lanewise(VectorOperators.XOR, IntVector.fromArray(SPECIES, xy, s));
+	  b = b.lanewise(VectorOperators.XOR, IntVector.fromArray(SPECIES, xy, s + 4));
+	  c = c.lanewise(VectorOperators.XOR, IntVector.fromArray(SPECIES, xy, s + 8));
+	  d = d.lanewise(VectorOperators.XOR, IntVector.fromArray(SPECIES, xy, s + 12));
+
+	  IntVector ja = a, jb = b, jc = c, jd = d;
+	  for (int round = 0; round < 8; round += 2) {
+		// Columns: (x0, x4, x8, x12), (x5, x9, x13, x1), (x10, x14, x2, x6), (x15, x3, x7, x11)
+		jb = jb.lanewise(VectorOperators.XOR, ja.add(jd).lanewise(VectorOperators.ROL, 7));
+		jc = jc.lanewise(VectorOperators.XOR, jb.add(ja).lanewise(VectorOperators.ROL, 9));
+		jd = jd.lanewise(VectorOperators.XOR, jc.add(jb).lanewise(VectorOperators.ROL, 13));
+		ja = ja.lanewise(VectorOperators.XOR, jd.add(jc).lanewise(VectorOperators.ROL, 18));
+
+		// Rows: (x0, x1, x2, x3), (x5, x6, x7, x4), (x10, x11, x8, x9), (x15, x12, x13, x14)
+		IntVector rb = jd.rearrange(NEXT);
+		IntVector rc = jc.rearrange(OPPOSITE);
+		IntVector rd = jb.rearrange(PREVIOUS);
+		rb = rb.lanewise(VectorOperators.XOR, ja.add(rd).lanewise(VectorOperators.ROL, 7));
+		rc = rc.lanewise(VectorOperators.XOR, rb.add(ja).lanewise(VectorOperators.ROL, 9));
+		rd = rd.lanewise(VectorOperators.XOR, rc.add(rb).lanewise(VectorOperators.ROL, 13));
+		ja = ja.lanewise(VectorOperators.XOR, rd.add(rc).lanewise(VectorOperators.ROL, 18));
+		jb = rd.rearrange(NEXT);
+		jc = rc.rearrange(OPPOSITE);
+		jd = rb.rearrange(PREVIOUS);
+	  }
+	  a = a.add(ja);
+	  b = b.add(jb);
+	  c = c.add(jc);
+	  d = d.add(jd);
+
+	  int o = out + ((i >> 1) + (i & 1) * r) * 16;
+	  a.intoArray(xy, o);
+	  b.intoArray(xy, o + 4);
+	  c.intoArray(xy, o + 8);
+	  d.intoArray(xy, o + 12);
+	}
+  }
+}
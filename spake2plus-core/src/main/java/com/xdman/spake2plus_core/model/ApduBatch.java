@@ -0,0 +1,90 @@
+package com.xdman.spake2plus_core.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * An ordered batch of APDUs sent as one message, so the vehicle can pipeline SELECT and the SPAKE2+ REQUEST
+ * into one round trip and the device can answer both in one response:
+ * <pre>
+ * +--------+-------+--------+------+--------+------+-----
+ * | marker | count | length | apdu | length | apdu | ...
+ * |   FF   |   1   |   2    |  n   |   2    |  m   |
+ * +--------+-------+--------+------+--------+------+-----
+ * </pre>
+ * CLA FF is invalid under ISO 7816-4 and no response in this protocol starts with tag FF, so a batch travels
+ * wherever a single APDU does (hex on the JSON endpoints, raw in frames and workflow payloads) and is told
+ * apart by its first byte.
+ * <p>
+ * Pipelining is optimistic. The vehicle builds its REQUEST before it has seen the device's versions. A device
+ * whose SELECT response does not offer the versions in that REQUEST answers the SELECT alone, as a plain APDU,
+ * and the vehicle sends the REQUEST again on its own. The starter turns pipelining on per execution with
+ * {@link #MEMO_KEY} in the workflow memo, so replays take the same path even if the configuration changes.
+ */
+public final class ApduBatch {
+  public static final String MEMO_KEY = "pipelinedSelect";
+
+  private static final byte MARKER = (byte) 0xFF;
+  private static final int MAX_COUNT = 0xFF;
+  private static final int MAX_LENGTH = 0xFFFF;
+
+  private ApduBatch() {
+  }
+
+  public static boolean isBatch(byte[] message) {
+	return message != null && message.length >= 2 && message[0] == MARKER;
+  }
+
+  public static byte[] encode(byte[]... apdus) {
+	if (apdus.length == 0 || apdus.length > MAX_COUNT) {
+	  throw new IllegalArgumentException("A batch holds 1 to " + MAX_COUNT + " APDUs, not " + apdus.length);
+	}
+	int size = 2;
+	for (byte[] apdu : apdus) {
+	  if (apdu == null || apdu.length > MAX_LENGTH) {
+		throw new IllegalArgumentException("Batched APDUs must be present and at most " + MAX_LENGTH + " bytes");
+	  }
+	  size += 2 + apdu.length;
+	}
+	byte[] batch = new byte[size];
+	batch[0] = MARKER;
+	batch[1] = (byte) apdus.length;
+	int offset = 2;
+	for (byte[] apdu : apdus) {
+	  batch[offset++] = (byte) (apdu.length >>> 8);
+	  batch[offset++] = (byte) apdu.length;
+	  System.arraycopy(apdu, 0, batch, offset, apdu.length);
+	  offset += apdu.length;
+	}
+	return batch;
+  }
+
+  public static List<byte[]> decode(byte[] batch) {
+	if (!isBatch(batch)) {
+	  throw new IllegalArgumentException("Not an APDU batch");
+	}
+	int count = batch[1] & 0xFF;
+	if (count == 0) {
+	  throw new IllegalArgumentException("APDU batch is empty");
+	}
+	List<byte[]> apdus = new ArrayList<>(count);
+	int offset = 2;
+	for (int i = 0; i < count; i++) {
+	  if (offset + 2 > batch.length) {
+		throw new IllegalArgumentException("APDU batch is truncated at APDU " + i);
+	  }
+	  int length = (batch[offset] & 0xFF) << 8 | batch[offset + 1] & 0xFF;
+	  offset += 2;
+	  if (offset + length > batch.length) {
+		throw new IllegalArgumentException("APDU batch is truncated at APDU " + i);
+	  }
+	  apdus.add(Arrays.copyOfRange(batch, offset, offset + length));
+	  offset += length;
+	}
+	if (offset != batch.length) {
+	  throw new IllegalArgumentException("APDU batch has " + (batch.length - offset) + " trailing bytes");
+	}
+	return apdus;
+  }
+}
@@ -0,0 +1,44 @@
+package com.xdman.spake2plus_core.model;
+
+import java.util.HexFormat;
+
+/**
+ * How a peer APDU reaches the pairing workflow on the other side.
+ * <p>
+ * {@link #SIGNAL}: the receiving endpoint signals its workflow and acknowledges; the response comes back
+ * later as a separate HTTP call. {@link #UPDATE}: the receiving endpoint runs a Temporal update on its
+ * workflow and returns the response APDU (hex) in the HTTP reply, so each protocol step is one round trip.
+ * <p>
+ * The sender picks the mode per call with the {@link #HEADER} request header.
+ */
+public enum ExchangeMode {
+  SIGNAL,
+  UPDATE;
+
+  public static final String HEADER = "x-exchange-mode";
+
+  /**
+   * Parses a header or property value, case-insensitively; anything else means {@link #SIGNAL}
+   */
+  public static ExchangeMode of(String value) {
+	return value != null && value.trim().equalsIgnoreCase(UPDATE.name()) ? UPDATE : SIGNAL;
+  }
+
+  public String headerValue() {
+	return name().toLowerCase();
+  }
+
+  /**
+   * The APDU in an update-mode HTTP reply. An empty reply means the peer has nothing more to send.
+   */
+  public static byte[] replyApdu(String message) {
+	if (message == null) {
+	  throw new IllegalStateException("Peer did not reply with an APDU");
+	}
+	try {
+	  return HexFormat.of().parseHex(message);
+	} catch (IllegalArgumentException e) {
+	  throw new IllegalStateException("Peer did not reply with an APDU: " + message, e);
+	}
+  }
+}
@@ -0,0 +1,30 @@
+package com.xdman.spake2plus_core.model;
+
+/**
+ * How the self-contained full-cycle pairing workflow runs.
+ * <p>
+ * {@link #ACTIVITIES}: each protocol step is its own activity, so every step shows up in the history.
+ * {@link #FUSED}: the whole cycle runs in one local activity that keeps intermediate state on the stack,
+ * for high-rate self-tests where only the outcome matters.
+ * <p>
+ * The starter puts the mode in the workflow memo under {@link #MEMO_KEY}. It is recorded with the start
+ * event, so replays take the same path even if the configuration changes.
+ */
+public enum FullCycleMode {
+  ACTIVITIES,
+  FUSED;
+
+  public static final String MEMO_KEY = "fullCycleMode";
+
+  /**
+   * Parses a memo or property value, case-insensitively; anything else, including no memo, means
+   * {@link #ACTIVITIES}
+   */
+  public static FullCycleMode of(String value) {
+	return value != null && value.trim().equalsIgnoreCase(FUSED.name()) ? FUSED : ACTIVITIES;
+  }
+
+  public String memoValue() {
+	return name().toLowerCase();
+  }
+}
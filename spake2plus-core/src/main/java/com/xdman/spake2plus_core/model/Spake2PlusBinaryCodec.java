@@ -0,0 +1,277 @@
+package com.xdman.spake2plus_core.model;
+
+import com.xdman.spake2plus_core.model.tlv.ResponseToSelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.SelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestResponseTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Compact binary form of the pairing models that cross activity boundaries, for the Temporal payload
+ * converter. Layout: {@code VERSION TYPE body}.
+ * <ul>
+ *   <li>TLV beans: the APDU from {@link TlvBase#encodeBytes()}</li>
+ *   <li>Byte arrays, strings (UTF-8) and scalars (two's complement): varint length + 1, or 0 for null</li>
+ *   <li>Nested configs and TLVs in the wrappers: a presence byte, then their body</li>
+ * </ul>
+ * Types are identified by a one-byte tag, so field names are never written. Bump {@link #VERSION} when a
+ * layout changes and keep reading the old one while histories written with it may still be replayed.
+ */
+public final class Spake2PlusBinaryCodec {
+
+  public static final byte VERSION = 1;
+
+  private static final byte DEVICE_DATA = 1;
+  private static final byte VEHICLE_DATA = 2;
+  private static final byte REQUEST_WRAPPER = 3;
+  private static final byte RESPONSE_WRAPPER = 4;
+  private static final byte SELECT_COMMAND = 10;
+  private static final byte SELECT_RESPONSE = 11;
+  private static final byte REQUEST_COMMAND = 12;
+  private static final byte REQUEST_RESPONSE = 13;
+  private static final byte VERIFY_COMMAND = 14;
+  private static final byte VERIFY_RESPONSE = 15;
+
+  private Spake2PlusBinaryCodec() {
+  }
+
+  /**
+   * Whether {@link #encode(Object)} writes values of this type
+   */
+  public static boolean supports(Class<?> type) {
+	return typeOf(type) != 0;
+  }
+
+  /**
+   * Encodes a supported value, or returns null for anything else so the caller can fall back to another format
+   */
+  public static byte[] encode(Object value) {
+	if (value == null) {
+	  return null;
+	}
+	byte type = typeOf(value.getClass());
+	if (type == 0) {
+	  return null;
+	}
+	Writer out = new Writer();
+	out.put(VERSION);
+	out.put(type);
+	switch (type) {
+	  case DEVICE_DATA -> writeDeviceData(out, (Spake2PlusDeviceData) value);
+	  case VEHICLE_DATA -> writeVehicleData(out, (Spake2PlusVehicleData) value);
+	  case REQUEST_WRAPPER -> {
+		Spake2PlusRequestWrapper wrapper = (Spake2PlusRequestWrapper) value;
+		writeTlv(out, wrapper.request());
+		if (out.present(wrapper.config())) {
+		  writeVehicleData(out, wrapper.config());
+		}
+	  }
+	  case RESPONSE_WRAPPER -> {
+		Spake2PlusResponseWrapper wrapper = (Spake2PlusResponseWrapper) value;
+		writeTlv(out, wrapper.response());
+		if (out.present(wrapper.config())) {
+		  writeDeviceData(out, wrapper.config());
+		}
+	  }
+	  default -> out.bytes(((TlvBase<?>) value).encodeBytes());
+	}
+	return out.toByteArray();
+  }
+
+  /**
+   * Decodes bytes written by {@link #encode(Object)}
+   *
+   * @throws IllegalArgumentException on an unknown version, a type mismatch or truncated input
+   */
+  public static <T> T decode(byte[] data, Class<T> type) {
+	if (data == null || data.length < 2) {
+	  throw new IllegalArgumentException("Binary payload too short");
+	}
+	if (data[0] != VERSION) {
+	  throw new IllegalArgumentException("Unsupported binary payload version: " + data[0]);
+	}
+	byte expected = typeOf(type);
+	if (expected == 0 || data[1] != expected) {
+	  throw new IllegalArgumentException("Binary payload of type " + data[1] + " cannot be read as " + type.getName());
+	}
+	Reader in = new Reader(data, 2);
+	Object value = switch (expected) {
+	  case DEVICE_DATA -> readDeviceData(in);
+	  case VEHICLE_DATA -> readVehicleData(in);
+	  case REQUEST_WRAPPER -> new Spake2PlusRequestWrapper(
+		readTlv(in, Spake2PlusRequestCommandTlv::new),
+		in.present() ? readVehicleData(in) : null);
+	  case RESPONSE_WRAPPER -> new Spake2PlusResponseWrapper(
+		readTlv(in, Spake2PlusRequestResponseTlv::new),
+		in.present() ? readDeviceData(in) : null);
+	  case SELECT_COMMAND -> new SelectCommandTlv().decode(in.bytes());
+	  case SELECT_RESPONSE -> new ResponseToSelectCommandTlv().decode(in.bytes());
+	  case REQUEST_COMMAND -> new Spake2PlusRequestCommandTlv().decode(in.bytes());
+	  case REQUEST_RESPONSE -> new Spake2PlusRequestResponseTlv().decode(in.bytes());
+	  case VERIFY_COMMAND -> new Spake2PlusVerifyCommandTlv().decode(in.bytes());
+	  default -> new Spake2PlusVerifyResponseTlv().decode(in.bytes());
+	};
+	if (in.position != data.length) {
+	  throw new IllegalArgumentException("Trailing bytes after binary payload");
+	}
+	return type.cast(value);
+  }
+
+  private static byte typeOf(Class<?> type) {
+	if (type == Spake2PlusDeviceData.class) return DEVICE_DATA;
+	if (type == Spake2PlusVehicleData.class) return VEHICLE_DATA;
+	if (type == Spake2PlusRequestWrapper.class) return REQUEST_WRAPPER;
+	if (type == Spake2PlusResponseWrapper.class) return RESPONSE_WRAPPER;
+	if (type == SelectCommandTlv.class) return SELECT_COMMAND;
+	if (type == ResponseToSelectCommandTlv.class) return SELECT_RESPONSE;
+	if (type == Spake2PlusRequestCommandTlv.class) return REQUEST_COMMAND;
+	if (type == Spake2PlusRequestResponseTlv.class) return REQUEST_RESPONSE;
+	if (type == Spake2PlusVerifyCommandTlv.class) return VERIFY_COMMAND;
+	if (type == Spake2PlusVerifyResponseTlv.class) return VERIFY_RESPONSE;
+	return 0;
+  }
+
+  private static void writeDeviceData(Writer out, Spake2PlusDeviceData data) {
+	out.string(data.password());
+	out.scalar(data.w0());
+	out.scalar(data.w1());
+	out.scalar(data.x());
+  }
+
+  private static Spake2PlusDeviceData readDeviceData(Reader in) {
+	return new Spake2PlusDeviceData(in.string(), in.scalar(), in.scalar(), in.scalar());
+  }
+
+  private static void writeVehicleData(Writer out, Spake2PlusVehicleData data) {
+	out.scalar(data.w0());
+	out.scalar(data.w1());
+	out.bytes(data.L());
+  }
+
+  private static Spake2PlusVehicleData readVehicleData(Reader in) {
+	return new Spake2PlusVehicleData(in.scalar(), in.scalar(), in.bytes());
+  }
+
+  private static void writeTlv(Writer out, TlvBase<?> tlv) {
+	out.bytes(tlv == null ? null : tlv.encodeBytes());
+  }
+
+  private static <T extends TlvBase<T>> T readTlv(Reader in, Supplier<T> factory) {
+	byte[] apdu = in.bytes();
+	return apdu == null ? null : factory.get().decode(apdu);
+  }
+
+  private static final class Writer {
+	private byte[] buffer = new byte[128];
+	private int position;
+
+	void put(int b) {
+	  ensure(1);
+	  buffer[position++] = (byte) b;
+	}
+
+	boolean present(Object value) {
+	  put(value == null ? 0 : 1);
+	  return value != null;
+	}
+
+	void bytes(byte[] value) {
+	  if (value == null) {
+		varint(0);
+		return;
+	  }
+	  varint(value.length + 1);
+	  ensure(value.length);
+	  System.arraycopy(value, 0, buffer, position, value.length);
+	  position += value.length;
+	}
+
+	void string(String value) {
+	  bytes(value == null ? null : value.getBytes(StandardCharsets.UTF_8));
+	}
+
+	void scalar(BigInteger value) {
+	  bytes(value == null ? null : value.toByteArray());
+	}
+
+	private void varint(int value) {
+	  while ((value & ~0x7F) != 0) {
+		put((value & 0x7F) | 0x80);
+		value >>>= 7;
+	  }
+	  put(value);
+	}
+
+	private void ensure(int extra) {
+	  if (position + extra > buffer.length) {
+		buffer = Arrays.copyOf(buffer, Math.max(buffer.length * 2, position + extra));
+	  }
+	}
+
+	byte[] toByteArray() {
+	  return Arrays.copyOf(buffer, position);
+	}
+  }
+
+  private static final class Reader {
+	private final byte[] data;
+	private int position;
+
+	Reader(byte[] data, int position) {
+	  this.data = data;
+	  this.position = position;
+	}
+
+	boolean present() {
+	  require(1);
+	  return data[position++] != 0;
+	}
+
+	byte[] bytes() {
+	  int length = varint();
+	  if (length == 0) {
+		return null;
+	  }
+	  length--;
+	  require(length);
+	  byte[] value = Arrays.copyOfRange(data, position, position + length);
+	  position += length;
+	  return value;
+	}
+
+	String string() {
+	  byte[] value = bytes();
+	  return value == null ? null : new String(value, StandardCharsets.UTF_8);
+	}
+
+	BigInteger scalar() {
+	  byte[] value = bytes();
+	  return value == null ? null : new BigInteger(value);
+	}
+
+	private int varint() {
+	  int value = 0;
+	  for (int shift = 0; shift < 32; shift += 7) {
+		require(1);
+		byte b = data[position++];
+		value |= (b & 0x7F) << shift;
+		if (b >= 0) {
+		  return value;
+		}
+	  }
+	  throw new IllegalArgumentException("Malformed length in binary payload");
+	}
+
+	private void require(int length) {
+	  if (length < 0 || position + length > data.length) {
+		throw new IllegalArgumentException("Binary payload truncated");
+	  }
+	}
+  }
+}
@@ -1,4 +1,4 @@
-package com.xdman.workflow_device.model;
+package com.xdman.spake2plus_core.model;
 
 import java.math.BigInteger;
 
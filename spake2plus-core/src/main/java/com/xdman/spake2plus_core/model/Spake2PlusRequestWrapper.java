@@ -1,7 +1,7 @@
-package com.xdman.workflow_device.model;
+package com.xdman.spake2plus_core.model;
 
 
-import com.xdman.workflow_device.model.tlv.Spake2PlusRequestCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestCommandTlv;
 
 public record Spake2PlusRequestWrapper(
   Spake2PlusRequestCommandTlv request,
@@ -1,7 +1,7 @@
-package com.xdman.workflow_device.model;
+package com.xdman.spake2plus_core.model;
 
 
-import com.xdman.workflow_device.model.tlv.Spake2PlusRequestResponseTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestResponseTlv;
 
 public record Spake2PlusResponseWrapper(
   Spake2PlusRequestResponseTlv response,
@@ -0,0 +1,17 @@
+package com.xdman.spake2plus_core.model;
+
+import java.math.BigInteger;
+
+/**
+ * Vehicle-side SPAKE2+ secrets. A verifier loaded from the store carries {@code L = w1*G}
+ * (uncompressed encoding) instead of {@code w1}.
+ */
+public record Spake2PlusVehicleData(
+  BigInteger w0,
+  BigInteger w1,
+  byte[] L
+) {
+  public Spake2PlusVehicleData(BigInteger w0, BigInteger w1) {
+	this(w0, w1, null);
+  }
+}
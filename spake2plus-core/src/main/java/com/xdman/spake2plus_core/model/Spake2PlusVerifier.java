@@ -0,0 +1,21 @@
+package com.xdman.spake2plus_core.model;
+
+import java.math.BigInteger;
+
+/**
+ * Provisioned SPAKE2+ verifier for one vehicle: the scrypt parameters the device must use and the
+ * vehicle-side values derived from them. {@code L} is the uncompressed encoding of {@code w1*G}.
+ */
+public record Spake2PlusVerifier(
+  String vin,
+  BigInteger w0,
+  byte[] L,
+  byte[] salt,
+  int scryptCost,
+  int blockSize,
+  int parallelization
+) {
+  public Spake2PlusVehicleData toVehicleData() {
+	return new Spake2PlusVehicleData(w0, null, L);
+  }
+}
@@ -0,0 +1,53 @@
+package com.xdman.spake2plus_core.model;
+
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.model.tlv.TlvReader;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Base for the pairing APDUs. The binary form is primary: {@link #decode(byte[], int, int)} and
+ * {@link #encodeBytes()} work on raw APDU bytes, and the hex String overloads are thin adapters
+ * kept for the JSON endpoints.
+ */
+public abstract class TlvBase<T extends TlvBase<T>> {
+
+  public abstract T decode(byte[] apdu, int offset, int length);
+
+  public abstract byte[] encodeBytes();
+
+  public T decode(byte[] apdu) {
+	return decode(apdu, 0, apdu == null ? 0 : apdu.length);
+  }
+
+  /**
+   * Decodes the remaining bytes of {@code apdu} without moving its position. Heap buffers are read in
+   * place; other buffers are copied once.
+   */
+  public T decode(ByteBuffer apdu) {
+	if (apdu == null) {
+	  return decode(null, 0, 0);
+	}
+	if (apdu.hasArray()) {
+	  return decode(apdu.array(), apdu.arrayOffset() + apdu.position(), apdu.remaining());
+	}
+	byte[] copy = new byte[apdu.remaining()];
+	apdu.duplicate().get(copy);
+	return decode(copy);
+  }
+
+  public T decode(String tlvString) {
+	if (tlvString == null || tlvString.trim().isEmpty()) {
+	  return decode(null, 0, 0);
+	}
+	return decode(HexUtil.parseHex(tlvString));
+  }
+
+  /**
+   * The APDU as an uppercase hex string
+   */
+  public String encode() {
+	byte[] apdu = encodeBytes();
+	return TlvReader.toHex(apdu, 0, apdu.length);
+  }
+}
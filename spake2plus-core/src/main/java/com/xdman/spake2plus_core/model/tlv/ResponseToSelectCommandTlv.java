@@ -1,15 +1,10 @@
-package com.xdman.workflow_device.model.tlv;
+package com.xdman.spake2plus_core.model.tlv;
 
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.payneteasy.tlv.BerTag;
-import com.payneteasy.tlv.BerTlv;
-import com.payneteasy.tlv.BerTlvBuilder;
-import com.payneteasy.tlv.BerTlvParser;
-import com.payneteasy.tlv.BerTlvs;
-import com.payneteasy.tlv.HexUtil;
-
-import com.xdman.workflow_device.model.TlvBase;
+import com.xdman.spake2plus_core.codegen.TlvField;
+import com.xdman.spake2plus_core.codegen.TlvMessage;
+import com.xdman.spake2plus_core.model.TlvBase;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -27,71 +22,38 @@ import lombok.Setter;
  */
 @Setter
 @Getter
-public class ResponseToSelectCommandTlv extends TlvBase {
-  // Common format constants
-  private static final String SUCCESS_TRAILER = "9000";
-
+@TlvMessage(trailerRequired = false)
+public class ResponseToSelectCommandTlv extends TlvBase<ResponseToSelectCommandTlv> {
   // Pairing mode constants
   public static final int PAIRING_MODE_NOT_IN_PAIRING = 0x00;
   public static final int PAIRING_MODE_STARTED_WITH_PASSWORD = 0x02;
 
   // Fields
+  @TlvField(tag = 0x5A, name = "Framework versions")
   private byte[] frameworkVersions;  // Array of version pairs (high, low)
+  @TlvField(tag = 0x5C, name = "Protocol versions")
   private byte[] protocolVersions;   // Array of version pairs (high, low)
+  @TlvField(tag = 0xD4, name = "Pairing mode", length = 1)
   private Integer pairingMode;       // 0x00 or 0x02
 
-  private enum Tags {
-    FRAMEWORK_VERSIONS("5A"),
-    PROTOCOL_VERSIONS("5C"),
-    PAIRING_MODE("D4");
-
-    public final BerTag tag;
-
-    Tags(String hexString) {
-      this.tag = new BerTag(HexUtil.parseHex(hexString));
-    }
+  /**
+   * The simulated device's answer to SELECT: framework and protocol version 1.0, pairing started with a
+   * password
+   */
+  public static ResponseToSelectCommandTlv startedWithPassword() {
+    ResponseToSelectCommandTlv response = new ResponseToSelectCommandTlv();
+    response.setFrameworkVersions(new byte[]{0x01, 0x00});
+    response.setProtocolVersions(new byte[]{0x01, 0x00});
+    response.setPairingMode(PAIRING_MODE_STARTED_WITH_PASSWORD);
+    return response;
   }
 
   @Override
-  public ResponseToSelectCommandTlv decode(String tlvString) {
+  public ResponseToSelectCommandTlv decode(byte[] apdu, int offset, int length) {
     try {
-      if (tlvString == null || tlvString.trim().isEmpty()) {
-        throw new IllegalArgumentException("TLV string cannot be null or empty");
-      }
-
-      // Remove success trailer if present
-      String dataHex = tlvString;
-      if (dataHex.endsWith(SUCCESS_TRAILER)) {
-        dataHex = dataHex.substring(0, dataHex.length() - SUCCESS_TRAILER.length());
-      }
-
-      BerTlvParser parser = new BerTlvParser();
-      BerTlvs tlvs = parser.parse(HexUtil.parseHex(dataHex));
-
-      // Decode mandatory fields
-      BerTlv frameworkVersionsTlv = tlvs.find(Tags.FRAMEWORK_VERSIONS.tag);
-      if (frameworkVersionsTlv == null) {
-        throw new IllegalArgumentException("Missing mandatory field: Framework versions");
-      }
-      this.frameworkVersions = frameworkVersionsTlv.getBytesValue();
+      ResponseToSelectCommandTlvCodec.decode(this, apdu, offset, length);
       validateVersionArray(frameworkVersions, "Framework versions");
-
-      BerTlv protocolVersionsTlv = tlvs.find(Tags.PROTOCOL_VERSIONS.tag);
-      if (protocolVersionsTlv == null) {
-        throw new IllegalArgumentException("Missing mandatory field: Protocol versions");
-      }
-      this.protocolVersions = protocolVersionsTlv.getBytesValue();
       validateVersionArray(protocolVersions, "Protocol versions");
-
-      BerTlv pairingModeTlv = tlvs.find(Tags.PAIRING_MODE.tag);
-      if (pairingModeTlv == null) {
-        throw new IllegalArgumentException("Missing mandatory field: Pairing mode");
-      }
-      byte[] pairingModeBytes = pairingModeTlv.getBytesValue();
-      if (pairingModeBytes.length != 1) {
-        throw new IllegalArgumentException("Pairing mode must be exactly 1 byte");
-      }
-      this.pairingMode = (int) (pairingModeBytes[0] & 0xFF);
       validatePairingMode(pairingMode);
 
       return this;
@@ -101,29 +63,18 @@ public class ResponseToSelectCommandTlv extends TlvBase {
   }
 
   @Override
-  public String encode() {
+  public byte[] encodeBytes() {
     try {
       validateVersionArray(frameworkVersions, "Framework versions");
       validateVersionArray(protocolVersions, "Protocol versions");
       validatePairingMode(pairingMode);
 
-      BerTlvBuilder builder = new BerTlvBuilder();
-      builder.addBytes(Tags.FRAMEWORK_VERSIONS.tag, frameworkVersions);
-      builder.addBytes(Tags.PROTOCOL_VERSIONS.tag, protocolVersions);
-      // Convert pairingMode to a single byte array before adding
-      byte[] pairingModeBytes = new byte[] {pairingMode.byteValue()};
-      builder.addBytes(Tags.PAIRING_MODE.tag, pairingModeBytes);
-
-      // Build TLV data and append success trailer
-      byte[] tlvBytes = builder.buildArray();
-      return HexUtil.toHexString(tlvBytes).toUpperCase() + SUCCESS_TRAILER;
+      return ResponseToSelectCommandTlvCodec.encode(this);
     } catch (Exception e) {
       throw new IllegalArgumentException("Failed to encode SELECT Response: " + e.getMessage(), e);
     }
   }
 
-
-
   private void validateVersionArray(byte[] versions, String fieldName) {
     if (versions == null) {
       throw new IllegalArgumentException(fieldName + " cannot be null");
@@ -1,9 +1,9 @@
-package com.xdman.workflow_device.model.tlv;
+package com.xdman.spake2plus_core.model.tlv;
 
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.payneteasy.tlv.HexUtil;
 
-import com.xdman.workflow_device.model.TlvBase;
+import com.xdman.spake2plus_core.model.TlvBase;
 import lombok.Getter;
 import lombok.Setter;
 
@@ -13,7 +13,7 @@ import lombok.Setter;
  */
 @Setter
 @Getter
-public class SelectCommandTlv extends TlvBase {
+public class SelectCommandTlv extends TlvBase<SelectCommandTlv> {
   // Digital Key Framework AID
   private static final String DIGITAL_KEY_FRAMEWORK_AID = "A0000008094343434B467631";
 
@@ -36,27 +36,24 @@ public class SelectCommandTlv extends TlvBase {
   }
 
   @Override
-  public SelectCommandTlv decode(String tlvString) {
+  public SelectCommandTlv decode(byte[] apdu, int offset, int length) {
     try {
-      if (tlvString == null || tlvString.trim().isEmpty()) {
-        throw new IllegalArgumentException("TLV string cannot be null or empty");
+      if (apdu == null || length == 0) {
+        throw new IllegalArgumentException("APDU cannot be null or empty");
       }
 
-      byte[] allBytes = HexUtil.parseHex(tlvString);
       // Extract data part: after command header (5 bytes) and before trailer (1 byte)
-      if (allBytes.length < 6) {
+      if (length < 6) {
         throw new IllegalArgumentException("Invalid command format: too short");
       }
 
       // Extract AID from data part (skip 5 byte header, take length from Lc field)
-      int dataLength = allBytes[4] & 0xFF; // Lc field
-      if (allBytes.length < 5 + dataLength + 1) {
+      int dataLength = apdu[offset + 4] & 0xFF; // Lc field
+      if (length < 5 + dataLength + 1) {
         throw new IllegalArgumentException("Invalid command format: data length mismatch");
       }
 
-      byte[] aidBytes = new byte[dataLength];
-      System.arraycopy(allBytes, 5, aidBytes, 0, dataLength);
-      this.aid = HexUtil.toHexString(aidBytes).toUpperCase();
+      this.aid = TlvReader.toHex(apdu, offset + 5, dataLength);
 
       return this;
     } catch (Exception e) {
@@ -65,7 +62,7 @@ public class SelectCommandTlv extends TlvBase {
   }
 
   @Override
-  public String encode() {
+  public byte[] encodeBytes() {
     try {
       validateAid(aid);
 
@@ -82,7 +79,7 @@ public class SelectCommandTlv extends TlvBase {
       System.arraycopy(aidBytes, 0, apdu, 5, aidBytes.length);
       apdu[5 + aidBytes.length] = (byte) 0x00; // Le
 
-      return HexUtil.toHexString(apdu).toUpperCase();
+      return apdu;
     } catch (Exception e) {
       throw new IllegalArgumentException("Failed to encode SELECT Command: " + e.getMessage(), e);
     }
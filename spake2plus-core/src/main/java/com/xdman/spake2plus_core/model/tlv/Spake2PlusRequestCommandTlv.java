@@ -0,0 +1,84 @@
+package com.xdman.spake2plus_core.model.tlv;
+
+import com.xdman.spake2plus_core.codegen.TlvConstructed;
+import com.xdman.spake2plus_core.codegen.TlvField;
+import com.xdman.spake2plus_core.codegen.TlvMessage;
+import com.xdman.spake2plus_core.model.TlvBase;
+import lombok.Getter;
+import lombok.Setter;
+
+import java.nio.ByteBuffer;
+
+/**
+ * SPAKE2+ REQUEST Command TLV format according to Digital Key Technical Specification Release 3.
+ *
+ * Command format: 80 30 00 00 Lc [Data] 00
+ *
+ * Tag    Length     Description                                          Field
+ * 5Bh    2 × n     Supported V-OD-FW versions (ver.high | ver.low)     Mandatory
+ * 5Ch    2 × m     Supported Digital Key protocol versions              Mandatory
+ * 5Eh    2 × o     Supported V-D-BT versions                           Optional
+ * 7F50h  32        Scrypt configuration parameters                      Mandatory
+ * C0h    16        Cryptographic salt (s)                              Mandatory
+ * C1h    4         Scrypt cost parameter (Nscrypt)                     Mandatory
+ * C2h    2         Block size parameter (r)                            Mandatory
+ * C3h    2         Parallelization parameter (p)                       Mandatory
+ * D6h    2         Vehicle Brand                                       Mandatory
+ *
+ * The codec is generated at compile time from the field annotations (see {@code Spake2PlusRequestCommandTlvCodec}).
+ */
+
+@Getter
+@Setter
+@TlvMessage(
+  header = {0x80, 0x30, 0x00, 0x00},
+  constructed = @TlvConstructed(tag = 0x7F50, name = "Scrypt configuration")
+)
+public class Spake2PlusRequestCommandTlv extends TlvBase<Spake2PlusRequestCommandTlv> {
+  @TlvField(tag = 0x5B, name = "VOD firmware versions")
+  private byte[] vodFwVersions;          // Mandatory - V-OD-FW versions
+  @TlvField(tag = 0x5C, name = "DK protocol versions")
+  private byte[] dkProtocolVersions;     // Mandatory - Digital Key protocol versions
+  @TlvField(tag = 0x5E, name = "BT versions", mandatory = false)
+  private byte[] btVersions;             // Optional - V-D-BT versions
+  private byte[] scryptConfig;           // Mandatory - 32 bytes, derived from the 7F50 fields
+  @TlvField(tag = 0xC0, name = "Cryptographic salt", parent = 0x7F50)
+  private String cryptographicSalt;      // Mandatory - 16 bytes
+  @TlvField(tag = 0xC1, name = "Scrypt cost", length = 4, parent = 0x7F50)
+  private Integer scryptCost;            // Mandatory - 4 bytes
+  @TlvField(tag = 0xC2, name = "Block size", length = 2, parent = 0x7F50)
+  private Integer blockSize;             // Mandatory - 2 bytes
+  @TlvField(tag = 0xC3, name = "Parallelization", length = 2, parent = 0x7F50)
+  private Integer parallelization;       // Mandatory - 2 bytes
+  @TlvField(tag = 0xD6, name = "Vehicle brand")
+  private String vehicleBrand;           // Mandatory - 2 bytes (hex string)
+
+  @Override
+  public Spake2PlusRequestCommandTlv decode(byte[] apdu, int offset, int length) {
+    try {
+      Spake2PlusRequestCommandTlvCodec.decode(this, apdu, offset, length);
+
+      // Combine all Scrypt parameters into scryptConfig: salt | Nscrypt | r | p
+      byte[] salt = TlvWriter.fromHex(cryptographicSalt);
+      this.scryptConfig = ByteBuffer.allocate(salt.length + 8)
+        .put(salt)
+        .putInt(scryptCost)
+        .putShort(blockSize.shortValue())
+        .putShort(parallelization.shortValue())
+        .array();
+
+      return this;
+    } catch (Exception e) {
+      throw new IllegalArgumentException("Failed to decode SPAKE2+ REQUEST Command: " + e.getMessage(), e);
+    }
+  }
+
+  @Override
+  public byte[] encodeBytes() {
+    try {
+      return Spake2PlusRequestCommandTlvCodec.encode(this);
+    } catch (Exception e) {
+      throw new IllegalArgumentException("Failed to encode SPAKE2+ REQUEST Command: " + e.getMessage(), e);
+    }
+  }
+}
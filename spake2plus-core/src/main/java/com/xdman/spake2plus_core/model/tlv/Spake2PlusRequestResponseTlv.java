@@ -0,0 +1,50 @@
+package com.xdman.spake2plus_core.model.tlv;
+
+import com.xdman.spake2plus_core.codegen.TlvField;
+import com.xdman.spake2plus_core.codegen.TlvMessage;
+import com.xdman.spake2plus_core.model.TlvBase;
+import lombok.Getter;
+import lombok.Setter;
+
+
+@Getter
+@Setter
+@TlvMessage
+public class Spake2PlusRequestResponseTlv extends TlvBase<Spake2PlusRequestResponseTlv> {
+  @TlvField(tag = 0x50, name = "Curve Point X")
+  private byte[] curvePointX;           // 65 bytes (including 0x04 prefix)
+  @TlvField(tag = 0x5F, name = "Selected VOD firmware version", mandatory = false)
+  private byte[] selectedVodFwVersion;  // 2 bytes, conditional
+
+  @Override
+  public Spake2PlusRequestResponseTlv decode(byte[] apdu, int offset, int length) {
+	try {
+	  Spake2PlusRequestResponseTlvCodec.decode(this, apdu, offset, length);
+	  return this;
+	} catch (Exception e) {
+	  throw new IllegalArgumentException("Failed to decode SPAKE2+ REQUEST Response: " + e.getMessage(), e);
+	}
+  }
+
+  @Override
+  public byte[] encodeBytes() {
+	try {
+	  validateCurvePoint(curvePointX);
+	  return Spake2PlusRequestResponseTlvCodec.encode(this);
+	} catch (Exception e) {
+	  throw new IllegalArgumentException("Failed to encode SPAKE2+ REQUEST Response: " + e.getMessage(), e);
+	}
+  }
+
+  private void validateCurvePoint(byte[] curvePoint) {
+	if (curvePoint == null) {
+	  throw new IllegalArgumentException("Curve point X cannot be null");
+	}
+	if (curvePoint.length != 65) {
+	  throw new IllegalArgumentException("Curve point X must be 65 bytes (including 0x04 prefix)");
+	}
+	if (curvePoint[0] != 0x04) {
+	  throw new IllegalArgumentException("Curve point X must start with 0x04 prefix");
+	}
+  }
+}
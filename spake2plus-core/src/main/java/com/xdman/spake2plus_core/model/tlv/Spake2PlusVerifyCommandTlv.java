@@ -0,0 +1,46 @@
+package com.xdman.spake2plus_core.model.tlv;
+
+import com.xdman.spake2plus_core.codegen.TlvField;
+import com.xdman.spake2plus_core.codegen.TlvMessage;
+import com.xdman.spake2plus_core.model.TlvBase;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * SPAKE2+ VERIFY Command TLV format according to Table 5-6:
+ *
+ * Command format: 80 32 00 00 Lc [Data] 00
+ *
+ * Tag    Length     Description                                                       Field
+ * 52h    65         Curve point Y of the SPAKE2+ protocol, prepended with 04h         Mandatory
+ * 57h    16         Vehicle evidence M[1]                                             Mandatory
+ */
+
+@Getter
+@Setter
+@TlvMessage(header = {0x80, 0x32, 0x00, 0x00})
+public class Spake2PlusVerifyCommandTlv extends TlvBase<Spake2PlusVerifyCommandTlv> {
+  @TlvField(tag = 0x52, name = "Curve point Y")
+  private byte[] curvePointY;      // 65 bytes (including 04h prefix)
+  @TlvField(tag = 0x57, name = "Vehicle evidence")
+  private byte[] vehicleEvidence;  // 16 bytes
+
+  @Override
+  public Spake2PlusVerifyCommandTlv decode(byte[] apdu, int offset, int length) {
+	try {
+	  Spake2PlusVerifyCommandTlvCodec.decode(this, apdu, offset, length);
+	  return this;
+	} catch (Exception e) {
+	  throw new IllegalArgumentException("Failed to decode SPAKE2+ VERIFY Command: " + e.getMessage(), e);
+	}
+  }
+
+  @Override
+  public byte[] encodeBytes() {
+	try {
+	  return Spake2PlusVerifyCommandTlvCodec.encode(this);
+	} catch (Exception e) {
+	  throw new IllegalArgumentException("Failed to encode SPAKE2+ VERIFY Command: " + e.getMessage(), e);
+	}
+  }
+}
@@ -0,0 +1,45 @@
+package com.xdman.spake2plus_core.model.tlv;
+
+import com.xdman.spake2plus_core.codegen.TlvField;
+import com.xdman.spake2plus_core.codegen.TlvMessage;
+import com.xdman.spake2plus_core.model.TlvBase;
+import lombok.Getter;
+import lombok.Setter;
+
+/**
+ * SPAKE2+ VERIFY Response TLV format according to Table 5-7:
+ *
+ * Response format: [Data] 90 00
+ *
+ * Tag    Length     Description                                          Field
+ * 58h    16         Device evidence M[2]                               Mandatory
+ */
+
+@Getter
+@Setter
+@TlvMessage
+public class Spake2PlusVerifyResponseTlv extends TlvBase<Spake2PlusVerifyResponseTlv> {
+  @TlvField(tag = 0x58, name = "Device evidence")
+  private byte[] deviceEvidence;   // 16 bytes
+
+  @Override
+  public Spake2PlusVerifyResponseTlv decode(byte[] apdu, int offset, int length) {
+	try{
+	  Spake2PlusVerifyResponseTlvCodec.decode(this, apdu, offset, length);
+	  return this;
+	}
+	catch (Exception e) {
+	  throw new IllegalArgumentException("Failed to decode SPAKE2+ VERIFY Response: " + e.getMessage(), e);
+	}
+  }
+
+  @Override
+  public byte[] encodeBytes() {
+	try{
+	  return Spake2PlusVerifyResponseTlvCodec.encode(this);
+	}
+	catch (Exception e) {
+	  throw new IllegalArgumentException("Failed to encode SPAKE2+ VERIFY Response: " + e.getMessage(), e);
+	}
+  }
+}
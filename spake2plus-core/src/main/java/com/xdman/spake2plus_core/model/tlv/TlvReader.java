@@ -0,0 +1,199 @@
+package com.xdman.spake2plus_core.model.tlv;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Single-pass BER-TLV reader over a {@code byte[]} slice.
+ * <p>
+ * The reader is a flyweight: {@link #next()} advances to the next TLV at the current level and
+ * exposes its tag, and the offset and length of its value within the backing array, without copying
+ * anything or building an object tree. Decoders walk the fields once and dispatch on {@link #tag()};
+ * values are only copied out when the caller asks for them. Constructed values are read with
+ * {@link #enter()}.
+ * <p>
+ * Tags are returned as ints holding their raw bytes, e.g. {@code 0x5B} or {@code 0x7F50}.
+ */
+public final class TlvReader {
+  private static final char[] HEX_DIGITS = "0123456789ABCDEF".toCharArray();
+
+  private byte[] buffer;
+  private int position;
+  private int end;
+
+  private int tag;
+  private boolean constructed;
+  private int valueOffset;
+  private int valueLength;
+
+  public TlvReader() {
+  }
+
+  public static TlvReader of(byte[] buffer, int offset, int length) {
+	return new TlvReader().reset(buffer, offset, length);
+  }
+
+  /**
+   * Reads the remaining bytes of {@code buffer}. Heap buffers are read in place; other buffers are
+   * copied once.
+   */
+  public static TlvReader of(ByteBuffer buffer) {
+	if (buffer.hasArray()) {
+	  return of(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+	}
+	byte[] copy = new byte[buffer.remaining()];
+	buffer.duplicate().get(copy);
+	return of(copy, 0, copy.length);
+  }
+
+  /**
+   * Points this reader at {@code buffer[offset, offset + length)} so one instance can be reused
+   */
+  public TlvReader reset(byte[] buffer, int offset, int length) {
+	if (offset < 0 || offset > buffer.length || length < 0 || length > buffer.length - offset) {
+	  throw new IllegalArgumentException("TLV slice out of bounds");
+	}
+	this.buffer = buffer;
+	this.position = offset;
+	this.end = offset + length;
+	this.tag = 0;
+	this.constructed = false;
+	this.valueOffset = offset;
+	this.valueLength = 0;
+	return this;
+  }
+
+  /**
+   * Advances to the next TLV at this level
+   *
+   * @return false when the slice is exhausted
+   */
+  public boolean next() {
+	if (position >= end) {
+	  return false;
+	}
+
+	// Tag: low five bits all set means further tag bytes follow, each with b8 set except the last
+	int first = buffer[position++] & 0xFF;
+	int value = first;
+	if ((first & 0x1F) == 0x1F) {
+	  int b;
+	  do {
+		if (position >= end) {
+		  throw new IllegalArgumentException("Truncated TLV tag");
+		}
+		if (value > 0xFFFFFF) {
+		  throw new IllegalArgumentException("TLV tag longer than 4 bytes");
+		}
+		b = buffer[position++] & 0xFF;
+		value = (value << 8) | b;
+	  } while ((b & 0x80) != 0);
+	}
+	tag = value;
+	constructed = (first & 0x20) != 0;
+
+	// Length: short form, or 0x81..0x84 followed by that many length bytes
+	if (position >= end) {
+	  throw new IllegalArgumentException("Truncated TLV length for tag " + Integer.toHexString(tag).toUpperCase());
+	}
+	int length = buffer[position++] & 0xFF;
+	if (length > 0x7F) {
+	  int count = length & 0x7F;
+	  if (count == 0 || count > 4 || position + count > end) {
+		throw new IllegalArgumentException("Invalid TLV length for tag " + Integer.toHexString(tag).toUpperCase());
+	  }
+	  length = 0;
+	  for (int i = 0; i < count; i++) {
+		length = (length << 8) | (buffer[position++] & 0xFF);
+	  }
+	  if (length < 0) {
+		throw new IllegalArgumentException("Invalid TLV length for tag " + Integer.toHexString(tag).toUpperCase());
+	  }
+	}
+	if (length > end - position) {
+	  throw new IllegalArgumentException("TLV value overruns the buffer for tag " + Integer.toHexString(tag).toUpperCase());
+	}
+
+	valueOffset = position;
+	valueLength = length;
+	position += length;
+	return true;
+  }
+
+  public int tag() {
+	return tag;
+  }
+
+  public boolean isConstructed() {
+	return constructed;
+  }
+
+  public byte[] buffer() {
+	return buffer;
+  }
+
+  public int valueOffset() {
+	return valueOffset;
+  }
+
+  public int valueLength() {
+	return valueLength;
+  }
+
+  /**
+   * Returns a reader over the value of the current, constructed TLV
+   */
+  public TlvReader enter() {
+	if (!constructed) {
+	  throw new IllegalArgumentException("TLV " + Integer.toHexString(tag).toUpperCase() + " is not constructed");
+	}
+	return of(buffer, valueOffset, valueLength);
+  }
+
+  public byte[] valueBytes() {
+	byte[] value = new byte[valueLength];
+	System.arraycopy(buffer, valueOffset, value, 0, valueLength);
+	return value;
+  }
+
+  /**
+   * The value as an uppercase hex string
+   */
+  public String valueHex() {
+	return toHex(buffer, valueOffset, valueLength);
+  }
+
+  /**
+   * The first four value bytes as a big-endian signed int
+   */
+  public int valueInt() {
+	requireValueLength(4);
+	return ((buffer[valueOffset] & 0xFF) << 24)
+	  | ((buffer[valueOffset + 1] & 0xFF) << 16)
+	  | ((buffer[valueOffset + 2] & 0xFF) << 8)
+	  | (buffer[valueOffset + 3] & 0xFF);
+  }
+
+  /**
+   * The first two value bytes as a big-endian signed short
+   */
+  public short valueShort() {
+	requireValueLength(2);
+	return (short) (((buffer[valueOffset] & 0xFF) << 8) | (buffer[valueOffset + 1] & 0xFF));
+  }
+
+  public static String toHex(byte[] bytes, int offset, int length) {
+	char[] chars = new char[length * 2];
+	for (int i = 0; i < length; i++) {
+	  int b = bytes[offset + i] & 0xFF;
+	  chars[i * 2] = HEX_DIGITS[b >>> 4];
+	  chars[i * 2 + 1] = HEX_DIGITS[b & 0x0F];
+	}
+	return new String(chars);
+  }
+
+  private void requireValueLength(int length) {
+	if (valueLength < length) {
+	  throw new IllegalArgumentException("TLV " + Integer.toHexString(tag).toUpperCase() + " value shorter than " + length + " bytes");
+	}
+  }
+}
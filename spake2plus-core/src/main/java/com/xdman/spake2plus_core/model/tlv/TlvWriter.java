@@ -0,0 +1,72 @@
+package com.xdman.spake2plus_core.model.tlv;
+
+import java.util.HexFormat;
+
+/**
+ * BER-TLV length and value helpers for the generated {@code <Class>Codec} encoders. Callers size the
+ * output with {@link #sizeOf(int, int)} and then write into one exact-size array; nothing here
+ * allocates apart from {@link #fromHex(String)}.
+ */
+public final class TlvWriter {
+
+  private TlvWriter() {
+  }
+
+  /**
+   * Bytes needed to encode {@code length} as a BER length
+   */
+  public static int lengthSize(int length) {
+	if (length < 0x80) {
+	  return 1;
+	}
+	if (length <= 0xFF) {
+	  return 2;
+	}
+	if (length <= 0xFFFF) {
+	  return 3;
+	}
+	if (length <= 0xFFFFFF) {
+	  return 4;
+	}
+	return 5;
+  }
+
+  /**
+   * Encoded size of a TLV with a {@code tagSize}-byte tag and a {@code valueLength}-byte value
+   */
+  public static int sizeOf(int tagSize, int valueLength) {
+	return tagSize + lengthSize(valueLength) + valueLength;
+  }
+
+  /**
+   * Writes {@code length} as a BER length at {@code position} and returns the position after it
+   */
+  public static int writeLength(byte[] out, int position, int length) {
+	int size = lengthSize(length);
+	if (size == 1) {
+	  out[position++] = (byte) length;
+	  return position;
+	}
+	out[position++] = (byte) (0x80 | (size - 1));
+	for (int shift = (size - 2) * 8; shift >= 0; shift -= 8) {
+	  out[position++] = (byte) (length >>> shift);
+	}
+	return position;
+  }
+
+  /**
+   * Writes the length and bytes of {@code value} at {@code position} and returns the position after them
+   */
+  public static int writeValue(byte[] out, int position, byte[] value) {
+	position = writeLength(out, position, value.length);
+	System.arraycopy(value, 0, out, position, value.length);
+	return position + value.length;
+  }
+
+  /**
+   * Parses a hex string, or returns null for null
+   */
+  public static byte[] fromHex(String hex) {
+	return hex == null ? null : HexFormat.of().parseHex(hex);
+  }
+}
@@ -0,0 +1,162 @@
+package com.xdman.spake2plus_core.service;
+
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.crypto.EphemeralKeyPool;
+import com.xdman.spake2plus_core.crypto.FixedBaseMultiplier;
+import com.xdman.spake2plus_core.crypto.ScryptKeyCache;
+import com.xdman.spake2plus_core.crypto.Spake2PlusKeySchedule;
+import com.xdman.spake2plus_core.model.Spake2PlusDeviceData;
+import com.xdman.spake2plus_core.model.Spake2PlusResponseWrapper;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestResponseTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
+import lombok.extern.slf4j.Slf4j;
+import org.bouncycastle.jce.spec.ECParameterSpec;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+/**
+ * Device-side SPAKE2+ computations (Listings 18-1, 18-3, 18-5 to 18-9).
+ * Framework-free; the applications register it as a bean with their own scrypt cache and ephemeral pool.
+ */
+@Slf4j
+public class Spake2PlusDeviceService {
+  private final ECParameterSpec ecParams = FixedBaseMultiplier.EC_PARAMS; // NIST P-256
+  private final BigInteger n = ecParams.getN(); // Order of base point G
+  private final ScryptKeyCache scryptKeyCache;
+  private final EphemeralKeyPool ephemeralKeyPool;
+
+  public Spake2PlusDeviceService(ScryptKeyCache scryptKeyCache, EphemeralKeyPool ephemeralKeyPool) {
+	this.scryptKeyCache = scryptKeyCache;
+	this.ephemeralKeyPool = ephemeralKeyPool;
+  }
+
+  /**
+   * Process SPAKE2+ request and generate response
+   * Based on Listing 18-3: Device-side Public Point Generation
+   */
+  public Spake2PlusResponseWrapper processSpake2PlusRequest(Spake2PlusRequestCommandTlv request, String password) {
+
+	// Generate Scrypt output (based on Listing 18-1)
+	byte[] pwd = HexUtil.parseHex(password);
+	byte[] cryptographicSalt = HexUtil.parseHex(request.getCryptographicSalt());
+	int scryptCost = request.getScryptCost();
+	int blockSize = request.getBlockSize();
+	int parallelization = request.getParallelization();
+	byte[] z = scryptKeyCache.derive(pwd, cryptographicSalt, scryptCost, blockSize, parallelization, 80);
+
+	// Split z into z0 and z1 (40 bytes each)
+	byte[] z0 = Arrays.copyOfRange(z, 0, 40);
+	byte[] z1 = Arrays.copyOfRange(z, 40, 80);
+
+	// Convert to w0 and w1 scalars (mod n-1) + 1
+	BigInteger z0BigInt = new BigInteger(1, z0);
+	BigInteger z1BigInt = new BigInteger(1, z1);
+	BigInteger w0 = z0BigInt.mod(n.subtract(BigInteger.ONE)).add(BigInteger.ONE);;
+	BigInteger w1 = z1BigInt.mod(n.subtract(BigInteger.ONE)).add(BigInteger.ONE);
+	Arrays.fill(z, (byte) 0);
+	Arrays.fill(z0, (byte) 0);
+	Arrays.fill(z1, (byte) 0);
+
+	// Compute L = w1 * G
+	ECPoint L = FixedBaseMultiplier.multiplyG(w1);
+	// Take a pre-generated random scalar x and x*G from the pool
+	EphemeralKeyPool.EphemeralKey ephemeral = ephemeralKeyPool.take();
+	BigInteger x = ephemeral.scalar();
+	// Calculate X = x*G + w0*M
+	ECPoint X = ephemeral.point().add(FixedBaseMultiplier.multiplyM(w0)).normalize();
+
+	Spake2PlusDeviceData configurations = new Spake2PlusDeviceData(password, w0, w1, x);
+
+	log.info("w0: {}, w1: {}", w0, w1);
+	log.info("x: {}", x);
+
+	// Create response TLV
+	Spake2PlusRequestResponseTlv response = new Spake2PlusRequestResponseTlv();
+	response.setCurvePointX(X.getEncoded(false)); // Include 0x04 prefix
+
+	// Optional: Select supported version
+	response.setSelectedVodFwVersion(new byte[]{0x01, 0x00});
+
+	return new Spake2PlusResponseWrapper(response, configurations);
+  }
+
+  /**
+   * Process SPAKE2+ verify request and generate verify response
+   * Based on Listing 18-5: Device-side Computation of Shared Secret
+   * and Listing 18-6: Derivation of Evidence Keys
+   * and Listing 18-8: Device-side Computation of Evidence
+   * and Listing 18-9: Derivation of System Keys
+   */
+  public Spake2PlusVerifyResponseTlv processSpake2PlusVerifyRequest(Spake2PlusVerifyCommandTlv request, Spake2PlusDeviceData config) {
+
+	BigInteger w0 = config.w0();
+	BigInteger w1 = config.w1();
+	BigInteger x = config.x();
+
+	// Parse Y from request
+	ECPoint Y = ecParams.getCurve().decodePoint(request.getCurvePointY());
+
+	// Calculate Z = x*(Y - w0*N) and V = w1*(Y - w0*N)
+	ECPoint[] unblinded = FixedBaseMultiplier.multiplyUnblindedByN(Y, w0, x, w1);
+	ECPoint Z = unblinded[0];
+	ECPoint V = unblinded[1];
+
+	// Calculate X = x*G + w0*M
+	ECPoint X = FixedBaseMultiplier.multiplyGPlusM(x, w0);
+
+	// Calculate K = SHA-256(len(X) || X || len(Y) || Y || len(Z) || Z || len(V) || V || len(w0) || w0)
+	byte[] K = Spake2PlusKeySchedule.computeK(w0, X, Y, Z, V);
+
+	// Split K into CK and SK
+	byte[] CK = Arrays.copyOfRange(K, 0, 16); // First 128 bits
+	byte[] SK = Arrays.copyOfRange(K, 16, 32); // Next 128 bits
+
+	// Derive evidence keys K1, K2
+	byte[] evidenceKeys = Spake2PlusKeySchedule.deriveEvidenceKeys(CK);
+	byte[] K1 = Arrays.copyOfRange(evidenceKeys, 0, 16);
+	byte[] K2 = Arrays.copyOfRange(evidenceKeys, 16, 32);
+
+	// Verify vehicle evidence
+	byte[] expectedVehicleEvidence = Spake2PlusKeySchedule.computeCMAC(K1, Y.getEncoded(false));
+	byte[] actualVehicleEvidence = request.getVehicleEvidence();
+
+	log.info("Expected vehicle evidence: {}", HexUtil.toHexString(expectedVehicleEvidence));
+	log.info("Actual vehicle evidence: {}", HexUtil.toHexString(actualVehicleEvidence));
+	log.info("K1: {}", HexUtil.toHexString(K1));
+	log.info("Y encoded: {}", HexUtil.toHexString(Y.getEncoded(false)));
+
+	if (!Arrays.equals(expectedVehicleEvidence, actualVehicleEvidence)) {
+	  throw new SecurityException("Vehicle evidence verification failed");
+	}
+
+	// Compute device evidence
+	byte[] deviceEvidence = Spake2PlusKeySchedule.computeCMAC(K2, X.getEncoded(false));
+
+	// Derive system keys
+	boolean supportExtendedKeys = false; // Set based on your requirements
+	byte[] systemKeys = Spake2PlusKeySchedule.deriveSystemKeys(SK, supportExtendedKeys);
+
+	byte[] Kenc = Arrays.copyOfRange(systemKeys, 0, 16);
+	byte[] Kmac = Arrays.copyOfRange(systemKeys, 16, 32);
+	byte[] Krmac = Arrays.copyOfRange(systemKeys, 32, 48);
+	byte[] longTermSharedSecret = Arrays.copyOfRange(systemKeys, 48, 64);
+
+	// If extended keys are supported, extract them
+	byte[] Kble_intro = null;
+	byte[] Kble_oob_master = null;
+	if (supportExtendedKeys && systemKeys.length >= 80) {
+	  Kble_intro = Arrays.copyOfRange(systemKeys, 64, 80);
+	  Kble_oob_master = Arrays.copyOfRange(systemKeys, 80, 96);
+	}
+
+	// Create verify response TLV
+	Spake2PlusVerifyResponseTlv verifyResponse = new Spake2PlusVerifyResponseTlv();
+	verifyResponse.setDeviceEvidence(deviceEvidence);
+
+	return verifyResponse;
+  }
+}
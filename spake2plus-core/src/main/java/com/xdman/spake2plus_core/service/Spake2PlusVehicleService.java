@@ -0,0 +1,185 @@
+package com.xdman.spake2plus_core.service;
+
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.crypto.EphemeralKeyPool;
+import com.xdman.spake2plus_core.crypto.FixedBaseMultiplier;
+import com.xdman.spake2plus_core.crypto.ScryptKeyCache;
+import com.xdman.spake2plus_core.crypto.Spake2PlusKeySchedule;
+import com.xdman.spake2plus_core.model.Spake2PlusRequestWrapper;
+import com.xdman.spake2plus_core.model.Spake2PlusVehicleData;
+import com.xdman.spake2plus_core.model.Spake2PlusVerifier;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestResponseTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import org.bouncycastle.jce.spec.ECParameterSpec;
+import org.bouncycastle.math.ec.ECPoint;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+
+/**
+ * Vehicle-side SPAKE2+ computations (Listings 18-1, 18-2, 18-4, 18-6 and 18-7).
+ * Framework-free; the applications register it as a bean with their own scrypt cache and ephemeral pool.
+ */
+public class Spake2PlusVehicleService {
+  private final ECParameterSpec ecParams = FixedBaseMultiplier.EC_PARAMS; // NIST P-256
+  private final BigInteger n = ecParams.getN(); // Order of base point G
+  private final ScryptKeyCache scryptKeyCache;
+  private final EphemeralKeyPool ephemeralKeyPool;
+
+  private static final int DEFAULT_SCRYPT_COST = 4096;  // Nscrypt
+  private static final int DEFAULT_BLOCK_SIZE = 8;       // r
+  private static final int DEFAULT_PARALLELIZATION = 1;  // p
+  private static final byte[] DEFAULT_VOD_FW_VERSIONS = new byte[] {0x01, 0x00};  // v1.0
+  private static final byte[] DEFAULT_DK_PROTOCOL_VERSIONS = new byte[] {0x01, 0x00};  // v1.0
+
+  public Spake2PlusVehicleService(ScryptKeyCache scryptKeyCache, EphemeralKeyPool ephemeralKeyPool) {
+	this.scryptKeyCache = scryptKeyCache;
+	this.ephemeralKeyPool = ephemeralKeyPool;
+  }
+
+  /**
+   * Creates a SPAKE2+ request with all necessary parameters
+   * Based on Listing 18-1: Server Password Generation
+   */
+  public Spake2PlusRequestWrapper createSpake2PlusRequest(String password, String salt) {
+	byte[] cryptographicSalt = HexUtil.parseHex(salt);
+	BigInteger[] w = deriveScalars(HexUtil.parseHex(password), cryptographicSalt,
+	  DEFAULT_SCRYPT_COST, DEFAULT_BLOCK_SIZE, DEFAULT_PARALLELIZATION);
+
+	Spake2PlusVehicleData configurations = new Spake2PlusVehicleData(w[0], w[1]);
+	return new Spake2PlusRequestWrapper(
+	  createRequestCommand(cryptographicSalt, DEFAULT_SCRYPT_COST, DEFAULT_BLOCK_SIZE, DEFAULT_PARALLELIZATION),
+	  configurations
+	);
+  }
+
+  /**
+   * Creates a SPAKE2+ request from a provisioned verifier, without running scrypt
+   */
+  public Spake2PlusRequestWrapper createSpake2PlusRequest(Spake2PlusVerifier verifier) {
+	return new Spake2PlusRequestWrapper(
+	  createRequestCommand(verifier.salt(), verifier.scryptCost(), verifier.blockSize(), verifier.parallelization()),
+	  verifier.toVehicleData()
+	);
+  }
+
+  /**
+   * Derives the verifier (w0, L = w1*G) stored for a vehicle at provisioning time
+   */
+  public Spake2PlusVerifier createVerifier(String vin, String password, String salt) {
+	byte[] cryptographicSalt = HexUtil.parseHex(salt);
+	BigInteger[] w = deriveScalars(HexUtil.parseHex(password), cryptographicSalt,
+	  DEFAULT_SCRYPT_COST, DEFAULT_BLOCK_SIZE, DEFAULT_PARALLELIZATION);
+	byte[] L = FixedBaseMultiplier.multiplyG(w[1]).getEncoded(false);
+
+	return new Spake2PlusVerifier(vin, w[0], L, cryptographicSalt,
+	  DEFAULT_SCRYPT_COST, DEFAULT_BLOCK_SIZE, DEFAULT_PARALLELIZATION);
+  }
+
+  /**
+   * Computes w0 and w1 from the scrypt output (Listing 18-1)
+   */
+  private BigInteger[] deriveScalars(byte[] pwd, byte[] cryptographicSalt, int scryptCost, int blockSize, int parallelization) {
+	byte[] z = scryptKeyCache.derive(pwd, cryptographicSalt, scryptCost, blockSize, parallelization, 80);
+
+	// Split z into z0 and z1 (40 bytes each)
+	byte[] z0 = Arrays.copyOfRange(z, 0, 40);
+	byte[] z1 = Arrays.copyOfRange(z, 40, 80);
+
+	// Convert to w0 and w1 scalars (mod n-1) + 1
+	BigInteger z0BigInt = new BigInteger(1, z0);
+	BigInteger z1BigInt = new BigInteger(1, z1);
+	BigInteger w0 = z0BigInt.mod(n.subtract(BigInteger.ONE)).add(BigInteger.ONE);
+	BigInteger w1 = z1BigInt.mod(n.subtract(BigInteger.ONE)).add(BigInteger.ONE);
+	Arrays.fill(z, (byte) 0);
+	Arrays.fill(z0, (byte) 0);
+	Arrays.fill(z1, (byte) 0);
+	Arrays.fill(pwd, (byte) 0);
+
+	return new BigInteger[] {w0, w1};
+  }
+
+  private Spake2PlusRequestCommandTlv createRequestCommand(byte[] cryptographicSalt, int scryptCost, int blockSize, int parallelization) {
+	ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+	try {
+	  outputStream.write(cryptographicSalt);
+	  outputStream.write(ByteBuffer.allocate(4).putInt(scryptCost).array());
+	  outputStream.write(ByteBuffer.allocate(2).putShort((short) blockSize).array());
+	  outputStream.write(ByteBuffer.allocate(2).putShort((short) parallelization).array());
+	} catch (IOException e) {
+	  throw new IllegalArgumentException("Failed to combine Scrypt parameters", e);
+	}
+
+	// Create the request TLV
+	Spake2PlusRequestCommandTlv request = new Spake2PlusRequestCommandTlv();
+	request.setScryptConfig(outputStream.toByteArray());
+	request.setCryptographicSalt(HexUtil.toHexString(cryptographicSalt));
+	request.setScryptCost(scryptCost);
+	request.setBlockSize(blockSize);
+	request.setParallelization(parallelization);
+	request.setVodFwVersions(DEFAULT_VOD_FW_VERSIONS); // Example version
+	request.setDkProtocolVersions(DEFAULT_DK_PROTOCOL_VERSIONS); // Example version
+	request.setBtVersions(new byte[]{0x05, 0x00}); // Example version
+	request.setVehicleBrand(HexUtil.toHexString(new byte[]{0x00, 0x03})); // Example brand code
+	return request;
+  }
+
+
+  /**
+   * Process SPAKE2+ response and generate verify request
+   * Based on Listing 18-2: Vehicle-side Public Point Generation
+   * and Listing 18-4: Vehicle-side Computation of Shared Secret
+   * and Listing 18-6: Derivation of Evidence Keys
+   * and Listing 18-7: Vehicle-side Computation of Evidence
+   */
+  public Spake2PlusVerifyCommandTlv validateSpake2PlusRequest(Spake2PlusRequestResponseTlv request, Spake2PlusVehicleData config) {
+
+	BigInteger w0 = config.w0();
+	// Parse X from response
+	ECPoint receivedX = ecParams.getCurve().decodePoint(request.getCurvePointX());
+
+	// L = w1 * G, taken from the provisioned verifier when available
+	ECPoint L = config.L() != null
+	  ? ecParams.getCurve().decodePoint(config.L())
+	  : FixedBaseMultiplier.multiplyG(config.w1());
+
+	// Take a pre-generated random scalar y and y*G from the pool (Vehicle-side)
+	EphemeralKeyPool.EphemeralKey ephemeral = ephemeralKeyPool.take();
+	BigInteger y = ephemeral.scalar();
+
+	// Calculate Y = y*G + w0*N
+	ECPoint Y = ephemeral.point().add(FixedBaseMultiplier.multiplyN(w0)).normalize();
+
+	// Calculate Z = y*(X - w0*M)
+	ECPoint Z = FixedBaseMultiplier.multiplyUnblindedByM(receivedX, w0, y)[0];
+
+	// Calculate V = y*L
+	ECPoint V = L.multiply(y);
+
+	// Calculate K = SHA-256(len(X) || X || len(Y) || Y || len(Z) || Z || len(V) || V || len(w0) || w0)
+	byte[] K = Spake2PlusKeySchedule.computeK(w0, receivedX, Y, Z, V);
+
+	// Split K into CK and SK
+	byte[] CK = Arrays.copyOfRange(K, 0, 16); // First 128 bits
+	byte[] SK = Arrays.copyOfRange(K, 16, 32); // Next 128 bits
+
+	// Derive evidence keys K1, K2
+	byte[] evidenceKeys = Spake2PlusKeySchedule.deriveEvidenceKeys(CK);
+	byte[] K1 = Arrays.copyOfRange(evidenceKeys, 0, 16);
+	byte[] K2 = Arrays.copyOfRange(evidenceKeys, 16, 32);
+
+	// Compute vehicle evidence
+	byte[] vehicleEvidence = Spake2PlusKeySchedule.computeCMAC(K1, Y.getEncoded(false));
+
+	// Create verify command TLV
+	Spake2PlusVerifyCommandTlv verifyCommand = new Spake2PlusVerifyCommandTlv();
+	verifyCommand.setCurvePointY(Y.getEncoded(false));
+	verifyCommand.setVehicleEvidence(vehicleEvidence);
+
+	return verifyCommand;
+  }
+}
@@ -0,0 +1,62 @@
+package com.xdman.spake2plus_core.temporal;
+
+import com.xdman.spake2plus_core.crypto.CryptoExecutor;
+import io.temporal.activity.Activity;
+import io.temporal.activity.ActivityExecutionContext;
+import io.temporal.client.ActivityCompletionClient;
+import io.temporal.failure.ApplicationFailure;
+
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the body of a crypto activity on the {@link CryptoExecutor} and completes the activity
+ * asynchronously, so the worker's activity slot is released while the job waits in the queue.
+ * <p>
+ * When the queue is full the activity fails at once with a retryable {@value #SATURATED} failure,
+ * and Temporal retries it per the activity's retry options.
+ */
+public class CryptoActivityCompletion {
+
+  public static final String SATURATED = "CryptoExecutorSaturated";
+
+  private final CryptoExecutor cryptoExecutor;
+  private final ActivityCompletionClient completionClient;
+
+  public CryptoActivityCompletion(CryptoExecutor cryptoExecutor, ActivityCompletionClient completionClient) {
+	this.cryptoExecutor = cryptoExecutor;
+	this.completionClient = completionClient;
+  }
+
+  /**
+   * Call from an activity method and return its result. With the executor enabled this queues
+   * {@code task}, returns null and completes the activity when the task is done. With the executor
+   * disabled it runs {@code task} inline.
+   */
+  public <T> T complete(Supplier<T> task) {
+	if (!cryptoExecutor.isEnabled()) {
+	  return task.get();
+	}
+	ActivityExecutionContext context = Activity.getExecutionContext();
+	byte[] taskToken = context.getTaskToken();
+	try {
+	  cryptoExecutor.submit(task::get).whenComplete((result, error) -> {
+		if (error == null) {
+		  completionClient.complete(taskToken, result);
+		} else {
+		  completionClient.completeExceptionally(taskToken, unwrap(error));
+		}
+	  });
+	} catch (RejectedExecutionException e) {
+	  throw ApplicationFailure.newFailureWithCause("Crypto executor is saturated", SATURATED, e);
+	}
+	context.doNotCompleteOnReturn();
+	return null;
+  }
+
+  private static Exception unwrap(Throwable error) {
+	Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+	return cause instanceof Exception exception ? exception : new RuntimeException(cause);
+  }
+}
@@ -0,0 +1,22 @@
+package com.xdman.spake2plus_core.temporal;
+
+import io.temporal.common.converter.DataConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The data converter of both applications, imported by their {@code Spake2PlusCoreConfig}
+ */
+@Configuration
+public class Spake2PlusDataConverterConfiguration {
+
+  /**
+   * Picked up by the Temporal Spring Boot starter for the client and workers. Binary payloads can be read
+   * either way; with the property off the pairing models are still written as JSON.
+   */
+  @Bean
+  public DataConverter mainDataConverter(@Value("${spake2plus.temporal.binary-payloads:false}") boolean binaryPayloads) {
+	return Spake2PlusPayloadConverter.newDataConverter(binaryPayloads);
+  }
+}
@@ -0,0 +1,8 @@
+package com.xdman.spake2plus_core.temporal;
+
+import io.temporal.activity.ActivityInterface;
+
+@ActivityInterface
+public interface Spake2PlusFullCycleActivity {
+  String runFullCycleOwnerPairingSuccessfully(String vin, String password, String salt);
+}
@@ -0,0 +1,64 @@
+package com.xdman.spake2plus_core.temporal;
+
+import com.xdman.spake2plus_core.crypto.CryptoExecutor;
+import com.xdman.spake2plus_core.model.Spake2PlusRequestWrapper;
+import com.xdman.spake2plus_core.model.Spake2PlusResponseWrapper;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.service.Spake2PlusDeviceService;
+import com.xdman.spake2plus_core.service.Spake2PlusVehicleService;
+import io.temporal.activity.Activity;
+import io.temporal.failure.ApplicationFailure;
+import io.temporal.spring.boot.ActivityImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * The self-contained pairing cycle in one call, for the fused mode of Spake2PlusFullWorkFlow. The device
+ * and vehicle services run in this JVM, so the intermediate messages stay local instead of going through
+ * the history. Not component-scanned: the apps register it through @Import.
+ */
+@Slf4j
+@Component
+@ActivityImpl(taskQueues = "Spake2PlusTaskQueue")
+public class Spake2PlusFullCycleActivityImpl implements Spake2PlusFullCycleActivity {
+  private final Spake2PlusDeviceService spake2PlusDeviceService;
+  private final Spake2PlusVehicleService spake2PlusVehicleService;
+  private final CryptoExecutor cryptoExecutor;
+
+  public Spake2PlusFullCycleActivityImpl(
+	Spake2PlusDeviceService spake2PlusDeviceService,
+	Spake2PlusVehicleService spake2PlusVehicleService,
+	CryptoExecutor cryptoExecutor
+  ) {
+	this.spake2PlusDeviceService = spake2PlusDeviceService;
+	this.spake2PlusVehicleService = spake2PlusVehicleService;
+	this.cryptoExecutor = cryptoExecutor;
+  }
+
+  @Override
+  public String runFullCycleOwnerPairingSuccessfully(String vin, String password, String salt) {
+	// A local activity cannot complete asynchronously: wait for the crypto executor on this thread instead
+	try {
+	  return cryptoExecutor.call(() -> runFullCycle(vin, password, salt));
+	} catch (RejectedExecutionException e) {
+	  throw ApplicationFailure.newFailureWithCause("Crypto executor is saturated", CryptoActivityCompletion.SATURATED, e);
+	} catch (Exception e) {
+	  throw Activity.wrap(e);
+	}
+  }
+
+  private String runFullCycle(String vin, String password, String salt) {
+	// SELECT carries no state into the SPAKE2+ exchange: the simulated device always answers that pairing started
+	Spake2PlusRequestWrapper request = spake2PlusVehicleService.createSpake2PlusRequest(password, salt);
+	Spake2PlusResponseWrapper response = spake2PlusDeviceService.processSpake2PlusRequest(request.request(), password);
+	Spake2PlusVerifyCommandTlv verifyCommand = spake2PlusVehicleService.validateSpake2PlusRequest(
+	  response.response(),
+	  request.config()
+	);
+	spake2PlusDeviceService.processSpake2PlusVerifyRequest(verifyCommand, response.config());
+	log.info("Fused SPAKE2+ cycle for vehicle {} completed", vin);
+	return "SPAKE2+ for vehicle " + vin + " execute successfully!";
+  }
+}
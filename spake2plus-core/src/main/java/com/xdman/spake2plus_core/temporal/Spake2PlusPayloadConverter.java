@@ -0,0 +1,86 @@
+package com.xdman.spake2plus_core.temporal;
+
+import com.google.protobuf.ByteString;
+import com.xdman.spake2plus_core.model.Spake2PlusBinaryCodec;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.DataConverterException;
+import io.temporal.common.converter.DefaultDataConverter;
+import io.temporal.common.converter.EncodingKeys;
+import io.temporal.common.converter.JacksonJsonPayloadConverter;
+import io.temporal.common.converter.PayloadConverter;
+
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Writes the pairing models ({@link Spake2PlusBinaryCodec#supports(Class) supported types}) as
+ * {@value #ENCODING} payloads instead of JSON. Anything else, and a TLV that cannot be encoded yet, is left
+ * to the next converter.
+ * <p>
+ * Payloads are read back by their {@code encoding} metadata, so histories written as JSON still replay
+ * after this converter is registered. Workers without it cannot read its payloads: roll it out read-only
+ * ({@link #newDataConverter(boolean) newDataConverter(false)}) to every worker on the task queue before any
+ * of them writes binary.
+ */
+public class Spake2PlusPayloadConverter implements PayloadConverter {
+
+  public static final String ENCODING = "binary/spake2plus";
+
+  private static final ByteString ENCODING_METADATA = ByteString.copyFrom(ENCODING, StandardCharsets.UTF_8);
+
+  /**
+   * The SDK's standard converters plus this one. With {@code writeBinary} it sits just ahead of JSON and
+   * writes the pairing models; without, it comes after JSON and only reads binary payloads, which is how a
+   * worker fleet is first rolled out before binary writing is switched on. Every standard encoding stays
+   * readable either way.
+   */
+  public static DataConverter newDataConverter(boolean writeBinary) {
+	if (!writeBinary) {
+	  return DefaultDataConverter.newDefaultInstance().withPayloadConverterOverrides(new Spake2PlusPayloadConverter());
+	}
+	List<PayloadConverter> converters = new ArrayList<>();
+	for (PayloadConverter converter : DefaultDataConverter.STANDARD_PAYLOAD_CONVERTERS) {
+	  if (converter instanceof JacksonJsonPayloadConverter) {
+		converters.add(new Spake2PlusPayloadConverter());
+	  }
+	  converters.add(converter);
+	}
+	return new DefaultDataConverter(converters.toArray(new PayloadConverter[0]));
+  }
+
+  @Override
+  public String getEncodingType() {
+	return ENCODING;
+  }
+
+  @Override
+  public Optional<Payload> toData(Object value) throws DataConverterException {
+	if (value == null || !Spake2PlusBinaryCodec.supports(value.getClass())) {
+	  return Optional.empty();
+	}
+	byte[] data;
+	try {
+	  data = Spake2PlusBinaryCodec.encode(value);
+	} catch (IllegalArgumentException e) {
+	  // e.g. a TLV missing a mandatory field has no APDU form; JSON can still carry it
+	  return Optional.empty();
+	}
+	return Optional.of(Payload.newBuilder()
+	  .putMetadata(EncodingKeys.METADATA_ENCODING_KEY, ENCODING_METADATA)
+	  .setData(ByteString.copyFrom(data))
+	  .build());
+  }
+
+  @Override
+  public <T> T fromData(Payload content, Class<T> valueClass, Type valueType) throws DataConverterException {
+	try {
+	  return Spake2PlusBinaryCodec.decode(content.getData().toByteArray(), valueClass);
+	} catch (IllegalArgumentException e) {
+	  throw new DataConverterException("Cannot read " + ENCODING + " payload as " + valueClass.getName(), e);
+	}
+  }
+}
@@ -0,0 +1,45 @@
+package com.xdman.spake2plus_core.temporal;
+
+import io.temporal.spring.boot.WorkerOptionsCustomizer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * The worker options of both applications, imported by their {@code Spake2PlusCoreConfig}
+ */
+@Slf4j
+@Configuration
+public class Spake2PlusWorkerConfiguration {
+
+  /**
+   * Sizes the auto-discovered workers and, on Java 21+, runs their pollers and activity executors on
+   * virtual threads. An activity blocked on a peer HTTP call then parks its virtual thread and does not
+   * hold one of a fixed pool of platform threads that the crypto activities also need.
+   */
+  @Bean
+  public WorkerOptionsCustomizer spake2PlusWorkerOptions(
+	@Value("${spake2plus.worker.virtual-threads:true}") boolean virtualThreads,
+	@Value("${spake2plus.worker.max-concurrent-activities:200}") int maxConcurrentActivities,
+	@Value("${spake2plus.worker.max-concurrent-local-activities:200}") int maxConcurrentLocalActivities,
+	@Value("${spake2plus.worker.max-concurrent-workflow-tasks:200}") int maxConcurrentWorkflowTasks,
+	@Value("${spake2plus.worker.activity-pollers:5}") int activityPollers,
+	@Value("${spake2plus.worker.workflow-pollers:5}") int workflowPollers
+  ) {
+	boolean useVirtualThreads = virtualThreads && Runtime.version().feature() >= 21;
+	if (virtualThreads && !useVirtualThreads) {
+	  log.warn("spake2plus.worker.virtual-threads needs Java 21+, running Temporal workers on platform threads");
+	}
+	return (builder, workerName, taskQueue) -> {
+	  log.info("Worker {} on {}: virtual threads {}, {} concurrent activities", workerName, taskQueue, useVirtualThreads, maxConcurrentActivities);
+	  return builder
+		.setUsingVirtualThreads(useVirtualThreads)
+		.setMaxConcurrentActivityExecutionSize(maxConcurrentActivities)
+		.setMaxConcurrentLocalActivityExecutionSize(maxConcurrentLocalActivities)
+		.setMaxConcurrentWorkflowTaskExecutionSize(maxConcurrentWorkflowTasks)
+		.setMaxConcurrentActivityTaskPollers(activityPollers)
+		.setMaxConcurrentWorkflowTaskPollers(workflowPollers);
+	};
+  }
+}
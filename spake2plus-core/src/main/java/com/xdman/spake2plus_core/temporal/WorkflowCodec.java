@@ -0,0 +1,58 @@
+package com.xdman.spake2plus_core.temporal;
+
+import com.xdman.spake2plus_core.model.ApduBatch;
+import com.xdman.spake2plus_core.model.TlvBase;
+import io.temporal.failure.ApplicationFailure;
+import io.temporal.workflow.Workflow;
+
+import java.util.List;
+
+/**
+ * TLV decoding done directly in workflow code. The codecs are pure and deterministic, so they need no
+ * activity, and the workflows no longer pay a schedule/start/complete round trip and three history events
+ * for each one. Only peer I/O and the SPAKE2+ crypto stay activities. Shared by the device and vehicle
+ * workflows.
+ */
+public final class WorkflowCodec {
+  /**
+   * Change id for {@link Workflow#getVersion}: executions started before the change keep scheduling the
+   * codec activities with hex String messages. They replay only because every other change to the workflows
+   * that call {@link #inline} (the APDU exchange activity, the provisioned verifier, the parallel request,
+   * the pipelined batch) is versioned the same way.
+   */
+  public static final String INLINE_CODEC_CHANGE = "inline-tlv-codec";
+
+  private WorkflowCodec() {
+  }
+
+  /**
+   * Whether this execution decodes in workflow code. Call once, at the start of the workflow method.
+   */
+  public static boolean inline() {
+	return Workflow.getVersion(INLINE_CODEC_CHANGE, Workflow.DEFAULT_VERSION, 1) >= 1;
+  }
+
+  /**
+   * Decodes {@code apdu} into {@code message}. A malformed APDU fails the workflow, as a failed decode
+   * activity did, rather than retrying the workflow task forever.
+   */
+  public static <T extends TlvBase<T>> T decode(T message, byte[] apdu) {
+	try {
+	  return message.decode(apdu);
+	} catch (IllegalArgumentException e) {
+	  throw ApplicationFailure.newNonRetryableFailureWithCause(e.getMessage(), "InvalidApdu", e);
+	}
+  }
+
+  /**
+   * Splits a pipelined {@link ApduBatch} into its APDUs, failing the workflow on a malformed batch as
+   * {@link #decode} does
+   */
+  public static List<byte[]> decodeBatch(byte[] batch) {
+	try {
+	  return ApduBatch.decode(batch);
+	} catch (IllegalArgumentException e) {
+	  throw ApplicationFailure.newNonRetryableFailureWithCause(e.getMessage(), "InvalidApdu", e);
+	}
+  }
+}
@@ -0,0 +1,99 @@
+package com.xdman.spake2plus_core.transport;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.socket.config.annotation.EnableWebSocket;
+import org.springframework.web.socket.config.annotation.WebSocketConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketHandlerRegistry;
+
+import java.net.URI;
+import java.time.Duration;
+
+/**
+ * Peer APDU channel of both applications, imported by their {@code Spake2PlusCoreConfig}: the /apdu/channel
+ * WebSocket endpoint the peer calls into, and the {@link PeerChannel} this node uses to call the peer when
+ * {@code spake2plus.exchange.wire} is {@code websocket}. The endpoint is always served; the client only
+ * connects on first use.
+ * <p>
+ * Each app provides the {@link ChannelDispatcher.FrameHandler} bean that delivers channel calls into its
+ * workflows, and sets {@code spake2plus.channel.url} to the peer's endpoint.
+ */
+@Configuration
+@EnableWebSocket
+public class ApduChannelConfiguration implements WebSocketConfigurer {
+  @Autowired
+  private ChannelDispatcher.FrameHandler apduFrameHandler;
+
+  @Value("${spake2plus.channel.server-threads:64}")
+  private int serverThreads;
+  @Value("${spake2plus.channel.server-queue-capacity:256}")
+  private int serverQueueCapacity;
+  @Value("${spake2plus.channel.send-time-limit:PT5S}")
+  private Duration sendTimeLimit;
+  @Value("${spake2plus.channel.send-buffer-limit:524288}")
+  private int sendBufferLimit;
+
+  @Override
+  public void registerWebSocketHandlers(WebSocketHandlerRegistry registry) {
+	registry.addHandler(apduChannelHandler(), "/apdu/channel");
+  }
+
+  @Bean
+  public ApduChannelHandler apduChannelHandler() {
+	return new ApduChannelHandler(apduChannelDispatcher(), (int) sendTimeLimit.toMillis(), sendBufferLimit);
+  }
+
+  /**
+   * Runs channel calls off the socket threads, through the app's frame handler
+   */
+  @Bean(destroyMethod = "close")
+  public ChannelDispatcher apduChannelDispatcher() {
+	return new ChannelDispatcher(serverThreads, serverQueueCapacity, apduFrameHandler);
+  }
+
+  @Bean(destroyMethod = "close")
+  public PeerChannel peerChannel(
+	@Value("${spake2plus.channel.url}") URI url,
+	@Value("${spake2plus.channel.max-in-flight:256}") int maxInFlight,
+	@Value("${spake2plus.transport.connect-timeout:PT2S}") Duration connectTimeout,
+	@Value("${spake2plus.channel.call-timeout:PT10S}") Duration callTimeout
+  ) {
+	return new PeerChannel(url, maxInFlight, connectTimeout, callTimeout);
+  }
+
+  @Bean
+  public MeterBinder apduChannelMetrics(
+	PeerChannel peerChannel,
+	ApduChannelHandler apduChannelHandler,
+	ChannelDispatcher apduChannelDispatcher
+  ) {
+	return registry -> {
+	  Gauge.builder("spake2plus.channel.in.flight", peerChannel, PeerChannel::inFlight)
+		.description("Calls on the peer channel awaiting a reply")
+		.register(registry);
+	  Gauge.builder("spake2plus.channel.connected", peerChannel, channel -> channel.isConnected() ? 1 : 0)
+		.description("1 while the peer channel is connected")
+		.register(registry);
+	  FunctionCounter.builder("spake2plus.channel.connects", peerChannel, PeerChannel::connectCount)
+		.description("Peer channel connections opened, reconnects included")
+		.register(registry);
+	  FunctionCounter.builder("spake2plus.channel.unavailable", peerChannel, PeerChannel::unavailableCount)
+		.description("Calls sent over HTTP because the peer channel was down or full")
+		.register(registry);
+	  Gauge.builder("spake2plus.channel.sessions", apduChannelHandler, ApduChannelHandler::openSessions)
+		.description("Peer channels connected to this node")
+		.register(registry);
+	  Gauge.builder("spake2plus.channel.calls.active", apduChannelDispatcher, ChannelDispatcher::activeCalls)
+		.description("Calls from the peer channel being delivered into workflows")
+		.register(registry);
+	  FunctionCounter.builder("spake2plus.channel.calls.rejected", apduChannelDispatcher, ChannelDispatcher::rejectedCalls)
+		.description("Calls from the peer channel refused because the dispatcher was full")
+		.register(registry);
+	};
+  }
+}
@@ -0,0 +1,69 @@
+package com.xdman.spake2plus_core.transport;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.socket.BinaryMessage;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.BinaryWebSocketHandler;
+import org.springframework.web.socket.handler.ConcurrentWebSocketSessionDecorator;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * WebSocket end of the peer APDU channel (/apdu/channel). The peer keeps one socket open and multiplexes
+ * every pairing session over it; each message is handed to the {@link ChannelDispatcher}, which delivers it
+ * into this node's workflow like the binary HTTP endpoint does.
+ * <p>
+ * Replies go out through a {@link ConcurrentWebSocketSessionDecorator}, so calls finishing together do not
+ * collide. If the peer stops reading for longer than {@code sendTimeLimitMillis}, or more than
+ * {@code sendBufferLimit} bytes back up, the session is closed. The peer then fails the calls in flight on it
+ * and reconnects.
+ */
+@Slf4j
+public class ApduChannelHandler extends BinaryWebSocketHandler {
+  private final ChannelDispatcher dispatcher;
+  private final int sendTimeLimitMillis;
+  private final int sendBufferLimit;
+  private final Map<String, WebSocketSession> sessions = new ConcurrentHashMap<>();
+
+  public ApduChannelHandler(ChannelDispatcher dispatcher, int sendTimeLimitMillis, int sendBufferLimit) {
+	this.dispatcher = dispatcher;
+	this.sendTimeLimitMillis = sendTimeLimitMillis;
+	this.sendBufferLimit = sendBufferLimit;
+  }
+
+  @Override
+  public void afterConnectionEstablished(WebSocketSession session) {
+	log.info("Peer channel opened from {}", session.getRemoteAddress());
+	sessions.put(session.getId(), new ConcurrentWebSocketSessionDecorator(session, sendTimeLimitMillis, sendBufferLimit));
+  }
+
+  @Override
+  protected void handleBinaryMessage(WebSocketSession session, BinaryMessage message) {
+	WebSocketSession replies = sessions.getOrDefault(session.getId(), session);
+	byte[] payload = new byte[message.getPayloadLength()];
+	message.getPayload().get(payload);
+	dispatcher.dispatch(payload, reply -> {
+	  try {
+		replies.sendMessage(new BinaryMessage(reply));
+	  } catch (IOException e) {
+		log.warn("Could not reply on peer channel session {}: {}", session.getId(), e.getMessage());
+	  }
+	});
+  }
+
+  @Override
+  public void afterConnectionClosed(WebSocketSession session, CloseStatus status) {
+	log.info("Peer channel from {} closed: {}", session.getRemoteAddress(), status);
+	sessions.remove(session.getId());
+  }
+
+  /**
+   * Peers connected to this node
+   */
+  public int openSessions() {
+	return sessions.size();
+  }
+}
@@ -0,0 +1,162 @@
+package com.xdman.spake2plus_core.transport;
+
+import com.xdman.spake2plus_core.model.ApduBatch;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * One APDU on the binary peer endpoints ({@code application/octet-stream}), with the little the receiver
+ * needs to route it in a fixed header instead of a JSON envelope:
+ * <pre>
+ * +---------+------+--------+-----+--------+------------+------+
+ * | version | step | vinLen | vin | reqLen | request id | apdu |
+ * |    1    |  1   |   1    |  n  |   1    |     m      | rest |
+ * +---------+------+--------+-----+--------+------------+------+
+ * </pre>
+ * VIN and request id are US-ASCII, at most 255 bytes each. The APDU runs to the end of the body, so it
+ * needs no length of its own.
+ */
+public record ApduFrame(String vin, String requestId, Step step, byte[] apdu) {
+  public static final byte VERSION = 1;
+
+  private static final int MAX_FIELD_LENGTH = 0xFF;
+
+  /**
+   * The protocol step an APDU belongs to. Commands from the vehicle carry the step they start, and an
+   * {@link ApduBatch} of pipelined commands, which always opens with SELECT, is {@link #BATCH}; responses
+   * from the device are {@link #RESPONSE}.
+   */
+  public enum Step {
+	UNKNOWN(0x00),
+	SELECT(0x01),
+	REQUEST(0x02),
+	VERIFY(0x03),
+	RESPONSE(0x04),
+	BATCH(0x05);
+
+	private final byte code;
+
+	Step(int code) {
+	  this.code = (byte) code;
+	}
+
+	public byte code() {
+	  return code;
+	}
+
+	public static Step ofCode(byte code) {
+	  for (Step step : values()) {
+		if (step.code == code) {
+		  return step;
+		}
+	  }
+	  throw new IllegalArgumentException("Unknown APDU frame step: " + code);
+	}
+
+	/**
+	 * The step a command APDU starts, from its header: SELECT is 00 A4 04 00, the SPAKE2+ REQUEST 80 30 00
+	 * and VERIFY 80 32 00
+	 */
+	public static Step ofCommand(byte[] apdu) {
+	  if (ApduBatch.isBatch(apdu)) {
+		return BATCH;
+	  }
+	  if (apdu == null || apdu.length < 4) {
+		return UNKNOWN;
+	  }
+	  if (apdu[0] == 0x00 && apdu[1] == (byte) 0xA4 && apdu[2] == 0x04 && apdu[3] == 0x00) {
+		return SELECT;
+	  }
+	  if (apdu[0] == (byte) 0x80 && apdu[2] == 0x00) {
+		if (apdu[1] == 0x30) {
+		  return REQUEST;
+		}
+		if (apdu[1] == 0x32) {
+		  return VERIFY;
+		}
+	  }
+	  return UNKNOWN;
+	}
+  }
+
+  public ApduFrame {
+	checkField("VIN", vin);
+	checkField("Request id", requestId);
+	if (step == null) {
+	  throw new IllegalArgumentException("Step cannot be null");
+	}
+	if (apdu == null) {
+	  throw new IllegalArgumentException("APDU cannot be null");
+	}
+  }
+
+  /**
+   * A command from the vehicle, with the step read from its header
+   */
+  public static ApduFrame command(String vin, String requestId, byte[] apdu) {
+	return new ApduFrame(vin, requestId, Step.ofCommand(apdu), apdu);
+  }
+
+  /**
+   * A response from the device
+   */
+  public static ApduFrame response(String vin, String requestId, byte[] apdu) {
+	return new ApduFrame(vin, requestId, Step.RESPONSE, apdu);
+  }
+
+  public byte[] encode() {
+	byte[] vinBytes = vin.getBytes(StandardCharsets.US_ASCII);
+	byte[] requestIdBytes = requestId.getBytes(StandardCharsets.US_ASCII);
+	byte[] frame = new byte[4 + vinBytes.length + requestIdBytes.length + apdu.length];
+	int offset = 0;
+	frame[offset++] = VERSION;
+	frame[offset++] = step.code;
+	frame[offset++] = (byte) vinBytes.length;
+	System.arraycopy(vinBytes, 0, frame, offset, vinBytes.length);
+	offset += vinBytes.length;
+	frame[offset++] = (byte) requestIdBytes.length;
+	System.arraycopy(requestIdBytes, 0, frame, offset, requestIdBytes.length);
+	offset += requestIdBytes.length;
+	System.arraycopy(apdu, 0, frame, offset, apdu.length);
+	return frame;
+  }
+
+  public static ApduFrame decode(byte[] frame) {
+	if (frame == null || frame.length < 4) {
+	  throw new IllegalArgumentException("APDU frame is too short");
+	}
+	if (frame[0] != VERSION) {
+	  throw new IllegalArgumentException("Unsupported APDU frame version: " + frame[0]);
+	}
+	Step step = Step.ofCode(frame[1]);
+	int offset = 2;
+	int vinLength = frame[offset++] & 0xFF;
+	if (offset + vinLength + 1 > frame.length) {
+	  throw new IllegalArgumentException("APDU frame is truncated in the VIN");
+	}
+	String vin = new String(frame, offset, vinLength, StandardCharsets.US_ASCII);
+	offset += vinLength;
+	int requestIdLength = frame[offset++] & 0xFF;
+	if (offset + requestIdLength > frame.length) {
+	  throw new IllegalArgumentException("APDU frame is truncated in the request id");
+	}
+	String requestId = new String(frame, offset, requestIdLength, StandardCharsets.US_ASCII);
+	offset += requestIdLength;
+	return new ApduFrame(vin, requestId, step, Arrays.copyOfRange(frame, offset, frame.length));
+  }
+
+  private static void checkField(String name, String value) {
+	if (value == null || value.isBlank()) {
+	  throw new IllegalArgumentException(name + " cannot be null or blank");
+	}
+	if (value.length() > MAX_FIELD_LENGTH) {
+	  throw new IllegalArgumentException(name + " is longer than " + MAX_FIELD_LENGTH + " characters");
+	}
+	for (int i = 0; i < value.length(); i++) {
+	  if (value.charAt(i) > 0x7F) {
+		throw new IllegalArgumentException(name + " must be US-ASCII");
+	  }
+	}
+  }
+}
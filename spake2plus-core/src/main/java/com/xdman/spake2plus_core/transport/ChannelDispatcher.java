@@ -0,0 +1,123 @@
+package com.xdman.spake2plus_core.transport;
+
+import com.xdman.spake2plus_core.model.ExchangeMode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Server side of the peer APDU channel, independent of the WebSocket stack. The socket handler passes each
+ * incoming message here together with a way to send back on the same session.
+ * <p>
+ * Calls run on a fixed pool of {@code threads}, off the socket's read thread, since an update-mode call
+ * waits for the workflow to answer; the pool is sized for waiting rather than for cores. Each call goes
+ * through the same service method as the binary HTTP endpoint, so signal and update delivery are identical
+ * on both paths. A call that finds {@code queueCapacity} calls already queued is answered with an error
+ * straight away. That error is the flow control the peer sees: it fails the call, and the activity retries
+ * it.
+ */
+@Slf4j
+public class ChannelDispatcher implements AutoCloseable {
+  private final Executor executor;
+  private final FrameHandler handler;
+  private final AtomicInteger active = new AtomicInteger();
+  private final AtomicLong rejected = new AtomicLong();
+
+  /**
+   * Delivers one frame into the pairing workflow and returns the reply APDU, empty or null in signal mode
+   */
+  @FunctionalInterface
+  public interface FrameHandler {
+	byte[] handle(ApduFrame frame, ExchangeMode exchangeMode) throws Exception;
+  }
+
+  public ChannelDispatcher(int threads, int queueCapacity, FrameHandler handler) {
+	this(newPool(threads, queueCapacity), handler);
+  }
+
+  ChannelDispatcher(Executor executor, FrameHandler handler) {
+	this.executor = executor;
+	this.handler = handler;
+  }
+
+  private static ThreadPoolExecutor newPool(int threads, int queueCapacity) {
+	AtomicInteger count = new AtomicInteger();
+	return new ThreadPoolExecutor(
+	  threads, threads, 0L, TimeUnit.MILLISECONDS,
+	  new ArrayBlockingQueue<>(queueCapacity),
+	  runnable -> {
+		Thread thread = new Thread(runnable, "spake2plus-channel-" + count.incrementAndGet());
+		thread.setDaemon(true);
+		return thread;
+	  },
+	  new ThreadPoolExecutor.AbortPolicy()
+	);
+  }
+
+  /**
+   * Handles one message from the peer. {@code send} is called once per call, from an executor thread, with
+   * the encoded reply or error, and must be safe to call concurrently.
+   */
+  public void dispatch(byte[] message, Consumer<byte[]> send) {
+	ChannelMessage call;
+	try {
+	  call = ChannelMessage.decode(message);
+	} catch (IllegalArgumentException e) {
+	  // Without a stream id there is no call to fail; the peer times it out
+	  log.warn("Dropped malformed channel message: {}", e.getMessage());
+	  return;
+	}
+	if (call.kind() != ChannelMessage.Kind.CALL) {
+	  log.warn("Dropped unexpected {} on stream {}", call.kind(), call.streamId());
+	  return;
+	}
+	try {
+	  executor.execute(() -> send.accept(handle(call)));
+	} catch (RejectedExecutionException e) {
+	  rejected.incrementAndGet();
+	  send.accept(ChannelMessage.error(call.streamId(), "Channel dispatcher saturated").encode());
+	}
+  }
+
+  private byte[] handle(ChannelMessage call) {
+	active.incrementAndGet();
+	try {
+	  byte[] reply = handler.handle(ApduFrame.decode(call.body()), call.exchangeMode());
+	  return ChannelMessage.reply(call.streamId(), reply).encode();
+	} catch (Exception e) {
+	  log.warn("Channel call on stream {} failed: {}", call.streamId(), e.getMessage());
+	  return ChannelMessage.error(call.streamId(), e.getMessage()).encode();
+	} finally {
+	  active.decrementAndGet();
+	}
+  }
+
+  /**
+   * Calls being delivered into workflows right now
+   */
+  public int activeCalls() {
+	return active.get();
+  }
+
+  /**
+   * Calls answered with an error because the queue was full
+   */
+  public long rejectedCalls() {
+	return rejected.get();
+  }
+
+  @Override
+  public void close() {
+	if (executor instanceof ExecutorService service) {
+	  service.shutdown();
+	}
+  }
+}
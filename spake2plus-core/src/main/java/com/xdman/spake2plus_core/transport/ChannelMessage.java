@@ -0,0 +1,92 @@
+package com.xdman.spake2plus_core.transport;
+
+import com.xdman.spake2plus_core.model.ExchangeMode;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * One binary WebSocket message on the peer APDU channel. Many pairing sessions share a channel; each call
+ * gets a stream id, which its reply or error echoes back:
+ * <pre>
+ * +------+-----------+------+------+
+ * | kind | stream id | mode | body |
+ * |  1   |     4     |  1   | rest |
+ * +------+-----------+------+------+
+ * </pre>
+ * The body of a {@link Kind#CALL} is an encoded {@link ApduFrame} and its mode the {@link ExchangeMode}.
+ * A {@link Kind#REPLY} carries the raw reply APDU, empty in signal mode. An {@link Kind#ERROR} carries a
+ * UTF-8 message.
+ */
+public record ChannelMessage(Kind kind, int streamId, ExchangeMode exchangeMode, byte[] body) {
+  private static final int HEADER_LENGTH = 6;
+
+  public enum Kind {
+	CALL(0x01),
+	REPLY(0x02),
+	ERROR(0x03);
+
+	private final byte code;
+
+	Kind(int code) {
+	  this.code = (byte) code;
+	}
+
+	static Kind ofCode(byte code) {
+	  for (Kind kind : values()) {
+		if (kind.code == code) {
+		  return kind;
+		}
+	  }
+	  throw new IllegalArgumentException("Unknown channel message kind: " + code);
+	}
+  }
+
+  public ChannelMessage {
+	if (kind == null || exchangeMode == null || body == null) {
+	  throw new IllegalArgumentException("Kind, exchange mode and body cannot be null");
+	}
+  }
+
+  public static ChannelMessage call(int streamId, ExchangeMode exchangeMode, ApduFrame frame) {
+	return new ChannelMessage(Kind.CALL, streamId, exchangeMode, frame.encode());
+  }
+
+  public static ChannelMessage reply(int streamId, byte[] apdu) {
+	return new ChannelMessage(Kind.REPLY, streamId, ExchangeMode.SIGNAL, apdu != null ? apdu : new byte[0]);
+  }
+
+  public static ChannelMessage error(int streamId, String message) {
+	return new ChannelMessage(Kind.ERROR, streamId, ExchangeMode.SIGNAL,
+	  String.valueOf(message).getBytes(StandardCharsets.UTF_8));
+  }
+
+  public String errorMessage() {
+	return new String(body, StandardCharsets.UTF_8);
+  }
+
+  public byte[] encode() {
+	byte[] message = new byte[HEADER_LENGTH + body.length];
+	message[0] = kind.code;
+	message[1] = (byte) (streamId >>> 24);
+	message[2] = (byte) (streamId >>> 16);
+	message[3] = (byte) (streamId >>> 8);
+	message[4] = (byte) streamId;
+	message[5] = (byte) exchangeMode.ordinal();
+	System.arraycopy(body, 0, message, HEADER_LENGTH, body.length);
+	return message;
+  }
+
+  public static ChannelMessage decode(byte[] message) {
+	if (message == null || message.length < HEADER_LENGTH) {
+	  throw new IllegalArgumentException("Channel message is too short");
+	}
+	Kind kind = Kind.ofCode(message[0]);
+	int streamId = (message[1] & 0xFF) << 24 | (message[2] & 0xFF) << 16 | (message[3] & 0xFF) << 8 | message[4] & 0xFF;
+	ExchangeMode[] modes = ExchangeMode.values();
+	if (message[5] < 0 || message[5] >= modes.length) {
+	  throw new IllegalArgumentException("Unknown channel exchange mode: " + message[5]);
+	}
+	return new ChannelMessage(kind, streamId, modes[message[5]], Arrays.copyOfRange(message, HEADER_LENGTH, message.length));
+  }
+}
@@ -0,0 +1,92 @@
+package com.xdman.spake2plus_core.transport;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Feign client on the JDK HttpClient speaking HTTP/2 to {@code http://} peers (h2c).
+ * <p>
+ * The first call to a peer upgrades its connection to HTTP/2. After that, concurrent calls to that peer
+ * share the one connection as separate streams, so a burst of APDU hops needs neither new connections nor
+ * a pool. The peer must accept h2c ({@code server.http2.enabled: true}); if it does not, the JDK client
+ * stays on HTTP/1.1 keep-alive.
+ * <p>
+ * Records in-flight, time to first byte and failures in {@link PeerMetrics}. The JDK client does not expose
+ * connection setup, so connect time is not recorded in this mode.
+ */
+public class H2cFeignClient implements Client {
+  // Set by the JDK client itself; it rejects requests that carry them
+  private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+
+  private final PeerMetrics metrics;
+  private final HttpClient httpClient;
+
+  public H2cFeignClient(Duration connectTimeout, PeerMetrics metrics) {
+	this.metrics = metrics;
+	this.httpClient = HttpClient.newBuilder()
+	  .version(HttpClient.Version.HTTP_2)
+	  .connectTimeout(connectTimeout)
+	  .followRedirects(HttpClient.Redirect.NEVER)
+	  .build();
+  }
+
+  @Override
+  public Response execute(Request request, Request.Options options) throws IOException {
+	URI uri = URI.create(request.url());
+	HttpRequest.Builder builder = HttpRequest.newBuilder(uri)
+	  .timeout(Duration.of(options.readTimeout(), options.readTimeoutUnit().toChronoUnit()))
+	  .method(request.httpMethod().name(), request.body() == null
+		? HttpRequest.BodyPublishers.noBody()
+		: HttpRequest.BodyPublishers.ofByteArray(request.body()));
+	for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+	  if (RESTRICTED_HEADERS.contains(header.getKey().toLowerCase())) {
+		continue;
+	  }
+	  for (String value : header.getValue()) {
+		builder.header(header.getKey(), value);
+	  }
+	}
+
+	PeerMetrics.Peer peer = metrics.peer(uri);
+	peer.started();
+	long start = System.nanoTime();
+	try {
+	  // ofInputStream completes once the headers are in, before the body is read
+	  HttpResponse<InputStream> response = httpClient.send(builder.build(), HttpResponse.BodyHandlers.ofInputStream());
+	  peer.firstByte(System.nanoTime() - start);
+	  byte[] body;
+	  try (InputStream stream = response.body()) {
+		body = stream.readAllBytes();
+	  }
+	  return Response.builder()
+		.status(response.statusCode())
+		.headers(new LinkedHashMap<>(response.headers().map()))
+		.request(request)
+		.body(body)
+		.build();
+	} catch (IOException e) {
+	  peer.failed();
+	  throw e;
+	} catch (InterruptedException e) {
+	  Thread.currentThread().interrupt();
+	  peer.failed();
+	  throw new InterruptedIOException("Interrupted calling " + uri);
+	} finally {
+	  peer.finished();
+	}
+  }
+}
@@ -0,0 +1,186 @@
+package com.xdman.spake2plus_core.transport;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.NoRouteToHostException;
+import java.net.SocketTimeoutException;
+import java.net.UnknownHostException;
+import java.net.http.HttpConnectTimeoutException;
+import java.util.Collection;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spreads the peer Feign client's calls over the nodes of a {@link PeerNodeRegistry}, in front of the
+ * transport that sends them.
+ * <p>
+ * A call whose URL starts with the client's configured URL is sent to the node its routing key hashes to,
+ * with that prefix swapped for the node's base URL. Other calls pass through unchanged. With
+ * {@link HashKey#VIN}, every session of a vehicle lands on the same node and finds that node's scrypt and
+ * verifier caches warm. With {@link HashKey#REQUEST_ID}, only one session sticks to a node. Pairing state
+ * lives in Temporal either way, so stickiness only saves work; any node can serve any call.
+ * <p>
+ * Only a call that never reached its node moves on to the next node on the ring: connection refused, no
+ * route, unknown host or connect timeout. A connect timeout is an {@link HttpConnectTimeoutException} from
+ * the JDK client, an HttpClient 5 {@code ConnectTimeoutException}, or a {@link SocketTimeoutException} saying
+ * "connect timed out" from {@code HttpURLConnection}. Any other I/O error, a read timeout included, may have
+ * been delivered, so it is counted against the node and thrown, and the activity retries the call.
+ */
+public class LoadBalancedFeignClient implements Client, Closeable {
+  private static final String REQUEST_ID_HEADER = "x-requestId";
+  // Matched by name, since httpclient5 is only a compileOnly dependency of this module
+  private static final String HC5_CONNECT_TIMEOUT = "org.apache.hc.client5.http.ConnectTimeoutException";
+
+  private final Client delegate;
+  private final String clientUrl;
+  private final PeerNodeRegistry registry;
+  private final HashKey hashKey;
+  private final AtomicLong failovers = new AtomicLong();
+
+  /**
+   * What a call is hashed on
+   */
+  public enum HashKey {
+	VIN,
+	REQUEST_ID;
+
+	/**
+	 * Parses a property value, case-insensitively and with {@code -} for {@code _}; anything unknown means
+	 * {@link #VIN}
+	 */
+	public static HashKey of(String value) {
+	  return value != null && value.trim().replace('-', '_').equalsIgnoreCase(REQUEST_ID.name()) ? REQUEST_ID : VIN;
+	}
+  }
+
+  public LoadBalancedFeignClient(Client delegate, String clientUrl, PeerNodeRegistry registry, HashKey hashKey) {
+	this.delegate = delegate;
+	this.clientUrl = clientUrl.endsWith("/") ? clientUrl.substring(0, clientUrl.length() - 1) : clientUrl;
+	this.registry = registry;
+	this.hashKey = hashKey;
+  }
+
+  @Override
+  public Response execute(Request request, Request.Options options) throws IOException {
+	String url = request.url();
+	if (!url.startsWith(clientUrl)) {
+	  return delegate.execute(request, options);
+	}
+	String path = url.substring(clientUrl.length());
+	List<PeerNodeRegistry.Node> route = registry.route(routingKey(request, path));
+	IOException notSent = null;
+	for (PeerNodeRegistry.Node node : route) {
+	  if (notSent != null) {
+		failovers.incrementAndGet();
+	  }
+	  Request routed = Request.create(request.httpMethod(), node.baseUrl() + path, request.headers(),
+		request.body(), request.charset(), request.requestTemplate());
+	  try {
+		Response response = delegate.execute(routed, options);
+		node.succeeded();
+		return response;
+	  } catch (IOException e) {
+		node.failed();
+		if (!neverSent(e)) {
+		  throw e;
+		}
+		notSent = e;
+	  }
+	}
+	throw notSent;
+  }
+
+  /**
+   * The transport behind the load balancer
+   */
+  public Client delegate() {
+	return delegate;
+  }
+
+  public PeerNodeRegistry registry() {
+	return registry;
+  }
+
+  /**
+   * Calls sent to another node because their first choice could not be reached
+   */
+  public long failoverCount() {
+	return failovers.get();
+  }
+
+  /**
+   * Stops the health checks and closes the transport
+   */
+  @Override
+  public void close() throws IOException {
+	registry.close();
+	if (delegate instanceof Closeable closeable) {
+	  closeable.close();
+	}
+  }
+
+  /**
+   * The VIN or request id of the call. Binary calls carry both in their {@link ApduFrame}. The JSON peer
+   * endpoints end in {@code /{vin}} and send the request id as {@code x-requestId}.
+   */
+  String routingKey(Request request, String path) {
+	ApduFrame frame = frameOf(request);
+	if (hashKey == HashKey.VIN) {
+	  if (frame != null) {
+		return frame.vin();
+	  }
+	  int query = path.indexOf('?');
+	  String route = query >= 0 ? path.substring(0, query) : path;
+	  return route.substring(route.lastIndexOf('/') + 1);
+	}
+	if (frame != null) {
+	  return frame.requestId();
+	}
+	Collection<String> requestIds = request.headers().get(REQUEST_ID_HEADER);
+	return requestIds != null && !requestIds.isEmpty() ? requestIds.iterator().next() : path;
+  }
+
+  private static ApduFrame frameOf(Request request) {
+	if (request.body() == null || !isOctetStream(request.headers())) {
+	  return null;
+	}
+	try {
+	  return ApduFrame.decode(request.body());
+	} catch (IllegalArgumentException e) {
+	  return null;
+	}
+  }
+
+  private static boolean isOctetStream(Map<String, Collection<String>> headers) {
+	for (Map.Entry<String, Collection<String>> header : headers.entrySet()) {
+	  if (header.getKey().equalsIgnoreCase("Content-Type")) {
+		return header.getValue().stream().anyMatch(value -> value.contains("application/octet-stream"));
+	  }
+	}
+	return false;
+  }
+
+  private static boolean neverSent(IOException e) {
+	return e instanceof ConnectException
+	  || e instanceof NoRouteToHostException
+	  || e instanceof UnknownHostException
+	  || e instanceof HttpConnectTimeoutException
+	  || e.getClass().getName().equals(HC5_CONNECT_TIMEOUT)
+	  || e instanceof SocketTimeoutException && isConnectTimeout(e.getMessage());
+  }
+
+  /**
+   * {@code HttpURLConnection} throws the same {@link SocketTimeoutException} for connect and read timeouts,
+   * told apart only by the message
+   */
+  private static boolean isConnectTimeout(String message) {
+	return message != null && message.toLowerCase(Locale.ROOT).startsWith("connect timed out");
+  }
+}
@@ -0,0 +1,314 @@
+package com.xdman.spake2plus_core.transport;
+
+import com.xdman.spake2plus_core.model.ExchangeMode;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.WebSocket;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Client side of the peer APDU channel: one long-lived WebSocket, on the JDK HttpClient, that carries the
+ * APDU calls of every pairing session to the peer. Each call is an {@link ApduFrame} in a
+ * {@link ChannelMessage} with its own stream id, so concurrent sessions share the socket without waiting
+ * on each other.
+ * <p>
+ * Flow control: at most {@code maxInFlight} calls are outstanding on the channel. A call past that is not
+ * queued. It fails with {@link PeerChannelUnavailableException}, and the caller sends it over HTTP instead.
+ * Incoming messages are requested one at a time, so a slow reader pushes back on the peer through TCP.
+ * <p>
+ * Reconnect: the channel connects on first use. If the socket drops, the calls in flight on it fail, and
+ * the next call connects again. A failed connect backs off from 100 ms, doubling up to 10 s. Calls made
+ * during the backoff fail as unavailable, without waiting.
+ */
+@Slf4j
+public class PeerChannel implements Closeable {
+  private static final long MIN_BACKOFF_NANOS = TimeUnit.MILLISECONDS.toNanos(100);
+  private static final long MAX_BACKOFF_NANOS = TimeUnit.SECONDS.toNanos(10);
+
+  private final URI uri;
+  private final int maxInFlight;
+  private final Duration connectTimeout;
+  private final Duration callTimeout;
+  private final Semaphore window;
+  private final HttpClient httpClient;
+  private final AtomicInteger nextStreamId = new AtomicInteger();
+  private final AtomicLong connects = new AtomicLong();
+  private final AtomicLong unavailable = new AtomicLong();
+
+  private final Object connectLock = new Object();
+  private Connection connection;   // Guarded by connectLock, null while disconnected
+  private long backoffNanos;
+  private long retryAtNanos;
+  private volatile boolean closed;
+
+  public PeerChannel(URI uri, int maxInFlight, Duration connectTimeout, Duration callTimeout) {
+	if (maxInFlight < 1) {
+	  throw new IllegalArgumentException("maxInFlight must be at least 1");
+	}
+	this.uri = uri;
+	this.maxInFlight = maxInFlight;
+	this.connectTimeout = connectTimeout;
+	this.callTimeout = callTimeout;
+	this.window = new Semaphore(maxInFlight);
+	this.httpClient = HttpClient.newBuilder().connectTimeout(connectTimeout).build();
+	this.retryAtNanos = System.nanoTime();
+  }
+
+  /**
+   * Sends {@code frame} to the peer and waits for its reply: the peer's next APDU in update mode, empty in
+   * signal mode.
+   *
+   * @throws PeerChannelUnavailableException if the call was not sent
+   * @throws IOException if it was sent but failed, timed out or lost its connection; the peer may have
+   *                     delivered it
+   */
+  public byte[] exchange(ApduFrame frame, ExchangeMode exchangeMode) throws IOException {
+	if (!window.tryAcquire()) {
+	  unavailable.incrementAndGet();
+	  throw new PeerChannelUnavailableException("Peer channel to " + uri + " has " + maxInFlight + " calls in flight");
+	}
+	try {
+	  return connection().call(frame, exchangeMode);
+	} catch (PeerChannelUnavailableException e) {
+	  unavailable.incrementAndGet();
+	  throw e;
+	} finally {
+	  window.release();
+	}
+  }
+
+  /**
+   * Calls waiting for a reply from the peer
+   */
+  public int inFlight() {
+	return maxInFlight - window.availablePermits();
+  }
+
+  public boolean isConnected() {
+	synchronized (connectLock) {
+	  return connection != null;
+	}
+  }
+
+  /**
+   * Connections opened, the first one included
+   */
+  public long connectCount() {
+	return connects.get();
+  }
+
+  /**
+   * Calls refused because the channel was down, reconnecting or full
+   */
+  public long unavailableCount() {
+	return unavailable.get();
+  }
+
+  @Override
+  public void close() {
+	closed = true;
+	synchronized (connectLock) {
+	  if (connection != null) {
+		connection.shutdown();
+		connection = null;
+	  }
+	}
+  }
+
+  private Connection connection() throws IOException {
+	synchronized (connectLock) {
+	  if (closed) {
+		throw new PeerChannelUnavailableException("Peer channel to " + uri + " is closed");
+	  }
+	  if (connection != null) {
+		return connection;
+	  }
+	  long now = System.nanoTime();
+	  if (now - retryAtNanos < 0) {
+		throw new PeerChannelUnavailableException("Peer channel to " + uri + " reconnects in "
+		  + TimeUnit.NANOSECONDS.toMillis(retryAtNanos - now) + " ms");
+	  }
+	  Connection attempt = new Connection();
+	  try {
+		httpClient.newWebSocketBuilder()
+		  .connectTimeout(connectTimeout)
+		  .buildAsync(uri, attempt)
+		  .get();
+	  } catch (ExecutionException e) {
+		backoffNanos = backoffNanos == 0 ? MIN_BACKOFF_NANOS : Math.min(backoffNanos * 2, MAX_BACKOFF_NANOS);
+		retryAtNanos = System.nanoTime() + backoffNanos;
+		log.warn("Could not connect peer channel to {}, retrying in {} ms: {}",
+		  uri, TimeUnit.NANOSECONDS.toMillis(backoffNanos), e.getCause().getMessage());
+		throw new PeerChannelUnavailableException("Could not connect peer channel to " + uri, e.getCause());
+	  } catch (InterruptedException e) {
+		Thread.currentThread().interrupt();
+		throw new InterruptedIOException("Interrupted connecting peer channel to " + uri);
+	  }
+	  log.info("Peer channel connected to {}", uri);
+	  connects.incrementAndGet();
+	  backoffNanos = 0;
+	  connection = attempt;
+	  return attempt;
+	}
+  }
+
+  private void disconnected(Connection dropped) {
+	synchronized (connectLock) {
+	  if (connection == dropped) {
+		connection = null;
+	  }
+	}
+  }
+
+  /**
+   * One WebSocket and the calls in flight on it
+   */
+  private final class Connection implements WebSocket.Listener {
+	private final Map<Integer, CompletableFuture<byte[]>> pending = new ConcurrentHashMap<>();
+	private final Object sendLock = new Object();
+	private ByteArrayOutputStream partial;   // Only touched from listener callbacks, which never overlap
+	private volatile WebSocket webSocket;
+	private volatile IOException failure;
+
+	byte[] call(ApduFrame frame, ExchangeMode exchangeMode) throws IOException {
+	  int streamId = nextStreamId.incrementAndGet();
+	  CompletableFuture<byte[]> reply = new CompletableFuture<>();
+	  pending.put(streamId, reply);
+	  try {
+		if (failure != null) {
+		  throw new PeerChannelUnavailableException("Peer channel to " + uri + " is down", failure);
+		}
+		send(ChannelMessage.call(streamId, exchangeMode, frame).encode());
+		return reply.get(callTimeout.toNanos(), TimeUnit.NANOSECONDS);
+	  } catch (TimeoutException e) {
+		throw new IOException("No reply on peer channel to " + uri + " within " + callTimeout);
+	  } catch (ExecutionException e) {
+		throw e.getCause() instanceof IOException io ? io : new IOException(e.getCause());
+	  } catch (InterruptedException e) {
+		Thread.currentThread().interrupt();
+		throw new InterruptedIOException("Interrupted waiting on peer channel to " + uri);
+	  } finally {
+		pending.remove(streamId);
+	  }
+	}
+
+	/**
+	 * The JDK WebSocket takes one send at a time; a send that does not finish in time aborts the socket
+	 */
+	private void send(byte[] message) throws IOException {
+	  synchronized (sendLock) {
+		try {
+		  webSocket.sendBinary(ByteBuffer.wrap(message), true).get(callTimeout.toNanos(), TimeUnit.NANOSECONDS);
+		} catch (ExecutionException | TimeoutException e) {
+		  fail(new IOException("Could not send on peer channel to " + uri, e));
+		  throw new PeerChannelUnavailableException("Could not send on peer channel to " + uri, e);
+		} catch (InterruptedException e) {
+		  Thread.currentThread().interrupt();
+		  throw new InterruptedIOException("Interrupted sending on peer channel to " + uri);
+		}
+	  }
+	}
+
+	@Override
+	public void onOpen(WebSocket webSocket) {
+	  this.webSocket = webSocket;
+	  webSocket.request(1);
+	}
+
+	@Override
+	public CompletionStage<?> onBinary(WebSocket webSocket, ByteBuffer data, boolean last) {
+	  byte[] chunk = new byte[data.remaining()];
+	  data.get(chunk);
+	  if (!last || partial != null) {
+		if (partial == null) {
+		  partial = new ByteArrayOutputStream();
+		}
+		partial.writeBytes(chunk);
+		if (!last) {
+		  webSocket.request(1);
+		  return null;
+		}
+		chunk = partial.toByteArray();
+		partial = null;
+	  }
+	  received(chunk);
+	  webSocket.request(1);
+	  return null;
+	}
+
+	@Override
+	public CompletionStage<?> onText(WebSocket webSocket, CharSequence data, boolean last) {
+	  webSocket.request(1);
+	  return null;
+	}
+
+	@Override
+	public CompletionStage<?> onClose(WebSocket webSocket, int statusCode, String reason) {
+	  fail(new IOException("Peer channel to " + uri + " closed: " + statusCode + " " + reason));
+	  return null;
+	}
+
+	@Override
+	public void onError(WebSocket webSocket, Throwable error) {
+	  fail(new IOException("Peer channel to " + uri + " failed", error));
+	}
+
+	private void received(byte[] bytes) {
+	  ChannelMessage message;
+	  try {
+		message = ChannelMessage.decode(bytes);
+	  } catch (IllegalArgumentException e) {
+		log.warn("Dropped malformed message on peer channel to {}: {}", uri, e.getMessage());
+		return;
+	  }
+	  CompletableFuture<byte[]> reply = pending.get(message.streamId());
+	  if (reply == null) {
+		// The call already timed out
+		return;
+	  }
+	  if (message.kind() == ChannelMessage.Kind.REPLY) {
+		reply.complete(message.body());
+	  } else if (message.kind() == ChannelMessage.Kind.ERROR) {
+		reply.completeExceptionally(new IOException("Peer failed the call: " + message.errorMessage()));
+	  }
+	}
+
+	private void fail(IOException cause) {
+	  if (failure != null) {
+		return;
+	  }
+	  failure = cause;
+	  log.warn("Peer channel lost: {}", cause.getMessage());
+	  disconnected(this);
+	  if (webSocket != null) {
+		webSocket.abort();
+	  }
+	  pending.values().forEach(reply -> reply.completeExceptionally(cause));
+	}
+
+	void shutdown() {
+	  failure = new IOException("Peer channel to " + uri + " is closed");
+	  if (webSocket != null) {
+		webSocket.sendClose(WebSocket.NORMAL_CLOSURE, "shutdown");
+	  }
+	  pending.values().forEach(reply -> reply.completeExceptionally(failure));
+	}
+  }
+}
@@ -0,0 +1,18 @@
+package com.xdman.spake2plus_core.transport;
+
+import java.io.IOException;
+
+/**
+ * The peer channel could not take a call: it is not connected, is waiting to reconnect, or already has its
+ * window of calls in flight. The call was not sent, so the caller can safely send it another way.
+ */
+public class PeerChannelUnavailableException extends IOException {
+
+  public PeerChannelUnavailableException(String message) {
+	super(message);
+  }
+
+  public PeerChannelUnavailableException(String message, Throwable cause) {
+	super(message, cause);
+  }
+}
@@ -0,0 +1,137 @@
+package com.xdman.spake2plus_core.transport;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Per-peer counters of the Feign transports, keyed by {@code host:port}.
+ * <p>
+ * Peers are created on first use. {@link #onPeer(Consumer)} sees every peer once, including those created
+ * later, so a meter binder can register meters for nodes it did not know at startup.
+ */
+public class PeerMetrics {
+  private final Map<String, Peer> peers = new ConcurrentHashMap<>();
+  private final List<Consumer<Peer>> listeners = new ArrayList<>();
+
+  public static String keyOf(URI uri) {
+	int port = uri.getPort();
+	if (port < 0) {
+	  port = "https".equalsIgnoreCase(uri.getScheme()) ? 443 : 80;
+	}
+	return uri.getHost() + ":" + port;
+  }
+
+  public Peer peer(URI uri) {
+	return peer(keyOf(uri));
+  }
+
+  public Peer peer(String key) {
+	Peer peer = peers.get(key);
+	if (peer != null) {
+	  return peer;
+	}
+	synchronized (listeners) {
+	  peer = peers.get(key);
+	  if (peer == null) {
+		peer = new Peer(key);
+		peers.put(key, peer);
+		for (Consumer<Peer> listener : listeners) {
+		  listener.accept(peer);
+		}
+	  }
+	  return peer;
+	}
+  }
+
+  /**
+   * Calls {@code listener} for every known peer now and for every new one later
+   */
+  public void onPeer(Consumer<Peer> listener) {
+	synchronized (listeners) {
+	  listeners.add(listener);
+	  peers.values().forEach(listener);
+	}
+  }
+
+  public static final class Peer {
+	private final String name;
+	private final AtomicInteger inFlight = new AtomicInteger();
+	private final AtomicLong responses = new AtomicLong();
+	private final AtomicLong firstByteNanos = new AtomicLong();
+	private final AtomicLong connects = new AtomicLong();
+	private final AtomicLong connectNanos = new AtomicLong();
+	private final AtomicLong failures = new AtomicLong();
+
+	private Peer(String name) {
+	  this.name = name;
+	}
+
+	public String name() {
+	  return name;
+	}
+
+	public int inFlight() {
+	  return inFlight.get();
+	}
+
+	/**
+	 * Calls that received a response status line, the count for {@link #totalFirstByteNanos()}
+	 */
+	public long responseCount() {
+	  return responses.get();
+	}
+
+	/**
+	 * Total time from sending a call to its response headers, including any connect and pool wait
+	 */
+	public long totalFirstByteNanos() {
+	  return firstByteNanos.get();
+	}
+
+	/**
+	 * New connections opened to the peer, the count for {@link #totalConnectNanos()}
+	 */
+	public long connectCount() {
+	  return connects.get();
+	}
+
+	public long totalConnectNanos() {
+	  return connectNanos.get();
+	}
+
+	/**
+	 * Calls that ended in an I/O error
+	 */
+	public long failureCount() {
+	  return failures.get();
+	}
+
+	void started() {
+	  inFlight.incrementAndGet();
+	}
+
+	void finished() {
+	  inFlight.decrementAndGet();
+	}
+
+	void firstByte(long nanos) {
+	  responses.incrementAndGet();
+	  firstByteNanos.addAndGet(nanos);
+	}
+
+	void connected(long nanos) {
+	  connects.incrementAndGet();
+	  connectNanos.addAndGet(nanos);
+	}
+
+	void failed() {
+	  failures.incrementAndGet();
+	}
+  }
+}
@@ -0,0 +1,380 @@
+package com.xdman.spake2plus_core.transport;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * The peer service's nodes, for client-side load balancing of the peer Feign client, placed on a consistent
+ * hash ring.
+ * <p>
+ * A node is given as {@code <base url> [weight]}. Nodes come from a static list, and from an optional file
+ * with one node per line ({@code #} starts a comment). The file is read again on each health check if it has
+ * changed. A node keeps its health state across reloads for as long as it stays listed.
+ * <p>
+ * Each node has {@code weight * 100} points on the ring. A key is routed to the node owning the first point at
+ * or after the key's hash, so a node with weight 2 gets about twice the keys. Adding or removing a node only
+ * moves the keys of its own points.
+ * <p>
+ * Health: {@code failureThreshold} consecutive I/O failures eject a node for {@code ejection}. An active
+ * probe, {@code GET <base url><health path>}, also ejects a node when it does not answer 2xx, and readmits it
+ * as soon as it does. Ejected nodes are skipped on the ring. If every node is ejected, routing ignores
+ * ejection rather than failing every call.
+ */
+@Slf4j
+public class PeerNodeRegistry implements Closeable {
+  private static final int POINTS_PER_WEIGHT = 100;
+  private static final long NO_FILE = Long.MIN_VALUE;
+
+  private final List<String> staticNodes;
+  private final Path file;
+  private final int failureThreshold;
+  private final long ejectionNanos;
+  private final AtomicLong ejections = new AtomicLong();
+
+  private volatile Ring ring;
+  private long fileModified = NO_FILE;   // Guarded by this
+  private ScheduledExecutorService healthChecks;
+  private HttpClient probeClient;
+
+  public PeerNodeRegistry(Collection<String> staticNodes, Path file, int failureThreshold, Duration ejection) {
+	this.staticNodes = List.copyOf(staticNodes);
+	this.file = file;
+	this.failureThreshold = Math.max(1, failureThreshold);
+	this.ejectionNanos = ejection.toNanos();
+	this.ring = Ring.EMPTY;
+	reload();
+	if (ring.nodes.isEmpty()) {
+	  throw new IllegalArgumentException("No peer nodes in " + staticNodes + (file != null ? " or " + file : ""));
+	}
+  }
+
+  /**
+   * Nodes to try for {@code key}, each once: its ring owner first, then the next nodes clockwise. Nodes that
+   * are ejected come last.
+   */
+  public List<Node> route(String key) {
+	Ring current = ring;
+	int count = current.nodes.size();
+	if (count == 1) {
+	  return current.nodes;
+	}
+	long hash = hash(key);
+	int start = Arrays.binarySearch(current.hashes, hash);
+	if (start < 0) {
+	  start = -start - 1;
+	}
+	List<Node> available = new ArrayList<>(count);
+	List<Node> ejected = new ArrayList<>(0);
+	long now = System.nanoTime();
+	for (int i = 0; i < current.owners.length && available.size() + ejected.size() < count; i++) {
+	  Node node = current.owners[(start + i) % current.owners.length];
+	  if (available.contains(node) || ejected.contains(node)) {
+		continue;
+	  }
+	  (node.isAvailable(now) ? available : ejected).add(node);
+	}
+	available.addAll(ejected);
+	return available;
+  }
+
+  public List<Node> nodes() {
+	return ring.nodes;
+  }
+
+  public int availableNodes() {
+	long now = System.nanoTime();
+	int available = 0;
+	for (Node node : ring.nodes) {
+	  if (node.isAvailable(now)) {
+		available++;
+	  }
+	}
+	return available;
+  }
+
+  /**
+   * Times a node was ejected, by failed calls or failed probes
+   */
+  public long ejectionCount() {
+	return ejections.get();
+  }
+
+  /**
+   * Probes every node, and re-reads the node file, each {@code interval}. A blank {@code healthPath} skips
+   * the probes but still re-reads the file.
+   */
+  public synchronized void startHealthChecks(String healthPath, Duration interval, Duration timeout) {
+	if (healthChecks != null || interval.isZero() || interval.isNegative()) {
+	  return;
+	}
+	probeClient = HttpClient.newBuilder().connectTimeout(timeout).build();
+	healthChecks = Executors.newSingleThreadScheduledExecutor(runnable -> {
+	  Thread thread = new Thread(runnable, "spake2plus-peer-health");
+	  thread.setDaemon(true);
+	  return thread;
+	});
+	healthChecks.scheduleWithFixedDelay(() -> {
+	  try {
+		reload();
+		if (healthPath != null && !healthPath.isBlank()) {
+		  for (Node node : ring.nodes) {
+			probe(node, healthPath, timeout);
+		  }
+		}
+	  } catch (RuntimeException e) {
+		log.warn("Peer health check failed: {}", e.getMessage());
+	  }
+	}, 0, interval.toNanos(), TimeUnit.NANOSECONDS);
+  }
+
+  @Override
+  public synchronized void close() {
+	if (healthChecks != null) {
+	  healthChecks.shutdownNow();
+	  healthChecks = null;
+	}
+  }
+
+  void probe(Node node, String healthPath, Duration timeout) {
+	HttpClient client = probeClient != null ? probeClient : HttpClient.newHttpClient();
+	boolean healthy;
+	try {
+	  HttpRequest request = HttpRequest.newBuilder(URI.create(node.baseUrl + healthPath)).timeout(timeout).GET().build();
+	  int status = client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	  healthy = status >= 200 && status < 300;
+	} catch (IOException | IllegalArgumentException e) {
+	  healthy = false;
+	} catch (InterruptedException e) {
+	  Thread.currentThread().interrupt();
+	  return;
+	}
+	if (healthy) {
+	  if (node.readmit()) {
+		log.info("Peer node {} is healthy again", node.baseUrl);
+	  }
+	} else {
+	  eject(node, "health probe failed");
+	}
+  }
+
+  /**
+   * Re-reads the node file if it changed, keeping the state of nodes that stay
+   */
+  synchronized void reload() {
+	long modified = fileModified;
+	if (file != null) {
+	  try {
+		modified = Files.getLastModifiedTime(file).toMillis();
+	  } catch (IOException e) {
+		modified = NO_FILE;
+	  }
+	}
+	if (modified == fileModified && !ring.nodes.isEmpty()) {
+	  return;
+	}
+	fileModified = modified;
+	Map<String, Integer> specs = new LinkedHashMap<>();
+	staticNodes.forEach(spec -> parse(spec, specs));
+	if (file != null) {
+	  try {
+		Files.readAllLines(file, StandardCharsets.UTF_8).forEach(line -> parse(line, specs));
+	  } catch (IOException e) {
+		log.warn("Cannot read peer node file {}: {}", file, e.getMessage());
+	  }
+	}
+	if (specs.isEmpty() && !ring.nodes.isEmpty()) {
+	  log.warn("No peer nodes listed any more, keeping {}", ring.nodes);
+	  return;
+	}
+	Map<String, Node> previous = new HashMap<>();
+	ring.nodes.forEach(node -> previous.put(node.baseUrl, node));
+	List<Node> nodes = new ArrayList<>(specs.size());
+	specs.forEach((url, weight) -> {
+	  Node node = previous.get(url);
+	  nodes.add(node != null && node.weight == weight ? node : new Node(url, weight));
+	});
+	ring = Ring.of(nodes);
+	log.info("Peer nodes: {}", nodes);
+  }
+
+  private void eject(Node node, String reason) {
+	if (node.eject(System.nanoTime() + ejectionNanos)) {
+	  ejections.incrementAndGet();
+	  log.warn("Ejected peer node {} for {} ms: {}", node.baseUrl, TimeUnit.NANOSECONDS.toMillis(ejectionNanos), reason);
+	}
+  }
+
+  private static void parse(String spec, Map<String, Integer> specs) {
+	String line = spec.strip();
+	int comment = line.indexOf('#');
+	if (comment >= 0) {
+	  line = line.substring(0, comment).strip();
+	}
+	if (line.isEmpty()) {
+	  return;
+	}
+	String[] parts = line.split("\\s+");
+	if (parts.length > 2) {
+	  throw new IllegalArgumentException("Peer node must be '<base url> [weight]': " + spec);
+	}
+	String url = parts[0].endsWith("/") ? parts[0].substring(0, parts[0].length() - 1) : parts[0];
+	int weight = parts.length == 2 ? Integer.parseInt(parts[1]) : 1;
+	if (weight < 1) {
+	  throw new IllegalArgumentException("Peer node weight must be at least 1: " + spec);
+	}
+	specs.put(url, weight);
+  }
+
+  /**
+   * 64-bit FNV-1a over the UTF-8 bytes, finished with the MurmurHash3 mixer so close keys spread over the ring
+   */
+  static long hash(String key) {
+	long hash = 0xcbf29ce484222325L;
+	for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+	  hash ^= b & 0xFF;
+	  hash *= 0x100000001b3L;
+	}
+	hash ^= hash >>> 33;
+	hash *= 0xff51afd7ed558ccdL;
+	hash ^= hash >>> 33;
+	hash *= 0xc4ceb9fe1a85ec53L;
+	hash ^= hash >>> 33;
+	return hash;
+  }
+
+  /**
+   * One peer node and its health
+   */
+  public final class Node {
+	private final String baseUrl;
+	private final int weight;
+	private final AtomicInteger consecutiveFailures = new AtomicInteger();
+	private final AtomicLong routed = new AtomicLong();
+	private volatile long ejectedUntilNanos;
+	private volatile boolean ejected;
+
+	private Node(String baseUrl, int weight) {
+	  this.baseUrl = baseUrl;
+	  this.weight = weight;
+	}
+
+	public String baseUrl() {
+	  return baseUrl;
+	}
+
+	public int weight() {
+	  return weight;
+	}
+
+	/**
+	 * Calls sent to this node
+	 */
+	public long routedCount() {
+	  return routed.get();
+	}
+
+	public boolean isAvailable() {
+	  return isAvailable(System.nanoTime());
+	}
+
+	/**
+	 * A call reached the node and got a response
+	 */
+	public void succeeded() {
+	  routed.incrementAndGet();
+	  consecutiveFailures.set(0);
+	}
+
+	/**
+	 * A call to the node failed with an I/O error
+	 */
+	public void failed() {
+	  routed.incrementAndGet();
+	  if (consecutiveFailures.incrementAndGet() >= failureThreshold) {
+		consecutiveFailures.set(0);
+		PeerNodeRegistry.this.eject(this, failureThreshold + " consecutive failed calls");
+	  }
+	}
+
+	boolean isAvailable(long now) {
+	  return !ejected || now - ejectedUntilNanos >= 0;
+	}
+
+	/**
+	 * Ejects the node until {@code until}; true unless it was ejected already
+	 */
+	private synchronized boolean eject(long until) {
+	  boolean alreadyEjected = !isAvailable(System.nanoTime());
+	  ejectedUntilNanos = until;
+	  ejected = true;
+	  return !alreadyEjected;
+	}
+
+	/**
+	 * Ends an ejection early; true if the node was ejected
+	 */
+	private synchronized boolean readmit() {
+	  boolean wasEjected = !isAvailable(System.nanoTime());
+	  ejected = false;
+	  consecutiveFailures.set(0);
+	  return wasEjected;
+	}
+
+	@Override
+	public String toString() {
+	  return weight == 1 ? baseUrl : baseUrl + " (weight " + weight + ")";
+	}
+  }
+
+  /**
+   * Immutable ring: point hashes in ascending order and the node owning each point
+   */
+  private record Ring(List<Node> nodes, long[] hashes, Node[] owners) {
+	static final Ring EMPTY = new Ring(List.of(), new long[0], new Node[0]);
+
+	static Ring of(List<Node> nodes) {
+	  int points = 0;
+	  for (Node node : nodes) {
+		points += node.weight * POINTS_PER_WEIGHT;
+	  }
+	  long[][] entries = new long[points][];
+	  Node[] byIndex = nodes.toArray(new Node[0]);
+	  int p = 0;
+	  for (int n = 0; n < byIndex.length; n++) {
+		for (int i = 0; i < byIndex[n].weight * POINTS_PER_WEIGHT; i++) {
+		  entries[p++] = new long[]{hash(byIndex[n].baseUrl + "#" + i), n};
+		}
+	  }
+	  Arrays.sort(entries, (a, b) -> Long.compare(a[0], b[0]));
+	  long[] hashes = new long[points];
+	  Node[] owners = new Node[points];
+	  for (int i = 0; i < points; i++) {
+		hashes[i] = entries[i][0];
+		owners[i] = byIndex[(int) entries[i][1]];
+	  }
+	  return new Ring(List.copyOf(nodes), hashes, owners);
+	}
+  }
+}
@@ -0,0 +1,134 @@
+package com.xdman.spake2plus_core.transport;
+
+import feign.Client;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The peer transport of both applications, imported by their {@code Spake2PlusCoreConfig}. Each app declares
+ * its {@code peerTransportClient} bean from {@link ClientFactory} with the URL of its Feign client.
+ */
+@Slf4j
+@Configuration
+public class PeerTransportConfiguration {
+
+  /**
+   * Builds the HTTP client for a peer Feign client from the {@code spake2plus.transport.*} and
+   * {@code spake2plus.peers.*} settings
+   */
+  @FunctionalInterface
+  public interface ClientFactory {
+	Client create(String peerUrl);
+  }
+
+  @Bean
+  public PeerMetrics peerMetrics() {
+	return new PeerMetrics();
+  }
+
+  /**
+   * Spring Cloud OpenFeign uses a {@link Client} bean in place of its default one. With peer nodes configured,
+   * calls to the client's URL are spread over those nodes.
+   */
+  @Bean
+  public ClientFactory peerTransportClientFactory(
+	PeerMetrics peerMetrics,
+	@Value("${spake2plus.transport.mode:default}") String mode,
+	@Value("${spake2plus.transport.max-connections:200}") int maxConnections,
+	@Value("${spake2plus.transport.max-connections-per-peer:50}") int maxConnectionsPerPeer,
+	@Value("${spake2plus.transport.idle-timeout:PT30S}") Duration idleTimeout,
+	@Value("${spake2plus.transport.connect-timeout:PT2S}") Duration connectTimeout,
+	@Value("${spake2plus.peers.nodes:}") String[] peerNodes,
+	@Value("${spake2plus.peers.file:}") String peerFile,
+	@Value("${spake2plus.peers.hash-key:vin}") String hashKey,
+	@Value("${spake2plus.peers.failure-threshold:3}") int failureThreshold,
+	@Value("${spake2plus.peers.ejection:PT30S}") Duration ejection,
+	@Value("${spake2plus.peers.health.path:/actuator/health}") String healthPath,
+	@Value("${spake2plus.peers.health.interval:PT5S}") Duration healthInterval,
+	@Value("${spake2plus.peers.health.timeout:PT1S}") Duration healthTimeout
+  ) {
+	TransportMode transportMode = TransportMode.of(mode);
+	log.info("Peer transport: {}", transportMode);
+	return peerUrl -> {
+	  Client transport = switch (transportMode) {
+		case POOLED -> new PooledFeignClient(maxConnections, maxConnectionsPerPeer, idleTimeout, connectTimeout, peerMetrics);
+		case H2C -> new H2cFeignClient(connectTimeout, peerMetrics);
+		case DEFAULT -> new Client.Default(null, null);
+	  };
+	  if (peerNodes.length == 0 && peerFile.isBlank()) {
+		return transport;
+	  }
+	  PeerNodeRegistry nodes = new PeerNodeRegistry(
+		Arrays.asList(peerNodes), peerFile.isBlank() ? null : Path.of(peerFile), failureThreshold, ejection);
+	  nodes.startHealthChecks(healthPath, healthInterval, healthTimeout);
+	  LoadBalancedFeignClient.HashKey key = LoadBalancedFeignClient.HashKey.of(hashKey);
+	  log.info("Balancing {} over peer nodes {} by {}", peerUrl, nodes.nodes(), key);
+	  return new LoadBalancedFeignClient(transport, peerUrl, nodes, key);
+	};
+  }
+
+  @Bean
+  public MeterBinder peerTransportMetrics(PeerMetrics peerMetrics, Client peerTransportClient) {
+	return registry -> {
+	  peerMetrics.onPeer(peer -> {
+		Gauge.builder("spake2plus.peer.in.flight", peer, PeerMetrics.Peer::inFlight)
+		  .tag("peer", peer.name())
+		  .description("Calls to the peer awaiting a response")
+		  .register(registry);
+		FunctionTimer.builder("spake2plus.peer.first.byte", peer,
+			PeerMetrics.Peer::responseCount, PeerMetrics.Peer::totalFirstByteNanos, TimeUnit.NANOSECONDS)
+		  .tag("peer", peer.name())
+		  .description("Time from sending a call to the peer's response headers")
+		  .register(registry);
+		FunctionTimer.builder("spake2plus.peer.connect", peer,
+			PeerMetrics.Peer::connectCount, PeerMetrics.Peer::totalConnectNanos, TimeUnit.NANOSECONDS)
+		  .tag("peer", peer.name())
+		  .description("TCP connect time of new connections to the peer")
+		  .register(registry);
+		FunctionCounter.builder("spake2plus.peer.failures", peer, PeerMetrics.Peer::failureCount)
+		  .tag("peer", peer.name())
+		  .description("Calls to the peer that failed with an I/O error")
+		  .register(registry);
+	  });
+	  Client transport = peerTransportClient;
+	  if (peerTransportClient instanceof LoadBalancedFeignClient balanced) {
+		PeerNodeRegistry nodes = balanced.registry();
+		Gauge.builder("spake2plus.peers.nodes", nodes, n -> n.nodes().size())
+		  .description("Peer nodes the client balances over")
+		  .register(registry);
+		Gauge.builder("spake2plus.peers.available", nodes, PeerNodeRegistry::availableNodes)
+		  .description("Peer nodes not ejected")
+		  .register(registry);
+		FunctionCounter.builder("spake2plus.peers.ejections", nodes, PeerNodeRegistry::ejectionCount)
+		  .description("Peer node ejections by failed calls or health probes")
+		  .register(registry);
+		FunctionCounter.builder("spake2plus.peers.failovers", balanced, LoadBalancedFeignClient::failoverCount)
+		  .description("Calls sent to another peer node because theirs could not be reached")
+		  .register(registry);
+		transport = balanced.delegate();
+	  }
+	  if (transport instanceof PooledFeignClient pool) {
+		Gauge.builder("spake2plus.peer.pool.leased", pool, PooledFeignClient::leasedConnections)
+		  .description("Pooled peer connections in use")
+		  .register(registry);
+		Gauge.builder("spake2plus.peer.pool.idle", pool, PooledFeignClient::idleConnections)
+		  .description("Pooled peer connections kept alive for reuse")
+		  .register(registry);
+		Gauge.builder("spake2plus.peer.pool.pending", pool, PooledFeignClient::pendingConnections)
+		  .description("Calls waiting for a pooled peer connection")
+		  .register(registry);
+	  }
+	};
+  }
+}
@@ -0,0 +1,185 @@
+package com.xdman.spake2plus_core.transport;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManager;
+import org.apache.hc.client5.http.protocol.HttpClientContext;
+import org.apache.hc.client5.http.socket.ConnectionSocketFactory;
+import org.apache.hc.client5.http.socket.PlainConnectionSocketFactory;
+import org.apache.hc.client5.http.ssl.SSLConnectionSocketFactory;
+import org.apache.hc.core5.http.ClassicHttpResponse;
+import org.apache.hc.core5.http.Header;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.http.config.RegistryBuilder;
+import org.apache.hc.core5.http.io.entity.ByteArrayEntity;
+import org.apache.hc.core5.http.io.entity.EntityUtils;
+import org.apache.hc.core5.http.message.BasicClassicHttpRequest;
+import org.apache.hc.core5.http.protocol.HttpContext;
+import org.apache.hc.core5.io.CloseMode;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Proxy;
+import java.net.Socket;
+import java.net.SocketAddress;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Feign client on an Apache HttpClient 5 connection pool, so APDU hops reuse keep-alive connections instead
+ * of paying a TCP handshake each.
+ * <p>
+ * The pool holds up to {@code maxConnections} connections, at most {@code maxConnectionsPerPeer} to one
+ * host; calls past that wait for a free connection. Connections idle for {@code idleTimeout} are closed by
+ * a background evictor. Each call records in-flight, time to first byte and failures in {@link PeerMetrics};
+ * each new connection records its TCP connect time.
+ * <p>
+ * Responses are read fully before the call returns, which is fine for APDU-sized bodies and hands the
+ * connection back to the pool straight away.
+ */
+public class PooledFeignClient implements Client, Closeable {
+  private final PeerMetrics metrics;
+  private final PoolingHttpClientConnectionManager connectionManager;
+  private final CloseableHttpClient httpClient;
+
+  public PooledFeignClient(int maxConnections, int maxConnectionsPerPeer, Duration idleTimeout,
+						   Duration connectTimeout, PeerMetrics metrics) {
+	this.metrics = metrics;
+	this.connectionManager = new PoolingHttpClientConnectionManager(RegistryBuilder.<ConnectionSocketFactory>create()
+	  .register("http", new TimedSocketFactory())
+	  .register("https", SSLConnectionSocketFactory.getSocketFactory())
+	  .build());
+	connectionManager.setMaxTotal(maxConnections);
+	connectionManager.setDefaultMaxPerRoute(maxConnectionsPerPeer);
+	connectionManager.setDefaultConnectionConfig(ConnectionConfig.custom()
+	  .setConnectTimeout(Timeout.of(connectTimeout))
+	  .build());
+	this.httpClient = HttpClients.custom()
+	  .setConnectionManager(connectionManager)
+	  .evictIdleConnections(TimeValue.of(idleTimeout))
+	  .evictExpiredConnections()
+	  .build();
+  }
+
+  @Override
+  public Response execute(Request request, Request.Options options) throws IOException {
+	URI uri = URI.create(request.url());
+	BasicClassicHttpRequest httpRequest = new BasicClassicHttpRequest(request.httpMethod().name(), uri);
+	for (Map.Entry<String, Collection<String>> header : request.headers().entrySet()) {
+	  // The pool sets Content-Length from the entity
+	  if (header.getKey().equalsIgnoreCase(HttpHeaders.CONTENT_LENGTH)) {
+		continue;
+	  }
+	  for (String value : header.getValue()) {
+		httpRequest.addHeader(header.getKey(), value);
+	  }
+	}
+	if (request.body() != null) {
+	  httpRequest.setEntity(new ByteArrayEntity(request.body(), null));
+	}
+
+	HttpClientContext context = HttpClientContext.create();
+	context.setRequestConfig(RequestConfig.custom()
+	  .setResponseTimeout(Timeout.of(options.readTimeout(), options.readTimeoutUnit()))
+	  .setRedirectsEnabled(options.isFollowRedirects())
+	  .build());
+
+	PeerMetrics.Peer peer = metrics.peer(uri);
+	peer.started();
+	long start = System.nanoTime();
+	try (ClassicHttpResponse response = httpClient.executeOpen(null, httpRequest, context)) {
+	  peer.firstByte(System.nanoTime() - start);
+	  byte[] body = response.getEntity() == null ? null : EntityUtils.toByteArray(response.getEntity());
+	  return Response.builder()
+		.status(response.getCode())
+		.reason(response.getReasonPhrase())
+		.headers(headersOf(response))
+		.request(request)
+		.body(body)
+		.build();
+	} catch (IOException e) {
+	  peer.failed();
+	  throw e;
+	} finally {
+	  peer.finished();
+	}
+  }
+
+  /**
+   * Connections handed out to calls
+   */
+  public int leasedConnections() {
+	return connectionManager.getTotalStats().getLeased();
+  }
+
+  /**
+   * Open connections waiting in the pool for the next call
+   */
+  public int idleConnections() {
+	return connectionManager.getTotalStats().getAvailable();
+  }
+
+  /**
+   * Calls waiting because the pool or the peer's share of it is exhausted
+   */
+  public int pendingConnections() {
+	return connectionManager.getTotalStats().getPending();
+  }
+
+  @Override
+  public void close() {
+	httpClient.close(CloseMode.GRACEFUL);
+  }
+
+  private static Map<String, Collection<String>> headersOf(ClassicHttpResponse response) {
+	Map<String, Collection<String>> headers = new LinkedHashMap<>();
+	for (Header header : response.getHeaders()) {
+	  headers.computeIfAbsent(header.getName(), name -> new ArrayList<>()).add(header.getValue());
+	}
+	return headers;
+  }
+
+  /**
+   * Plain sockets that report how long their TCP connect took
+   */
+  private final class TimedSocketFactory extends PlainConnectionSocketFactory {
+
+	@Override
+	public Socket createSocket(HttpContext context) {
+	  return new TimedSocket(Proxy.NO_PROXY);
+	}
+
+	@Override
+	public Socket createSocket(Proxy proxy, HttpContext context) {
+	  return new TimedSocket(proxy != null ? proxy : Proxy.NO_PROXY);
+	}
+  }
+
+  private final class TimedSocket extends Socket {
+
+	TimedSocket(Proxy proxy) {
+	  super(proxy);
+	}
+
+	@Override
+	public void connect(SocketAddress endpoint, int timeout) throws IOException {
+	  long start = System.nanoTime();
+	  super.connect(endpoint, timeout);
+	  if (endpoint instanceof InetSocketAddress address) {
+		metrics.peer(address.getHostString() + ":" + address.getPort()).connected(System.nanoTime() - start);
+	  }
+	}
+  }
+}
@@ -0,0 +1,28 @@
+package com.xdman.spake2plus_core.transport;
+
+/**
+ * HTTP client behind the peer Feign clients ({@code DkcClient}, {@code SbodClient}).
+ * <p>
+ * {@link #DEFAULT}: Feign's {@code HttpURLConnection} client. {@link #POOLED}: {@link PooledFeignClient}, an
+ * Apache HttpClient 5 keep-alive pool. {@link #H2C}: {@link H2cFeignClient}, the JDK HttpClient over
+ * cleartext HTTP/2, multiplexing concurrent calls to a peer on one connection.
+ */
+public enum TransportMode {
+  DEFAULT,
+  POOLED,
+  H2C;
+
+  /**
+   * Parses a property value, case-insensitively; anything unknown means {@link #DEFAULT}
+   */
+  public static TransportMode of(String value) {
+	if (value != null) {
+	  for (TransportMode mode : values()) {
+		if (mode.name().equalsIgnoreCase(value.trim())) {
+		  return mode;
+		}
+	  }
+	}
+	return DEFAULT;
+  }
+}
@@ -0,0 +1,31 @@
+package com.xdman.spake2plus_core.transport;
+
+/**
+ * How APDUs travel between the device and vehicle services.
+ * <p>
+ * {@link #JSON}: hex strings in JSON records on {@code /sendToVehicle/{vin}} and
+ * {@code /receivefromvehicle/{vin}}. {@link #BINARY}: {@link ApduFrame}s as {@code application/octet-stream}
+ * on {@code /apdu/sendToVehicle} and {@code /apdu/receivefromvehicle}, answered with the raw reply APDU.
+ * {@link #WEBSOCKET}: the same frames over one long-lived {@link PeerChannel} to {@code /apdu/channel}; a call
+ * the channel cannot take goes as {@link #BINARY}.
+ * All endpoints are always served, so peers can switch independently.
+ */
+public enum WireFormat {
+  JSON,
+  BINARY,
+  WEBSOCKET;
+
+  /**
+   * Parses a property value, case-insensitively; anything unknown means {@link #JSON}
+   */
+  public static WireFormat of(String value) {
+	if (value != null) {
+	  for (WireFormat format : values()) {
+		if (format.name().equalsIgnoreCase(value.trim())) {
+		  return format;
+		}
+	  }
+	}
+	return JSON;
+  }
+}
@@ -0,0 +1,43 @@
+package com.xdman.spake2plus_core.base;
+
+import org.junit.jupiter.api.BeforeEach;
+
+/**
+ * Base test class providing common test setup and utilities
+ */
+public abstract class BaseTest {
+
+    @BeforeEach
+    protected void setUp() {
+        // Common setup for all tests
+    }
+
+    /**
+     * Common test data and utilities
+     */
+    protected static final String TEST_VIN = "1HGBH41JXMN109186";
+    protected static final String TEST_PASSWORD = "testPassword123";
+    protected static final String TEST_SALT = "0102030405060708090A0B0C0D0E0F10";
+
+    /**
+     * Helper method to create test hex string
+     */
+    protected String createTestHexString(int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append(String.format("%02X", i % 256));
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Helper method to create test byte array
+     */
+    protected byte[] createTestByteArray(int length) {
+        byte[] array = new byte[length];
+        for (int i = 0; i < length; i++) {
+            array[i] = (byte) (i % 256);
+        }
+        return array;
+    }
+}
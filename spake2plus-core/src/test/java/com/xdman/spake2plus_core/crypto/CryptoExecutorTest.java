@@ -0,0 +1,75 @@
+package com.xdman.spake2plus_core.crypto;
+
+import com.xdman.spake2plus_core.base.BaseTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("CryptoExecutor Tests")
+class CryptoExecutorTest extends BaseTest {
+
+    @Test
+    @DisplayName("Should reject work once the queue is full")
+    void shouldRejectWhenSaturated() throws Exception {
+        // Given: one worker blocked and one job queued
+        try (CryptoExecutor executor = new CryptoExecutor(1, 1, true)) {
+            CountDownLatch release = new CountDownLatch(1);
+            CountDownLatch running = new CountDownLatch(1);
+            CompletableFuture<String> first = executor.submit(() -> {
+                running.countDown();
+                release.await();
+                return "first";
+            });
+            assertTrue(running.await(5, TimeUnit.SECONDS));
+            CompletableFuture<String> second = executor.submit(() -> "second");
+
+            // When
+            assertThrows(RejectedExecutionException.class, () -> executor.submit(() -> "third"));
+            release.countDown();
+
+            // Then
+            assertEquals("first", first.get(5, TimeUnit.SECONDS));
+            assertEquals("second", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, executor.rejectedCount());
+            assertEquals(2, executor.startedCount());
+            assertTrue(executor.totalWaitNanos() > 0);
+            assertEquals(0, executor.queueDepth());
+        }
+    }
+
+    @Test
+    @DisplayName("Should rethrow the task's exception from call")
+    void shouldRethrowTaskException() {
+        // Given
+        try (CryptoExecutor executor = new CryptoExecutor(1, 4, true)) {
+            // When
+            IllegalStateException exception = assertThrows(IllegalStateException.class,
+                () -> executor.call(() -> {
+                    throw new IllegalStateException("scrypt failed");
+                }));
+
+            // Then
+            assertEquals("scrypt failed", exception.getMessage());
+        }
+    }
+
+    @Test
+    @DisplayName("Should run inline when disabled")
+    void shouldRunInlineWhenDisabled() throws Exception {
+        // Given
+        try (CryptoExecutor executor = new CryptoExecutor(1, 1, false)) {
+            // When
+            String thread = executor.call(() -> Thread.currentThread().getName());
+
+            // Then
+            assertEquals(Thread.currentThread().getName(), thread);
+            assertFalse(executor.isEnabled());
+        }
+    }
+}
@@ -0,0 +1,96 @@
+package com.xdman.spake2plus_core.crypto;
+
+import com.xdman.spake2plus_core.base.BaseTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("EphemeralKeyPool Tests")
+class EphemeralKeyPoolTest extends BaseTest {
+
+    private static void awaitSize(EphemeralKeyPool pool, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+        while (pool.size() < expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+    }
+
+    @Test
+    @DisplayName("Should hand out scalars with their matching public point")
+    void shouldHandOutMatchingKeyPairs() throws InterruptedException {
+        // Given
+        try (EphemeralKeyPool pool = new EphemeralKeyPool("test", 8, 8, Duration.ofMillis(10), true)) {
+            awaitSize(pool, 8);
+
+            // When
+            EphemeralKeyPool.EphemeralKey key = pool.take();
+
+            // Then
+            assertTrue(key.scalar().signum() > 0);
+            assertTrue(key.scalar().compareTo(FixedBaseMultiplier.ORDER) < 0);
+            assertEquals(FixedBaseMultiplier.G.multiply(key.scalar()).normalize(), key.point());
+            assertEquals(1, pool.consumedCount());
+            assertEquals(0, pool.exhaustedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should not grow past its capacity")
+    void shouldNotGrowPastCapacity() throws InterruptedException {
+        // Given
+        try (EphemeralKeyPool pool = new EphemeralKeyPool("test", 16, 4, Duration.ofMillis(5), true)) {
+
+            // When
+            awaitSize(pool, 16);
+            Thread.sleep(50);
+
+            // Then
+            assertEquals(16, pool.size());
+            assertEquals(16, pool.producedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should generate inline and count exhaustion when the pool is disabled")
+    void shouldGenerateInlineWhenDisabled() {
+        // Given
+        try (EphemeralKeyPool pool = new EphemeralKeyPool("test", 16, 4, Duration.ofSeconds(1), false)) {
+
+            // When
+            EphemeralKeyPool.EphemeralKey key = pool.take();
+
+            // Then
+            assertNotNull(key);
+            assertEquals(FixedBaseMultiplier.G.multiply(key.scalar()).normalize(), key.point());
+            assertEquals(0, pool.size());
+            assertEquals(1, pool.exhaustedCount());
+            assertEquals(0, pool.consumedCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should never hand out the same ephemeral twice")
+    void shouldNeverReuseEphemeral() throws InterruptedException {
+        // Given
+        int takes = 200;
+        try (EphemeralKeyPool pool = new EphemeralKeyPool("test", 32, 8, Duration.ofMillis(1), true)) {
+            awaitSize(pool, 32);
+            Set<BigInteger> scalars = new HashSet<>();
+
+            // When
+            for (int i = 0; i < takes; i++) {
+                scalars.add(pool.take().scalar());
+            }
+
+            // Then
+            assertEquals(takes, scalars.size());
+            assertEquals(takes, pool.consumedCount() + pool.exhaustedCount());
+        }
+    }
+}
@@ -0,0 +1,122 @@
+package com.xdman.spake2plus_core.crypto;
+
+import com.xdman.spake2plus_core.base.BaseTest;
+import org.bouncycastle.math.ec.ECPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.security.SecureRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("FixedBaseMultiplier Tests")
+class FixedBaseMultiplierTest extends BaseTest {
+
+    private final SecureRandom random = new SecureRandom();
+
+    @Test
+    @DisplayName("Should match the default multiplier for random scalars")
+    void shouldMatchDefaultMultiplierForRandomScalars() {
+        for (int i = 0; i < 32; i++) {
+            // Given
+            BigInteger k = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+
+            // When & Then
+            assertEquals(FixedBaseMultiplier.G.multiply(k).normalize(), FixedBaseMultiplier.multiplyG(k));
+            assertEquals(FixedBaseMultiplier.M.multiply(k).normalize(), FixedBaseMultiplier.multiplyM(k));
+            assertEquals(FixedBaseMultiplier.N.multiply(k).normalize(), FixedBaseMultiplier.multiplyN(k));
+        }
+    }
+
+    @Test
+    @DisplayName("Should handle boundary scalars")
+    void shouldHandleBoundaryScalars() {
+        // Given
+        BigInteger orderMinusOne = FixedBaseMultiplier.ORDER.subtract(BigInteger.ONE);
+
+        // When & Then
+        assertEquals(FixedBaseMultiplier.G.normalize(), FixedBaseMultiplier.multiplyG(BigInteger.ONE));
+        assertEquals(FixedBaseMultiplier.G.negate().normalize(), FixedBaseMultiplier.multiplyG(orderMinusOne));
+        assertTrue(FixedBaseMultiplier.multiplyG(BigInteger.ZERO).isInfinity());
+        assertTrue(FixedBaseMultiplier.multiplyM(FixedBaseMultiplier.ORDER).isInfinity());
+    }
+
+    @Test
+    @DisplayName("Should reduce scalars larger than the group order")
+    void shouldReduceScalarsLargerThanGroupOrder() {
+        // Given
+        BigInteger k = new BigInteger(256, random);
+        BigInteger largeK = k.add(FixedBaseMultiplier.ORDER.shiftLeft(8));
+
+        // When
+        ECPoint expected = FixedBaseMultiplier.multiplyN(k);
+        ECPoint actual = FixedBaseMultiplier.multiplyN(largeK);
+
+        // Then
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @DisplayName("Should compute SPAKE2+ shares like the separate multiplications")
+    void shouldComputeSharesLikeSeparateMultiplications() {
+        for (int i = 0; i < 32; i++) {
+            // Given
+            BigInteger x = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+            BigInteger w0 = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+
+            // When
+            ECPoint X = FixedBaseMultiplier.multiplyGPlusM(x, w0);
+            ECPoint Y = FixedBaseMultiplier.multiplyGPlusN(x, w0);
+
+            // Then
+            assertEquals(FixedBaseMultiplier.G.multiply(x).add(FixedBaseMultiplier.M.multiply(w0)).normalize(), X);
+            assertEquals(FixedBaseMultiplier.G.multiply(x).add(FixedBaseMultiplier.N.multiply(w0)).normalize(), Y);
+        }
+    }
+
+    @Test
+    @DisplayName("Should handle shares with a zero scalar")
+    void shouldHandleSharesWithZeroScalar() {
+        // Given
+        BigInteger w0 = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+
+        // When & Then
+        assertEquals(FixedBaseMultiplier.multiplyM(w0), FixedBaseMultiplier.multiplyGPlusM(BigInteger.ZERO, w0));
+        assertEquals(FixedBaseMultiplier.multiplyG(w0), FixedBaseMultiplier.multiplyGPlusN(w0, BigInteger.ZERO));
+        assertTrue(FixedBaseMultiplier.multiplyGPlusM(BigInteger.ZERO, BigInteger.ZERO).isInfinity());
+    }
+
+    @Test
+    @DisplayName("Should unblind a peer share like the original formulas")
+    void shouldUnblindPeerShareLikeOriginalFormulas() {
+        for (int i = 0; i < 16; i++) {
+            // Given
+            BigInteger x = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+            BigInteger y = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+            BigInteger w0 = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+            BigInteger w1 = new BigInteger(256, random).mod(FixedBaseMultiplier.ORDER);
+            ECPoint X = FixedBaseMultiplier.G.multiply(x).add(FixedBaseMultiplier.M.multiply(w0));
+            ECPoint Y = FixedBaseMultiplier.G.multiply(y).add(FixedBaseMultiplier.N.multiply(w0));
+
+            // When
+            ECPoint[] device = FixedBaseMultiplier.multiplyUnblindedByN(Y, w0, x, w1);
+            ECPoint[] vehicle = FixedBaseMultiplier.multiplyUnblindedByM(X, w0, y);
+
+            // Then
+            assertEquals(Y.subtract(FixedBaseMultiplier.N.multiply(w0)).multiply(x).normalize(), device[0]);
+            assertEquals(Y.subtract(FixedBaseMultiplier.N.multiply(w0)).multiply(w1).normalize(), device[1]);
+            assertEquals(X.subtract(FixedBaseMultiplier.M.multiply(w0)).multiply(y).normalize(), vehicle[0]);
+            // Both sides agree on the shared secret Z = x*y*G
+            assertEquals(device[0], vehicle[0]);
+        }
+    }
+
+    @Test
+    @DisplayName("Should expose valid protocol points")
+    void shouldExposeValidProtocolPoints() {
+        assertTrue(FixedBaseMultiplier.M.isValid());
+        assertTrue(FixedBaseMultiplier.N.isValid());
+        assertNotEquals(FixedBaseMultiplier.M, FixedBaseMultiplier.N);
+    }
+}
@@ -0,0 +1,187 @@
+package com.xdman.spake2plus_core.crypto;
+
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.base.BaseTest;
+import org.bouncycastle.crypto.generators.SCrypt;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ScryptEngine Tests")
+class ScryptEngineTest extends BaseTest {
+
+    @Test
+    @DisplayName("Should match the RFC 7914 test vectors")
+    void shouldMatchRfc7914Vectors() {
+        // Given / When / Then
+        assertEquals(
+            "77D6576238657B203B19CA42C18A0497F16B4844E3074AE8DFDFFA3FEDE21442"
+                + "FCD0069DED0948F8326A753A0FC81F17E8D3E0FB2E0D3628CF35E20C38D18906",
+            HexUtil.toHexString(ScryptEngine.generate(new byte[0], new byte[0], 16, 1, 1, 64)).toUpperCase());
+        assertEquals(
+            "FDBABE1C9D3472007856E7190D01E9FE7C6AD7CBC8237830E77376634B373162"
+                + "2EAF30D92E22A3886FF109279D9830DAC727AFB94A83EE6D8360CBDFA2CC0640",
+            HexUtil.toHexString(ScryptEngine.generate(ascii("password"), ascii("NaCl"), 1024, 8, 16, 64)).toUpperCase());
+        assertEquals(
+            "7023BDCB3AFD7348461C06CD81FD38EBFDA8FBBA904F8E3EA9B543F6545DA1F2"
+                + "D5432955613F0FCF62D49705242A9AF9E61E85DC0D651E40DFCF017B45575887",
+            HexUtil.toHexString(ScryptEngine.generate(ascii("pleaseletmein"), ascii("SodiumChloride"), 16384, 8, 1, 64)).toUpperCase());
+    }
+
+    @Test
+    @DisplayName("Should return the same output as SCrypt.generate across parameters")
+    void shouldMatchBouncyCastle() {
+        // Given
+        Random random = new Random(7914);
+
+        for (int i = 0; i < 20; i++) {
+            byte[] password = new byte[random.nextInt(40)];
+            byte[] salt = new byte[random.nextInt(40)];
+            random.nextBytes(password);
+            random.nextBytes(salt);
+            int cost = 2 << random.nextInt(9);
+            int blockSize = 1 + random.nextInt(8);
+            int parallelization = 1 + random.nextInt(3);
+            int length = 1 + random.nextInt(100);
+
+            // When
+            byte[] actual = ScryptEngine.generate(password, salt, cost, blockSize, parallelization, length);
+
+            // Then
+            assertArrayEquals(SCrypt.generate(password, salt, cost, blockSize, parallelization, length), actual);
+        }
+    }
+
+    @Test
+    @DisplayName("Should return the same output with the vector Salsa20/8 core")
+    void shouldMatchScalarWithVectorCore() {
+        // Given
+        ScryptEngine vector = ScryptEngine.create(true);
+        Random random = new Random(414);
+
+        for (int i = 0; i < 20; i++) {
+            byte[] password = new byte[random.nextInt(40)];
+            byte[] salt = new byte[random.nextInt(40)];
+            random.nextBytes(password);
+            random.nextBytes(salt);
+            int cost = 2 << random.nextInt(9);
+            int blockSize = 1 + random.nextInt(8);
+            int parallelization = 1 + random.nextInt(3);
+
+            // When
+            byte[] actual = vector.derive(password, salt, cost, blockSize, parallelization, 64);
+
+            // Then
+            assertArrayEquals(SCrypt.generate(password, salt, cost, blockSize, parallelization, 64), actual);
+        }
+        assertEquals(
+            "7023BDCB3AFD7348461C06CD81FD38EBFDA8FBBA904F8E3EA9B543F6545DA1F2"
+                + "D5432955613F0FCF62D49705242A9AF9E61E85DC0D651E40DFCF017B45575887",
+            HexUtil.toHexString(vector.derive(ascii("pleaseletmein"), ascii("SodiumChloride"), 16384, 8, 1, 64)).toUpperCase());
+    }
+
+    @Test
+    @DisplayName("Should use the scalar core unless asked for the vector one")
+    void shouldDefaultToScalarCore() {
+        // Given / When / Then
+        assertFalse(ScryptEngine.create(false).isVectorized());
+    }
+
+    @Test
+    @DisplayName("Should return the same output when lanes run in parallel")
+    void shouldMatchWithParallelLanes() {
+        // Given
+        byte[] password = createTestByteArray(16);
+        byte[] salt = createTestByteArray(16);
+
+        try (ScryptEngine engine = ScryptEngine.create(false, 2)) {
+            for (int parallelization = 1; parallelization <= 6; parallelization++) {
+                // When
+                byte[] actual = engine.derive(password, salt, 1024, 8, parallelization, 64);
+
+                // Then
+                assertArrayEquals(SCrypt.generate(password, salt, 1024, 8, parallelization, 64), actual);
+            }
+            assertTrue(engine.forkedLaneCount() > 0);
+            assertEquals(0, engine.activeLaneCount());
+            assertTrue(ScryptEngine.threadArenaZeroized());
+        }
+    }
+
+    @Test
+    @DisplayName("Should run lanes past the bound on the caller")
+    void shouldInlineLanesPastBound() throws Exception {
+        // Given
+        byte[] password = createTestByteArray(16);
+        byte[] salt = createTestByteArray(16);
+        byte[] expected = SCrypt.generate(password, salt, 1024, 8, 4, 64);
+
+        try (ScryptEngine engine = ScryptEngine.create(false, 1)) {
+            ExecutorService callers = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<byte[]>> results = new ArrayList<>();
+                for (int i = 0; i < 8; i++) {
+                    results.add(callers.submit(() -> engine.derive(password, salt, 1024, 8, 4, 64)));
+                }
+
+                // When
+                for (Future<byte[]> result : results) {
+                    // Then
+                    assertArrayEquals(expected, result.get());
+                }
+            } finally {
+                callers.shutdown();
+            }
+
+            // With one permit, every derivation forks at most one of its three extra lanes
+            assertTrue(engine.inlinedLaneCount() >= 16);
+            assertEquals(24, engine.forkedLaneCount() + engine.inlinedLaneCount());
+        }
+    }
+
+    @Test
+    @DisplayName("Should zeroize the thread's buffers after each derivation")
+    void shouldZeroizeArena() {
+        // Given
+        byte[] password = createTestByteArray(16);
+        byte[] salt = createTestByteArray(16);
+
+        // When
+        byte[] derived = ScryptEngine.generate(password, salt, 4096, 8, 1, 80);
+
+        // Then
+        assertEquals(80, derived.length);
+        assertTrue(ScryptEngine.threadArenaZeroized());
+    }
+
+    @Test
+    @DisplayName("Should reject the parameters SCrypt.generate rejects")
+    void shouldRejectInvalidParameters() {
+        // Given
+        byte[] password = createTestByteArray(8);
+        byte[] salt = createTestByteArray(8);
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> ScryptEngine.generate(null, salt, 16, 1, 1, 32));
+        assertThrows(IllegalArgumentException.class, () -> ScryptEngine.generate(password, null, 16, 1, 1, 32));
+        assertThrows(IllegalArgumentException.class, () -> ScryptEngine.generate(password, salt, 1, 1, 1, 32));
+        assertThrows(IllegalArgumentException.class, () -> ScryptEngine.generate(password, salt, 24, 1, 1, 32));
+        assertThrows(IllegalArgumentException.class, () -> ScryptEngine.generate(password, salt, 65536, 1, 1, 32));
+        assertThrows(IllegalArgumentException.class, () -> ScryptEngine.generate(password, salt, 16, 0, 1, 32));
+        assertThrows(IllegalArgumentException.class, () -> ScryptEngine.generate(password, salt, 16, 1, 0, 32));
+        assertThrows(IllegalArgumentException.class, () -> ScryptEngine.generate(password, salt, 16, 1, 1, 0));
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
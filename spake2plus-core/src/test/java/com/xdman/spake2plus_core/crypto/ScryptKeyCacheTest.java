@@ -0,0 +1,128 @@
+package com.xdman.spake2plus_core.crypto;
+
+import com.xdman.spake2plus_core.base.BaseTest;
+import org.bouncycastle.crypto.generators.SCrypt;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ScryptKeyCache Tests")
+class ScryptKeyCacheTest extends BaseTest {
+
+    private static final int COST = 16;
+    private static final int BLOCK_SIZE = 8;
+    private static final int PARALLELIZATION = 1;
+    private static final int LENGTH = 80;
+
+    private final byte[] password = createTestByteArray(16);
+    private final byte[] salt = createTestByteArray(16);
+
+    @Test
+    @DisplayName("Should return the same output as SCrypt.generate")
+    void shouldReturnSameOutputAsScrypt() {
+        // Given
+        ScryptKeyCache cache = new ScryptKeyCache(16, Duration.ofMinutes(1), true);
+        byte[] expected = SCrypt.generate(password, salt, COST, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+
+        // When
+        byte[] first = cache.derive(password, salt, COST, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+        byte[] second = cache.derive(password, salt, COST, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+
+        // Then
+        assertArrayEquals(expected, first);
+        assertArrayEquals(expected, second);
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(1, cache.stats().hitCount());
+    }
+
+    @Test
+    @DisplayName("Should hand out copies that callers can zeroize")
+    void shouldHandOutCopies() {
+        // Given
+        ScryptKeyCache cache = new ScryptKeyCache(16, Duration.ofMinutes(1), true);
+
+        // When
+        byte[] first = cache.derive(password, salt, COST, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+        byte[] expected = first.clone();
+        Arrays.fill(first, (byte) 0);
+        byte[] second = cache.derive(password, salt, COST, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+
+        // Then
+        assertArrayEquals(expected, second);
+    }
+
+    @Test
+    @DisplayName("Should key entries on every scrypt parameter")
+    void shouldKeyEntriesOnEveryParameter() {
+        // Given
+        ScryptKeyCache cache = new ScryptKeyCache(16, Duration.ofMinutes(1), true);
+
+        // When
+        byte[] base = cache.derive(password, salt, COST, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+        byte[] otherCost = cache.derive(password, salt, COST * 2, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+        byte[] otherBlockSize = cache.derive(password, salt, COST, BLOCK_SIZE / 2, PARALLELIZATION, LENGTH);
+        byte[] otherSalt = cache.derive(password, createTestByteArray(17), COST, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+
+        // Then
+        assertFalse(Arrays.equals(base, otherCost));
+        assertFalse(Arrays.equals(base, otherBlockSize));
+        assertFalse(Arrays.equals(base, otherSalt));
+        assertEquals(4, cache.stats().missCount());
+    }
+
+    @Test
+    @DisplayName("Should collapse concurrent identical derivations into one")
+    void shouldCollapseConcurrentDerivations() throws Exception {
+        // Given
+        ScryptKeyCache cache = new ScryptKeyCache(16, Duration.ofMinutes(1), true);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<byte[]>> results = new ArrayList<>();
+
+        // When
+        try {
+            for (int i = 0; i < 8; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return cache.derive(password, salt, 1024, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+                }));
+            }
+            start.countDown();
+            byte[] expected = results.get(0).get();
+            for (Future<byte[]> result : results) {
+                assertArrayEquals(expected, result.get());
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        // Then
+        assertEquals(1, cache.stats().missCount());
+        assertEquals(1, cache.estimatedSize());
+    }
+
+    @Test
+    @DisplayName("Should bypass the cache when disabled")
+    void shouldBypassCacheWhenDisabled() {
+        // Given
+        ScryptKeyCache cache = new ScryptKeyCache(16, Duration.ofMinutes(1), false);
+
+        // When
+        cache.derive(password, salt, COST, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+        cache.derive(password, salt, COST, BLOCK_SIZE, PARALLELIZATION, LENGTH);
+
+        // Then
+        assertEquals(0, cache.stats().requestCount());
+        assertEquals(0, cache.estimatedSize());
+    }
+}
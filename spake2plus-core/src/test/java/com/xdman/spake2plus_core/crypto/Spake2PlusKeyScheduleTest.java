@@ -0,0 +1,64 @@
+package com.xdman.spake2plus_core.crypto;
+
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.base.BaseTest;
+import org.bouncycastle.crypto.digests.SHA256Digest;
+import org.bouncycastle.crypto.generators.HKDFBytesGenerator;
+import org.bouncycastle.crypto.params.HKDFParameters;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Spake2PlusKeySchedule Tests")
+class Spake2PlusKeyScheduleTest extends BaseTest {
+
+    private static byte[] hkdf(byte[] ikm, byte[] info, int length) {
+        HKDFBytesGenerator generator = new HKDFBytesGenerator(new SHA256Digest());
+        generator.init(new HKDFParameters(ikm, null, info));
+        byte[] okm = new byte[length];
+        generator.generateBytes(okm, 0, length);
+        return okm;
+    }
+
+    @Test
+    @DisplayName("Should compute AES-CMAC as in RFC 4493")
+    void shouldComputeCmacAsInRfc4493() {
+        // Given
+        byte[] key = HexUtil.parseHex("2B7E151628AED2A6ABF7158809CF4F3C");
+
+        // When & Then
+        assertEquals("BB1D6929E95937287FA37D129B756746",
+            HexUtil.toHexString(Spake2PlusKeySchedule.computeCMAC(key, new byte[0])));
+        assertEquals("070A16B46B4D4144F79BDD9DD04A287C",
+            HexUtil.toHexString(Spake2PlusKeySchedule.computeCMAC(key, HexUtil.parseHex("6BC1BEE22E409F96E93D7E117393172A"))));
+    }
+
+    @Test
+    @DisplayName("Should derive evidence keys with HKDF-SHA256")
+    void shouldDeriveEvidenceKeysWithHkdf() {
+        // Given
+        byte[] CK = createTestByteArray(16);
+        byte[] info = HexUtil.parseHex(HexUtil.toHexString("ConfirmationKeys".getBytes(StandardCharsets.US_ASCII)) + "5B01005C0101");
+
+        // When
+        byte[] evidenceKeys = Spake2PlusKeySchedule.deriveEvidenceKeys(CK);
+
+        // Then
+        assertArrayEquals(hkdf(CK, info, 32), evidenceKeys);
+    }
+
+    @Test
+    @DisplayName("Should derive system keys with HKDF-SHA256")
+    void shouldDeriveSystemKeysWithHkdf() {
+        // Given
+        byte[] SK = createTestByteArray(16);
+        byte[] info = "SystemKeys".getBytes(StandardCharsets.US_ASCII);
+
+        // When & Then
+        assertArrayEquals(hkdf(SK, info, 64), Spake2PlusKeySchedule.deriveSystemKeys(SK, false));
+        assertArrayEquals(hkdf(SK, info, 96), Spake2PlusKeySchedule.deriveSystemKeys(SK, true));
+    }
+}
@@ -0,0 +1,53 @@
+package com.xdman.spake2plus_core.model;
+
+import com.xdman.spake2plus_core.base.BaseTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ApduBatch Tests")
+class ApduBatchTest extends BaseTest {
+    private static final byte[] SELECT = {0x00, (byte) 0xA4, 0x04, 0x00, 0x02, 0x01, 0x02, 0x00};
+
+    @Test
+    @DisplayName("Should split a batch into the APDUs it was built from, in order")
+    void shouldRoundTrip() {
+        // Given
+        byte[] request = createTestByteArray(300);
+
+        // When
+        byte[] batch = ApduBatch.encode(SELECT, request);
+        List<byte[]> apdus = ApduBatch.decode(batch);
+
+        // Then
+        assertTrue(ApduBatch.isBatch(batch));
+        assertEquals(2, apdus.size());
+        assertArrayEquals(SELECT, apdus.get(0));
+        assertArrayEquals(request, apdus.get(1));
+        assertEquals(2 + 2 + SELECT.length + 2 + request.length, batch.length);
+    }
+
+    @Test
+    @DisplayName("Should not take plain command or response APDUs for a batch")
+    void shouldTellBatchesFromApdus() {
+        assertFalse(ApduBatch.isBatch(SELECT));
+        assertFalse(ApduBatch.isBatch(new byte[]{0x5A, 0x02, 0x01, 0x00}));
+        assertFalse(ApduBatch.isBatch(new byte[]{(byte) 0xFF}));
+        assertFalse(ApduBatch.isBatch(null));
+    }
+
+    @Test
+    @DisplayName("Should reject empty, truncated and padded batches")
+    void shouldRejectMalformedBatches() {
+        byte[] batch = ApduBatch.encode(SELECT);
+
+        assertThrows(IllegalArgumentException.class, () -> ApduBatch.encode());
+        assertThrows(IllegalArgumentException.class, () -> ApduBatch.decode(SELECT));
+        assertThrows(IllegalArgumentException.class, () -> ApduBatch.decode(new byte[]{(byte) 0xFF, 0x00}));
+        assertThrows(IllegalArgumentException.class, () -> ApduBatch.decode(java.util.Arrays.copyOf(batch, batch.length - 1)));
+        assertThrows(IllegalArgumentException.class, () -> ApduBatch.decode(java.util.Arrays.copyOf(batch, batch.length + 1)));
+    }
+}
@@ -0,0 +1,97 @@
+package com.xdman.spake2plus_core.model;
+
+import com.xdman.spake2plus_core.base.BaseTest;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestResponseTlv;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Spake2PlusBinaryCodec Tests")
+class Spake2PlusBinaryCodecTest extends BaseTest {
+
+    private static final String REQUEST_COMMAND_HEX = "803000002F"
+        + "5B020100" + "5C020100"
+        + "7F5020" + "C010000102030405060708090A0B0C0D0E0F" + "C10400008000" + "C2020008" + "C3020001"
+        + "D6020001" + "00";
+
+    @Test
+    @DisplayName("Should round-trip device data including negative and null scalars")
+    void shouldRoundTripDeviceData() {
+        // Given
+        Spake2PlusDeviceData data = new Spake2PlusDeviceData("pässword", BigInteger.ONE.shiftLeft(255), BigInteger.valueOf(-42), null);
+
+        // When
+        Spake2PlusDeviceData decoded = Spake2PlusBinaryCodec.decode(Spake2PlusBinaryCodec.encode(data), Spake2PlusDeviceData.class);
+
+        // Then
+        assertEquals(data, decoded);
+    }
+
+    @Test
+    @DisplayName("Should round-trip a request wrapper with its TLV and vehicle data")
+    void shouldRoundTripRequestWrapper() {
+        // Given
+        Spake2PlusRequestCommandTlv request = new Spake2PlusRequestCommandTlv().decode(REQUEST_COMMAND_HEX);
+        byte[] L = new byte[65];
+        L[0] = 0x04;
+        Spake2PlusRequestWrapper wrapper = new Spake2PlusRequestWrapper(request,
+            new Spake2PlusVehicleData(BigInteger.valueOf(12345), null, L));
+
+        // When
+        Spake2PlusRequestWrapper decoded = Spake2PlusBinaryCodec.decode(Spake2PlusBinaryCodec.encode(wrapper), Spake2PlusRequestWrapper.class);
+
+        // Then
+        assertEquals(REQUEST_COMMAND_HEX, decoded.request().encode());
+        assertArrayEquals(request.getScryptConfig(), decoded.request().getScryptConfig());
+        assertEquals(BigInteger.valueOf(12345), decoded.config().w0());
+        assertNull(decoded.config().w1());
+        assertArrayEquals(L, decoded.config().L());
+    }
+
+    @Test
+    @DisplayName("Should round-trip a response wrapper without a config")
+    void shouldRoundTripResponseWrapperWithoutConfig() {
+        // Given
+        Spake2PlusRequestResponseTlv response = new Spake2PlusRequestResponseTlv();
+        byte[] point = new byte[65];
+        point[0] = 0x04;
+        point[64] = 0x01;
+        response.setCurvePointX(point);
+        Spake2PlusResponseWrapper wrapper = new Spake2PlusResponseWrapper(response, null);
+
+        // When
+        Spake2PlusResponseWrapper decoded = Spake2PlusBinaryCodec.decode(Spake2PlusBinaryCodec.encode(wrapper), Spake2PlusResponseWrapper.class);
+
+        // Then
+        assertArrayEquals(point, decoded.response().getCurvePointX());
+        assertNull(decoded.config());
+    }
+
+    @Test
+    @DisplayName("Should leave unsupported types to other formats")
+    void shouldNotEncodeUnsupportedTypes() {
+        // Then
+        assertFalse(Spake2PlusBinaryCodec.supports(String.class));
+        assertNull(Spake2PlusBinaryCodec.encode("not a pairing model"));
+    }
+
+    @Test
+    @DisplayName("Should reject an unknown version, a different type and truncated input")
+    void shouldRejectInvalidPayloads() {
+        // Given
+        byte[] encoded = Spake2PlusBinaryCodec.encode(new Spake2PlusVehicleData(BigInteger.TEN, BigInteger.TWO));
+        byte[] future = encoded.clone();
+        future[0] = (byte) (Spake2PlusBinaryCodec.VERSION + 1);
+
+        // Then
+        assertThrows(IllegalArgumentException.class, () -> Spake2PlusBinaryCodec.decode(future, Spake2PlusVehicleData.class));
+        assertThrows(IllegalArgumentException.class, () -> Spake2PlusBinaryCodec.decode(encoded, Spake2PlusDeviceData.class));
+        assertThrows(IllegalArgumentException.class,
+            () -> Spake2PlusBinaryCodec.decode(Arrays.copyOf(encoded, encoded.length - 1), Spake2PlusVehicleData.class));
+    }
+}
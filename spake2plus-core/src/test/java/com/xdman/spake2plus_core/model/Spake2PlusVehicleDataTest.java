@@ -1,6 +1,6 @@
-package com.xdman.workflow_device.model;
+package com.xdman.spake2plus_core.model;
 
-import com.xdman.workflow_device.base.BaseTest;
+import com.xdman.spake2plus_core.base.BaseTest;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 
@@ -0,0 +1,84 @@
+package com.xdman.spake2plus_core.model;
+
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.base.BaseTest;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TlvBase Tests")
+class TlvBaseTest extends BaseTest {
+
+    @Test
+    @DisplayName("Should encode the same APDU in binary and hex form")
+    void shouldEncodeSameApduInBinaryAndHex() {
+        // Given
+        Spake2PlusVerifyResponseTlv response = new Spake2PlusVerifyResponseTlv();
+        response.setDeviceEvidence(new byte[16]);
+
+        // When
+        byte[] apdu = response.encodeBytes();
+        String hex = response.encode();
+
+        // Then
+        assertEquals(HexUtil.toHexString(apdu).toUpperCase(), hex);
+        assertEquals((byte) 0x90, apdu[apdu.length - 2]);
+        assertEquals((byte) 0x00, apdu[apdu.length - 1]);
+    }
+
+    @Test
+    @DisplayName("Should decode a command APDU from bytes, a ByteBuffer slice and hex")
+    void shouldDecodeFromBytesBufferAndHex() {
+        // Given
+        byte[] point = new byte[65];
+        point[0] = 0x04;
+        Spake2PlusVerifyCommandTlv command = new Spake2PlusVerifyCommandTlv();
+        command.setCurvePointY(point);
+        command.setVehicleEvidence(new byte[16]);
+        byte[] apdu = command.encodeBytes();
+
+        ByteBuffer framed = ByteBuffer.allocate(apdu.length + 4);
+        framed.putShort((short) apdu.length).put(apdu).putShort((short) 0);
+        framed.position(2).limit(2 + apdu.length);
+
+        // When
+        Spake2PlusVerifyCommandTlv fromBytes = new Spake2PlusVerifyCommandTlv().decode(apdu);
+        Spake2PlusVerifyCommandTlv fromBuffer = new Spake2PlusVerifyCommandTlv().decode(framed);
+        Spake2PlusVerifyCommandTlv fromHex = new Spake2PlusVerifyCommandTlv().decode(command.encode());
+
+        // Then
+        for (Spake2PlusVerifyCommandTlv decoded : new Spake2PlusVerifyCommandTlv[]{fromBytes, fromBuffer, fromHex}) {
+            assertArrayEquals(point, decoded.getCurvePointY());
+            assertArrayEquals(new byte[16], decoded.getVehicleEvidence());
+        }
+        assertEquals(2, framed.position());
+    }
+
+    @Test
+    @DisplayName("Should reject a response APDU without the 9000 trailer")
+    void shouldRejectResponseWithoutSuccessTrailer() {
+        // Given
+        byte[] apdu = HexUtil.parseHex("5810000102030405060708090A0B0C0D0E0F6A80");
+
+        // When & Then
+        IllegalArgumentException exception = assertThrows(
+            IllegalArgumentException.class,
+            () -> new Spake2PlusVerifyResponseTlv().decode(apdu)
+        );
+        assertTrue(exception.getMessage().contains("must end with 9000"));
+    }
+
+    @Test
+    @DisplayName("Should reject null and empty input")
+    void shouldRejectNullAndEmptyInput() {
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> new Spake2PlusVerifyCommandTlv().decode((String) null));
+        assertThrows(IllegalArgumentException.class, () -> new Spake2PlusVerifyCommandTlv().decode(new byte[0]));
+        assertThrows(IllegalArgumentException.class, () -> new Spake2PlusVerifyCommandTlv().decode((ByteBuffer) null));
+    }
+}
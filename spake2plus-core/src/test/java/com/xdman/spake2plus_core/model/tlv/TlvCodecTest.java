@@ -0,0 +1,120 @@
+package com.xdman.spake2plus_core.model.tlv;
+
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.base.BaseTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Generated TLV Codec Tests")
+class TlvCodecTest extends BaseTest {
+
+    private static final String REQUEST_COMMAND_HEX = "803000002F"
+        + "5B020100" + "5C020100"
+        + "7F5020" + "C010000102030405060708090A0B0C0D0E0F" + "C10400008000" + "C2020008" + "C3020001"
+        + "D6020001" + "00";
+
+    @Test
+    @DisplayName("Should encode a REQUEST command with a nested Scrypt configuration")
+    void shouldEncodeRequestCommand() {
+        // Given
+        Spake2PlusRequestCommandTlv command = new Spake2PlusRequestCommandTlv();
+        command.setVodFwVersions(new byte[]{0x01, 0x00});
+        command.setDkProtocolVersions(new byte[]{0x01, 0x00});
+        command.setCryptographicSalt("000102030405060708090A0B0C0D0E0F");
+        command.setScryptCost(32768);
+        command.setBlockSize(8);
+        command.setParallelization(1);
+        command.setVehicleBrand("0001");
+
+        // When
+        String hex = command.encode();
+
+        // Then
+        assertEquals(REQUEST_COMMAND_HEX, hex);
+    }
+
+    @Test
+    @DisplayName("Should decode a REQUEST command and derive the Scrypt configuration")
+    void shouldDecodeRequestCommand() {
+        // When
+        Spake2PlusRequestCommandTlv command = new Spake2PlusRequestCommandTlv().decode(REQUEST_COMMAND_HEX);
+
+        // Then
+        assertArrayEquals(new byte[]{0x01, 0x00}, command.getVodFwVersions());
+        assertNull(command.getBtVersions());
+        assertEquals("000102030405060708090A0B0C0D0E0F", command.getCryptographicSalt());
+        assertEquals(32768, command.getScryptCost());
+        assertEquals(8, command.getBlockSize());
+        assertEquals(1, command.getParallelization());
+        assertEquals("0001", command.getVehicleBrand());
+        assertEquals("000102030405060708090A0B0C0D0E0F" + "00008000" + "0008" + "0001",
+            HexUtil.toHexString(command.getScryptConfig()).toUpperCase());
+    }
+
+    @Test
+    @DisplayName("Should round-trip the optional BT versions")
+    void shouldRoundTripOptionalField() {
+        // Given
+        Spake2PlusRequestCommandTlv command = new Spake2PlusRequestCommandTlv().decode(REQUEST_COMMAND_HEX);
+        command.setBtVersions(new byte[]{0x01, 0x00});
+
+        // When
+        Spake2PlusRequestCommandTlv decoded = new Spake2PlusRequestCommandTlv().decode(command.encodeBytes());
+
+        // Then
+        assertArrayEquals(new byte[]{0x01, 0x00}, decoded.getBtVersions());
+        assertArrayEquals(command.getScryptConfig(), decoded.getScryptConfig());
+    }
+
+    @Test
+    @DisplayName("Should reject a REQUEST command without a mandatory nested field")
+    void shouldRejectMissingNestedField() {
+        // Given: Scrypt configuration without C3
+        String hex = "8030000027" + "5B020100" + "5C020100"
+            + "7F501C" + "C010000102030405060708090A0B0C0D0E0F" + "C10400008000" + "C2020008"
+            + "D6020001" + "00";
+
+        // When
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> new Spake2PlusRequestCommandTlv().decode(hex));
+
+        // Then
+        assertTrue(exception.getMessage().contains("Missing mandatory field: Parallelization"));
+    }
+
+    @Test
+    @DisplayName("Should decode a SELECT response with or without the success trailer")
+    void shouldDecodeSelectResponseWithOptionalTrailer() {
+        // When
+        ResponseToSelectCommandTlv withTrailer = new ResponseToSelectCommandTlv().decode("5A0201005C020100D401029000");
+        ResponseToSelectCommandTlv withoutTrailer = new ResponseToSelectCommandTlv().decode("5A0201005C020100D40102");
+
+        // Then
+        assertEquals(ResponseToSelectCommandTlv.PAIRING_MODE_STARTED_WITH_PASSWORD, withTrailer.getPairingMode());
+        assertEquals(ResponseToSelectCommandTlv.PAIRING_MODE_STARTED_WITH_PASSWORD, withoutTrailer.getPairingMode());
+        assertEquals("5A0201005C020100D401029000", withTrailer.encode());
+    }
+
+    @Test
+    @DisplayName("Should encode the simulated device's SELECT response")
+    void shouldEncodeStartedWithPasswordResponse() {
+        // When
+        String hex = ResponseToSelectCommandTlv.startedWithPassword().encode();
+
+        // Then
+        assertEquals("5A0201005C020100D401029000", hex);
+    }
+
+    @Test
+    @DisplayName("Should reject a fixed-length field of the wrong size")
+    void shouldRejectWrongFixedLength() {
+        // When
+        IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+            () -> new ResponseToSelectCommandTlv().decode("5A0201005C020100D4020002"));
+
+        // Then
+        assertTrue(exception.getMessage().contains("Pairing mode must be exactly 1 byte"));
+    }
+}
@@ -0,0 +1,132 @@
+package com.xdman.spake2plus_core.model.tlv;
+
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.base.BaseTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("TlvReader Tests")
+class TlvReaderTest extends BaseTest {
+
+    @Test
+    @DisplayName("Should walk primitive and constructed TLVs in one pass")
+    void shouldWalkPrimitiveAndConstructedTlvs() {
+        // Given
+        byte[] bytes = HexUtil.parseHex("5B0201007F5009C00101C10400001000D6020003");
+
+        // When
+        TlvReader reader = TlvReader.of(bytes, 0, bytes.length);
+
+        // Then
+        assertTrue(reader.next());
+        assertEquals(0x5B, reader.tag());
+        assertFalse(reader.isConstructed());
+        assertEquals(2, reader.valueOffset());
+        assertArrayEquals(new byte[]{0x01, 0x00}, reader.valueBytes());
+
+        assertTrue(reader.next());
+        assertEquals(0x7F50, reader.tag());
+        assertTrue(reader.isConstructed());
+        TlvReader nested = reader.enter();
+        assertTrue(nested.next());
+        assertEquals(0xC0, nested.tag());
+        assertEquals("01", nested.valueHex());
+        assertTrue(nested.next());
+        assertEquals(0xC1, nested.tag());
+        assertEquals(4096, nested.valueInt());
+        assertFalse(nested.next());
+
+        assertTrue(reader.next());
+        assertEquals(0xD6, reader.tag());
+        assertEquals((short) 3, reader.valueShort());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should read values in place within the given slice")
+    void shouldReadValuesWithinSlice() {
+        // Given - command header, data part, Le
+        byte[] bytes = HexUtil.parseHex("803200000457021122" + "00");
+
+        // When
+        TlvReader reader = TlvReader.of(bytes, 5, bytes.length - 6);
+
+        // Then
+        assertTrue(reader.next());
+        assertEquals(0x57, reader.tag());
+        assertSame(bytes, reader.buffer());
+        assertEquals(7, reader.valueOffset());
+        assertEquals(2, reader.valueLength());
+        assertFalse(reader.next());
+    }
+
+    @Test
+    @DisplayName("Should decode long-form lengths")
+    void shouldDecodeLongFormLengths() {
+        // Given
+        byte[] value = new byte[200];
+        ByteBuffer buffer = ByteBuffer.allocate(3 + value.length).put((byte) 0x50).put((byte) 0x81).put((byte) 200).put(value);
+        buffer.flip();
+
+        // When
+        TlvReader reader = TlvReader.of(buffer);
+
+        // Then
+        assertTrue(reader.next());
+        assertEquals(0x50, reader.tag());
+        assertEquals(3, reader.valueOffset());
+        assertEquals(200, reader.valueLength());
+    }
+
+    @Test
+    @DisplayName("Should reject values that overrun the slice")
+    void shouldRejectTruncatedValues() {
+        // Given
+        byte[] bytes = HexUtil.parseHex("5810AABB");
+        TlvReader reader = TlvReader.of(bytes, 0, bytes.length);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+
+    @Test
+    @DisplayName("Should reject indefinite lengths")
+    void shouldRejectIndefiniteLengths() {
+        // Given
+        byte[] bytes = HexUtil.parseHex("58800000");
+        TlvReader reader = TlvReader.of(bytes, 0, bytes.length);
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, reader::next);
+    }
+
+    @Test
+    @DisplayName("Should reject entering a primitive TLV")
+    void shouldRejectEnteringPrimitiveTlv() {
+        // Given
+        byte[] bytes = HexUtil.parseHex("5B020100");
+        TlvReader reader = TlvReader.of(bytes, 0, bytes.length);
+        reader.next();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, reader::enter);
+    }
+
+    @Test
+    @DisplayName("Should reject slices outside the buffer, including ones whose end overflows int")
+    void shouldRejectSliceOutOfBounds() {
+        // Given
+        byte[] bytes = HexUtil.parseHex("5B020100");
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> TlvReader.of(bytes, 2, 3));
+        assertThrows(IllegalArgumentException.class, () -> TlvReader.of(bytes, 5, 0));
+        assertThrows(IllegalArgumentException.class, () -> TlvReader.of(bytes, -1, 2));
+        assertThrows(IllegalArgumentException.class, () -> TlvReader.of(bytes, 1, Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> TlvReader.of(bytes, Integer.MAX_VALUE, 2));
+    }
+}
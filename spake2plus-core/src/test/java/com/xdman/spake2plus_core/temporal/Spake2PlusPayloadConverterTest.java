@@ -0,0 +1,88 @@
+package com.xdman.spake2plus_core.temporal;
+
+import com.xdman.spake2plus_core.base.BaseTest;
+import com.xdman.spake2plus_core.model.Spake2PlusDeviceData;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
+import io.temporal.api.common.v1.Payload;
+import io.temporal.api.common.v1.Payloads;
+import io.temporal.api.common.v1.WorkflowExecution;
+import io.temporal.common.converter.DataConverter;
+import io.temporal.common.converter.DefaultDataConverter;
+import io.temporal.common.converter.EncodingKeys;
+import io.temporal.common.converter.ProtobufPayloadConverter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Spake2PlusPayloadConverter Tests")
+class Spake2PlusPayloadConverterTest extends BaseTest {
+
+    private static final Spake2PlusDeviceData DEVICE_DATA =
+        new Spake2PlusDeviceData("0102030405060708090A0B0C0D0E0F10", BigInteger.valueOf(3), BigInteger.valueOf(5), BigInteger.valueOf(7));
+
+    @Test
+    @DisplayName("Should write pairing models as binary and leave other values to JSON")
+    void shouldWritePairingModelsAsBinary() {
+        // Given
+        DataConverter converter = Spake2PlusPayloadConverter.newDataConverter(true);
+
+        // When
+        Payload data = converter.toPayload(DEVICE_DATA).orElseThrow();
+        Payload text = converter.toPayload("requestId").orElseThrow();
+
+        // Then
+        assertEquals(Spake2PlusPayloadConverter.ENCODING, data.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY).toStringUtf8());
+        assertEquals("json/plain", text.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY).toStringUtf8());
+        assertEquals(DEVICE_DATA, converter.fromPayload(data, Spake2PlusDeviceData.class, Spake2PlusDeviceData.class));
+    }
+
+    @Test
+    @DisplayName("Should fall back to JSON for a TLV that cannot be encoded")
+    void shouldFallBackForIncompleteTlv() {
+        // Given: no device evidence
+        Spake2PlusVerifyResponseTlv incomplete = new Spake2PlusVerifyResponseTlv();
+
+        // When
+        Optional<Payload> payload = new Spake2PlusPayloadConverter().toData(incomplete);
+
+        // Then
+        assertTrue(payload.isEmpty());
+    }
+
+    @Test
+    @DisplayName("Should read both encodings in read-only mode and write JSON")
+    void shouldReadBinaryWhenWritingJson() {
+        // Given
+        Optional<Payloads> binary = Spake2PlusPayloadConverter.newDataConverter(true).toPayloads(DEVICE_DATA);
+        Optional<Payloads> json = DefaultDataConverter.newDefaultInstance().toPayloads(DEVICE_DATA);
+        DataConverter readOnly = Spake2PlusPayloadConverter.newDataConverter(false);
+
+        // When
+        Payload written = readOnly.toPayload(DEVICE_DATA).orElseThrow();
+
+        // Then
+        assertEquals("json/plain", written.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY).toStringUtf8());
+        assertEquals(DEVICE_DATA, readOnly.fromPayloads(0, binary, Spake2PlusDeviceData.class, Spake2PlusDeviceData.class));
+        assertEquals(DEVICE_DATA, readOnly.fromPayloads(0, json, Spake2PlusDeviceData.class, Spake2PlusDeviceData.class));
+    }
+
+    @Test
+    @DisplayName("Should still read every standard encoding when writing binary")
+    void shouldReadStandardEncodingsWhenWritingBinary() {
+        // Given
+        WorkflowExecution execution = WorkflowExecution.newBuilder().setWorkflowId("6f1c2a4e").setRunId("run-1").build();
+        Payload protobuf = new ProtobufPayloadConverter().toData(execution).orElseThrow();
+        DataConverter converter = Spake2PlusPayloadConverter.newDataConverter(true);
+
+        // When
+        WorkflowExecution read = converter.fromPayload(protobuf, WorkflowExecution.class, WorkflowExecution.class);
+
+        // Then
+        assertEquals("binary/protobuf", protobuf.getMetadataOrThrow(EncodingKeys.METADATA_ENCODING_KEY).toStringUtf8());
+        assertEquals(execution, read);
+    }
+}
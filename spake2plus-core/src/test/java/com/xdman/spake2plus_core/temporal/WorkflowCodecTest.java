@@ -0,0 +1,64 @@
+package com.xdman.spake2plus_core.temporal;
+
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.base.BaseTest;
+import com.xdman.spake2plus_core.model.ApduBatch;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestCommandTlv;
+import io.temporal.failure.ApplicationFailure;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("WorkflowCodec Tests")
+class WorkflowCodecTest extends BaseTest {
+    private static final byte[] REQUEST_COMMAND = HexUtil.parseHex(
+        "803000002F5B0201005C0201007F5020C0100102030405060708090A0B0C0D0E0F10C10400001000C2020008C3020001D602000300");
+
+    @Test
+    @DisplayName("Should decode an APDU into the given message")
+    void shouldDecodeApdu() {
+        // When
+        Spake2PlusRequestCommandTlv request = WorkflowCodec.decode(new Spake2PlusRequestCommandTlv(), REQUEST_COMMAND);
+
+        // Then
+        assertEquals(4096, request.getScryptCost());
+        assertEquals("0102030405060708090A0B0C0D0E0F10", request.getCryptographicSalt());
+    }
+
+    @Test
+    @DisplayName("Should fail the workflow with a non-retryable InvalidApdu failure on a malformed APDU")
+    void shouldFailOnMalformedApdu() {
+        // Given
+        byte[] truncated = Arrays.copyOf(REQUEST_COMMAND, 20);
+
+        // When
+        ApplicationFailure failure = assertThrows(ApplicationFailure.class,
+            () -> WorkflowCodec.decode(new Spake2PlusRequestCommandTlv(), truncated));
+
+        // Then
+        assertEquals("InvalidApdu", failure.getType());
+        assertTrue(failure.isNonRetryable());
+        assertInstanceOf(IllegalArgumentException.class, failure.getCause());
+    }
+
+    @Test
+    @DisplayName("Should split a batch, and fail the workflow on a malformed one")
+    void shouldDecodeBatch() {
+        // Given
+        byte[] select = {0x00, (byte) 0xA4, 0x04, 0x00, 0x02, 0x01, 0x02, 0x00};
+        byte[] batch = ApduBatch.encode(select, REQUEST_COMMAND);
+
+        // When
+        List<byte[]> apdus = WorkflowCodec.decodeBatch(batch);
+
+        // Then
+        assertEquals(2, apdus.size());
+        assertArrayEquals(REQUEST_COMMAND, apdus.get(1));
+        ApplicationFailure failure = assertThrows(ApplicationFailure.class, () -> WorkflowCodec.decodeBatch(select));
+        assertEquals("InvalidApdu", failure.getType());
+    }
+}
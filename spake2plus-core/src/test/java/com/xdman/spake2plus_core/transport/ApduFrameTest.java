@@ -0,0 +1,104 @@
+package com.xdman.spake2plus_core.transport;
+
+import com.xdman.spake2plus_core.base.BaseTest;
+import com.xdman.spake2plus_core.model.ApduBatch;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ApduFrame Tests")
+class ApduFrameTest extends BaseTest {
+    private static final String VIN = "1HGBH41JXMN109186";
+    private static final String REQUEST_ID = "6f1c2a4e-8d3b-4f7a-9e21-0c5d7b8a9f10";
+
+    @Test
+    @DisplayName("Should decode what it encodes")
+    void shouldRoundTrip() {
+        // Given
+        byte[] apdu = createTestByteArray(300);
+        ApduFrame frame = new ApduFrame(VIN, REQUEST_ID, ApduFrame.Step.VERIFY, apdu);
+
+        // When
+        ApduFrame decoded = ApduFrame.decode(frame.encode());
+
+        // Then
+        assertEquals(VIN, decoded.vin());
+        assertEquals(REQUEST_ID, decoded.requestId());
+        assertEquals(ApduFrame.Step.VERIFY, decoded.step());
+        assertArrayEquals(apdu, decoded.apdu());
+    }
+
+    @Test
+    @DisplayName("Should lay out the fixed header ahead of the APDU")
+    void shouldWriteFixedHeader() {
+        // Given
+        ApduFrame frame = ApduFrame.response("V1", "r", new byte[]{(byte) 0x90, 0x00});
+
+        // When
+        byte[] encoded = frame.encode();
+
+        // Then
+        assertArrayEquals(new byte[]{ApduFrame.VERSION, 0x04, 2, 'V', '1', 1, 'r', (byte) 0x90, 0x00}, encoded);
+    }
+
+    @Test
+    @DisplayName("Should carry an empty APDU")
+    void shouldAllowEmptyApdu() {
+        // Given / When
+        ApduFrame decoded = ApduFrame.decode(ApduFrame.response(VIN, REQUEST_ID, new byte[0]).encode());
+
+        // Then
+        assertEquals(0, decoded.apdu().length);
+    }
+
+    @Test
+    @DisplayName("Should read the step from the command header")
+    void shouldDetectStepFromCommand() {
+        // Given / When / Then
+        assertEquals(ApduFrame.Step.SELECT, ApduFrame.command(VIN, REQUEST_ID, new byte[]{0x00, (byte) 0xA4, 0x04, 0x00, 0x08}).step());
+        assertEquals(ApduFrame.Step.REQUEST, ApduFrame.command(VIN, REQUEST_ID, new byte[]{(byte) 0x80, 0x30, 0x00, 0x00}).step());
+        assertEquals(ApduFrame.Step.VERIFY, ApduFrame.command(VIN, REQUEST_ID, new byte[]{(byte) 0x80, 0x32, 0x00, 0x00}).step());
+        assertEquals(ApduFrame.Step.UNKNOWN, ApduFrame.command(VIN, REQUEST_ID, new byte[]{0x58, 0x00, 0x00, 0x00}).step());
+        assertEquals(ApduFrame.Step.UNKNOWN, ApduFrame.command(VIN, REQUEST_ID, new byte[]{0x00}).step());
+        assertEquals(ApduFrame.Step.BATCH, ApduFrame.command(VIN, REQUEST_ID,
+            ApduBatch.encode(new byte[]{0x00, (byte) 0xA4, 0x04, 0x00, 0x00}, new byte[]{(byte) 0x80, 0x30, 0x00, 0x00})).step());
+    }
+
+    @Test
+    @DisplayName("Should reject malformed frames")
+    void shouldRejectMalformedFrames() {
+        // Given
+        byte[] valid = new ApduFrame(VIN, REQUEST_ID, ApduFrame.Step.SELECT, new byte[]{0x01}).encode();
+        byte[] wrongVersion = valid.clone();
+        wrongVersion[0] = 2;
+        byte[] unknownStep = valid.clone();
+        unknownStep[1] = 0x7F;
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> ApduFrame.decode(null));
+        assertThrows(IllegalArgumentException.class, () -> ApduFrame.decode(new byte[]{ApduFrame.VERSION, 0x01}));
+        assertThrows(IllegalArgumentException.class, () -> ApduFrame.decode(wrongVersion));
+        assertThrows(IllegalArgumentException.class, () -> ApduFrame.decode(unknownStep));
+        assertThrows(IllegalArgumentException.class, () -> ApduFrame.decode(Arrays.copyOf(valid, 3 + VIN.length())));
+        assertThrows(IllegalArgumentException.class, () -> ApduFrame.decode(Arrays.copyOf(valid, 4 + VIN.length() + 10)));
+        assertThrows(IllegalArgumentException.class, () -> ApduFrame.decode(new byte[]{ApduFrame.VERSION, 0x01, 0, 1, 'r'}));
+    }
+
+    @Test
+    @DisplayName("Should reject header fields that do not fit the frame")
+    void shouldRejectInvalidFields() {
+        // Given
+        byte[] apdu = new byte[]{0x01};
+
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new ApduFrame(null, REQUEST_ID, ApduFrame.Step.SELECT, apdu));
+        assertThrows(IllegalArgumentException.class, () -> new ApduFrame(" ", REQUEST_ID, ApduFrame.Step.SELECT, apdu));
+        assertThrows(IllegalArgumentException.class, () -> new ApduFrame(VIN, "x".repeat(256), ApduFrame.Step.SELECT, apdu));
+        assertThrows(IllegalArgumentException.class, () -> new ApduFrame("VINé", REQUEST_ID, ApduFrame.Step.SELECT, apdu));
+        assertThrows(IllegalArgumentException.class, () -> new ApduFrame(VIN, REQUEST_ID, null, apdu));
+        assertThrows(IllegalArgumentException.class, () -> new ApduFrame(VIN, REQUEST_ID, ApduFrame.Step.SELECT, null));
+    }
+}
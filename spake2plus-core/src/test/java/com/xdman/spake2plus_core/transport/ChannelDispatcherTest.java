@@ -0,0 +1,98 @@
+package com.xdman.spake2plus_core.transport;
+
+import com.xdman.spake2plus_core.base.BaseTest;
+import com.xdman.spake2plus_core.model.ExchangeMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.RejectedExecutionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ChannelDispatcher Tests")
+class ChannelDispatcherTest extends BaseTest {
+    private static final String REQUEST_ID = "6f1c2a4e-8d3b-4f7a-9e21-0c5d7b8a9f10";
+
+    private static byte[] call(int streamId, ExchangeMode mode) {
+        ApduFrame frame = ApduFrame.command(TEST_VIN, REQUEST_ID, new byte[]{(byte) 0x80, 0x30, 0x00, 0x00});
+        return ChannelMessage.call(streamId, mode, frame).encode();
+    }
+
+    @Test
+    @DisplayName("Should answer a call with the handler's reply on the same stream")
+    void shouldReplyOnSameStream() {
+        // Given
+        List<byte[]> sent = new ArrayList<>();
+        ChannelDispatcher dispatcher = new ChannelDispatcher(Runnable::run, (frame, mode) -> {
+            assertEquals(REQUEST_ID, frame.requestId());
+            assertEquals(ExchangeMode.UPDATE, mode);
+            return new byte[]{0x01, (byte) 0x90, 0x00};
+        });
+
+        // When
+        dispatcher.dispatch(call(42, ExchangeMode.UPDATE), sent::add);
+
+        // Then
+        assertEquals(1, sent.size());
+        ChannelMessage reply = ChannelMessage.decode(sent.get(0));
+        assertEquals(ChannelMessage.Kind.REPLY, reply.kind());
+        assertEquals(42, reply.streamId());
+        assertArrayEquals(new byte[]{0x01, (byte) 0x90, 0x00}, reply.body());
+        assertEquals(0, dispatcher.activeCalls());
+    }
+
+    @Test
+    @DisplayName("Should answer a failing call with an error")
+    void shouldReplyWithError() {
+        // Given
+        List<byte[]> sent = new ArrayList<>();
+        ChannelDispatcher dispatcher = new ChannelDispatcher(Runnable::run, (frame, mode) -> {
+            throw new IllegalStateException("Workflow not found");
+        });
+
+        // When
+        dispatcher.dispatch(call(7, ExchangeMode.SIGNAL), sent::add);
+
+        // Then
+        ChannelMessage error = ChannelMessage.decode(sent.get(0));
+        assertEquals(ChannelMessage.Kind.ERROR, error.kind());
+        assertEquals(7, error.streamId());
+        assertEquals("Workflow not found", error.errorMessage());
+    }
+
+    @Test
+    @DisplayName("Should answer with an error when the executor is saturated")
+    void shouldRejectWhenSaturated() {
+        // Given
+        List<byte[]> sent = new ArrayList<>();
+        ChannelDispatcher dispatcher = new ChannelDispatcher(command -> {
+            throw new RejectedExecutionException("full");
+        }, (frame, mode) -> fail("Should not be handled"));
+
+        // When
+        dispatcher.dispatch(call(9, ExchangeMode.UPDATE), sent::add);
+
+        // Then
+        ChannelMessage error = ChannelMessage.decode(sent.get(0));
+        assertEquals(ChannelMessage.Kind.ERROR, error.kind());
+        assertEquals(9, error.streamId());
+        assertEquals(1, dispatcher.rejectedCalls());
+    }
+
+    @Test
+    @DisplayName("Should drop malformed messages and anything but calls")
+    void shouldDropNonCalls() {
+        // Given
+        List<byte[]> sent = new ArrayList<>();
+        ChannelDispatcher dispatcher = new ChannelDispatcher(Runnable::run, (frame, mode) -> fail("Should not be handled"));
+
+        // When
+        dispatcher.dispatch(new byte[]{0x01, 0x02}, sent::add);
+        dispatcher.dispatch(ChannelMessage.reply(3, new byte[0]).encode(), sent::add);
+
+        // Then
+        assertTrue(sent.isEmpty());
+    }
+}
@@ -0,0 +1,64 @@
+package com.xdman.spake2plus_core.transport;
+
+import com.xdman.spake2plus_core.base.BaseTest;
+import com.xdman.spake2plus_core.model.ExchangeMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("ChannelMessage Tests")
+class ChannelMessageTest extends BaseTest {
+    private static final String REQUEST_ID = "6f1c2a4e-8d3b-4f7a-9e21-0c5d7b8a9f10";
+
+    @Test
+    @DisplayName("Should decode a call with its stream id, mode and frame")
+    void shouldRoundTripCall() {
+        // Given
+        ApduFrame frame = ApduFrame.command(TEST_VIN, REQUEST_ID, createTestByteArray(40));
+        ChannelMessage call = ChannelMessage.call(0x01020304, ExchangeMode.UPDATE, frame);
+
+        // When
+        ChannelMessage decoded = ChannelMessage.decode(call.encode());
+
+        // Then
+        assertEquals(ChannelMessage.Kind.CALL, decoded.kind());
+        assertEquals(0x01020304, decoded.streamId());
+        assertEquals(ExchangeMode.UPDATE, decoded.exchangeMode());
+        assertArrayEquals(frame.encode(), decoded.body());
+    }
+
+    @Test
+    @DisplayName("Should keep stream ids past the signed int range")
+    void shouldRoundTripNegativeStreamId() {
+        // When
+        ChannelMessage decoded = ChannelMessage.decode(ChannelMessage.reply(-7, new byte[]{(byte) 0x90, 0x00}).encode());
+
+        // Then
+        assertEquals(ChannelMessage.Kind.REPLY, decoded.kind());
+        assertEquals(-7, decoded.streamId());
+        assertArrayEquals(new byte[]{(byte) 0x90, 0x00}, decoded.body());
+    }
+
+    @Test
+    @DisplayName("Should carry an empty reply for null and the text of an error")
+    void shouldEncodeEmptyReplyAndError() {
+        // When
+        ChannelMessage reply = ChannelMessage.decode(ChannelMessage.reply(1, null).encode());
+        ChannelMessage error = ChannelMessage.decode(ChannelMessage.error(2, "Workflow not found").encode());
+
+        // Then
+        assertEquals(0, reply.body().length);
+        assertEquals(ChannelMessage.Kind.ERROR, error.kind());
+        assertEquals("Workflow not found", error.errorMessage());
+    }
+
+    @Test
+    @DisplayName("Should reject short messages and unknown kinds or modes")
+    void shouldRejectMalformedMessages() {
+        assertThrows(IllegalArgumentException.class, () -> ChannelMessage.decode(null));
+        assertThrows(IllegalArgumentException.class, () -> ChannelMessage.decode(new byte[5]));
+        assertThrows(IllegalArgumentException.class, () -> ChannelMessage.decode(new byte[]{0x09, 0, 0, 0, 1, 0}));
+        assertThrows(IllegalArgumentException.class, () -> ChannelMessage.decode(new byte[]{0x01, 0, 0, 0, 1, 0x7F}));
+    }
+}
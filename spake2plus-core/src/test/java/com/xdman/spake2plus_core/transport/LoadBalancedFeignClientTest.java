@@ -0,0 +1,245 @@
+package com.xdman.spake2plus_core.transport;
+
+import com.sun.net.httpserver.HttpServer;
+import com.xdman.spake2plus_core.base.BaseTest;
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.apache.hc.client5.http.ConnectTimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("LoadBalancedFeignClient Tests")
+class LoadBalancedFeignClientTest extends BaseTest {
+    private static final String REQUEST_ID = "6f1c2a4e-8d3b-4f7a-9e21-0c5d7b8a9f10";
+    private static final String CLIENT_URL = "http://peer:3031";
+    private static final Request.Options OPTIONS = new Request.Options(2, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true);
+
+    private HttpServer server;
+    private String serverUrl;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        // Answers with the path it was called on
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/", exchange -> {
+            byte[] body = exchange.getRequestURI().getPath().getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        serverUrl = "http://localhost:" + server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    private static String closedUrl() throws IOException {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return "http://localhost:" + socket.getLocalPort();
+        }
+    }
+
+    private static Client failingFor(String nodeUrl, IOException failure) {
+        Client transport = new Client.Default(null, null);
+        return (request, options) -> {
+            if (request.url().startsWith(nodeUrl)) {
+                throw failure;
+            }
+            return transport.execute(request, options);
+        };
+    }
+
+    private static String vinRoutedFirstTo(PeerNodeRegistry registry, String nodeUrl) {
+        String vin = TEST_VIN;
+        for (int i = 0; !registry.route(vin).get(0).baseUrl().equals(nodeUrl); i++) {
+            vin = TEST_VIN + i;
+        }
+        return vin;
+    }
+
+    private static PeerNodeRegistry registry(String... nodes) {
+        return new PeerNodeRegistry(List.of(nodes), null, 3, Duration.ofMinutes(1));
+    }
+
+    private static Request jsonRequest(String url) {
+        Map<String, Collection<String>> headers = Map.of(
+            "x-requestId", List.of(REQUEST_ID),
+            "Content-Type", List.of("application/json"));
+        return Request.create(Request.HttpMethod.POST, url, headers, "{}".getBytes(StandardCharsets.UTF_8),
+            StandardCharsets.UTF_8, null);
+    }
+
+    private static Request frameRequest(String url, ApduFrame frame) {
+        Map<String, Collection<String>> headers = Map.of("Content-Type", List.of("application/octet-stream"));
+        return Request.create(Request.HttpMethod.POST, url, headers, frame.encode(), null, null);
+    }
+
+    private static String body(Response response) throws IOException {
+        return new String(response.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    @DisplayName("Should send the call to the node with the client URL swapped for the node's")
+    void shouldRewriteUrlToNode() throws IOException {
+        // Given
+        PeerNodeRegistry registry = registry(serverUrl);
+        LoadBalancedFeignClient client = new LoadBalancedFeignClient(
+            new Client.Default(null, null), CLIENT_URL + "/", registry, LoadBalancedFeignClient.HashKey.VIN);
+
+        // When
+        Response response = client.execute(jsonRequest(CLIENT_URL + "/sendToVehicle/" + TEST_VIN), OPTIONS);
+
+        // Then
+        assertEquals(200, response.status());
+        assertEquals("/sendToVehicle/" + TEST_VIN, body(response));
+        assertEquals(1, registry.nodes().get(0).routedCount());
+        assertEquals(0, client.failoverCount());
+    }
+
+    @Test
+    @DisplayName("Should pass calls to other URLs through unchanged")
+    void shouldPassThroughOtherUrls() throws IOException {
+        // Given
+        PeerNodeRegistry registry = registry(closedUrl());
+        LoadBalancedFeignClient client = new LoadBalancedFeignClient(
+            new Client.Default(null, null), CLIENT_URL, registry, LoadBalancedFeignClient.HashKey.VIN);
+
+        // When
+        Response response = client.execute(jsonRequest(serverUrl + "/other"), OPTIONS);
+
+        // Then
+        assertEquals("/other", body(response));
+        assertEquals(0, registry.nodes().get(0).routedCount());
+    }
+
+    @Test
+    @DisplayName("Should move a call its node refused to the next node on the ring")
+    void shouldFailOverRefusedCall() throws IOException {
+        // Given
+        String closed = closedUrl();
+        PeerNodeRegistry registry = registry(closed, serverUrl);
+        String vin = TEST_VIN;
+        for (int i = 0; !registry.route(vin).get(0).baseUrl().equals(closed); i++) {
+            vin = TEST_VIN + i;
+        }
+        LoadBalancedFeignClient client = new LoadBalancedFeignClient(
+            new Client.Default(null, null), CLIENT_URL, registry, LoadBalancedFeignClient.HashKey.VIN);
+
+        // When
+        Response response = client.execute(jsonRequest(CLIENT_URL + "/receivefromvehicle/" + vin), OPTIONS);
+
+        // Then
+        assertEquals("/receivefromvehicle/" + vin, body(response));
+        assertEquals(1, client.failoverCount());
+        assertEquals(1, registry.route(vin).get(0).routedCount());
+    }
+
+    @Test
+    @DisplayName("Should move a call whose connect timed out to the next node on the ring")
+    void shouldFailOverConnectTimeouts() throws IOException {
+        for (IOException timeout : List.of(
+            new SocketTimeoutException("Connect timed out"),
+            new SocketTimeoutException("connect timed out"),
+            new ConnectTimeoutException("Connect to http://node-down:3031 failed: Connect timed out"))) {
+            // Given
+            String down = "http://node-down:3031";
+            PeerNodeRegistry registry = registry(down, serverUrl);
+            String vin = vinRoutedFirstTo(registry, down);
+            LoadBalancedFeignClient client = new LoadBalancedFeignClient(
+                failingFor(down, timeout), CLIENT_URL, registry, LoadBalancedFeignClient.HashKey.VIN);
+
+            // When
+            Response response = client.execute(jsonRequest(CLIENT_URL + "/sendToVehicle/" + vin), OPTIONS);
+
+            // Then
+            assertEquals("/sendToVehicle/" + vin, body(response), timeout.toString());
+            assertEquals(1, client.failoverCount(), timeout.toString());
+        }
+    }
+
+    @Test
+    @DisplayName("Should throw a read timeout without failing over, since the call may have been delivered")
+    void shouldThrowReadTimeout() {
+        // Given
+        String slow = "http://node-slow:3031";
+        PeerNodeRegistry registry = registry(slow, serverUrl);
+        String vin = vinRoutedFirstTo(registry, slow);
+        SocketTimeoutException readTimeout = new SocketTimeoutException("Read timed out");
+        LoadBalancedFeignClient client = new LoadBalancedFeignClient(
+            failingFor(slow, readTimeout), CLIENT_URL, registry, LoadBalancedFeignClient.HashKey.VIN);
+
+        // When
+        IOException thrown = assertThrows(IOException.class,
+            () -> client.execute(jsonRequest(CLIENT_URL + "/sendToVehicle/" + vin), OPTIONS));
+
+        // Then
+        assertSame(readTimeout, thrown);
+        assertEquals(0, client.failoverCount());
+    }
+
+    @Test
+    @DisplayName("Should throw the connect failure when no node can be reached")
+    void shouldThrowWhenNoNodeReachable() throws IOException {
+        // Given
+        LoadBalancedFeignClient client = new LoadBalancedFeignClient(
+            new Client.Default(null, null), CLIENT_URL, registry(closedUrl()), LoadBalancedFeignClient.HashKey.VIN);
+
+        // When / Then
+        assertThrows(IOException.class,
+            () -> client.execute(jsonRequest(CLIENT_URL + "/sendToVehicle/" + TEST_VIN), OPTIONS));
+        assertEquals(0, client.failoverCount());
+    }
+
+    @Test
+    @DisplayName("Should hash on the VIN of the path or frame, or on the request id")
+    void shouldPickRoutingKey() {
+        // Given
+        ApduFrame frame = ApduFrame.command(TEST_VIN, REQUEST_ID, new byte[]{0x00, (byte) 0xA4, 0x04, 0x00});
+        LoadBalancedFeignClient byVin = new LoadBalancedFeignClient(
+            new Client.Default(null, null), CLIENT_URL, registry(serverUrl), LoadBalancedFeignClient.HashKey.VIN);
+        LoadBalancedFeignClient byRequestId = new LoadBalancedFeignClient(
+            new Client.Default(null, null), CLIENT_URL, registry(serverUrl), LoadBalancedFeignClient.HashKey.REQUEST_ID);
+
+        // When / Then
+        assertEquals(TEST_VIN, byVin.routingKey(jsonRequest(CLIENT_URL + "/sendToVehicle/" + TEST_VIN),
+            "/sendToVehicle/" + TEST_VIN + "?retry=1"));
+        assertEquals(TEST_VIN, byVin.routingKey(frameRequest(CLIENT_URL + "/apdu/sendToVehicle", frame),
+            "/apdu/sendToVehicle"));
+        assertEquals(REQUEST_ID, byRequestId.routingKey(jsonRequest(CLIENT_URL + "/sendToVehicle/" + TEST_VIN),
+            "/sendToVehicle/" + TEST_VIN));
+        assertEquals(REQUEST_ID, byRequestId.routingKey(frameRequest(CLIENT_URL + "/apdu/sendToVehicle", frame),
+            "/apdu/sendToVehicle"));
+    }
+
+    @Test
+    @DisplayName("Should parse the hash key property")
+    void shouldParseHashKey() {
+        // When / Then
+        assertEquals(LoadBalancedFeignClient.HashKey.REQUEST_ID, LoadBalancedFeignClient.HashKey.of("request-id"));
+        assertEquals(LoadBalancedFeignClient.HashKey.REQUEST_ID, LoadBalancedFeignClient.HashKey.of(" REQUEST_ID "));
+        assertEquals(LoadBalancedFeignClient.HashKey.VIN, LoadBalancedFeignClient.HashKey.of("vin"));
+        assertEquals(LoadBalancedFeignClient.HashKey.VIN, LoadBalancedFeignClient.HashKey.of(null));
+        assertEquals(LoadBalancedFeignClient.HashKey.VIN, LoadBalancedFeignClient.HashKey.of("other"));
+    }
+}
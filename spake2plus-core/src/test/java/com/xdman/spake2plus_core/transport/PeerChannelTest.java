@@ -0,0 +1,66 @@
+package com.xdman.spake2plus_core.transport;
+
+import com.xdman.spake2plus_core.base.BaseTest;
+import com.xdman.spake2plus_core.model.ExchangeMode;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.ServerSocket;
+import java.net.URI;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PeerChannel Tests")
+class PeerChannelTest extends BaseTest {
+    private static final String REQUEST_ID = "6f1c2a4e-8d3b-4f7a-9e21-0c5d7b8a9f10";
+
+    private static URI closedPort() throws Exception {
+        try (ServerSocket socket = new ServerSocket(0)) {
+            return URI.create("ws://localhost:" + socket.getLocalPort() + "/apdu/channel");
+        }
+    }
+
+    @Test
+    @DisplayName("Should report an unreachable peer as unavailable and back off before reconnecting")
+    void shouldBackOffWhenPeerIsDown() throws Exception {
+        // Given
+        ApduFrame frame = ApduFrame.command(TEST_VIN, REQUEST_ID, new byte[]{0x00, (byte) 0xA4, 0x04, 0x00});
+        try (PeerChannel channel = new PeerChannel(closedPort(), 4, Duration.ofSeconds(2), Duration.ofSeconds(2))) {
+
+            // When
+            PeerChannelUnavailableException connectFailure = assertThrows(PeerChannelUnavailableException.class,
+                () -> channel.exchange(frame, ExchangeMode.UPDATE));
+            PeerChannelUnavailableException backoff = assertThrows(PeerChannelUnavailableException.class,
+                () -> channel.exchange(frame, ExchangeMode.UPDATE));
+
+            // Then
+            assertTrue(connectFailure.getMessage().startsWith("Could not connect"));
+            assertTrue(backoff.getMessage().contains("reconnects in"));
+            assertFalse(channel.isConnected());
+            assertEquals(0, channel.connectCount());
+            assertEquals(2, channel.unavailableCount());
+            assertEquals(0, channel.inFlight());
+        }
+    }
+
+    @Test
+    @DisplayName("Should refuse calls once closed")
+    void shouldRefuseCallsWhenClosed() throws Exception {
+        // Given
+        PeerChannel channel = new PeerChannel(closedPort(), 4, Duration.ofSeconds(2), Duration.ofSeconds(2));
+        channel.close();
+
+        // When / Then
+        assertThrows(PeerChannelUnavailableException.class,
+            () -> channel.exchange(ApduFrame.response(TEST_VIN, REQUEST_ID, new byte[]{(byte) 0x90, 0x00}),
+                ExchangeMode.SIGNAL));
+    }
+
+    @Test
+    @DisplayName("Should need a window of at least one call")
+    void shouldRejectEmptyWindow() {
+        assertThrows(IllegalArgumentException.class,
+            () -> new PeerChannel(URI.create("ws://localhost:1/apdu/channel"), 0, Duration.ofSeconds(1), Duration.ofSeconds(1)));
+    }
+}
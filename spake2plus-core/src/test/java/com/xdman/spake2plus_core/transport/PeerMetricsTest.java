@@ -0,0 +1,42 @@
+package com.xdman.spake2plus_core.transport;
+
+import com.xdman.spake2plus_core.base.BaseTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.net.URI;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PeerMetrics Tests")
+class PeerMetricsTest extends BaseTest {
+
+    @Test
+    @DisplayName("Should key peers by host and port, defaulting the port by scheme")
+    void shouldKeyPeersByHostAndPort() {
+        // Given / When / Then
+        assertEquals("localhost:3031", PeerMetrics.keyOf(URI.create("http://localhost:3031/sendToVehicle/VIN")));
+        assertEquals("vehicle.example:80", PeerMetrics.keyOf(URI.create("http://vehicle.example/path")));
+        assertEquals("vehicle.example:443", PeerMetrics.keyOf(URI.create("https://vehicle.example/path")));
+    }
+
+    @Test
+    @DisplayName("Should tell listeners about existing and later peers once each")
+    void shouldNotifyListenersOncePerPeer() {
+        // Given
+        PeerMetrics metrics = new PeerMetrics();
+        metrics.peer("a:80");
+        List<String> seen = new ArrayList<>();
+
+        // When
+        metrics.onPeer(peer -> seen.add(peer.name()));
+        metrics.peer("b:80");
+        metrics.peer("a:80");
+        metrics.peer(URI.create("http://b/path"));
+
+        // Then
+        assertEquals(List.of("a:80", "b:80"), seen);
+    }
+}
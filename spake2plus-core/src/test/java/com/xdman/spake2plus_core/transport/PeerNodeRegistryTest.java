@@ -0,0 +1,210 @@
+package com.xdman.spake2plus_core.transport;
+
+import com.sun.net.httpserver.HttpServer;
+import com.xdman.spake2plus_core.base.BaseTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PeerNodeRegistry Tests")
+class PeerNodeRegistryTest extends BaseTest {
+    private static final Duration EJECTION = Duration.ofMinutes(1);
+
+    private static Map<String, Integer> firstChoices(PeerNodeRegistry registry, int keys) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (int i = 0; i < keys; i++) {
+            counts.merge(registry.route("VIN" + i).get(0).baseUrl(), 1, Integer::sum);
+        }
+        return counts;
+    }
+
+    @Test
+    @DisplayName("Should spread keys over the nodes in proportion to their weights")
+    void shouldSpreadKeysByWeight() {
+        // Given
+        PeerNodeRegistry registry = new PeerNodeRegistry(
+            List.of("http://node-a:3031", "http://node-b:3031 2"), null, 3, EJECTION);
+
+        // When
+        Map<String, Integer> counts = firstChoices(registry, 6000);
+
+        // Then
+        double ratio = (double) counts.get("http://node-b:3031") / counts.get("http://node-a:3031");
+        assertTrue(ratio > 1.5 && ratio < 2.6, "weight 2 should get about twice the keys, got " + ratio);
+        assertEquals(2, registry.route(TEST_VIN).size());
+    }
+
+    @Test
+    @DisplayName("Should keep the node of every key whose node stays when a node is removed")
+    void shouldOnlyMoveKeysOfRemovedNode() {
+        // Given
+        PeerNodeRegistry three = new PeerNodeRegistry(
+            List.of("http://node-a:3031", "http://node-b:3031", "http://node-c:3031"), null, 3, EJECTION);
+        PeerNodeRegistry two = new PeerNodeRegistry(
+            List.of("http://node-a:3031", "http://node-b:3031"), null, 3, EJECTION);
+
+        // When / Then
+        for (int i = 0; i < 2000; i++) {
+            String before = three.route("VIN" + i).get(0).baseUrl();
+            String after = two.route("VIN" + i).get(0).baseUrl();
+            if (!before.equals("http://node-c:3031")) {
+                assertEquals(before, after, "VIN" + i + " moved");
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("Should route the same key to the same node every time")
+    void shouldRouteConsistently() {
+        // Given
+        PeerNodeRegistry registry = new PeerNodeRegistry(
+            List.of("http://node-a:3031", "http://node-b:3031", "http://node-c:3031"), null, 3, EJECTION);
+
+        // When
+        List<PeerNodeRegistry.Node> first = registry.route(TEST_VIN);
+        List<PeerNodeRegistry.Node> second = registry.route(TEST_VIN);
+
+        // Then
+        assertEquals(first, second);
+        assertEquals(3, first.stream().distinct().count());
+    }
+
+    @Test
+    @DisplayName("Should eject a node after consecutive failures and route around it")
+    void shouldEjectFailingNode() {
+        // Given
+        PeerNodeRegistry registry = new PeerNodeRegistry(
+            List.of("http://node-a:3031", "http://node-b:3031"), null, 2, EJECTION);
+        PeerNodeRegistry.Node owner = registry.route(TEST_VIN).get(0);
+
+        // When
+        owner.failed();
+        boolean availableAfterOne = owner.isAvailable();
+        owner.failed();
+
+        // Then
+        assertTrue(availableAfterOne);
+        assertFalse(owner.isAvailable());
+        assertEquals(1, registry.availableNodes());
+        assertEquals(1, registry.ejectionCount());
+        assertEquals(List.of(owner), registry.route(TEST_VIN).subList(1, 2));
+        assertEquals(2, owner.routedCount());
+    }
+
+    @Test
+    @DisplayName("Should reset the failure count on success")
+    void shouldResetFailuresOnSuccess() {
+        // Given
+        PeerNodeRegistry registry = new PeerNodeRegistry(List.of("http://node-a:3031"), null, 2, EJECTION);
+        PeerNodeRegistry.Node node = registry.nodes().get(0);
+
+        // When
+        node.failed();
+        node.succeeded();
+        node.failed();
+
+        // Then
+        assertTrue(node.isAvailable());
+        assertEquals(0, registry.ejectionCount());
+    }
+
+    @Test
+    @DisplayName("Should eject a node failing its health probe and readmit it once healthy")
+    void shouldProbeNodes() throws IOException {
+        // Given
+        HttpServer server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        int[] status = {503};
+        server.createContext("/actuator/health", exchange -> {
+            exchange.sendResponseHeaders(status[0], -1);
+            exchange.close();
+        });
+        server.start();
+        try {
+            String url = "http://localhost:" + server.getAddress().getPort();
+            PeerNodeRegistry registry = new PeerNodeRegistry(List.of(url), null, 3, EJECTION);
+            PeerNodeRegistry.Node node = registry.nodes().get(0);
+
+            // When
+            registry.probe(node, "/actuator/health", Duration.ofSeconds(2));
+            boolean availableWhenDown = node.isAvailable();
+            status[0] = 200;
+            registry.probe(node, "/actuator/health", Duration.ofSeconds(2));
+
+            // Then
+            assertFalse(availableWhenDown);
+            assertTrue(node.isAvailable());
+            assertEquals(1, registry.ejectionCount());
+        } finally {
+            server.stop(0);
+        }
+    }
+
+    @Test
+    @DisplayName("Should eject a node whose health probe cannot connect")
+    void shouldEjectUnreachableNode() throws IOException {
+        // Given
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+        PeerNodeRegistry registry = new PeerNodeRegistry(List.of("http://localhost:" + closedPort), null, 3, EJECTION);
+
+        // When
+        registry.probe(registry.nodes().get(0), "/actuator/health", Duration.ofSeconds(2));
+
+        // Then
+        assertEquals(0, registry.availableNodes());
+        assertEquals(1, registry.route(TEST_VIN).size());
+    }
+
+    @Test
+    @DisplayName("Should read nodes from the file and pick up changes, keeping the state of nodes that stay")
+    void shouldReloadNodeFile() throws IOException {
+        // Given
+        Path file = Files.createTempFile("peers", ".txt");
+        try {
+            Files.writeString(file, "# peer nodes\nhttp://node-b:3031 2\n\nhttp://node-c:3031/  # spare\n");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(1_000_000L));
+            PeerNodeRegistry registry = new PeerNodeRegistry(List.of("http://node-a:3031"), file, 1, EJECTION);
+            PeerNodeRegistry.Node nodeB = registry.nodes().get(1);
+            nodeB.failed();
+
+            // When
+            Files.writeString(file, "http://node-b:3031 2\n");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(2_000_000L));
+            registry.reload();
+
+            // Then
+            assertEquals(List.of("http://node-a:3031", "http://node-b:3031"),
+                registry.nodes().stream().map(PeerNodeRegistry.Node::baseUrl).toList());
+            assertSame(nodeB, registry.nodes().get(1));
+            assertEquals(2, nodeB.weight());
+            assertFalse(nodeB.isAvailable());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject an empty node list and malformed nodes")
+    void shouldRejectBadNodes() {
+        // When / Then
+        assertThrows(IllegalArgumentException.class, () -> new PeerNodeRegistry(List.of(" ", "# none"), null, 3, EJECTION));
+        assertThrows(IllegalArgumentException.class,
+            () -> new PeerNodeRegistry(List.of("http://node-a:3031 0"), null, 3, EJECTION));
+        assertThrows(IllegalArgumentException.class,
+            () -> new PeerNodeRegistry(List.of("http://node-a:3031 2 extra"), null, 3, EJECTION));
+    }
+}
@@ -0,0 +1,126 @@
+package com.xdman.spake2plus_core.transport;
+
+import com.sun.net.httpserver.HttpServer;
+import com.xdman.spake2plus_core.base.BaseTest;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("PooledFeignClient Tests")
+class PooledFeignClientTest extends BaseTest {
+
+    private static final Request.Options OPTIONS = new Request.Options(2, TimeUnit.SECONDS, 5, TimeUnit.SECONDS, true);
+
+    private HttpServer server;
+    private int port;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        // Echoes the request body back with the x-requestId header
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/echo", exchange -> {
+            byte[] body;
+            try (InputStream in = exchange.getRequestBody()) {
+                body = in.readAllBytes();
+            }
+            exchange.getResponseHeaders().add("x-requestId", exchange.getRequestHeaders().getFirst("x-requestId"));
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.start();
+        port = server.getAddress().getPort();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Should send the request and read the response")
+    void shouldExchangeRequestAndResponse() throws IOException {
+        // Given
+        PeerMetrics metrics = new PeerMetrics();
+        try (PooledFeignClient client = new PooledFeignClient(10, 5, Duration.ofSeconds(30), Duration.ofSeconds(2), metrics)) {
+
+            // When
+            Response response = client.execute(request(port, "00A40400"), OPTIONS);
+
+            // Then
+            assertEquals(200, response.status());
+            assertEquals("00A40400", new String(response.body().asInputStream().readAllBytes(), StandardCharsets.UTF_8));
+            assertEquals(List.of("request-1"), List.copyOf(response.headers().get("x-requestId")));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse one keep-alive connection and record per-peer metrics")
+    void shouldReuseConnection() throws IOException {
+        // Given
+        PeerMetrics metrics = new PeerMetrics();
+        try (PooledFeignClient client = new PooledFeignClient(10, 5, Duration.ofSeconds(30), Duration.ofSeconds(2), metrics)) {
+
+            // When
+            for (int i = 0; i < 3; i++) {
+                client.execute(request(port, "80E0"), OPTIONS);
+            }
+
+            // Then
+            PeerMetrics.Peer peer = metrics.peer("localhost:" + port);
+            assertEquals(1, peer.connectCount());
+            assertTrue(peer.totalConnectNanos() > 0);
+            assertEquals(3, peer.responseCount());
+            assertTrue(peer.totalFirstByteNanos() > 0);
+            assertEquals(0, peer.inFlight());
+            assertEquals(0, peer.failureCount());
+            assertEquals(0, client.leasedConnections());
+            assertEquals(1, client.idleConnections());
+        }
+    }
+
+    @Test
+    @DisplayName("Should count a failed call against the peer")
+    void shouldCountFailures() throws IOException {
+        // Given
+        PeerMetrics metrics = new PeerMetrics();
+        int closedPort;
+        try (ServerSocket socket = new ServerSocket(0)) {
+            closedPort = socket.getLocalPort();
+        }
+
+        try (PooledFeignClient client = new PooledFeignClient(10, 5, Duration.ofSeconds(30), Duration.ofSeconds(2), metrics)) {
+            // When / Then
+            assertThrows(IOException.class, () -> client.execute(request(closedPort, "80E0"), OPTIONS));
+            PeerMetrics.Peer peer = metrics.peer("localhost:" + closedPort);
+            assertEquals(1, peer.failureCount());
+            assertEquals(0, peer.inFlight());
+        }
+    }
+
+    private static Request request(int port, String body) {
+        Map<String, Collection<String>> headers = Map.of(
+            "x-requestId", List.of("request-1"),
+            "Content-Type", List.of("text/plain"));
+        return Request.create(Request.HttpMethod.POST, "http://localhost:" + port + "/echo", headers, body.getBytes(StandardCharsets.UTF_8),
+            StandardCharsets.UTF_8, null);
+    }
+}
@@ -1,13 +1,13 @@
 package com.xdman.workflow_device.activity;
 
 
-import com.xdman.workflow_device.model.Spake2PlusDeviceData;
-import com.xdman.workflow_device.model.Spake2PlusResponseWrapper;
-import com.xdman.workflow_device.model.tlv.ResponseToSelectCommandTlv;
-import com.xdman.workflow_device.model.tlv.SelectCommandTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusRequestCommandTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusVerifyCommandTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusVerifyResponseTlv;
+import com.xdman.spake2plus_core.model.Spake2PlusDeviceData;
+import com.xdman.spake2plus_core.model.Spake2PlusResponseWrapper;
+import com.xdman.spake2plus_core.model.tlv.ResponseToSelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.SelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
 import io.temporal.activity.ActivityInterface;
 
 @ActivityInterface
@@ -21,4 +21,5 @@ public interface Spake2PlusDeviceActivity {
   Spake2PlusVerifyCommandTlv receiveSpake2PlusVerifyCommandSuccessfully(String message);
   Spake2PlusVerifyResponseTlv processSpake2PlusVerifyCommandSuccessfully(Spake2PlusVerifyCommandTlv request, Spake2PlusDeviceData config);
   String sendSpake2PlusVerifyResponseSuccessfully(String vin, String message, String requestId) throws Exception;
+  byte[] exchangeApduSuccessfully(String vin, byte[] message, String requestId) throws Exception;
 }
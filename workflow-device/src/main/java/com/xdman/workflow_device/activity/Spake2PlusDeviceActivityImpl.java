@@ -1,15 +1,17 @@
 package com.xdman.workflow_device.activity;
 
 
-import com.xdman.workflow_device.model.Spake2PlusDeviceData;
-import com.xdman.workflow_device.model.Spake2PlusResponseWrapper;
-import com.xdman.workflow_device.model.tlv.ResponseToSelectCommandTlv;
-import com.xdman.workflow_device.model.tlv.SelectCommandTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusRequestCommandTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusVerifyCommandTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusVerifyResponseTlv;
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.model.Spake2PlusDeviceData;
+import com.xdman.spake2plus_core.model.Spake2PlusResponseWrapper;
+import com.xdman.spake2plus_core.model.tlv.ResponseToSelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.SelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
+import com.xdman.spake2plus_core.service.Spake2PlusDeviceService;
+import com.xdman.spake2plus_core.temporal.CryptoActivityCompletion;
 import com.xdman.workflow_device.service.DkcService;
-import com.xdman.workflow_device.service.Spake2PlusDeviceService;
 import io.temporal.spring.boot.ActivityImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -20,10 +22,16 @@ import org.springframework.stereotype.Component;
 public class Spake2PlusDeviceActivityImpl implements Spake2PlusDeviceActivity {
   private final Spake2PlusDeviceService spake2PlusDeviceService;
   private final DkcService dkcService;
+  private final CryptoActivityCompletion cryptoActivityCompletion;
 
-  public Spake2PlusDeviceActivityImpl(Spake2PlusDeviceService spake2PlusDeviceService, DkcService dkcService) {
+  public Spake2PlusDeviceActivityImpl(
+	Spake2PlusDeviceService spake2PlusDeviceService,
+	DkcService dkcService,
+	CryptoActivityCompletion cryptoActivityCompletion
+  ) {
 	this.spake2PlusDeviceService = spake2PlusDeviceService;
 	this.dkcService = dkcService;
+	this.cryptoActivityCompletion = cryptoActivityCompletion;
   }
   @Override
   public SelectCommandTlv receiveSelectCommandSuccessfully(String message) {
@@ -32,16 +40,12 @@ public class Spake2PlusDeviceActivityImpl implements Spake2PlusDeviceActivity {
 
   @Override
   public ResponseToSelectCommandTlv processSelectCommandSuccessfully(SelectCommandTlv request) {
-	ResponseToSelectCommandTlv response = new ResponseToSelectCommandTlv();
-	response.setFrameworkVersions(new byte[]{0x01, 0x00});
-	response.setProtocolVersions(new byte[]{0x01, 0x00});
-	response.setPairingMode(ResponseToSelectCommandTlv.PAIRING_MODE_STARTED_WITH_PASSWORD);
-	return response;
+	return ResponseToSelectCommandTlv.startedWithPassword();
   }
 
   @Override
   public String sendSelectResponseSuccessfully(String vin, String message, String requestId) throws Exception {
-	return dkcService.publishCommandMessageToDkc(vin, message, requestId);
+	return dkcService.publishApduToDkc(vin, HexUtil.parseHex(message), requestId);
   }
 
   @Override
@@ -51,12 +55,12 @@ public class Spake2PlusDeviceActivityImpl implements Spake2PlusDeviceActivity {
 
   @Override
   public Spake2PlusResponseWrapper processSpake2PlusRequestSuccessfully(Spake2PlusRequestCommandTlv request, String password) {
-	return spake2PlusDeviceService.processSpake2PlusRequest(request, password);
+	return cryptoActivityCompletion.complete(() -> spake2PlusDeviceService.processSpake2PlusRequest(request, password));
   }
 
   @Override
   public String sendSpake2PlusResponseSuccessfully(String vin, String message, String requestId) throws Exception {
-	return dkcService.publishCommandMessageToDkc(vin, message, requestId);
+	return dkcService.publishApduToDkc(vin, HexUtil.parseHex(message), requestId);
   }
 
   @Override
@@ -66,11 +70,16 @@ public class Spake2PlusDeviceActivityImpl implements Spake2PlusDeviceActivity {
 
   @Override
   public Spake2PlusVerifyResponseTlv processSpake2PlusVerifyCommandSuccessfully(Spake2PlusVerifyCommandTlv request, Spake2PlusDeviceData config) {
-	return spake2PlusDeviceService.processSpake2PlusVerifyRequest(request, config);
+	return cryptoActivityCompletion.complete(() -> spake2PlusDeviceService.processSpake2PlusVerifyRequest(request, config));
   }
 
   @Override
   public String sendSpake2PlusVerifyResponseSuccessfully(String vin, String message, String requestId) throws Exception {
-	return dkcService.publishCommandMessageToDkc(vin, message, requestId);
+	return dkcService.publishApduToDkc(vin, HexUtil.parseHex(message), requestId);
+  }
+
+  @Override
+  public byte[] exchangeApduSuccessfully(String vin, byte[] message, String requestId) throws Exception {
+	return dkcService.exchangeApduWithDkc(vin, message, requestId);
   }
 }
@@ -1,12 +1,12 @@
 package com.xdman.workflow_device.activity;
 
 
-import com.xdman.workflow_device.model.Spake2PlusRequestWrapper;
-import com.xdman.workflow_device.model.Spake2PlusVehicleData;
-import com.xdman.workflow_device.model.tlv.ResponseToSelectCommandTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusRequestResponseTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusVerifyCommandTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusVerifyResponseTlv;
+import com.xdman.spake2plus_core.model.Spake2PlusRequestWrapper;
+import com.xdman.spake2plus_core.model.Spake2PlusVehicleData;
+import com.xdman.spake2plus_core.model.tlv.ResponseToSelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestResponseTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
 import io.temporal.activity.ActivityInterface;
 
 @ActivityInterface
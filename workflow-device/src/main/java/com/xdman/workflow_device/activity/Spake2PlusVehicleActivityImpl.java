@@ -1,14 +1,15 @@
 package com.xdman.workflow_device.activity;
 
-import com.xdman.workflow_device.model.Spake2PlusRequestWrapper;
-import com.xdman.workflow_device.model.Spake2PlusVehicleData;
+import com.xdman.spake2plus_core.model.Spake2PlusRequestWrapper;
+import com.xdman.spake2plus_core.model.Spake2PlusVehicleData;
+import com.xdman.spake2plus_core.model.tlv.ResponseToSelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.SelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestResponseTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
+import com.xdman.spake2plus_core.service.Spake2PlusVehicleService;
+import com.xdman.spake2plus_core.temporal.CryptoActivityCompletion;
 import com.xdman.workflow_device.model.response.ReceivedFromVehicleResponse;
-import com.xdman.workflow_device.model.tlv.ResponseToSelectCommandTlv;
-import com.xdman.workflow_device.model.tlv.SelectCommandTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusRequestResponseTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusVerifyCommandTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusVerifyResponseTlv;
-import com.xdman.workflow_device.service.Spake2PlusVehicleService;
 import io.temporal.activity.ActivityInterface;
 import io.temporal.spring.boot.ActivityImpl;
 import lombok.extern.slf4j.Slf4j;
@@ -19,9 +20,14 @@ import org.springframework.stereotype.Component;
 @ActivityImpl(taskQueues = "Spake2PlusTaskQueue")
 public class Spake2PlusVehicleActivityImpl implements Spake2PlusVehicleActivity {
   private final Spake2PlusVehicleService spake2PlusVehicleService;
+  private final CryptoActivityCompletion cryptoActivityCompletion;
 
-  public Spake2PlusVehicleActivityImpl(Spake2PlusVehicleService spake2PlusVehicleService) {
+  public Spake2PlusVehicleActivityImpl(
+	Spake2PlusVehicleService spake2PlusVehicleService,
+	CryptoActivityCompletion cryptoActivityCompletion
+  ) {
 	this.spake2PlusVehicleService = spake2PlusVehicleService;
+	this.cryptoActivityCompletion = cryptoActivityCompletion;
   }
 
   @Override
@@ -40,7 +46,7 @@ public class Spake2PlusVehicleActivityImpl implements Spake2PlusVehicleActivity
 
   @Override
   public Spake2PlusRequestWrapper createSpake2PlusRequestSuccessfully(String password, String salt) {
-	return spake2PlusVehicleService.createSpake2PlusRequest(password, salt);
+	return cryptoActivityCompletion.complete(() -> spake2PlusVehicleService.createSpake2PlusRequest(password, salt));
   }
 
   @Override
@@ -53,7 +59,7 @@ public class Spake2PlusVehicleActivityImpl implements Spake2PlusVehicleActivity
 	Spake2PlusRequestResponseTlv spake2PlusRequestResponseTlv,
 	Spake2PlusVehicleData config
   ) {
-	return spake2PlusVehicleService.validateSpake2PlusRequest(spake2PlusRequestResponseTlv, config);
+	return cryptoActivityCompletion.complete(() -> spake2PlusVehicleService.validateSpake2PlusRequest(spake2PlusRequestResponseTlv, config));
   }
 
   @Override
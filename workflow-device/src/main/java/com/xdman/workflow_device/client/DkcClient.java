@@ -1,9 +1,12 @@
 package com.xdman.workflow_device.client;
 
+import com.xdman.spake2plus_core.model.ExchangeMode;
 import com.xdman.workflow_device.config.DkcFeignClientConfig;
 import com.xdman.workflow_device.model.request.SendToVehicleRequest;
 import com.xdman.workflow_device.model.response.SendToVehicleResponse;
+import com.xdman.spake2plus_core.transport.ApduFrame;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -11,7 +14,7 @@ import org.springframework.web.bind.annotation.RequestHeader;
 
 @FeignClient(
   name = "DkcClient",
-  url = "http://localhost:3031",
+  url = "${api.dkc.endpoint:http://localhost:3031}",
   configuration = {
 	DkcFeignClientConfig.class// Add any necessary configuration classes here
   },
@@ -24,4 +27,29 @@ public interface DkcClient {
 	@RequestBody SendToVehicleRequest messagePayload,
 	@RequestHeader("x-requestId") String requestId
   );
-}
\ No newline at end of file
+
+  /**
+   * Same endpoint in {@link ExchangeMode#UPDATE}: the reply message is the vehicle's next APDU as hex
+   */
+  @PostMapping(path = "/sendToVehicle/{vin}")
+  SendToVehicleResponse exchangeMessageWithVehicle(
+	@PathVariable("vin") String vin,
+	@RequestBody SendToVehicleRequest messagePayload,
+	@RequestHeader("x-requestId") String requestId,
+	@RequestHeader(ExchangeMode.HEADER) String exchangeMode
+  );
+
+  /**
+   * Binary counterpart of the two above: {@code frame} is an encoded {@link ApduFrame}, and in
+   * {@link ExchangeMode#UPDATE} the reply is the vehicle's next APDU, raw
+   */
+  @PostMapping(
+	path = "/apdu/sendToVehicle",
+	consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+	produces = MediaType.APPLICATION_OCTET_STREAM_VALUE
+  )
+  byte[] sendFrameToVehicle(
+	@RequestBody byte[] frame,
+	@RequestHeader(ExchangeMode.HEADER) String exchangeMode
+  );
+}
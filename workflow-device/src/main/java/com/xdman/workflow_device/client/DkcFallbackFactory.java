@@ -9,6 +9,23 @@ import org.springframework.stereotype.Component;
 public class DkcFallbackFactory implements FallbackFactory<DkcClient> {
   @Override
   public DkcClient create(Throwable cause) {
-	return (vin, messagePayload, requestId) -> new SendToVehicleResponse("Fallback response: Unable to send message to vehicle with VIN " + vin + " (requestId: " + requestId + "). Cause: " + cause.getMessage());
+	return new DkcClient() {
+	  @Override
+	  public SendToVehicleResponse sendMessageToVehicle(String vin, SendToVehicleRequest messagePayload, String requestId) {
+		return new SendToVehicleResponse("Fallback response: Unable to send message to vehicle with VIN " + vin + " (requestId: " + requestId + "). Cause: " + cause.getMessage());
+	  }
+
+	  @Override
+	  public SendToVehicleResponse exchangeMessageWithVehicle(String vin, SendToVehicleRequest messagePayload, String requestId, String exchangeMode) {
+		// Not an APDU, so the exchange fails and the activity is retried
+		return sendMessageToVehicle(vin, messagePayload, requestId);
+	  }
+
+	  @Override
+	  public byte[] sendFrameToVehicle(byte[] frame, String exchangeMode) {
+		// An empty reply would read as "pairing done", so fail and let the activity retry
+		throw new IllegalStateException("Unable to send APDU frame to vehicle. Cause: " + cause.getMessage(), cause);
+	  }
+	};
   }
 }
@@ -0,0 +1,19 @@
+package com.xdman.workflow_device.config;
+
+import com.xdman.spake2plus_core.transport.ChannelDispatcher;
+import com.xdman.workflow_device.service.ReceivedFromVehicleService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Target of the peer APDU channel set up by spake2plus-core: calls from the vehicle go into the device workflow
+ * like /apdu/receivefromvehicle does
+ */
+@Configuration
+public class ApduChannelConfig {
+
+  @Bean
+  public ChannelDispatcher.FrameHandler apduFrameHandler(ReceivedFromVehicleService receivedFromVehicleService) {
+	return receivedFromVehicleService::receiveFrameFromVehicle;
+  }
+}
@@ -35,7 +35,10 @@ public class DkcFeignClientConfig {
 		requestTemplate.header("x-fmsId", "DKC-Test");
 		requestTemplate.header("timestamp", currentTime);
 		requestTemplate.header("x-sbodId", "workflow");
-		requestTemplate.header(HttpHeaders.CONTENT_TYPE, "application/json");
+		// The binary APDU methods declare application/octet-stream themselves
+		if (!requestTemplate.headers().containsKey(HttpHeaders.CONTENT_TYPE)) {
+		  requestTemplate.header(HttpHeaders.CONTENT_TYPE, "application/json");
+		}
 	  } catch (Exception e) {
 		throw new RuntimeException(e);
 	  }
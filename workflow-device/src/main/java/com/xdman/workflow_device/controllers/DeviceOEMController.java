@@ -1,19 +1,25 @@
 package com.xdman.workflow_device.controllers;
 
+import com.xdman.spake2plus_core.model.ExchangeMode;
+import com.xdman.spake2plus_core.transport.ApduFrame;
 import com.xdman.workflow_device.model.request.ReceivedFromVehicleRequest;
 import com.xdman.workflow_device.model.request.StartFullOwnerPairingRequest;
 import com.xdman.workflow_device.model.response.ReceivedFromVehicleResponse;
 import com.xdman.workflow_device.model.response.StartFullOwnerPairingResponse;
 import com.xdman.workflow_device.service.ReceivedFromVehicleService;
+import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
+@Slf4j
 public class DeviceOEMController {
   @Autowired
   private ReceivedFromVehicleService receivedFromVehicleService;
@@ -37,4 +43,27 @@ public class DeviceOEMController {
 	ReceivedFromVehicleResponse response = new ReceivedFromVehicleResponse(message);
 	return new ResponseEntity<>(response, HttpStatus.OK);
   }
+
+  /**
+   * Binary counterpart of /receivefromvehicle/{vin}: the body is an {@link ApduFrame}, the reply the raw
+   * response APDU in update mode and empty in signal mode. A malformed frame or a non-command step is a 400.
+   */
+  @PostMapping(
+	value = "/apdu/receivefromvehicle",
+	consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+	produces = MediaType.APPLICATION_OCTET_STREAM_VALUE
+  )
+  ResponseEntity<byte[]> receivedFrameFromVehicle(
+	@RequestBody byte[] frame,
+	@RequestHeader(value = ExchangeMode.HEADER, required = false) String exchangeMode
+  ) {
+	byte[] reply;
+	try {
+	  reply = receivedFromVehicleService.receiveFrameFromVehicle(ApduFrame.decode(frame), ExchangeMode.of(exchangeMode));
+	} catch (IllegalArgumentException e) {
+	  log.warn("Rejected APDU frame: {}", e.getMessage());
+	  return ResponseEntity.badRequest().build();
+	}
+	return new ResponseEntity<>(reply, HttpStatus.OK);
+  }
 }
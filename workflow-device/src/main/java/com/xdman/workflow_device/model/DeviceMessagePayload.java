@@ -1,5 +1,7 @@
 package com.xdman.workflow_device.model;
 
+import com.payneteasy.tlv.HexUtil;
+
 public record DeviceMessagePayload(String vin, String message) {
 	public DeviceMessagePayload {
 		if (vin == null || vin.isBlank()) {
@@ -10,4 +12,18 @@ public record DeviceMessagePayload(String vin, String message) {
 		}
 	}
 
+	/**
+	 * A payload for an APDU that arrived as bytes (an {@code ApduFrame}). The signal and update payload keeps
+	 * its hex field so histories written before the binary endpoint still replay.
+	 */
+	public static DeviceMessagePayload of(String vin, byte[] apdu) {
+		return new DeviceMessagePayload(vin, HexUtil.toHexString(apdu));
+	}
+
+	/**
+	 * The APDU as bytes; the hex {@code message} is only the wire format of the JSON endpoint
+	 */
+	public byte[] apdu() {
+		return HexUtil.parseHex(message);
+	}
 }
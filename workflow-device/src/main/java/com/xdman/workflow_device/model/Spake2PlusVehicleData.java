@@ -1,9 +0,0 @@
-package com.xdman.workflow_device.model;
-
-import java.math.BigInteger;
-
-public record Spake2PlusVehicleData(
-  BigInteger w0,
-  BigInteger w1
-) {
-}
@@ -1,16 +1,46 @@
 package com.xdman.workflow_device.service;
 
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.model.ExchangeMode;
+import com.xdman.spake2plus_core.transport.ApduFrame;
+import com.xdman.spake2plus_core.transport.PeerChannel;
+import com.xdman.spake2plus_core.transport.PeerChannelUnavailableException;
+import com.xdman.spake2plus_core.transport.WireFormat;
 import com.xdman.workflow_device.client.DkcClient;
 import com.xdman.workflow_device.model.request.SendToVehicleRequest;
 import com.xdman.workflow_device.model.response.SendToVehicleResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import java.io.IOException;
+
 @Service
 public class DkcService  {
   private final DkcClient dkcClient;
+  private final ExchangeMode exchangeMode;
+  private final WireFormat wireFormat;
+  private final PeerChannel peerChannel;
 
-  public DkcService(DkcClient dkcClient) {
+  @Autowired
+  public DkcService(
+	DkcClient dkcClient,
+	PeerChannel peerChannel,
+	@Value("${spake2plus.exchange.mode:signal}") String exchangeMode,
+	@Value("${spake2plus.exchange.wire:json}") String wireFormat
+  ) {
 	this.dkcClient = dkcClient;
+	this.exchangeMode = ExchangeMode.of(exchangeMode);
+	this.wireFormat = WireFormat.of(wireFormat);
+	this.peerChannel = peerChannel;
+  }
+
+  public DkcService(DkcClient dkcClient, String exchangeMode, String wireFormat) {
+	this(dkcClient, null, exchangeMode, wireFormat);
+  }
+
+  public DkcService(DkcClient dkcClient, String exchangeMode) {
+	this(dkcClient, null, exchangeMode, WireFormat.JSON.name());
   }
 
   public String publishCommandMessageToDkc(String vin, String commandMessage, String requestId) throws Exception {
@@ -18,6 +48,47 @@ public class DkcService  {
 	return response.message();
   }
 
+  public String publishApduToDkc(String vin, byte[] apdu, String requestId) throws Exception {
+	if (wireFormat != WireFormat.JSON) {
+	  sendFrame(ApduFrame.response(vin, requestId, apdu), ExchangeMode.SIGNAL);
+	  return "Sent APDU frame to vehicle " + vin;
+	}
+	// The JSON endpoint takes the APDU as a hex string
+	return publishCommandMessageToDkc(vin, HexUtil.toHexString(apdu), requestId);
+  }
+
+  /**
+   * Sends {@code apdu} to the vehicle. In update mode the vehicle answers in the same call and its next
+   * APDU is returned; in signal mode this returns null and the next APDU arrives on /receivefromvehicle.
+   */
+  public byte[] exchangeApduWithDkc(String vin, byte[] apdu, String requestId) throws Exception {
+	if (exchangeMode != ExchangeMode.UPDATE) {
+	  publishApduToDkc(vin, apdu, requestId);
+	  return null;
+	}
+	if (wireFormat != WireFormat.JSON) {
+	  byte[] next = sendFrame(ApduFrame.response(vin, requestId, apdu), exchangeMode);
+	  return next != null ? next : new byte[0];
+	}
+	SendToVehicleResponse response = dkcClient.exchangeMessageWithVehicle(
+	  vin, new SendToVehicleRequest(HexUtil.toHexString(apdu)), requestId, exchangeMode.headerValue());
+	return ExchangeMode.replyApdu(response.message());
+  }
+
+  /**
+   * Sends a frame on the peer channel when that is the wire and it can take the call, otherwise over HTTP
+   */
+  private byte[] sendFrame(ApduFrame frame, ExchangeMode mode) throws IOException {
+	if (wireFormat == WireFormat.WEBSOCKET && peerChannel != null) {
+	  try {
+		return peerChannel.exchange(frame, mode);
+	  } catch (PeerChannelUnavailableException e) {
+		// Never sent, so sending it over HTTP cannot deliver it twice
+	  }
+	}
+	return dkcClient.sendFrameToVehicle(frame.encode(), mode.headerValue());
+  }
+
   // Backward compatibility method
   public String publishCommandMessageToDkc(String vin, String commandMessage) throws Exception {
 	return publishCommandMessageToDkc(vin, commandMessage, java.util.UUID.randomUUID().toString());
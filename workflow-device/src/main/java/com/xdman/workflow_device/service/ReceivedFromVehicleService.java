@@ -1,18 +1,31 @@
 package com.xdman.workflow_device.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.model.ExchangeMode;
+import com.xdman.spake2plus_core.model.FullCycleMode;
+import com.xdman.spake2plus_core.transport.ApduFrame;
 import com.xdman.workflow_device.model.DeviceMessagePayload;
 import com.xdman.workflow_device.workflow.Spake2PlusDeviceWorkFlow;
 import com.xdman.workflow_device.workflow.Spake2PlusFullWorkFlow;
+import io.temporal.api.enums.v1.WorkflowIdConflictPolicy;
+import io.temporal.client.BatchRequest;
+import io.temporal.client.UpdateOptions;
+import io.temporal.client.WithStartWorkflowOperation;
 import io.temporal.client.WorkflowClient;
 import io.temporal.client.WorkflowOptions;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.SneakyThrows;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.time.Duration;
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -26,6 +39,15 @@ public class ReceivedFromVehicleService {
   @Autowired
   private WorkflowClient workflowClient;
 
+  @Value("${spake2plus.full-cycle.mode:activities}")
+  private String fullCycleMode;
+
+  // Typed stubs of running device workflows by requestId, so REQUEST and VERIFY reuse the stub created at SELECT
+  private final Cache<String, Spake2PlusDeviceWorkFlow> deviceWorkFlows = Caffeine.newBuilder()
+    .maximumSize(10_000)
+    .expireAfterAccess(Duration.ofMinutes(10))
+    .build();
+
   public String startFullOwnerPairingCycle(String vin, String password, String salt) {
     if (password == null || salt == null) {
       throw new IllegalArgumentException("Invalid Password and Salt format");
@@ -40,6 +62,7 @@ public class ReceivedFromVehicleService {
       WorkflowOptions.newBuilder()
         .setTaskQueue("Spake2PlusTaskQueue")
         .setWorkflowId(requestId)
+        .setMemo(Map.of(FullCycleMode.MEMO_KEY, FullCycleMode.of(fullCycleMode).memoValue()))
         .build());
     return workFlow.processFullCycleOwnerPairing(requestId, password, salt);
   }
@@ -51,6 +74,11 @@ public class ReceivedFromVehicleService {
 
     log.info("Received message from vehicle VIN: {}, Message: {}", vin, message);
 
+    // In update mode the vehicle gets the device's response APDU back in this call
+    if (getExchangeModeFromContext() == ExchangeMode.UPDATE) {
+      return exchangeWithWorkFlow(vin, message);
+    }
+
     // Check if message contains REQUEST_COMMAND_HEADER and start device owner pairing
     if (message.contains(SELECT_COMMAND_HEADER)) {
       log.info("Select command detected, starting device owner pairing");
@@ -70,7 +98,37 @@ public class ReceivedFromVehicleService {
     return "Message received but no recognized command header found";
   }
 
-  @SneakyThrows
+  /**
+   * Binary counterpart of {@link #receiveMessageFromVehicle}: routes the frame by its step instead of scanning
+   * hex for command headers, and takes VIN and request id from the frame. Returns the device's response APDU
+   * in update mode and an empty array in signal mode.
+   */
+  public byte[] receiveFrameFromVehicle(ApduFrame frame, ExchangeMode exchangeMode) {
+    ApduFrame.Step step = frame.step();
+    if (step == ApduFrame.Step.UNKNOWN || step == ApduFrame.Step.RESPONSE) {
+      throw new IllegalArgumentException("Frame from vehicle " + frame.vin() + " is not a command: " + step);
+    }
+    log.info("Received {} frame from vehicle VIN: {}, requestId: {}", step, frame.vin(), frame.requestId());
+    DeviceMessagePayload payload = DeviceMessagePayload.of(frame.vin(), frame.apdu());
+    // A pipelined batch opens with SELECT, so it starts the workflow too
+    boolean select = step == ApduFrame.Step.SELECT || step == ApduFrame.Step.BATCH;
+
+    if (exchangeMode == ExchangeMode.UPDATE) {
+      return exchangeWithWorkFlow(frame.requestId(), payload, select);
+    }
+    if (select) {
+      startDeviceOwnerPairing(frame.requestId(), payload);
+    } else {
+      try {
+        deviceWorkFlow(frame.requestId()).receiveMessageFromVehicle(payload);
+      } catch (RuntimeException e) {
+        deviceWorkFlows.invalidate(frame.requestId());
+        throw e;
+      }
+    }
+    return new byte[0];
+  }
+
   private String startDeviceOwnerPairing(String vin, String message){
     if (message == null) {
       throw new IllegalArgumentException("Invalid Password and Message format");
@@ -80,6 +138,12 @@ public class ReceivedFromVehicleService {
     String requestId = getRequestIdFromContext();
     log.info("requestId: {}", requestId);
 
+    startDeviceOwnerPairing(requestId, new DeviceMessagePayload(vin, message));
+    return "SPAKE2+ for vehicle " + vin + " started successfully!";
+  }
+
+  @SneakyThrows
+  private void startDeviceOwnerPairing(String requestId, DeviceMessagePayload payload) {
     Spake2PlusDeviceWorkFlow workFlow = workflowClient.newWorkflowStub(
       Spake2PlusDeviceWorkFlow.class,
       WorkflowOptions.newBuilder()
@@ -87,31 +151,88 @@ public class ReceivedFromVehicleService {
         .setWorkflowId(requestId)
         .build());
 
-    WorkflowClient.start(() -> {
+    // Start and deliver the SELECT in one call, so the signal cannot race the first Workflow.await
+    BatchRequest request = workflowClient.newSignalWithStartRequest();
+    request.add(id -> {
       try {
-        workFlow.startDeviceOwnerPairing(requestId);
+        workFlow.startDeviceOwnerPairing(id);
       } catch (Exception e) {
         throw new RuntimeException(e);
       }
-    });
-    workFlow.receiveMessageFromVehicle(new DeviceMessagePayload(vin, message));
-    return "SPAKE2+ for vehicle " + vin + " started successfully!";
+    }, requestId);
+    request.add(workFlow::receiveMessageFromVehicle, payload);
+    workflowClient.signalWithStart(request);
+
+    deviceWorkFlows.put(requestId, workFlow);
   }
 
   private String signalWorkFlow(String requestId, String vin, String tlvMessage) {
     try {
       log.info("Attempting to signal device workflow with requestId: {}", requestId);
-      Spake2PlusDeviceWorkFlow workFlow = workflowClient.newWorkflowStub(Spake2PlusDeviceWorkFlow.class, requestId);
-      workFlow.receiveMessageFromVehicle(new DeviceMessagePayload(vin, tlvMessage));
+      deviceWorkFlow(requestId).receiveMessageFromVehicle(new DeviceMessagePayload(vin, tlvMessage));
       log.info("Successfully signaled device workflow with requestId: {}", requestId);
       return "Received a message from vehicle successfully " + tlvMessage;
     } catch (Exception e) {
       log.error("Failed to signal device workflow with requestId: {}, error: {}", requestId, e.getMessage(), e);
+      deviceWorkFlows.invalidate(requestId);
       // Instead of throwing an exception, return a descriptive error message
       return "Warning: Could not signal device workflow with requestId " + requestId + ". Workflow may not exist yet. Error: " + e.getMessage();
     }
   }
 
+  /**
+   * Runs the message through the device workflow's exchangeApdu update and returns the response APDU as hex.
+   * A SELECT starts the workflow in the same call.
+   */
+  private String exchangeWithWorkFlow(String vin, String message) {
+    byte[] response = exchangeWithWorkFlow(
+      getRequestIdFromContext(), new DeviceMessagePayload(vin, message), message.contains(SELECT_COMMAND_HEADER));
+    return HexUtil.toHexString(response);
+  }
+
+  @SneakyThrows
+  private byte[] exchangeWithWorkFlow(String requestId, DeviceMessagePayload payload, boolean select) {
+    byte[] response;
+
+    if (select) {
+      log.info("Select command detected, starting device owner pairing with update, requestId: {}", requestId);
+      Spake2PlusDeviceWorkFlow workFlow = workflowClient.newWorkflowStub(
+        Spake2PlusDeviceWorkFlow.class,
+        WorkflowOptions.newBuilder()
+          .setTaskQueue("Spake2PlusTaskQueue")
+          .setWorkflowId(requestId)
+          .setWorkflowIdConflictPolicy(WorkflowIdConflictPolicy.WORKFLOW_ID_CONFLICT_POLICY_USE_EXISTING)
+          .build());
+      WithStartWorkflowOperation<Void> start = new WithStartWorkflowOperation<>(id -> {
+        try {
+          workFlow.startDeviceOwnerPairing(id);
+        } catch (Exception e) {
+          throw new RuntimeException(e);
+        }
+      }, requestId);
+      response = WorkflowClient.executeUpdateWithStart(
+        workFlow::exchangeApdu, payload, UpdateOptions.<byte[]>newBuilder().build(), start);
+      deviceWorkFlows.put(requestId, workFlow);
+    } else {
+      log.info("Exchanging message with device workflow, requestId: {}", requestId);
+      response = deviceWorkFlow(requestId).exchangeApdu(payload);
+    }
+    return response;
+  }
+
+  private Spake2PlusDeviceWorkFlow deviceWorkFlow(String requestId) {
+    return deviceWorkFlows.get(requestId, id -> workflowClient.newWorkflowStub(Spake2PlusDeviceWorkFlow.class, id));
+  }
+
+  private ExchangeMode getExchangeModeFromContext() {
+    try {
+      HttpServletRequest requestHeader = ((ServletRequestAttributes) Objects.requireNonNull(RequestContextHolder.getRequestAttributes())).getRequest();
+      return ExchangeMode.of(requestHeader.getHeader(ExchangeMode.HEADER));
+    } catch (Exception e) {
+      return ExchangeMode.SIGNAL;
+    }
+  }
+
   /**
    * Safely extracts x-requestId from the current request context.
    * If no x-requestId is found or request context is not available, generates a new UUID.
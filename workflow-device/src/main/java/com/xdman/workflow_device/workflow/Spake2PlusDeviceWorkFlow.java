@@ -2,6 +2,8 @@ package com.xdman.workflow_device.workflow;
 
 import com.xdman.workflow_device.model.DeviceMessagePayload;
 import io.temporal.workflow.SignalMethod;
+import io.temporal.workflow.UpdateMethod;
+import io.temporal.workflow.UpdateValidatorMethod;
 import io.temporal.workflow.WorkflowInterface;
 import io.temporal.workflow.WorkflowMethod;
 
@@ -11,4 +13,11 @@ public interface Spake2PlusDeviceWorkFlow {
   void startDeviceOwnerPairing(String requestId) throws Exception;
   @SignalMethod
   void receiveMessageFromVehicle(DeviceMessagePayload messagePayload);
+  /**
+   * Delivers an APDU from the vehicle and returns the device's response APDU
+   */
+  @UpdateMethod
+  byte[] exchangeApdu(DeviceMessagePayload messagePayload);
+  @UpdateValidatorMethod(updateName = "exchangeApdu")
+  void validateExchangeApdu(DeviceMessagePayload messagePayload);
 }
@@ -1,28 +1,43 @@
 package com.xdman.workflow_device.workflow;
 
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.model.ApduBatch;
+import com.xdman.spake2plus_core.model.Spake2PlusDeviceData;
+import com.xdman.spake2plus_core.model.Spake2PlusRequestWrapper;
+import com.xdman.spake2plus_core.model.Spake2PlusResponseWrapper;
+import com.xdman.spake2plus_core.model.tlv.ResponseToSelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.SelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
+import com.xdman.spake2plus_core.temporal.WorkflowCodec;
 import com.xdman.workflow_device.activity.Spake2PlusDeviceActivity;
 import com.xdman.workflow_device.activity.Spake2PlusVehicleActivity;
 import com.xdman.workflow_device.config.WorkFlowConfig;
 import com.xdman.workflow_device.model.DeviceMessagePayload;
-import com.xdman.workflow_device.model.Spake2PlusDeviceData;
-import com.xdman.workflow_device.model.Spake2PlusRequestWrapper;
-import com.xdman.workflow_device.model.Spake2PlusResponseWrapper;
 import com.xdman.workflow_device.model.response.SendToVehicleResponse;
-import com.xdman.workflow_device.model.tlv.ResponseToSelectCommandTlv;
-import com.xdman.workflow_device.model.tlv.SelectCommandTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusRequestCommandTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusVerifyCommandTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusVerifyResponseTlv;
 import io.temporal.spring.boot.WorkflowImpl;
 import io.temporal.workflow.Workflow;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+
 @Slf4j
 @WorkflowImpl(taskQueues = "Spake2PlusTaskQueue")
 public class Spake2PlusDeviceWorkFlowImpl implements Spake2PlusDeviceWorkFlow {
-  private DeviceMessagePayload message;
+  // Workflow.getVersion change id for sending every response through exchangeApduSuccessfully
+  static final String EXCHANGE_ACTIVITY_CHANGE = "exchange-apdu-activity";
+  // Workflow.getVersion change id for answering a pipelined SELECT + REQUEST batch in one response
+  static final String PIPELINED_BATCH_CHANGE = "pipelined-select-request";
+
+  private String vin;
+  private byte[] apdu;            // Next APDU from the vehicle, taken by the workflow method
+  private boolean replyPending;   // The APDU being processed came through exchangeApdu
+  private byte[] reply;           // Response handed back to the pending exchangeApdu
   private Spake2PlusDeviceData config;
   private String requestId;
+  private boolean inlineCodec;    // Decode in workflow code rather than in activities (WorkflowCodec)
+  private boolean exchangeActivity;  // Send through exchangeApduSuccessfully; older executions use the send* activities
 
   private final Spake2PlusDeviceActivity deviceActivity = Workflow.newActivityStub(
 	Spake2PlusDeviceActivity.class,
@@ -37,50 +52,162 @@ public class Spake2PlusDeviceWorkFlowImpl implements Spake2PlusDeviceWorkFlow {
   @Override
   public void startDeviceOwnerPairing(String requestId) {
 	this.requestId = requestId;
-	String status = "";
-
-	Workflow.await(() -> message != null &&
-	  message.message() != null &&
-	  (message.message().contains("00A40400") || !message.message().isEmpty()));
-	String selectCommand = message.message();
-	SelectCommandTlv selectCommandTlv = deviceActivity.receiveSelectCommandSuccessfully(message.message());
-	ResponseToSelectCommandTlv responseToSelectCommandTlv = deviceActivity.processSelectCommandSuccessfully(selectCommandTlv);
-	try {
-	  status = deviceActivity.sendSelectResponseSuccessfully(message.vin(), responseToSelectCommandTlv.encode(), requestId);
-	  log.info("Sending Select Response {}", status);
-	} catch (Exception e) {
-	  log.error("Failed to publish command message to DKC", e);
-	  throw new RuntimeException(e);
+	this.inlineCodec = WorkflowCodec.inline();
+	this.exchangeActivity = Workflow.getVersion(EXCHANGE_ACTIVITY_CHANGE, Workflow.DEFAULT_VERSION, 1) >= 1;
+	boolean batches = Workflow.getVersion(PIPELINED_BATCH_CHANGE, Workflow.DEFAULT_VERSION, 1) >= 1;
+
+	byte[] selectCommand = nextApdu(null);
+	byte[] pipelinedRequest = null;
+	if (batches && ApduBatch.isBatch(selectCommand)) {
+	  List<byte[]> commands = WorkflowCodec.decodeBatch(selectCommand);
+	  selectCommand = commands.get(0);
+	  pipelinedRequest = commands.size() > 1 ? commands.get(1) : null;
 	}
+	ResponseToSelectCommandTlv responseToSelectCommandTlv = respondToSelect(selectCommand);
 
-	Workflow.await(() -> message.message().contains("803000")|| !message.message().equals(selectCommand));
-	String spake2PlusRequestCommand = message.message();
-	Spake2PlusRequestCommandTlv request = deviceActivity.receiveSpake2PlusRequestCommandSuccessfully(message.message());
+	// A pipelined REQUEST is taken only if it offers the versions this SELECT response announces; otherwise
+	// the SELECT is answered alone and the vehicle sends the REQUEST again, step by step
+	Spake2PlusRequestCommandTlv request = null;
+	if (pipelinedRequest != null) {
+	  request = decodeRequest(pipelinedRequest);
+	  if (!versionsAgree(responseToSelectCommandTlv, request)) {
+		log.info("Pipelined SPAKE2+ Request does not offer the selected versions, answering SELECT only");
+		request = null;
+	  }
+	}
+	boolean pipelined = request != null;
+	if (!pipelined) {
+	  byte[] exchanged = respond(responseToSelectCommandTlv.encodeBytes(), deviceActivity::sendSelectResponseSuccessfully);
+	  log.info("Sent Select Response");
+	  request = decodeRequest(nextApdu(exchanged));
+	}
 
 	Spake2PlusResponseWrapper response = deviceActivity.processSpake2PlusRequestSuccessfully(request, "0102030405060708090A0B0C0D0E0F10");
-	try {
-	  status = deviceActivity.sendSpake2PlusResponseSuccessfully(message.vin(), response.response().encode(), requestId);
-	  log.info("Sending Response {}", status);
-	} catch (Exception e) {
-	  log.error("Failed to publish command message to DKC", e);
-	  throw new RuntimeException(e);
-	}
-	log.info("Received message from vehicle VIN: {}", message.message());
-	Workflow.await(() -> message.message().contains("803200")|| !message.message().equals(spake2PlusRequestCommand));
-	Spake2PlusVerifyCommandTlv verifyCommandTlv = deviceActivity.receiveSpake2PlusVerifyCommandSuccessfully(message.message());
+	byte[] responseApdu = response.response().encodeBytes();
+	byte[] next = pipelined
+	  ? respond(ApduBatch.encode(responseToSelectCommandTlv.encodeBytes(), responseApdu), deviceActivity::sendSpake2PlusResponseSuccessfully)
+	  : respond(responseApdu, deviceActivity::sendSpake2PlusResponseSuccessfully);
+	log.info(pipelined ? "Sent Select Response and Response in one batch" : "Sent Response");
+
+	log.info("Received message from vehicle VIN: {}", vin);
+	byte[] verifyCommand = nextApdu(next);
+	Spake2PlusVerifyCommandTlv verifyCommandTlv = inlineCodec
+	  ? WorkflowCodec.decode(new Spake2PlusVerifyCommandTlv(), verifyCommand)
+	  : deviceActivity.receiveSpake2PlusVerifyCommandSuccessfully(HexUtil.toHexString(verifyCommand));
 	Spake2PlusVerifyResponseTlv verifyResponseTlv = deviceActivity.processSpake2PlusVerifyCommandSuccessfully(verifyCommandTlv, response.config());
+	respond(verifyResponseTlv.encodeBytes(), deviceActivity::sendSpake2PlusVerifyResponseSuccessfully);
+	log.info("Sent Verify Response");
+
+	// Let a pending exchangeApdu return the VERIFY response before the workflow completes
+	Workflow.await(Workflow::isEveryHandlerFinished);
+  }
+
+  @Override
+  public void receiveMessageFromVehicle(DeviceMessagePayload messagePayload) {
+	this.vin = messagePayload.vin();
+	this.apdu = messagePayload.apdu();
+  }
+
+  @Override
+  public byte[] exchangeApdu(DeviceMessagePayload messagePayload) {
+	receiveMessageFromVehicle(messagePayload);
+	replyPending = true;
+	Workflow.await(() -> reply != null);
+	byte[] response = reply;
+	reply = null;
+	return response;
+  }
+
+  @Override
+  public void validateExchangeApdu(DeviceMessagePayload messagePayload) {
+	if (messagePayload == null) {
+	  throw new IllegalArgumentException("Message payload cannot be null");
+	}
+	if (replyPending || apdu != null) {
+	  throw new IllegalStateException("Previous APDU from vehicle " + vin + " is still being processed");
+	}
+  }
+
+  private Spake2PlusRequestCommandTlv decodeRequest(byte[] requestCommand) {
+	return inlineCodec
+	  ? WorkflowCodec.decode(new Spake2PlusRequestCommandTlv(), requestCommand)
+	  : deviceActivity.receiveSpake2PlusRequestCommandSuccessfully(HexUtil.toHexString(requestCommand));
+  }
+
+  /**
+   * Whether the REQUEST lists the framework and protocol versions the device announced in its SELECT response
+   */
+  private static boolean versionsAgree(ResponseToSelectCommandTlv selectResponse, Spake2PlusRequestCommandTlv request) {
+	return offers(request.getVodFwVersions(), selectResponse.getFrameworkVersions())
+	  && offers(request.getDkProtocolVersions(), selectResponse.getProtocolVersions());
+  }
+
+  private static boolean offers(byte[] versions, byte[] version) {
+	if (versions == null || version == null) {
+	  return false;
+	}
+	for (int i = 0; i + 1 < versions.length; i += 2) {
+	  if (versions[i] == version[0] && versions[i + 1] == version[1]) {
+		return true;
+	  }
+	}
+	return false;
+  }
+
+  private ResponseToSelectCommandTlv respondToSelect(byte[] selectCommand) {
+	if (!inlineCodec) {
+	  SelectCommandTlv selectCommandTlv = deviceActivity.receiveSelectCommandSuccessfully(HexUtil.toHexString(selectCommand));
+	  return deviceActivity.processSelectCommandSuccessfully(selectCommandTlv);
+	}
+	WorkflowCodec.decode(new SelectCommandTlv(), selectCommand);
+	return ResponseToSelectCommandTlv.startedWithPassword();
+  }
+
+  /**
+   * Takes the next APDU from the vehicle: the one that came back with the last response, or else the next
+   * signal or update.
+   */
+  private byte[] nextApdu(byte[] exchanged) {
+	if (exchanged != null && exchanged.length > 0) {
+	  return exchanged;
+	}
+	Workflow.await(() -> apdu != null && apdu.length > 0);
+	byte[] next = apdu;
+	apdu = null;
+	return next;
+  }
+
+  /**
+   * Answers the vehicle. An APDU that came through exchangeApdu is answered in the update result; otherwise
+   * the response goes out through DKC, and the vehicle's next APDU is returned if it replied with one.
+   * Executions from before exchangeApduSuccessfully send with the step's own activity, {@code stepSender},
+   * and always wait for the next signal.
+   */
+  private byte[] respond(byte[] response, StepSender stepSender) {
+	if (replyPending) {
+	  replyPending = false;
+	  reply = response;
+	  return null;
+	}
 	try {
-	  status = deviceActivity.sendSpake2PlusVerifyResponseSuccessfully(message.vin(), verifyResponseTlv.encode(), requestId);
-	  log.info("Sending Verify Response {}", status);
+	  if (!exchangeActivity) {
+		String status = stepSender.send(vin, HexUtil.toHexString(response), requestId);
+		log.info("Vehicle acknowledged: {}", status);
+		return null;
+	  }
+	  return deviceActivity.exchangeApduSuccessfully(vin, response, requestId);
 	} catch (Exception e) {
 	  log.error("Failed to publish command message to DKC", e);
 	  throw new RuntimeException(e);
 	}
-	message = null;
   }
 
-  @Override
-  public void receiveMessageFromVehicle(DeviceMessagePayload messagePayload) {
-	this.message = messagePayload;
+  /**
+   * A per-step send activity: sendSelectResponseSuccessfully, sendSpake2PlusResponseSuccessfully or
+   * sendSpake2PlusVerifyResponseSuccessfully
+   */
+  @FunctionalInterface
+  private interface StepSender {
+	String send(String vin, String response, String requestId) throws Exception;
   }
 }
@@ -1,14 +1,17 @@
 package com.xdman.workflow_device.workflow;
 
+import com.xdman.spake2plus_core.model.FullCycleMode;
+import com.xdman.spake2plus_core.model.Spake2PlusRequestWrapper;
+import com.xdman.spake2plus_core.model.Spake2PlusResponseWrapper;
+import com.xdman.spake2plus_core.model.tlv.ResponseToSelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.SelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
+import com.xdman.spake2plus_core.temporal.Spake2PlusFullCycleActivity;
+import com.xdman.spake2plus_core.temporal.WorkflowCodec;
 import com.xdman.workflow_device.activity.Spake2PlusDeviceActivity;
 import com.xdman.workflow_device.activity.Spake2PlusVehicleActivity;
 import com.xdman.workflow_device.config.WorkFlowConfig;
-import com.xdman.workflow_device.model.Spake2PlusRequestWrapper;
-import com.xdman.workflow_device.model.Spake2PlusResponseWrapper;
-import com.xdman.workflow_device.model.tlv.ResponseToSelectCommandTlv;
-import com.xdman.workflow_device.model.tlv.SelectCommandTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusVerifyCommandTlv;
-import com.xdman.workflow_device.model.tlv.Spake2PlusVerifyResponseTlv;
 import io.temporal.spring.boot.WorkflowImpl;
 import io.temporal.workflow.Workflow;
 import lombok.extern.slf4j.Slf4j;
@@ -27,10 +30,26 @@ public class Spake2PlusFullWorkFlowImpl implements Spake2PlusFullWorkFlow {
     WorkFlowConfig.defaultActivityOptions()
   );
 
+  private final Spake2PlusFullCycleActivity fullCycleActivity = Workflow.newLocalActivityStub(
+    Spake2PlusFullCycleActivity.class,
+    WorkFlowConfig.defaultLocalActivityOptions()
+  );
+
   @Override
   public String processFullCycleOwnerPairing(String vin,String password, String salt) {
-    String selectCommandTlv = vehicleActivity.createSelectCommandSuccessfully(vin);
-    ResponseToSelectCommandTlv responseToSelectCommandTlv = deviceActivity.processSelectCommandSuccessfully(new SelectCommandTlv().decode(selectCommandTlv));
+    if (FullCycleMode.of(Workflow.getMemo(FullCycleMode.MEMO_KEY, String.class)) == FullCycleMode.FUSED) {
+      // One local activity: a marker event instead of a scheduled activity per step
+      return fullCycleActivity.runFullCycleOwnerPairingSuccessfully(vin, password, salt);
+    }
+
+    // The SELECT exchange involves no crypto or I/O, so it is answered in workflow code
+    ResponseToSelectCommandTlv responseToSelectCommandTlv;
+    if (WorkflowCodec.inline()) {
+      responseToSelectCommandTlv = ResponseToSelectCommandTlv.startedWithPassword();
+    } else {
+      String selectCommandTlv = vehicleActivity.createSelectCommandSuccessfully(vin);
+      responseToSelectCommandTlv = deviceActivity.processSelectCommandSuccessfully(new SelectCommandTlv().decode(selectCommandTlv));
+    }
     log.info("Select Command Response: " + responseToSelectCommandTlv.encode());
     Spake2PlusRequestWrapper requestWrapper = vehicleActivity.createSpake2PlusRequestSuccessfully(password, salt);
     log.info("SPAKE2+ Request: " + requestWrapper.request().encode());
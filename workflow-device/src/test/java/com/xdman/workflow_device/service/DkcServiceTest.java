@@ -1,5 +1,9 @@
 package com.xdman.workflow_device.service;
 
+import com.xdman.spake2plus_core.model.ExchangeMode;
+import com.xdman.spake2plus_core.transport.ApduFrame;
+import com.xdman.spake2plus_core.transport.PeerChannel;
+import com.xdman.spake2plus_core.transport.PeerChannelUnavailableException;
 import com.xdman.workflow_device.base.BaseTest;
 import com.xdman.workflow_device.client.DkcClient;
 import com.xdman.workflow_device.model.request.SendToVehicleRequest;
@@ -243,4 +247,124 @@ class DkcServiceTest extends BaseTest {
             verify(dkcClient).sendMessageToVehicle(eq(vin), any(SendToVehicleRequest.class));
         }
     }
+
+    @Test
+    @DisplayName("Should return the vehicle's next APDU in update mode")
+    void shouldReturnNextApduInUpdateMode() throws Exception {
+        // Given
+        DkcService updateService = new DkcService(dkcClient, "update");
+        when(dkcClient.exchangeMessageWithVehicle(eq(TEST_VIN), any(SendToVehicleRequest.class), eq(TEST_REQUEST_ID), eq("update")))
+            .thenReturn(new SendToVehicleResponse("80320000"));
+
+        // When
+        byte[] next = updateService.exchangeApduWithDkc(TEST_VIN, new byte[]{0x50, 0x00}, TEST_REQUEST_ID);
+
+        // Then
+        assertArrayEquals(new byte[]{(byte) 0x80, 0x32, 0x00, 0x00}, next);
+        verify(dkcClient).exchangeMessageWithVehicle(eq(TEST_VIN),
+            argThat(request -> request.messagePayload().equals("5000")), eq(TEST_REQUEST_ID), eq("update"));
+    }
+
+    @Test
+    @DisplayName("Should return an empty APDU when the vehicle has nothing more to send")
+    void shouldReturnEmptyApduWhenPairingIsDone() throws Exception {
+        // Given
+        DkcService updateService = new DkcService(dkcClient, "update");
+        when(dkcClient.exchangeMessageWithVehicle(anyString(), any(SendToVehicleRequest.class), anyString(), anyString()))
+            .thenReturn(new SendToVehicleResponse(""));
+
+        // When
+        byte[] next = updateService.exchangeApduWithDkc(TEST_VIN, new byte[]{0x58}, TEST_REQUEST_ID);
+
+        // Then
+        assertEquals(0, next.length);
+    }
+
+    @Test
+    @DisplayName("Should only publish the APDU in signal mode")
+    void shouldOnlyPublishInSignalMode() throws Exception {
+        // Given
+        DkcService signalService = new DkcService(dkcClient, "signal");
+        when(dkcClient.sendMessageToVehicle(eq(TEST_VIN), any(SendToVehicleRequest.class), eq(TEST_REQUEST_ID)))
+            .thenReturn(new SendToVehicleResponse("Received a message from vehicle successfully"));
+
+        // When
+        byte[] next = signalService.exchangeApduWithDkc(TEST_VIN, new byte[]{0x58}, TEST_REQUEST_ID);
+
+        // Then
+        assertNull(next);
+        verify(dkcClient, never()).exchangeMessageWithVehicle(anyString(), any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should send an APDU frame and return the raw next APDU on the binary wire")
+    void shouldExchangeFrameOnBinaryWire() throws Exception {
+        // Given
+        DkcService binaryService = new DkcService(dkcClient, "update", "binary");
+        when(dkcClient.sendFrameToVehicle(any(byte[].class), eq("update")))
+            .thenReturn(new byte[]{(byte) 0x80, 0x32, 0x00, 0x00});
+
+        // When
+        byte[] next = binaryService.exchangeApduWithDkc(TEST_VIN, new byte[]{0x50, 0x00}, TEST_REQUEST_ID);
+
+        // Then
+        assertArrayEquals(new byte[]{(byte) 0x80, 0x32, 0x00, 0x00}, next);
+        verify(dkcClient).sendFrameToVehicle(argThat(frame -> {
+            ApduFrame decoded = ApduFrame.decode(frame);
+            return decoded.vin().equals(TEST_VIN)
+                && decoded.requestId().equals(TEST_REQUEST_ID)
+                && decoded.step() == ApduFrame.Step.RESPONSE
+                && java.util.Arrays.equals(new byte[]{0x50, 0x00}, decoded.apdu());
+        }), eq("update"));
+        verify(dkcClient, never()).exchangeMessageWithVehicle(anyString(), any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should treat an empty binary reply as the end of pairing")
+    void shouldReturnEmptyApduOnEmptyBinaryReply() throws Exception {
+        // Given
+        DkcService binaryService = new DkcService(dkcClient, "update", "binary");
+        when(dkcClient.sendFrameToVehicle(any(byte[].class), anyString())).thenReturn(null);
+
+        // When
+        byte[] next = binaryService.exchangeApduWithDkc(TEST_VIN, new byte[]{0x58}, TEST_REQUEST_ID);
+
+        // Then
+        assertEquals(0, next.length);
+    }
+
+    @Test
+    @DisplayName("Should exchange the frame on the peer channel on the websocket wire")
+    void shouldExchangeFrameOnPeerChannel() throws Exception {
+        // Given
+        PeerChannel peerChannel = mock(PeerChannel.class);
+        DkcService channelService = new DkcService(dkcClient, peerChannel, "update", "websocket");
+        when(peerChannel.exchange(any(ApduFrame.class), eq(ExchangeMode.UPDATE)))
+            .thenReturn(new byte[]{(byte) 0x80, 0x32, 0x00, 0x00});
+
+        // When
+        byte[] next = channelService.exchangeApduWithDkc(TEST_VIN, new byte[]{0x50, 0x00}, TEST_REQUEST_ID);
+
+        // Then
+        assertArrayEquals(new byte[]{(byte) 0x80, 0x32, 0x00, 0x00}, next);
+        verify(dkcClient, never()).sendFrameToVehicle(any(byte[].class), anyString());
+    }
+
+    @Test
+    @DisplayName("Should send the frame over HTTP when the peer channel cannot take it")
+    void shouldFallBackToHttpWhenChannelUnavailable() throws Exception {
+        // Given
+        PeerChannel peerChannel = mock(PeerChannel.class);
+        DkcService channelService = new DkcService(dkcClient, peerChannel, "update", "websocket");
+        when(peerChannel.exchange(any(ApduFrame.class), any(ExchangeMode.class)))
+            .thenThrow(new PeerChannelUnavailableException("Peer channel is down"));
+        when(dkcClient.sendFrameToVehicle(any(byte[].class), eq("update"))).thenReturn(new byte[]{0x01});
+
+        // When
+        byte[] next = channelService.exchangeApduWithDkc(TEST_VIN, new byte[]{0x50, 0x00}, TEST_REQUEST_ID);
+
+        // Then
+        assertArrayEquals(new byte[]{0x01}, next);
+        verify(dkcClient).sendFrameToVehicle(any(byte[].class), eq("update"));
+    }
 }
@@ -1,18 +1,26 @@
 package com.xdman.workflow_device.service;
 
+import com.xdman.spake2plus_core.model.ApduBatch;
+import com.xdman.spake2plus_core.model.ExchangeMode;
+import com.xdman.spake2plus_core.model.FullCycleMode;
+import com.xdman.spake2plus_core.transport.ApduFrame;
 import com.xdman.workflow_device.base.BaseTest;
 import com.xdman.workflow_device.model.DeviceMessagePayload;
 import com.xdman.workflow_device.workflow.Spake2PlusDeviceWorkFlow;
 import com.xdman.workflow_device.workflow.Spake2PlusFullWorkFlow;
+import io.temporal.client.BatchRequest;
 import io.temporal.client.WorkflowClient;
 import io.temporal.client.WorkflowOptions;
+import io.temporal.workflow.Functions;
 import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -32,6 +40,9 @@ class ReceivedFromVehicleServiceTest extends BaseTest {
     @Mock
     private Spake2PlusDeviceWorkFlow deviceWorkFlow;
 
+    @Mock
+    private BatchRequest batchRequest;
+
     @Mock
     private HttpServletRequest httpServletRequest;
 
@@ -74,6 +85,29 @@ class ReceivedFromVehicleServiceTest extends BaseTest {
         }
     }
 
+    @Test
+    @DisplayName("Should record the configured full cycle mode in the workflow memo")
+    void shouldRecordFullCycleModeInMemo() {
+        // Given
+        ReflectionTestUtils.setField(receivedFromVehicleService, "fullCycleMode", "fused");
+        ArgumentCaptor<WorkflowOptions> options = ArgumentCaptor.forClass(WorkflowOptions.class);
+
+        try (MockedStatic<RequestContextHolder> mockedRequestContextHolder = mockStatic(RequestContextHolder.class)) {
+            mockedRequestContextHolder.when(RequestContextHolder::getRequestAttributes)
+                .thenReturn(servletRequestAttributes);
+            when(servletRequestAttributes.getRequest()).thenReturn(httpServletRequest);
+            when(httpServletRequest.getHeader("x-requestId")).thenReturn(TEST_REQUEST_ID);
+            when(workflowClient.newWorkflowStub(eq(Spake2PlusFullWorkFlow.class), options.capture()))
+                .thenReturn(fullWorkFlow);
+
+            // When
+            receivedFromVehicleService.startFullOwnerPairingCycle(TEST_VIN, TEST_PASSWORD, TEST_SALT);
+
+            // Then
+            assertEquals("fused", options.getValue().getMemo().get(FullCycleMode.MEMO_KEY));
+        }
+    }
+
     @Test
     @DisplayName("Should throw exception when password is null")
     void shouldThrowExceptionWhenPasswordIsNull() {
@@ -101,15 +135,13 @@ class ReceivedFromVehicleServiceTest extends BaseTest {
     }
 
     @Test
-    @DisplayName("Should start device owner pairing when SELECT command is detected")
+    @DisplayName("Should start device owner pairing with signal-with-start when SELECT command is detected")
     void shouldStartDeviceOwnerPairingWhenSelectCommandDetected() throws Exception {
         // Given
         String messageWithSelectCommand = SELECT_COMMAND_HEADER + "additional_data";
         String expectedResult = "SPAKE2+ for vehicle " + TEST_VIN + " started successfully!";
-        
-        try (MockedStatic<RequestContextHolder> mockedRequestContextHolder = mockStatic(RequestContextHolder.class);
-             MockedStatic<WorkflowClient> mockedWorkflowClient = mockStatic(WorkflowClient.class)) {
-            
+
+        try (MockedStatic<RequestContextHolder> mockedRequestContextHolder = mockStatic(RequestContextHolder.class)) {
             mockedRequestContextHolder.when(RequestContextHolder::getRequestAttributes)
                 .thenReturn(servletRequestAttributes);
             when(servletRequestAttributes.getRequest()).thenReturn(httpServletRequest);
@@ -117,13 +149,41 @@ class ReceivedFromVehicleServiceTest extends BaseTest {
 
             when(workflowClient.newWorkflowStub(eq(Spake2PlusDeviceWorkFlow.class), any(WorkflowOptions.class)))
                 .thenReturn(deviceWorkFlow);
+            when(workflowClient.newSignalWithStartRequest()).thenReturn(batchRequest);
 
             // When
             String result = receivedFromVehicleService.receiveMessageFromVehicle(TEST_VIN, messageWithSelectCommand);
 
             // Then
             assertEquals(expectedResult, result);
-            verify(deviceWorkFlow).receiveMessageFromVehicle(any(DeviceMessagePayload.class));
+            verify(batchRequest).add(any(Functions.Proc1.class), eq(TEST_REQUEST_ID));
+            verify(batchRequest).add(any(Functions.Proc1.class), any(DeviceMessagePayload.class));
+            verify(workflowClient).signalWithStart(batchRequest);
+        }
+    }
+
+    @Test
+    @DisplayName("Should reuse the SELECT stub for the following REQUEST and VERIFY signals")
+    void shouldReuseWorkflowStubAcrossSignals() throws Exception {
+        // Given
+        try (MockedStatic<RequestContextHolder> mockedRequestContextHolder = mockStatic(RequestContextHolder.class)) {
+            mockedRequestContextHolder.when(RequestContextHolder::getRequestAttributes)
+                .thenReturn(servletRequestAttributes);
+            when(servletRequestAttributes.getRequest()).thenReturn(httpServletRequest);
+            when(httpServletRequest.getHeader("x-requestId")).thenReturn(TEST_REQUEST_ID);
+
+            when(workflowClient.newWorkflowStub(eq(Spake2PlusDeviceWorkFlow.class), any(WorkflowOptions.class)))
+                .thenReturn(deviceWorkFlow);
+            when(workflowClient.newSignalWithStartRequest()).thenReturn(batchRequest);
+
+            // When
+            receivedFromVehicleService.receiveMessageFromVehicle(TEST_VIN, SELECT_COMMAND_HEADER + "additional_data");
+            receivedFromVehicleService.receiveMessageFromVehicle(TEST_VIN, REQUEST_COMMAND_HEADER + "additional_data");
+            receivedFromVehicleService.receiveMessageFromVehicle(TEST_VIN, VERIFY_COMMAND_HEADER + "additional_data");
+
+            // Then
+            verify(workflowClient, never()).newWorkflowStub(Spake2PlusDeviceWorkFlow.class, TEST_REQUEST_ID);
+            verify(deviceWorkFlow, times(2)).receiveMessageFromVehicle(any(DeviceMessagePayload.class));
         }
     }
 
@@ -227,4 +287,100 @@ class ReceivedFromVehicleServiceTest extends BaseTest {
             );
         }
     }
+
+    @Test
+    @DisplayName("Should return the device response APDU when called in update mode")
+    void shouldReturnResponseApduInUpdateMode() throws Exception {
+        // Given
+        try (MockedStatic<RequestContextHolder> mockedRequestContextHolder = mockStatic(RequestContextHolder.class)) {
+            mockedRequestContextHolder.when(RequestContextHolder::getRequestAttributes)
+                .thenReturn(servletRequestAttributes);
+            when(servletRequestAttributes.getRequest()).thenReturn(httpServletRequest);
+            when(httpServletRequest.getHeader("x-requestId")).thenReturn(TEST_REQUEST_ID);
+            when(httpServletRequest.getHeader(ExchangeMode.HEADER)).thenReturn("update");
+
+            when(workflowClient.newWorkflowStub(Spake2PlusDeviceWorkFlow.class, TEST_REQUEST_ID))
+                .thenReturn(deviceWorkFlow);
+            when(deviceWorkFlow.exchangeApdu(any(DeviceMessagePayload.class)))
+                .thenReturn(new byte[]{0x58, 0x10, (byte) 0x90, 0x00});
+
+            // When
+            String result = receivedFromVehicleService.receiveMessageFromVehicle(TEST_VIN, TEST_MESSAGE);
+
+            // Then
+            assertEquals("58109000", result);
+            verify(deviceWorkFlow).exchangeApdu(any(DeviceMessagePayload.class));
+            verify(deviceWorkFlow, never()).receiveMessageFromVehicle(any(DeviceMessagePayload.class));
+        }
+    }
+
+    @Test
+    @DisplayName("Should route a binary frame by its step and return the raw response APDU in update mode")
+    void shouldExchangeBinaryFrameInUpdateMode() {
+        // Given
+        ApduFrame frame = ApduFrame.command(TEST_VIN, TEST_REQUEST_ID, new byte[]{(byte) 0x80, 0x32, 0x00, 0x00});
+        when(workflowClient.newWorkflowStub(Spake2PlusDeviceWorkFlow.class, TEST_REQUEST_ID))
+            .thenReturn(deviceWorkFlow);
+        when(deviceWorkFlow.exchangeApdu(any(DeviceMessagePayload.class)))
+            .thenReturn(new byte[]{0x58, 0x10, (byte) 0x90, 0x00});
+
+        // When
+        byte[] response = receivedFromVehicleService.receiveFrameFromVehicle(frame, ExchangeMode.UPDATE);
+
+        // Then
+        assertArrayEquals(new byte[]{0x58, 0x10, (byte) 0x90, 0x00}, response);
+        verify(deviceWorkFlow).exchangeApdu(argThat(payload ->
+            payload.vin().equals(TEST_VIN) && payload.message().equalsIgnoreCase("80320000")));
+    }
+
+    @Test
+    @DisplayName("Should start device owner pairing for a SELECT frame in signal mode")
+    void shouldStartPairingForSelectFrame() {
+        // Given
+        ApduFrame frame = ApduFrame.command(TEST_VIN, TEST_REQUEST_ID, new byte[]{0x00, (byte) 0xA4, 0x04, 0x00, 0x00});
+        when(workflowClient.newWorkflowStub(eq(Spake2PlusDeviceWorkFlow.class), any(WorkflowOptions.class)))
+            .thenReturn(deviceWorkFlow);
+        when(workflowClient.newSignalWithStartRequest()).thenReturn(batchRequest);
+
+        // When
+        byte[] response = receivedFromVehicleService.receiveFrameFromVehicle(frame, ExchangeMode.SIGNAL);
+
+        // Then
+        assertEquals(0, response.length);
+        verify(batchRequest).add(any(Functions.Proc1.class), eq(TEST_REQUEST_ID));
+        verify(workflowClient).signalWithStart(batchRequest);
+    }
+
+    @Test
+    @DisplayName("Should start device owner pairing with the whole batch for a pipelined batch frame")
+    void shouldStartPairingForBatchFrame() {
+        // Given
+        byte[] batch = ApduBatch.encode(new byte[]{0x00, (byte) 0xA4, 0x04, 0x00, 0x00}, new byte[]{(byte) 0x80, 0x30, 0x00, 0x00});
+        ApduFrame frame = ApduFrame.command(TEST_VIN, TEST_REQUEST_ID, batch);
+        when(workflowClient.newWorkflowStub(eq(Spake2PlusDeviceWorkFlow.class), any(WorkflowOptions.class)))
+            .thenReturn(deviceWorkFlow);
+        when(workflowClient.newSignalWithStartRequest()).thenReturn(batchRequest);
+
+        // When
+        byte[] response = receivedFromVehicleService.receiveFrameFromVehicle(frame, ExchangeMode.SIGNAL);
+
+        // Then
+        assertEquals(ApduFrame.Step.BATCH, frame.step());
+        assertEquals(0, response.length);
+        verify(batchRequest).add(any(Functions.Proc1.class), argThat(arg ->
+            arg instanceof DeviceMessagePayload payload && java.util.Arrays.equals(batch, payload.apdu())));
+        verify(workflowClient).signalWithStart(batchRequest);
+    }
+
+    @Test
+    @DisplayName("Should reject a frame that is not a vehicle command")
+    void shouldRejectNonCommandFrame() {
+        // Given
+        ApduFrame frame = ApduFrame.response(TEST_VIN, TEST_REQUEST_ID, new byte[]{(byte) 0x90, 0x00});
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class,
+            () -> receivedFromVehicleService.receiveFrameFromVehicle(frame, ExchangeMode.SIGNAL));
+        verifyNoInteractions(workflowClient);
+    }
 }
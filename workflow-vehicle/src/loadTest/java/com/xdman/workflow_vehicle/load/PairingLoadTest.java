@@ -0,0 +1,181 @@
+package com.xdman.workflow_vehicle.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.security.SecureRandom;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Finds how many owner pairings a node holds in flight. Needs both applications and their Temporal
+ * servers running. Each step keeps a fixed number of {@code /startOwnerPairing} calls open for the step
+ * duration, starting a new pairing as soon as one returns, and reports completed and failed pairings with
+ * their latency. The ramp stops at the first step over the error rate or p99 limit; the step before it is
+ * what the node holds. Every pairing gets its own VIN, request id and, unless {@code reuseSalt} is set,
+ * salt, so scrypt runs for each one rather than hitting the key cache.
+ */
+public final class PairingLoadTest {
+  private static final String PASSWORD = "0102030405060708090A0B0C0D0E0F10";
+  private static final String FIXED_SALT = "000102030405060708090A0B0C0D0E0F";
+
+  private final HttpClient client;
+  private final Settings settings;
+  private final SecureRandom random = new SecureRandom();
+  private final AtomicLong sequence = new AtomicLong();
+
+  private PairingLoadTest(HttpClient client, Settings settings) {
+	this.client = client;
+	this.settings = settings;
+  }
+
+  public static void main(String[] args) throws InterruptedException {
+	Settings settings = Settings.fromSystemProperties();
+	// HTTP/1.1 so every pairing holds its own connection, as separate callers would
+	HttpClient client = HttpClient.newBuilder()
+	  .version(HttpClient.Version.HTTP_1_1)
+	  .connectTimeout(Duration.ofSeconds(5))
+	  .build();
+	PairingLoadTest test = new PairingLoadTest(client, settings);
+
+	System.out.printf("Owner pairings against %s, %s per step%n", settings.url(), settings.step());
+	int held = 0;
+	for (int level : settings.levels()) {
+	  StepResult result = test.runStep(level);
+	  System.out.println(result);
+	  if (!result.passed(settings)) {
+		break;
+	  }
+	  held = level;
+	}
+	System.out.printf("Held %d pairings in flight within %.1f%% errors and p99 %s%n",
+	  held, settings.maxErrorRate() * 100, settings.maxP99());
+  }
+
+  /**
+   * Keeps {@code level} pairings in flight until the step duration has passed, then waits for the last ones
+   */
+  private StepResult runStep(int level) throws InterruptedException {
+	List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+	AtomicInteger failures = new AtomicInteger();
+	AtomicReference<String> firstError = new AtomicReference<>();
+	CountDownLatch done = new CountDownLatch(level);
+	long start = System.nanoTime();
+	long deadline = start + settings.step().toNanos();
+
+	for (int i = 0; i < level; i++) {
+	  startPairing(deadline, latencies, failures, firstError, done);
+	}
+	done.await();
+
+	Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+	return new StepResult(level, new ArrayList<>(latencies), failures.get(), firstError.get(), elapsed);
+  }
+
+  private void startPairing(long deadline, List<Long> latencies, AtomicInteger failures,
+	AtomicReference<String> firstError, CountDownLatch done) {
+	if (System.nanoTime() >= deadline) {
+	  done.countDown();
+	  return;
+	}
+	long start = System.nanoTime();
+	client.sendAsync(pairingRequest(), HttpResponse.BodyHandlers.ofString())
+	  .whenCompleteAsync((response, error) -> {
+		if (error == null && response.statusCode() == 200) {
+		  latencies.add(System.nanoTime() - start);
+		} else {
+		  failures.incrementAndGet();
+		  firstError.compareAndSet(null, error != null ? error.toString() : "HTTP " + response.statusCode() + " " + response.body());
+		}
+		startPairing(deadline, latencies, failures, firstError, done);
+	  });
+  }
+
+  private HttpRequest pairingRequest() {
+	String vin = String.format("LT%015d", sequence.incrementAndGet());
+	String salt = settings.reuseSalt() ? FIXED_SALT : randomSalt();
+	String body = "{\"password\":\"" + PASSWORD + "\",\"salt\":\"" + salt + "\"}";
+	return HttpRequest.newBuilder(URI.create(settings.url() + "/startOwnerPairing/" + vin))
+	  .timeout(settings.timeout())
+	  .header("Content-Type", "application/json")
+	  .header("x-requestId", UUID.randomUUID().toString())
+	  .POST(HttpRequest.BodyPublishers.ofString(body))
+	  .build();
+  }
+
+  private String randomSalt() {
+	byte[] salt = new byte[16];
+	random.nextBytes(salt);
+	return HexFormat.of().withUpperCase().formatHex(salt);
+  }
+
+  /**
+   * Settings from {@code -DloadTest.*} system properties, which the {@code loadTest} Gradle task fills from
+   * {@code -PloadTest.*}
+   */
+  record Settings(
+	String url,
+	int[] levels,
+	Duration step,
+	Duration timeout,
+	double maxErrorRate,
+	Duration maxP99,
+	boolean reuseSalt
+  ) {
+	static Settings fromSystemProperties() {
+	  return new Settings(
+		System.getProperty("loadTest.url", "http://localhost:3031"),
+		Arrays.stream(System.getProperty("loadTest.levels", "25,50,100,200,400,800,1600").split(","))
+		  .map(String::trim)
+		  .mapToInt(Integer::parseInt)
+		  .toArray(),
+		Duration.ofSeconds(Long.getLong("loadTest.stepSeconds", 60)),
+		Duration.ofSeconds(Long.getLong("loadTest.timeoutSeconds", 120)),
+		Double.parseDouble(System.getProperty("loadTest.maxErrorRate", "0.01")),
+		Duration.ofSeconds(Long.getLong("loadTest.maxP99Seconds", 30)),
+		Boolean.getBoolean("loadTest.reuseSalt")
+	  );
+	}
+  }
+
+  record StepResult(int level, List<Long> latencies, int failures, String firstError, Duration elapsed) {
+	StepResult {
+	  Collections.sort(latencies);
+	}
+
+	double errorRate() {
+	  int total = latencies.size() + failures;
+	  return total == 0 ? 1.0 : (double) failures / total;
+	}
+
+	Duration percentile(double p) {
+	  if (latencies.isEmpty()) {
+		return Duration.ZERO;
+	  }
+	  int index = (int) Math.ceil(p * latencies.size()) - 1;
+	  return Duration.ofNanos(latencies.get(Math.max(index, 0)));
+	}
+
+	boolean passed(Settings settings) {
+	  return errorRate() <= settings.maxErrorRate() && percentile(0.99).compareTo(settings.maxP99()) <= 0;
+	}
+
+	@Override
+	public String toString() {
+	  String summary = String.format("%5d in flight: %6d completed, %5d failed (%.2f%%), %6.1f pairings/s, p50 %5d ms, p99 %5d ms",
+		level, latencies.size(), failures, errorRate() * 100, latencies.size() * 1e9 / elapsed.toNanos(),
+		percentile(0.50).toMillis(), percentile(0.99).toMillis());
+	  return firstError == null ? summary : summary + System.lineSeparator() + "      first failure: " + firstError;
+	}
+  }
+}
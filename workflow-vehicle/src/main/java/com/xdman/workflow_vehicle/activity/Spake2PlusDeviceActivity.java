@@ -1,12 +1,12 @@
 package com.xdman.workflow_vehicle.activity;
 
-import com.xdman.workflow_vehicle.model.Spake2PlusDeviceData;
-import com.xdman.workflow_vehicle.model.Spake2PlusResponseWrapper;
-import com.xdman.workflow_vehicle.model.tlv.ResponseToSelectCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.SelectCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusRequestCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusVerifyCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusVerifyResponseTlv;
+import com.xdman.spake2plus_core.model.Spake2PlusDeviceData;
+import com.xdman.spake2plus_core.model.Spake2PlusResponseWrapper;
+import com.xdman.spake2plus_core.model.tlv.ResponseToSelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.SelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
 import io.temporal.activity.ActivityInterface;
 
 @ActivityInterface
@@ -2,26 +2,32 @@ package com.xdman.workflow_vehicle.activity;
 
 
 
-import com.xdman.workflow_vehicle.model.tlv.ResponseToSelectCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.SelectCommandTlv;
-import com.xdman.workflow_vehicle.service.Spake2PlusDeviceService;
+import com.xdman.spake2plus_core.model.tlv.ResponseToSelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.SelectCommandTlv;
+import com.xdman.spake2plus_core.service.Spake2PlusDeviceService;
 import io.temporal.spring.boot.ActivityImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
-import com.xdman.workflow_vehicle.model.Spake2PlusDeviceData;
-import com.xdman.workflow_vehicle.model.Spake2PlusResponseWrapper;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusRequestCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusVerifyCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusVerifyResponseTlv;
+import com.xdman.spake2plus_core.model.Spake2PlusDeviceData;
+import com.xdman.spake2plus_core.model.Spake2PlusResponseWrapper;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
+import com.xdman.spake2plus_core.temporal.CryptoActivityCompletion;
 
 @Component
 @Slf4j
 @ActivityImpl(taskQueues = "Spake2PlusTaskQueue")
 public class Spake2PlusDeviceActivityImpl implements Spake2PlusDeviceActivity {
   private final Spake2PlusDeviceService spake2PlusDeviceService;
+  private final CryptoActivityCompletion cryptoActivityCompletion;
 
-  public Spake2PlusDeviceActivityImpl(Spake2PlusDeviceService spake2PlusDeviceService) {
+  public Spake2PlusDeviceActivityImpl(
+	Spake2PlusDeviceService spake2PlusDeviceService,
+	CryptoActivityCompletion cryptoActivityCompletion
+  ) {
 	this.spake2PlusDeviceService = spake2PlusDeviceService;
+	this.cryptoActivityCompletion = cryptoActivityCompletion;
   }
 
   @Override
@@ -31,11 +37,7 @@ public class Spake2PlusDeviceActivityImpl implements Spake2PlusDeviceActivity {
 
   @Override
   public ResponseToSelectCommandTlv processSelectCommandSuccessfully(SelectCommandTlv request) {
-	ResponseToSelectCommandTlv response = new ResponseToSelectCommandTlv();
-	response.setFrameworkVersions(new byte[]{0x01, 0x00});
-	response.setProtocolVersions(new byte[]{0x01, 0x00});
-	response.setPairingMode(ResponseToSelectCommandTlv.PAIRING_MODE_STARTED_WITH_PASSWORD);
-	return response;
+	return ResponseToSelectCommandTlv.startedWithPassword();
   }
 
   @Override
@@ -45,7 +47,7 @@ public class Spake2PlusDeviceActivityImpl implements Spake2PlusDeviceActivity {
 
   @Override
   public Spake2PlusResponseWrapper processSpake2PlusRequestSuccessfully(Spake2PlusRequestCommandTlv request, String password) {
-	return spake2PlusDeviceService.processSpake2PlusRequest(request, password);
+	return cryptoActivityCompletion.complete(() -> spake2PlusDeviceService.processSpake2PlusRequest(request, password));
   }
 
   @Override
@@ -55,6 +57,6 @@ public class Spake2PlusDeviceActivityImpl implements Spake2PlusDeviceActivity {
 
   @Override
   public Spake2PlusVerifyResponseTlv processSpake2PlusVerifyCommandSuccessfully(Spake2PlusVerifyCommandTlv request, Spake2PlusDeviceData config) {
-	return spake2PlusDeviceService.processSpake2PlusVerifyRequest(request, config);
+	return cryptoActivityCompletion.complete(() -> spake2PlusDeviceService.processSpake2PlusVerifyRequest(request, config));
   }
 }
@@ -1,12 +1,12 @@
 package com.xdman.workflow_vehicle.activity;
 
-import com.xdman.workflow_vehicle.model.Spake2PlusRequestWrapper;
-import com.xdman.workflow_vehicle.model.Spake2PlusVehicleData;
-import com.xdman.workflow_vehicle.model.tlv.ResponseToSelectCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.SelectCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusRequestResponseTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusVerifyCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusVerifyResponseTlv;
+import com.xdman.spake2plus_core.model.Spake2PlusRequestWrapper;
+import com.xdman.spake2plus_core.model.Spake2PlusVehicleData;
+import com.xdman.spake2plus_core.model.tlv.ResponseToSelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.SelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestResponseTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
 import io.temporal.activity.ActivityInterface;
 
 @ActivityInterface
@@ -15,6 +15,7 @@ public interface Spake2PlusVehicleActivity {
   String sendSelectCommandSuccessfully(String vin, String selectCommand, String requestId);
   ResponseToSelectCommandTlv receiveSelectResponseSuccessfully(String message);
   Spake2PlusRequestWrapper createSpake2PlusRequestSuccessfully(String password, String salt);
+  Spake2PlusRequestWrapper createProvisionedSpake2PlusRequestSuccessfully(String vin, String password, String salt);
   String sendSpake2PlusRequestSuccessfully(String vin, String spake2PlusRequestCommand, String requestId);
   Spake2PlusRequestResponseTlv receiveSpake2PlusResponseSuccessfully(String message);
   Spake2PlusVerifyCommandTlv createSpake2PlusVerifyCommandSuccessfully(
@@ -23,4 +24,5 @@ public interface Spake2PlusVehicleActivity {
   );
   String sendSpake2PlusVerifyCommandSuccessfully(String vin, String spake2PlusVerifyCommand, String requestId);
   Spake2PlusVerifyResponseTlv receiveSpake2PlusVerifyResponseCommandSuccessfully(String message);
+  byte[] exchangeApduSuccessfully(String vin, byte[] command, String requestId);
 }
@@ -1,17 +1,20 @@
 package com.xdman.workflow_vehicle.activity;
 
-import com.xdman.workflow_vehicle.model.Spake2PlusRequestWrapper;
-import com.xdman.workflow_vehicle.model.Spake2PlusVehicleData;
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.model.Spake2PlusRequestWrapper;
+import com.xdman.spake2plus_core.model.Spake2PlusVehicleData;
+import com.xdman.spake2plus_core.model.tlv.ResponseToSelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.SelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestResponseTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
+import com.xdman.spake2plus_core.service.Spake2PlusVehicleService;
+import com.xdman.spake2plus_core.temporal.CryptoActivityCompletion;
 import com.xdman.workflow_vehicle.model.request.ReceivedFromVehicleRequest;
 import com.xdman.workflow_vehicle.model.response.ReceivedFromVehicleResponse;
 import com.xdman.workflow_vehicle.model.response.SendToVehicleResponse;
-import com.xdman.workflow_vehicle.model.tlv.ResponseToSelectCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.SelectCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusRequestResponseTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusVerifyCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusVerifyResponseTlv;
 import com.xdman.workflow_vehicle.service.SbodService;
-import com.xdman.workflow_vehicle.service.Spake2PlusVehicleService;
+import com.xdman.workflow_vehicle.store.Spake2PlusVerifierStore;
 import io.temporal.spring.boot.ActivityImpl;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -22,10 +25,19 @@ import org.springframework.stereotype.Component;
 public class Spake2PlusVehicleActivityImpl implements Spake2PlusVehicleActivity {
   private final Spake2PlusVehicleService spake2PlusVehicleService;
   private final SbodService sbodService;
+  private final Spake2PlusVerifierStore verifierStore;
+  private final CryptoActivityCompletion cryptoActivityCompletion;
 
-  public Spake2PlusVehicleActivityImpl(Spake2PlusVehicleService spake2PlusVehicleService, SbodService sbodService) {
+  public Spake2PlusVehicleActivityImpl(
+	Spake2PlusVehicleService spake2PlusVehicleService,
+	SbodService sbodService,
+	Spake2PlusVerifierStore verifierStore,
+	CryptoActivityCompletion cryptoActivityCompletion
+  ) {
 	this.spake2PlusVehicleService = spake2PlusVehicleService;
 	this.sbodService = sbodService;
+	this.verifierStore = verifierStore;
+	this.cryptoActivityCompletion = cryptoActivityCompletion;
   }
 
   @Override
@@ -39,7 +51,7 @@ public class Spake2PlusVehicleActivityImpl implements Spake2PlusVehicleActivity
 
   @Override
   public String sendSelectCommandSuccessfully(String vin, String selectCommand, String requestId) {
-	ReceivedFromVehicleResponse response = sbodService.receiveFromVehicle(vin, selectCommand, requestId);
+	ReceivedFromVehicleResponse response = sbodService.receiveApduFromVehicle(vin, HexUtil.parseHex(selectCommand), requestId);
 	return response.message();
   }
 
@@ -50,12 +62,22 @@ public class Spake2PlusVehicleActivityImpl implements Spake2PlusVehicleActivity
 
   @Override
   public Spake2PlusRequestWrapper createSpake2PlusRequestSuccessfully(String password, String salt) {
-	return spake2PlusVehicleService.createSpake2PlusRequest(password, salt);
+	return cryptoActivityCompletion.complete(() -> spake2PlusVehicleService.createSpake2PlusRequest(password, salt));
+  }
+
+  @Override
+  public Spake2PlusRequestWrapper createProvisionedSpake2PlusRequestSuccessfully(String vin, String password, String salt) {
+	return cryptoActivityCompletion.complete(() -> verifierStore.find(vin)
+	  .map(spake2PlusVehicleService::createSpake2PlusRequest)
+	  .orElseGet(() -> {
+		log.info("No SPAKE2+ verifier provisioned for VIN: {}, deriving from password", vin);
+		return spake2PlusVehicleService.createSpake2PlusRequest(password, salt);
+	  }));
   }
 
   @Override
   public String sendSpake2PlusRequestSuccessfully(String vin, String spake2PlusRequestCommand, String requestId) {
-	ReceivedFromVehicleResponse response = sbodService.receiveFromVehicle(vin, spake2PlusRequestCommand, requestId);
+	ReceivedFromVehicleResponse response = sbodService.receiveApduFromVehicle(vin, HexUtil.parseHex(spake2PlusRequestCommand), requestId);
 	return response.message();
   }
 
@@ -69,12 +91,12 @@ public class Spake2PlusVehicleActivityImpl implements Spake2PlusVehicleActivity
 	Spake2PlusRequestResponseTlv spake2PlusRequestResponseTlv,
 	Spake2PlusVehicleData config
   ) {
-	return spake2PlusVehicleService.validateSpake2PlusRequest(spake2PlusRequestResponseTlv, config);
+	return cryptoActivityCompletion.complete(() -> spake2PlusVehicleService.validateSpake2PlusRequest(spake2PlusRequestResponseTlv, config));
   }
 
   @Override
   public String sendSpake2PlusVerifyCommandSuccessfully(String vin, String spake2PlusVerifyCommand, String requestId) {
-	ReceivedFromVehicleResponse request = sbodService.receiveFromVehicle(vin, spake2PlusVerifyCommand, requestId);
+	ReceivedFromVehicleResponse request = sbodService.receiveApduFromVehicle(vin, HexUtil.parseHex(spake2PlusVerifyCommand), requestId);
 	return request.message();
   }
 
@@ -82,4 +104,9 @@ public class Spake2PlusVehicleActivityImpl implements Spake2PlusVehicleActivity
   public Spake2PlusVerifyResponseTlv receiveSpake2PlusVerifyResponseCommandSuccessfully(String message) {
 	return new Spake2PlusVerifyResponseTlv().decode(message);
   }
+
+  @Override
+  public byte[] exchangeApduSuccessfully(String vin, byte[] command, String requestId) {
+	return sbodService.exchangeApduWithSbod(vin, command, requestId);
+  }
 }
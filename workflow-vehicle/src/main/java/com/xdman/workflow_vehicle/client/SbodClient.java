@@ -1,10 +1,13 @@
 package com.xdman.workflow_vehicle.client;
 
 
+import com.xdman.spake2plus_core.model.ExchangeMode;
+import com.xdman.spake2plus_core.transport.ApduFrame;
 import com.xdman.workflow_vehicle.config.SbodFeignClientConfig;
 import com.xdman.workflow_vehicle.model.request.ReceivedFromVehicleRequest;
 import com.xdman.workflow_vehicle.model.response.ReceivedFromVehicleResponse;
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
@@ -25,4 +28,31 @@ public interface SbodClient {
 	@RequestBody ReceivedFromVehicleRequest messagePayload,
 	@RequestHeader("x-requestId") String requestId
   );
-}
\ No newline at end of file
+
+  /**
+   * Same endpoint in {@link ExchangeMode#UPDATE}: the reply message is the device's response APDU as hex
+   */
+  @PostMapping(
+	path = "/receivefromvehicle/{vin}"
+  )
+  ReceivedFromVehicleResponse exchangeWithDevice(
+	@PathVariable("vin") String vin,
+	@RequestBody ReceivedFromVehicleRequest messagePayload,
+	@RequestHeader("x-requestId") String requestId,
+	@RequestHeader(ExchangeMode.HEADER) String exchangeMode
+  );
+
+  /**
+   * Binary counterpart of the two above: {@code frame} is an encoded {@link ApduFrame}, and in
+   * {@link ExchangeMode#UPDATE} the reply is the device's response APDU, raw
+   */
+  @PostMapping(
+	path = "/apdu/receivefromvehicle",
+	consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+	produces = MediaType.APPLICATION_OCTET_STREAM_VALUE
+  )
+  byte[] sendFrameToDevice(
+	@RequestBody byte[] frame,
+	@RequestHeader(ExchangeMode.HEADER) String exchangeMode
+  );
+}
@@ -18,6 +18,18 @@ public class SbodFallbackFactory implements FallbackFactory<SbodClient> {
       public ReceivedFromVehicleResponse receivedFromVehicle(String vin, ReceivedFromVehicleRequest messagePayload, String requestId) {
         return new ReceivedFromVehicleResponse("Fallback response: Unable to process message from vehicle for VIN: " + vin + " (requestId: " + requestId + ")");
       }
+
+      @Override
+      public ReceivedFromVehicleResponse exchangeWithDevice(String vin, ReceivedFromVehicleRequest messagePayload, String requestId, String exchangeMode) {
+        // Not an APDU, so the exchange fails and the activity is retried
+        return receivedFromVehicle(vin, messagePayload, requestId);
+      }
+
+      @Override
+      public byte[] sendFrameToDevice(byte[] frame, String exchangeMode) {
+        // An empty reply would read as a missing response, so fail and let the activity retry
+        throw new IllegalStateException("Unable to send APDU frame to device. Cause: " + cause.getMessage(), cause);
+      }
     };
   }
 }
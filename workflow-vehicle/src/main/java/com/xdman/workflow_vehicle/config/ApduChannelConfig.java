@@ -0,0 +1,19 @@
+package com.xdman.workflow_vehicle.config;
+
+import com.xdman.spake2plus_core.transport.ChannelDispatcher;
+import com.xdman.workflow_vehicle.service.SendToVehicleService;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Target of the peer APDU channel set up by spake2plus-core: calls from the device go into the vehicle workflow
+ * like /apdu/sendToVehicle does
+ */
+@Configuration
+public class ApduChannelConfig {
+
+  @Bean
+  public ChannelDispatcher.FrameHandler apduFrameHandler(SendToVehicleService sendToVehicleService) {
+	return sendToVehicleService::receiveFrameFromDevice;
+  }
+}
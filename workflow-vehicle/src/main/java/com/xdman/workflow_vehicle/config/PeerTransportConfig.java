@@ -0,0 +1,22 @@
+package com.xdman.workflow_vehicle.config;
+
+import com.xdman.spake2plus_core.transport.PeerTransportConfiguration;
+import feign.Client;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class PeerTransportConfig {
+
+  /**
+   * HTTP client for the peer Feign client, built by spake2plus-core for the client's URL
+   */
+  @Bean
+  public Client peerTransportClient(
+	PeerTransportConfiguration.ClientFactory peerTransportClientFactory,
+	@Value("${api.sbod.endpoint}") String peerUrl
+  ) {
+	return peerTransportClientFactory.create(peerUrl);
+  }
+}
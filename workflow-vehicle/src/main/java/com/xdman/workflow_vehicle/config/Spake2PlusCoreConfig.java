@@ -0,0 +1,25 @@
+package com.xdman.workflow_vehicle.config;
+
+import com.xdman.spake2plus_core.crypto.Spake2PlusCryptoConfiguration;
+import com.xdman.spake2plus_core.temporal.Spake2PlusDataConverterConfiguration;
+import com.xdman.spake2plus_core.temporal.Spake2PlusFullCycleActivityImpl;
+import com.xdman.spake2plus_core.temporal.Spake2PlusWorkerConfiguration;
+import com.xdman.spake2plus_core.transport.ApduChannelConfiguration;
+import com.xdman.spake2plus_core.transport.PeerTransportConfiguration;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+
+/**
+ * Beans shared with the other application, declared once in spake2plus-core
+ */
+@Configuration
+@Import({
+  Spake2PlusCryptoConfiguration.class,
+  Spake2PlusDataConverterConfiguration.class,
+  Spake2PlusFullCycleActivityImpl.class,
+  Spake2PlusWorkerConfiguration.class,
+  PeerTransportConfiguration.class,
+  ApduChannelConfiguration.class
+})
+public class Spake2PlusCoreConfig {
+}
@@ -0,0 +1,28 @@
+package com.xdman.workflow_vehicle.config;
+
+import com.xdman.workflow_vehicle.store.Spake2PlusVerifierStore;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+@Configuration
+public class Spake2PlusVerifierStoreConfig {
+
+  @Bean(destroyMethod = "close")
+  public Spake2PlusVerifierStore spake2PlusVerifierStore(
+	@Value("${spake2plus.verifier-store.path:data/spake2plus-verifiers.bin}") Path path
+  ) {
+	return new Spake2PlusVerifierStore(path);
+  }
+
+  @Bean
+  public MeterBinder verifierStoreMetrics(Spake2PlusVerifierStore verifierStore) {
+	return registry -> Gauge.builder("spake2plus.verifier.store.size", verifierStore, Spake2PlusVerifierStore::size)
+	  .description("Number of VINs with a provisioned SPAKE2+ verifier")
+	  .register(registry);
+  }
+}
@@ -1,6 +1,7 @@
 package com.xdman.workflow_vehicle.config;
 
 import io.temporal.activity.ActivityOptions;
+import io.temporal.activity.LocalActivityOptions;
 import io.temporal.client.WorkflowOptions;
 import io.temporal.common.RetryOptions;
 
@@ -32,4 +33,13 @@ public class WorkFlowConfig {
 		.setRetryOptions(retryoptions)
 		.build();
   }
+
+  public static LocalActivityOptions defaultLocalActivityOptions() {
+	return
+	  LocalActivityOptions.newBuilder()
+		// Covers the two scrypt derivations of a full cycle; a local activity has no heartbeat
+		.setStartToCloseTimeout(Duration.ofSeconds(10))
+		.setRetryOptions(retryoptions)
+		.build();
+  }
 }
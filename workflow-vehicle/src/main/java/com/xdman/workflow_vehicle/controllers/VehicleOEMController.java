@@ -1,19 +1,25 @@
 package com.xdman.workflow_vehicle.controllers;
 
+import com.xdman.spake2plus_core.model.ExchangeMode;
+import com.xdman.spake2plus_core.transport.ApduFrame;
 import com.xdman.workflow_vehicle.model.request.SendToVehicleRequest;
 import com.xdman.workflow_vehicle.model.request.StartFullOwnerPairingRequest;
+import com.xdman.workflow_vehicle.model.response.ProvisionVerifierResponse;
 import com.xdman.workflow_vehicle.model.response.ReceivedFromVehicleResponse;
 import com.xdman.workflow_vehicle.model.response.SendToVehicleResponse;
 import com.xdman.workflow_vehicle.model.response.StartFullOwnerPairingResponse;
 import com.xdman.workflow_vehicle.service.SbodService;
 import com.xdman.workflow_vehicle.service.SendToVehicleService;
+import com.xdman.workflow_vehicle.service.VerifierProvisioningService;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
@@ -23,6 +29,8 @@ public class VehicleOEMController {
   private SendToVehicleService sendToVehicleService;
   @Autowired
   private SbodService sbodService;
+  @Autowired
+  private VerifierProvisioningService verifierProvisioningService;
 
   @PostMapping(value = "/startFullOwnerPairingCycle/{vin}")
   ResponseEntity<StartFullOwnerPairingResponse> receivedFromVehicle(
@@ -52,6 +60,31 @@ public class VehicleOEMController {
 	}
   }
 
+  /**
+   * Binary counterpart of /sendToVehicle/{vin}: the body is an {@link ApduFrame}, the reply the raw next
+   * command APDU in update mode and empty in signal mode. Unlike the JSON endpoint, failures are not folded
+   * into a 200, since an error text cannot be told apart from an APDU; a malformed frame is a 400.
+   */
+  @PostMapping(
+	value = "/apdu/sendToVehicle",
+	consumes = MediaType.APPLICATION_OCTET_STREAM_VALUE,
+	produces = MediaType.APPLICATION_OCTET_STREAM_VALUE
+  )
+  ResponseEntity<byte[]> sendFrameToVehicle(
+	@RequestBody byte[] frame,
+	@RequestHeader(value = ExchangeMode.HEADER, required = false) String exchangeMode
+  ) {
+	ApduFrame apduFrame;
+	try {
+	  apduFrame = ApduFrame.decode(frame);
+	} catch (IllegalArgumentException e) {
+	  log.warn("Rejected malformed APDU frame: {}", e.getMessage());
+	  return ResponseEntity.badRequest().build();
+	}
+	byte[] reply = sendToVehicleService.receiveFrameFromDevice(apduFrame, ExchangeMode.of(exchangeMode));
+	return new ResponseEntity<>(reply, HttpStatus.OK);
+  }
+
   @PostMapping(value = "/startOwnerPairing/{vin}")
   ResponseEntity<SendToVehicleResponse> startOwnerPairing(
 	@PathVariable("vin") String vin,
@@ -62,6 +95,16 @@ public class VehicleOEMController {
 	return new ResponseEntity<>(response, HttpStatus.OK);
   }
 
+  @PostMapping(value = "/provisionVerifier/{vin}")
+  ResponseEntity<ProvisionVerifierResponse> provisionVerifier(
+	@PathVariable("vin") String vin,
+	@RequestBody StartFullOwnerPairingRequest request
+  ){
+	String message = verifierProvisioningService.provisionVerifier(vin, request.password(), request.salt());
+	ProvisionVerifierResponse response = new ProvisionVerifierResponse(message);
+	return new ResponseEntity<>(response, HttpStatus.OK);
+  }
+
   @PostMapping(value = "/testSbodReceiveFromVehicle/{vin}")
   ResponseEntity<ReceivedFromVehicleResponse> testSbodReceiveFromVehicle(@PathVariable String vin){
 	ReceivedFromVehicleResponse response = sbodService.receiveFromVehicle(vin, "803000002F5B0201005C0201007F5020C0100102030405060708090A0B0C0D0E0F10C10400001000C2020008C3020001D602000300");
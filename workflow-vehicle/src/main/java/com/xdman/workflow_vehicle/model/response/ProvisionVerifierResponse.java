@@ -0,0 +1,6 @@
+package com.xdman.workflow_vehicle.model.response;
+
+public record ProvisionVerifierResponse(
+  String message
+) {
+}
@@ -1,17 +1,48 @@
 package com.xdman.workflow_vehicle.service;
 
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.model.ExchangeMode;
+import com.xdman.spake2plus_core.transport.ApduFrame;
+import com.xdman.spake2plus_core.transport.PeerChannel;
+import com.xdman.spake2plus_core.transport.PeerChannelUnavailableException;
+import com.xdman.spake2plus_core.transport.WireFormat;
 import com.xdman.workflow_vehicle.client.SbodClient;
 import com.xdman.workflow_vehicle.model.request.ReceivedFromVehicleRequest;
 import com.xdman.workflow_vehicle.model.response.ReceivedFromVehicleResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.servlet.support.RequestContext;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
 @Service
 public class SbodService {
   private final SbodClient sbodClient;
+  private final ExchangeMode exchangeMode;
+  private final WireFormat wireFormat;
+  private final PeerChannel peerChannel;
 
-  public SbodService(SbodClient sbodClient) {
+  @Autowired
+  public SbodService(
+	SbodClient sbodClient,
+	PeerChannel peerChannel,
+	@Value("${spake2plus.exchange.mode:signal}") String exchangeMode,
+	@Value("${spake2plus.exchange.wire:json}") String wireFormat
+  ) {
 	this.sbodClient = sbodClient;
+	this.exchangeMode = ExchangeMode.of(exchangeMode);
+	this.wireFormat = WireFormat.of(wireFormat);
+	this.peerChannel = peerChannel;
+  }
+
+  public SbodService(SbodClient sbodClient, String exchangeMode, String wireFormat) {
+	this(sbodClient, null, exchangeMode, wireFormat);
+  }
+
+  public SbodService(SbodClient sbodClient, String exchangeMode) {
+	this(sbodClient, null, exchangeMode, WireFormat.JSON.name());
   }
 
   public ReceivedFromVehicleResponse receiveFromVehicle(String vin, String messagePayload, String requestId) {
@@ -19,6 +50,49 @@ public class SbodService {
 	return sbodClient.receivedFromVehicle(vin, request, requestId);
   }
 
+  public ReceivedFromVehicleResponse receiveApduFromVehicle(String vin, byte[] apdu, String requestId) {
+	if (wireFormat != WireFormat.JSON) {
+	  sendFrame(ApduFrame.command(vin, requestId, apdu), ExchangeMode.SIGNAL);
+	  return new ReceivedFromVehicleResponse("Sent APDU frame to device for vehicle " + vin);
+	}
+	// The JSON endpoint takes the APDU as a hex string
+	return receiveFromVehicle(vin, HexUtil.toHexString(apdu), requestId);
+  }
+
+  /**
+   * Sends {@code apdu} to the device. In update mode the device answers in the same call and its response
+   * APDU is returned; in signal mode this returns null and the response arrives on /sendToVehicle.
+   */
+  public byte[] exchangeApduWithSbod(String vin, byte[] apdu, String requestId) {
+	if (exchangeMode != ExchangeMode.UPDATE) {
+	  receiveApduFromVehicle(vin, apdu, requestId);
+	  return null;
+	}
+	if (wireFormat != WireFormat.JSON) {
+	  byte[] response = sendFrame(ApduFrame.command(vin, requestId, apdu), exchangeMode);
+	  return response != null ? response : new byte[0];
+	}
+	ReceivedFromVehicleResponse response = sbodClient.exchangeWithDevice(
+	  vin, new ReceivedFromVehicleRequest(HexUtil.toHexString(apdu)), requestId, exchangeMode.headerValue());
+	return ExchangeMode.replyApdu(response.message());
+  }
+
+  /**
+   * Sends a frame on the peer channel when that is the wire and it can take the call, otherwise over HTTP
+   */
+  private byte[] sendFrame(ApduFrame frame, ExchangeMode mode) {
+	if (wireFormat == WireFormat.WEBSOCKET && peerChannel != null) {
+	  try {
+		return peerChannel.exchange(frame, mode);
+	  } catch (PeerChannelUnavailableException e) {
+		// Never sent, so sending it over HTTP cannot deliver it twice
+	  } catch (IOException e) {
+		throw new UncheckedIOException(e);
+	  }
+	}
+	return sbodClient.sendFrameToDevice(frame.encode(), mode.headerValue());
+  }
+
   // Backward compatibility method - generates new UUID if no requestId provided
   public ReceivedFromVehicleResponse receiveFromVehicle(String vin, String messagePayload) {
 	return receiveFromVehicle(vin, messagePayload, java.util.UUID.randomUUID().toString());
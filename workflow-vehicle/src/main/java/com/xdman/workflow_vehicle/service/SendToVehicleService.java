@@ -1,5 +1,10 @@
 package com.xdman.workflow_vehicle.service;
 
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.model.ApduBatch;
+import com.xdman.spake2plus_core.model.ExchangeMode;
+import com.xdman.spake2plus_core.model.FullCycleMode;
+import com.xdman.spake2plus_core.transport.ApduFrame;
 import com.xdman.workflow_vehicle.workflow.Spake2PlusFullWorkFlow;
 import com.xdman.workflow_vehicle.workflow.Spake2PlusVehicleWorkFlow;
 import io.temporal.client.WorkflowClient;
@@ -7,10 +12,12 @@ import io.temporal.client.WorkflowOptions;
 import jakarta.servlet.http.HttpServletRequest;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
+import java.util.Map;
 import java.util.Objects;
 import java.util.UUID;
 
@@ -23,6 +30,13 @@ public class SendToVehicleService {
   @Autowired
   private WorkflowClient workflowClient;
 
+  @Value("${spake2plus.full-cycle.mode:activities}")
+  private String fullCycleMode;
+
+  // Send SELECT and the SPAKE2+ request to the device in one batch; recorded in the memo of each pairing
+  @Value("${spake2plus.exchange.pipeline-select:false}")
+  private boolean pipelineSelect;
+
   public String startFullOwnerPairingCycle(String vin, String password, String salt) {
     if (password == null || salt == null) {
       throw new IllegalArgumentException("Invalid Password and Salt format");
@@ -37,6 +51,7 @@ public class SendToVehicleService {
       WorkflowOptions.newBuilder()
         .setTaskQueue("Spake2PlusTaskQueue")
         .setWorkflowId(requestId)
+        .setMemo(Map.of(FullCycleMode.MEMO_KEY, FullCycleMode.of(fullCycleMode).memoValue()))
         .build());
     return workFlow.processFullCycleOwnerPairing(requestId, password, salt);
   }
@@ -47,12 +62,36 @@ public class SendToVehicleService {
     }
 
     log.info("Received message from vehicle VIN: {}, Message: {}", vin, message);
-    log.info("Verify command detected, signaling workflow");
     String requestId = getRequestIdFromContext();
+    if (getExchangeModeFromContext() == ExchangeMode.UPDATE) {
+      // The device gets the vehicle's next command APDU back in this call
+      return exchangeWithWorkFlow(requestId, message);
+    }
+    log.info("Verify command detected, signaling workflow");
     log.info("requestId for signaling: {}", requestId);
     return signalWorkFlow(requestId, message);
   }
 
+  /**
+   * Binary counterpart of {@link #sendToVehicle}, with the request id taken from the frame. Returns the next
+   * command APDU in update mode (empty once pairing is done) and an empty array in signal mode.
+   */
+  public byte[] receiveFrameFromDevice(ApduFrame frame, ExchangeMode exchangeMode) {
+    log.info("Received {} frame from device for VIN: {}, requestId: {}", frame.step(), frame.vin(), frame.requestId());
+    Spake2PlusVehicleWorkFlow workFlow = workflowClient.newWorkflowStub(Spake2PlusVehicleWorkFlow.class, frame.requestId());
+    if (exchangeMode == ExchangeMode.UPDATE) {
+      return workFlow.exchangeApdu(frame.apdu());
+    }
+    try {
+      // The signal carries hex, as it always has, so recorded histories replay
+      workFlow.receiveMessageFromVehicle(HexUtil.toHexString(frame.apdu()));
+    } catch (Exception e) {
+      // As on the JSON endpoint, device-initiated flows have no vehicle workflow to signal
+      log.warn("No vehicle workflow with requestId {} to signal: {}", frame.requestId(), e.getMessage());
+    }
+    return new byte[0];
+  }
+
   public String startOwnerPairingCycle(String vin, String password, String salt) {
     if (password == null || salt == null) {
       throw new IllegalArgumentException("Invalid Password and Salt format");
@@ -65,6 +104,7 @@ public class SendToVehicleService {
       WorkflowOptions.newBuilder()
         .setTaskQueue("Spake2PlusTaskQueue")
         .setWorkflowId(requestId)
+        .setMemo(Map.of(ApduBatch.MEMO_KEY, String.valueOf(pipelineSelect)))
         .build());
     return workFlow.startVehicleWorkflow(vin, password, salt, requestId);
   }
@@ -85,6 +125,26 @@ public class SendToVehicleService {
     }
   }
 
+  /**
+   * Runs the message through the vehicle workflow's exchangeApdu update and returns the next command APDU as
+   * hex, empty once pairing is done
+   */
+  private String exchangeWithWorkFlow(String requestId, String tlvMessage) {
+    log.info("Exchanging message with vehicle workflow, requestId: {}", requestId);
+    Spake2PlusVehicleWorkFlow workFlow = workflowClient.newWorkflowStub(Spake2PlusVehicleWorkFlow.class, requestId);
+    byte[] command = workFlow.exchangeApdu(HexUtil.parseHex(tlvMessage));
+    return HexUtil.toHexString(command);
+  }
+
+  private ExchangeMode getExchangeModeFromContext() {
+    try {
+      HttpServletRequest requestHeader = ((ServletRequestAttributes) Objects.requireNonNull(RequestContextHolder.getRequestAttributes())).getRequest();
+      return ExchangeMode.of(requestHeader.getHeader(ExchangeMode.HEADER));
+    } catch (Exception e) {
+      return ExchangeMode.SIGNAL;
+    }
+  }
+
   /**
    * Safely extracts x-requestId from the current request context.
    * If no x-requestId is found or request context is not available, generates a new UUID.
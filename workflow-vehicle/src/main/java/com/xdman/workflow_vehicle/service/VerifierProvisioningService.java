@@ -0,0 +1,32 @@
+package com.xdman.workflow_vehicle.service;
+
+import com.xdman.spake2plus_core.model.Spake2PlusVerifier;
+import com.xdman.workflow_vehicle.store.Spake2PlusVerifierStore;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+@Service
+@Slf4j
+public class VerifierProvisioningService {
+  private final Spake2PlusVehicleService spake2PlusVehicleService;
+  private final Spake2PlusVerifierStore verifierStore;
+
+  public VerifierProvisioningService(Spake2PlusVehicleService spake2PlusVehicleService, Spake2PlusVerifierStore verifierStore) {
+	this.spake2PlusVehicleService = spake2PlusVehicleService;
+	this.verifierStore = verifierStore;
+  }
+
+  /**
+   * Runs scrypt once for the vehicle and stores (w0, L, salt, scrypt parameters) so later pairings
+   * for this VIN skip the derivation
+   */
+  public String provisionVerifier(String vin, String password, String salt) {
+	if (vin == null || password == null || salt == null) {
+	  throw new IllegalArgumentException("Invalid VIN, Password or Salt format");
+	}
+	Spake2PlusVerifier verifier = spake2PlusVehicleService.createVerifier(vin, password, salt);
+	verifierStore.put(verifier);
+	log.info("Provisioned SPAKE2+ verifier for VIN: {}", vin);
+	return "SPAKE2+ verifier provisioned for vehicle " + vin;
+  }
+}
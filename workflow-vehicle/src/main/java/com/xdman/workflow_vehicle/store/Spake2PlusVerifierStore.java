@@ -0,0 +1,197 @@
+package com.xdman.workflow_vehicle.store;
+
+import com.xdman.spake2plus_core.model.Spake2PlusVerifier;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.zip.CRC32;
+
+/**
+ * Per-VIN registry of provisioned SPAKE2+ verifiers, backed by an append-only binary file and
+ * served from an in-memory index.
+ * <p>
+ * File layout (big-endian): a 5-byte header {@code "SPVS" || version}, then one record per
+ * provisioning {@code u2 length || payload || u4 CRC32(payload)} where the payload is
+ * <pre>
+ * u1 vinLength || vin (ASCII) || w0 (32 bytes) || L (65 bytes, uncompressed) ||
+ * u1 saltLength || salt || u4 Nscrypt || u2 r || u2 p
+ * </pre>
+ * A later record for the same VIN replaces the earlier one. A torn or corrupt tail, e.g. from a
+ * crash during an append, is truncated when the file is loaded.
+ */
+@Slf4j
+public class Spake2PlusVerifierStore implements Closeable {
+  private static final int MAGIC = 0x53505653; // "SPVS"
+  private static final byte VERSION = 1;
+  private static final int HEADER_LENGTH = 5;
+  private static final int SCALAR_LENGTH = 32;
+  private static final int POINT_LENGTH = 65;
+
+  private final Map<String, Spake2PlusVerifier> index = new ConcurrentHashMap<>();
+  private final FileChannel channel;
+
+  public Spake2PlusVerifierStore(Path path) {
+	try {
+	  if (path.getParent() != null) {
+		Files.createDirectories(path.getParent());
+	  }
+	  this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+	  load(path);
+	} catch (IOException e) {
+	  throw new UncheckedIOException("Failed to open SPAKE2+ verifier store " + path, e);
+	}
+  }
+
+  /**
+   * Looks up the verifier provisioned for {@code vin}
+   */
+  public Optional<Spake2PlusVerifier> find(String vin) {
+	return Optional.ofNullable(index.get(vin));
+  }
+
+  /**
+   * Persists {@code verifier} and makes it visible to {@link #find(String)}, replacing any earlier
+   * verifier for the same VIN
+   */
+  public synchronized void put(Spake2PlusVerifier verifier) {
+	byte[] payload = encode(verifier);
+	CRC32 crc = new CRC32();
+	crc.update(payload);
+
+	ByteBuffer record = ByteBuffer.allocate(2 + payload.length + 4);
+	record.putShort((short) payload.length).put(payload).putInt((int) crc.getValue());
+	record.flip();
+	try {
+	  channel.position(channel.size());
+	  while (record.hasRemaining()) {
+		channel.write(record);
+	  }
+	  channel.force(false);
+	} catch (IOException e) {
+	  throw new UncheckedIOException("Failed to persist SPAKE2+ verifier for VIN " + verifier.vin(), e);
+	} finally {
+	  Arrays.fill(payload, (byte) 0);
+	}
+	index.put(verifier.vin(), verifier);
+  }
+
+  public int size() {
+	return index.size();
+  }
+
+  @Override
+  public synchronized void close() throws IOException {
+	channel.close();
+  }
+
+  private void load(Path path) throws IOException {
+	if (channel.size() == 0) {
+	  ByteBuffer header = ByteBuffer.allocate(HEADER_LENGTH).putInt(MAGIC).put(VERSION);
+	  header.flip();
+	  channel.write(header, 0);
+	  channel.force(true);
+	  return;
+	}
+
+	long validLength = HEADER_LENGTH;
+	DataInputStream in = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel.position(0))));
+	if (in.readInt() != MAGIC || in.readByte() != VERSION) {
+	  throw new IOException("Not a SPAKE2+ verifier store (version " + VERSION + "): " + path);
+	}
+
+	while (true) {
+	  try {
+		int length = in.readUnsignedShort();
+		byte[] payload = new byte[length];
+		in.readFully(payload);
+		int checksum = in.readInt();
+
+		CRC32 crc = new CRC32();
+		crc.update(payload);
+		if ((int) crc.getValue() != checksum) {
+		  log.warn("Corrupt SPAKE2+ verifier record at offset {} in {}", validLength, path);
+		  break;
+		}
+		Spake2PlusVerifier verifier = decode(payload);
+		Arrays.fill(payload, (byte) 0);
+		index.put(verifier.vin(), verifier);
+		validLength += 2 + length + 4;
+	  } catch (EOFException e) {
+		break;
+	  }
+	}
+
+	if (validLength < channel.size()) {
+	  log.warn("Truncating SPAKE2+ verifier store {} from {} to {} bytes", path, channel.size(), validLength);
+	  channel.truncate(validLength);
+	  channel.force(true);
+	}
+	log.info("Loaded {} SPAKE2+ verifiers from {}", index.size(), path);
+  }
+
+  private static byte[] encode(Spake2PlusVerifier verifier) {
+	byte[] vin = verifier.vin().getBytes(StandardCharsets.US_ASCII);
+	if (vin.length > 0xFF || verifier.salt().length > 0xFF) {
+	  throw new IllegalArgumentException("VIN and salt must each be at most 255 bytes");
+	}
+	if (verifier.L().length != POINT_LENGTH) {
+	  throw new IllegalArgumentException("L must be an uncompressed P-256 point");
+	}
+
+	ByteBuffer buffer = ByteBuffer.allocate(1 + vin.length + SCALAR_LENGTH + POINT_LENGTH + 1 + verifier.salt().length + 8);
+	buffer.put((byte) vin.length).put(vin);
+	buffer.put(toFixedLength(verifier.w0()));
+	buffer.put(verifier.L());
+	buffer.put((byte) verifier.salt().length).put(verifier.salt());
+	buffer.putInt(verifier.scryptCost());
+	buffer.putShort((short) verifier.blockSize());
+	buffer.putShort((short) verifier.parallelization());
+	return buffer.array();
+  }
+
+  private static Spake2PlusVerifier decode(byte[] payload) {
+	ByteBuffer buffer = ByteBuffer.wrap(payload);
+	byte[] vin = new byte[buffer.get() & 0xFF];
+	buffer.get(vin);
+	byte[] w0 = new byte[SCALAR_LENGTH];
+	buffer.get(w0);
+	byte[] L = new byte[POINT_LENGTH];
+	buffer.get(L);
+	byte[] salt = new byte[buffer.get() & 0xFF];
+	buffer.get(salt);
+	int scryptCost = buffer.getInt();
+	int blockSize = buffer.getShort() & 0xFFFF;
+	int parallelization = buffer.getShort() & 0xFFFF;
+
+	Spake2PlusVerifier verifier = new Spake2PlusVerifier(
+	  new String(vin, StandardCharsets.US_ASCII), new BigInteger(1, w0), L, salt, scryptCost, blockSize, parallelization);
+	Arrays.fill(w0, (byte) 0);
+	return verifier;
+  }
+
+  private static byte[] toFixedLength(BigInteger value) {
+	byte[] bytes = value.toByteArray();
+	byte[] fixed = new byte[SCALAR_LENGTH];
+	int length = Math.min(bytes.length, SCALAR_LENGTH);
+	System.arraycopy(bytes, bytes.length - length, fixed, SCALAR_LENGTH - length, length);
+	Arrays.fill(bytes, (byte) 0);
+	return fixed;
+  }
+}
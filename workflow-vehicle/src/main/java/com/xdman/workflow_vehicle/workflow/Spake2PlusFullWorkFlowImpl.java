@@ -1,14 +1,18 @@
 package com.xdman.workflow_vehicle.workflow;
 
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.model.FullCycleMode;
+import com.xdman.spake2plus_core.model.Spake2PlusRequestWrapper;
+import com.xdman.spake2plus_core.model.Spake2PlusResponseWrapper;
+import com.xdman.spake2plus_core.model.tlv.ResponseToSelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.SelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
+import com.xdman.spake2plus_core.temporal.Spake2PlusFullCycleActivity;
+import com.xdman.spake2plus_core.temporal.WorkflowCodec;
 import com.xdman.workflow_vehicle.activity.Spake2PlusDeviceActivity;
 import com.xdman.workflow_vehicle.activity.Spake2PlusVehicleActivity;
 import com.xdman.workflow_vehicle.config.WorkFlowConfig;
-import com.xdman.workflow_vehicle.model.Spake2PlusRequestWrapper;
-import com.xdman.workflow_vehicle.model.Spake2PlusResponseWrapper;
-import com.xdman.workflow_vehicle.model.tlv.ResponseToSelectCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.SelectCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusVerifyCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusVerifyResponseTlv;
 import io.temporal.spring.boot.WorkflowImpl;
 import io.temporal.workflow.Workflow;
 import lombok.extern.slf4j.Slf4j;
@@ -27,11 +31,27 @@ public class Spake2PlusFullWorkFlowImpl implements Spake2PlusFullWorkFlow {
     WorkFlowConfig.defaultActivityOptions()
   );
 
+  private final Spake2PlusFullCycleActivity fullCycleActivity = Workflow.newLocalActivityStub(
+    Spake2PlusFullCycleActivity.class,
+    WorkFlowConfig.defaultLocalActivityOptions()
+  );
+
   @Override
   public String processFullCycleOwnerPairing(String vin,String password, String salt) {
-    String selectCommandTlv = vehicleActivity.createSelectCommandSuccessfully(vin);
-	log.info("Select Command: {}", selectCommandTlv);
-    ResponseToSelectCommandTlv responseToSelectCommandTlv = deviceActivity.processSelectCommandSuccessfully(new SelectCommandTlv().decode(selectCommandTlv));
+    if (FullCycleMode.of(Workflow.getMemo(FullCycleMode.MEMO_KEY, String.class)) == FullCycleMode.FUSED) {
+      // One local activity: a marker event instead of a scheduled activity per step
+      return fullCycleActivity.runFullCycleOwnerPairingSuccessfully(vin, password, salt);
+    }
+
+    // The SELECT exchange involves no crypto or I/O, so it is answered in workflow code
+    boolean inlineCodec = WorkflowCodec.inline();
+    byte[] selectCommandTlv = inlineCodec
+      ? new SelectCommandTlv().encodeBytes()
+      : HexUtil.parseHex(vehicleActivity.createSelectCommandSuccessfully(vin));
+	log.info("Select Command: {}", HexUtil.toHexString(selectCommandTlv));
+    ResponseToSelectCommandTlv responseToSelectCommandTlv = inlineCodec
+      ? ResponseToSelectCommandTlv.startedWithPassword()
+      : deviceActivity.processSelectCommandSuccessfully(new SelectCommandTlv().decode(selectCommandTlv));
     Spake2PlusRequestWrapper requestWrapper = vehicleActivity.createSpake2PlusRequestSuccessfully(password, salt);
     log.info("SPAKE2+ Request: " + requestWrapper.request().encode());
     Spake2PlusResponseWrapper responseWrapper = deviceActivity.processSpake2PlusRequestSuccessfully(requestWrapper.request(), password);
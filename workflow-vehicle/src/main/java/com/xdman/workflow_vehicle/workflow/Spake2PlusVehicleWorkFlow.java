@@ -1,6 +1,8 @@
 package com.xdman.workflow_vehicle.workflow;
 
 import io.temporal.workflow.SignalMethod;
+import io.temporal.workflow.UpdateMethod;
+import io.temporal.workflow.UpdateValidatorMethod;
 import io.temporal.workflow.WorkflowInterface;
 import io.temporal.workflow.WorkflowMethod;
 
@@ -10,4 +12,12 @@ public interface Spake2PlusVehicleWorkFlow {
   String startVehicleWorkflow(String vin, String password, String salt, String requestId);
   @SignalMethod
   void receiveMessageFromVehicle(String messagePayload);
+  /**
+   * Delivers a response APDU from the device and returns the vehicle's next command APDU, or an empty
+   * array after the VERIFY response
+   */
+  @UpdateMethod
+  byte[] exchangeApdu(byte[] apdu);
+  @UpdateValidatorMethod(updateName = "exchangeApdu")
+  void validateExchangeApdu(byte[] apdu);
 }
@@ -1,25 +1,45 @@
 package com.xdman.workflow_vehicle.workflow;
 
-
+import com.payneteasy.tlv.HexUtil;
+import com.xdman.spake2plus_core.model.ApduBatch;
+import com.xdman.spake2plus_core.model.Spake2PlusDeviceData;
+import com.xdman.spake2plus_core.model.Spake2PlusRequestWrapper;
+import com.xdman.spake2plus_core.model.tlv.ResponseToSelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.SelectCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusRequestResponseTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyCommandTlv;
+import com.xdman.spake2plus_core.model.tlv.Spake2PlusVerifyResponseTlv;
+import com.xdman.spake2plus_core.temporal.WorkflowCodec;
 import com.xdman.workflow_vehicle.activity.Spake2PlusDeviceActivity;
 import com.xdman.workflow_vehicle.activity.Spake2PlusVehicleActivity;
 import com.xdman.workflow_vehicle.config.WorkFlowConfig;
-import com.xdman.workflow_vehicle.model.Spake2PlusDeviceData;
-import com.xdman.workflow_vehicle.model.Spake2PlusRequestWrapper;
-import com.xdman.workflow_vehicle.model.tlv.ResponseToSelectCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.SelectCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusRequestResponseTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusVerifyCommandTlv;
-import com.xdman.workflow_vehicle.model.tlv.Spake2PlusVerifyResponseTlv;
 import io.temporal.spring.boot.WorkflowImpl;
+import io.temporal.workflow.Async;
+import io.temporal.workflow.Promise;
 import io.temporal.workflow.Workflow;
 import lombok.extern.slf4j.Slf4j;
 
+import java.util.List;
+
 @Slf4j
 @WorkflowImpl(taskQueues = "Spake2PlusTaskQueue")
 public class Spake2PlusVehicleWorkFlowImpl implements Spake2PlusVehicleWorkFlow {
-  private String message = "";
+  // Workflow.getVersion change id for building the SPAKE2+ request from a provisioned verifier when there is one
+  static final String PROVISIONED_VERIFIER_CHANGE = "provisioned-verifier-request";
+  // Workflow.getVersion change id for sending every command through exchangeApduSuccessfully
+  static final String EXCHANGE_ACTIVITY_CHANGE = "exchange-apdu-activity";
+  // Workflow.getVersion change id for creating the SPAKE2+ request concurrently with the SELECT exchange
+  static final String PARALLEL_REQUEST_CHANGE = "request-parallel-to-select";
+  // Workflow.getVersion change id for sending SELECT and the SPAKE2+ request as one batch
+  static final String PIPELINED_BATCH_CHANGE = "pipelined-select-request";
+
+  private byte[] message;         // Next APDU from the device, taken by the workflow method
+  private boolean replyPending;   // The APDU being processed came through exchangeApdu
+  private byte[] reply;           // Next command handed back to the pending exchangeApdu
   private Spake2PlusDeviceData config;
+  private boolean inlineCodec;    // Encode and decode in workflow code rather than in activities (WorkflowCodec)
+  private boolean provisionedVerifier;  // Request from the verifier store; older executions always run scrypt
+  private boolean exchangeActivity;     // Send through exchangeApduSuccessfully; older executions use the send* activities
 
   private final Spake2PlusVehicleActivity vehicleActivity = Workflow.newActivityStub(
 	Spake2PlusVehicleActivity.class,
@@ -28,38 +48,166 @@ public class Spake2PlusVehicleWorkFlowImpl implements Spake2PlusVehicleWorkFlow
 
   @Override
   public String startVehicleWorkflow(String vin, String password, String salt, String requestId) {
-	String selectCommandTlv = vehicleActivity.createSelectCommandSuccessfully(vin);
-	String status = vehicleActivity.sendSelectCommandSuccessfully(vin, selectCommandTlv, requestId);
-	log.info("Send Select Command to Device: {}", status);
+	inlineCodec = WorkflowCodec.inline();
+	provisionedVerifier = Workflow.getVersion(PROVISIONED_VERIFIER_CHANGE, Workflow.DEFAULT_VERSION, 1) >= 1;
+	exchangeActivity = Workflow.getVersion(EXCHANGE_ACTIVITY_CHANGE, Workflow.DEFAULT_VERSION, 1) >= 1;
+	// The SPAKE2+ request (scrypt unless a verifier is provisioned) does not depend on the SELECT response:
+	// start it now and join after the SELECT round trip. Older executions derive it after the round trip.
+	Promise<Spake2PlusRequestWrapper> pendingRequest = null;
+	if (Workflow.getVersion(PARALLEL_REQUEST_CHANGE, Workflow.DEFAULT_VERSION, 1) >= 1) {
+	  pendingRequest = provisionedVerifier
+		? Async.function(vehicleActivity::createProvisionedSpake2PlusRequestSuccessfully, vin, password, salt)
+		: Async.function(vehicleActivity::createSpake2PlusRequestSuccessfully, password, salt);
+	}
+	byte[] selectCommandTlv = inlineCodec
+	  ? new SelectCommandTlv().encodeBytes()
+	  : HexUtil.parseHex(vehicleActivity.createSelectCommandSuccessfully(vin));
+	// Pipelined: the request goes out together with the SELECT, so it has to be ready first. The device
+	// answers both in one batch, or the SELECT alone if it does not take the request, which then follows
+	// step by step.
+	boolean pipelined = Boolean.parseBoolean(Workflow.getMemo(ApduBatch.MEMO_KEY, String.class))
+	  && Workflow.getVersion(PIPELINED_BATCH_CHANGE, Workflow.DEFAULT_VERSION, 1) >= 1;
+	Spake2PlusRequestWrapper requestWrapper = null;
+	byte[] exchanged;
+	if (pipelined) {
+	  requestWrapper = requestOf(pendingRequest, vin, password, salt);
+	  exchanged = send(vin, ApduBatch.encode(selectCommandTlv, requestWrapper.request().encodeBytes()), requestId,
+		vehicleActivity::sendSelectCommandSuccessfully);
+	  log.info("Sent Select Command and SPAKE2+ Request to Device in one batch");
+	} else {
+	  exchanged = send(vin, selectCommandTlv, requestId, vehicleActivity::sendSelectCommandSuccessfully);
+	  log.info("Sent Select Command to Device");
+	}
 
-	Workflow.await(()-> !message.isEmpty());
-	ResponseToSelectCommandTlv responseToSelectCommandTlv = vehicleActivity.receiveSelectResponseSuccessfully(message);
+	byte[] selectResponse = nextMessage(exchanged);
+	byte[] requestResponse = null;
+	if (pipelined && ApduBatch.isBatch(selectResponse)) {
+	  List<byte[]> responses = WorkflowCodec.decodeBatch(selectResponse);
+	  selectResponse = responses.get(0);
+	  requestResponse = responses.size() > 1 ? responses.get(1) : null;
+	}
+	ResponseToSelectCommandTlv responseToSelectCommandTlv = inlineCodec
+	  ? WorkflowCodec.decode(new ResponseToSelectCommandTlv(), selectResponse)
+	  : vehicleActivity.receiveSelectResponseSuccessfully(HexUtil.toHexString(selectResponse));
 	log.info("Select Command Response: {}", responseToSelectCommandTlv);
-	message = "";
-	Spake2PlusRequestWrapper requestWrapper = vehicleActivity.createSpake2PlusRequestSuccessfully(password, salt);
-	log.info("SPAKE2+ Request Command: {}", requestWrapper.request().encode());
-	status = vehicleActivity.sendSpake2PlusRequestSuccessfully(vin, requestWrapper.request().encode(), requestId);
-	log.info("Send SPAKE2+ Request to Device: {}", status);
-
-	Workflow.await(()-> !message.isEmpty());
-	Spake2PlusRequestResponseTlv response = vehicleActivity.receiveSpake2PlusResponseSuccessfully(message);
-	message = "";
+	if (requestWrapper == null) {
+	  requestWrapper = requestOf(pendingRequest, vin, password, salt);
+	}
+	if (requestResponse == null) {
+	  if (pipelined) {
+		log.info("Device answered the SELECT only, sending the SPAKE2+ Request step by step");
+	  }
+	  byte[] requestCommand = requestWrapper.request().encodeBytes();
+	  log.info("SPAKE2+ Request Command: {}", HexUtil.toHexString(requestCommand));
+	  exchanged = send(vin, requestCommand, requestId, vehicleActivity::sendSpake2PlusRequestSuccessfully);
+	  log.info("Sent SPAKE2+ Request to Device");
+	  requestResponse = nextMessage(exchanged);
+	}
+
+	Spake2PlusRequestResponseTlv response = inlineCodec
+	  ? WorkflowCodec.decode(new Spake2PlusRequestResponseTlv(), requestResponse)
+	  : vehicleActivity.receiveSpake2PlusResponseSuccessfully(HexUtil.toHexString(requestResponse));
 	Spake2PlusVerifyCommandTlv verifyCommandTlv = vehicleActivity.createSpake2PlusVerifyCommandSuccessfully(
 	  response,
 	  requestWrapper.config()
 	);
-	log.info("SPAKE2+ Verify Command: {}", verifyCommandTlv.encode());
-	status = vehicleActivity.sendSpake2PlusVerifyCommandSuccessfully(vin, verifyCommandTlv.encode(), requestId);
-	log.info("Send SPAKE2+ Verify Command to Device: {} ", status);
+	byte[] verifyCommand = verifyCommandTlv.encodeBytes();
+	log.info("SPAKE2+ Verify Command: {}", HexUtil.toHexString(verifyCommand));
+	exchanged = send(vin, verifyCommand, requestId, vehicleActivity::sendSpake2PlusVerifyCommandSuccessfully);
+	log.info("Sent SPAKE2+ Verify Command to Device");
 
-	Workflow.await(()-> !message.isEmpty());
-	Spake2PlusVerifyResponseTlv verifyResponseTlv = vehicleActivity.receiveSpake2PlusVerifyResponseCommandSuccessfully(message);
+	byte[] verifyResponse = nextMessage(exchanged);
+	Spake2PlusVerifyResponseTlv verifyResponseTlv = inlineCodec
+	  ? WorkflowCodec.decode(new Spake2PlusVerifyResponseTlv(), verifyResponse)
+	  : vehicleActivity.receiveSpake2PlusVerifyResponseCommandSuccessfully(HexUtil.toHexString(verifyResponse));
 	log.info("Verify Command Response: {}", verifyResponseTlv);
+
+	// Nothing follows the VERIFY response: release a pending exchangeApdu with an empty reply
+	if (replyPending) {
+	  send(vin, new byte[0], requestId, null);
+	}
+	Workflow.await(Workflow::isEveryHandlerFinished);
 	return "Full Process for vehicle " + vin + " executed successfully!";
   }
 
+  /**
+   * The SPAKE2+ request started concurrently with the SELECT, or, for executions from before that, a new one
+   */
+  private Spake2PlusRequestWrapper requestOf(Promise<Spake2PlusRequestWrapper> pendingRequest, String vin, String password, String salt) {
+	if (pendingRequest != null) {
+	  return pendingRequest.get();
+	}
+	return provisionedVerifier
+	  ? vehicleActivity.createProvisionedSpake2PlusRequestSuccessfully(vin, password, salt)
+	  : vehicleActivity.createSpake2PlusRequestSuccessfully(password, salt);
+  }
+
   @Override
   public void receiveMessageFromVehicle(String messagePayload) {
-	this.message = messagePayload;
+	// The signal keeps its hex payload so histories recorded with it still replay
+	this.message = HexUtil.parseHex(messagePayload);
+  }
+
+  @Override
+  public byte[] exchangeApdu(byte[] apdu) {
+	this.message = apdu;
+	replyPending = true;
+	Workflow.await(() -> reply != null);
+	byte[] command = reply;
+	reply = null;
+	return command;
+  }
+
+  @Override
+  public void validateExchangeApdu(byte[] apdu) {
+	if (apdu == null || apdu.length == 0) {
+	  throw new IllegalArgumentException("APDU cannot be null or empty");
+	}
+	if (replyPending || message != null) {
+	  throw new IllegalStateException("Previous APDU from device is still being processed");
+	}
+  }
+
+  /**
+   * Takes the next APDU from the device: the one that came back with the last command, or else the next
+   * signal or update.
+   */
+  private byte[] nextMessage(byte[] exchanged) {
+	if (exchanged != null && exchanged.length > 0) {
+	  return exchanged;
+	}
+	Workflow.await(() -> message != null);
+	byte[] next = message;
+	message = null;
+	return next;
+  }
+
+  /**
+   * Sends a command to the device. An APDU that came through exchangeApdu is answered in the update result;
+   * otherwise the command goes out through SBOD, and the device's response is returned if it replied with one.
+   * Executions from before exchangeApduSuccessfully send with the step's own activity, {@code stepSender},
+   * and always wait for the response signal.
+   */
+  private byte[] send(String vin, byte[] command, String requestId, StepSender stepSender) {
+	if (replyPending) {
+	  replyPending = false;
+	  reply = command;
+	  return null;
+	}
+	if (!exchangeActivity) {
+	  String status = stepSender.send(vin, HexUtil.toHexString(command), requestId);
+	  log.info("Device acknowledged: {}", status);
+	  return null;
+	}
+	return vehicleActivity.exchangeApduSuccessfully(vin, command, requestId);
+  }
+
+  /**
+   * A per-step send activity: sendSelectCommandSuccessfully, sendSpake2PlusRequestSuccessfully or
+   * sendSpake2PlusVerifyCommandSuccessfully
+   */
+  @FunctionalInterface
+  private interface StepSender {
+	String send(String vin, String command, String requestId);
   }
 }
@@ -1,5 +1,6 @@
 package com.xdman.workflow_vehicle.service;
 
+import com.xdman.spake2plus_core.transport.ApduFrame;
 import com.xdman.workflow_vehicle.base.BaseTest;
 import com.xdman.workflow_vehicle.client.SbodClient;
 import com.xdman.workflow_vehicle.model.request.ReceivedFromVehicleRequest;
@@ -263,4 +264,90 @@ class SbodServiceTest extends BaseTest {
         assertEquals(expectedResponseMessage, result.message());
         verify(sbodClient).receivedFromVehicle(eq(TEST_VIN), any(ReceivedFromVehicleRequest.class));
     }
+
+    @Test
+    @DisplayName("Should return the device response APDU in update mode")
+    void shouldReturnDeviceResponseInUpdateMode() {
+        // Given
+        SbodService updateService = new SbodService(sbodClient, "update");
+        when(sbodClient.exchangeWithDevice(eq(TEST_VIN), any(ReceivedFromVehicleRequest.class), eq(TEST_REQUEST_ID), eq("update")))
+            .thenReturn(new ReceivedFromVehicleResponse("58109000"));
+
+        // When
+        byte[] response = updateService.exchangeApduWithSbod(TEST_VIN, new byte[]{(byte) 0x80, 0x32}, TEST_REQUEST_ID);
+
+        // Then
+        assertArrayEquals(new byte[]{0x58, 0x10, (byte) 0x90, 0x00}, response);
+        verify(sbodClient).exchangeWithDevice(eq(TEST_VIN),
+            argThat(request -> request.message().equals("8032")), eq(TEST_REQUEST_ID), eq("update"));
+    }
+
+    @Test
+    @DisplayName("Should fail the exchange when the device does not reply with an APDU")
+    void shouldFailExchangeWithoutApduReply() {
+        // Given
+        SbodService updateService = new SbodService(sbodClient, "update");
+        when(sbodClient.exchangeWithDevice(anyString(), any(ReceivedFromVehicleRequest.class), anyString(), anyString()))
+            .thenReturn(new ReceivedFromVehicleResponse("Fallback response: Unable to process message"));
+
+        // When & Then
+        assertThrows(IllegalStateException.class,
+            () -> updateService.exchangeApduWithSbod(TEST_VIN, new byte[]{0x00}, TEST_REQUEST_ID));
+    }
+
+    @Test
+    @DisplayName("Should only publish the APDU in signal mode")
+    void shouldOnlyPublishInSignalMode() {
+        // Given
+        SbodService signalService = new SbodService(sbodClient, "signal");
+        when(sbodClient.receivedFromVehicle(eq(TEST_VIN), any(ReceivedFromVehicleRequest.class), eq(TEST_REQUEST_ID)))
+            .thenReturn(new ReceivedFromVehicleResponse("SPAKE2+ for vehicle started successfully!"));
+
+        // When
+        byte[] response = signalService.exchangeApduWithSbod(TEST_VIN, new byte[]{0x00}, TEST_REQUEST_ID);
+
+        // Then
+        assertNull(response);
+        verify(sbodClient, never()).exchangeWithDevice(anyString(), any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should send an APDU frame and return the raw reply on the binary wire")
+    void shouldExchangeFrameOnBinaryWire() {
+        // Given
+        SbodService binaryService = new SbodService(sbodClient, "update", "binary");
+        byte[] verifyCommand = {(byte) 0x80, 0x32, 0x00, 0x00};
+        when(sbodClient.sendFrameToDevice(any(byte[].class), eq("update")))
+            .thenReturn(new byte[]{0x58, 0x10, (byte) 0x90, 0x00});
+
+        // When
+        byte[] response = binaryService.exchangeApduWithSbod(TEST_VIN, verifyCommand, TEST_REQUEST_ID);
+
+        // Then
+        assertArrayEquals(new byte[]{0x58, 0x10, (byte) 0x90, 0x00}, response);
+        verify(sbodClient).sendFrameToDevice(argThat(frame -> {
+            ApduFrame decoded = ApduFrame.decode(frame);
+            return decoded.vin().equals(TEST_VIN)
+                && decoded.requestId().equals(TEST_REQUEST_ID)
+                && decoded.step() == ApduFrame.Step.VERIFY
+                && java.util.Arrays.equals(verifyCommand, decoded.apdu());
+        }), eq("update"));
+        verify(sbodClient, never()).exchangeWithDevice(anyString(), any(), anyString(), anyString());
+    }
+
+    @Test
+    @DisplayName("Should send the APDU frame in signal mode on the binary wire")
+    void shouldSendFrameInSignalModeOnBinaryWire() {
+        // Given
+        SbodService binaryService = new SbodService(sbodClient, "signal", "binary");
+        when(sbodClient.sendFrameToDevice(any(byte[].class), eq("signal"))).thenReturn(new byte[0]);
+
+        // When
+        byte[] response = binaryService.exchangeApduWithSbod(TEST_VIN, new byte[]{0x00, (byte) 0xA4, 0x04, 0x00}, TEST_REQUEST_ID);
+
+        // Then
+        assertNull(response);
+        verify(sbodClient).sendFrameToDevice(argThat(frame -> ApduFrame.decode(frame).step() == ApduFrame.Step.SELECT), eq("signal"));
+        verify(sbodClient, never()).receivedFromVehicle(anyString(), any(), anyString());
+    }
 }
@@ -1,5 +1,8 @@
 package com.xdman.workflow_vehicle.service;
 
+import com.xdman.spake2plus_core.model.ExchangeMode;
+import com.xdman.spake2plus_core.model.ApduBatch;
+import com.xdman.spake2plus_core.model.FullCycleMode;
 import com.xdman.workflow_vehicle.base.BaseTest;
 import com.xdman.workflow_vehicle.workflow.Spake2PlusFullWorkFlow;
 import com.xdman.workflow_vehicle.workflow.Spake2PlusVehicleWorkFlow;
@@ -9,9 +12,11 @@ import jakarta.servlet.http.HttpServletRequest;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockedStatic;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.context.request.RequestContextHolder;
 import org.springframework.web.context.request.ServletRequestAttributes;
 
@@ -73,6 +78,52 @@ class SendToVehicleServiceTest extends BaseTest {
         }
     }
 
+    @Test
+    @DisplayName("Should record the configured full cycle mode in the workflow memo")
+    void shouldRecordFullCycleModeInMemo() {
+        // Given
+        ReflectionTestUtils.setField(sendToVehicleService, "fullCycleMode", "fused");
+        ArgumentCaptor<WorkflowOptions> options = ArgumentCaptor.forClass(WorkflowOptions.class);
+
+        try (MockedStatic<RequestContextHolder> mockedRequestContextHolder = mockStatic(RequestContextHolder.class)) {
+            mockedRequestContextHolder.when(RequestContextHolder::getRequestAttributes)
+                .thenReturn(servletRequestAttributes);
+            when(servletRequestAttributes.getRequest()).thenReturn(httpServletRequest);
+            when(httpServletRequest.getHeader("x-requestId")).thenReturn(TEST_REQUEST_ID);
+            when(workflowClient.newWorkflowStub(eq(Spake2PlusFullWorkFlow.class), options.capture()))
+                .thenReturn(fullWorkFlow);
+
+            // When
+            sendToVehicleService.startFullOwnerPairingCycle(TEST_VIN, TEST_PASSWORD, TEST_SALT);
+
+            // Then
+            assertEquals("fused", options.getValue().getMemo().get(FullCycleMode.MEMO_KEY));
+        }
+    }
+
+    @Test
+    @DisplayName("Should record SELECT pipelining in the vehicle workflow memo")
+    void shouldRecordPipelinedSelectInMemo() {
+        // Given
+        ReflectionTestUtils.setField(sendToVehicleService, "pipelineSelect", true);
+        ArgumentCaptor<WorkflowOptions> options = ArgumentCaptor.forClass(WorkflowOptions.class);
+
+        try (MockedStatic<RequestContextHolder> mockedRequestContextHolder = mockStatic(RequestContextHolder.class)) {
+            mockedRequestContextHolder.when(RequestContextHolder::getRequestAttributes)
+                .thenReturn(servletRequestAttributes);
+            when(servletRequestAttributes.getRequest()).thenReturn(httpServletRequest);
+            when(httpServletRequest.getHeader("x-requestId")).thenReturn(TEST_REQUEST_ID);
+            when(workflowClient.newWorkflowStub(eq(Spake2PlusVehicleWorkFlow.class), options.capture()))
+                .thenReturn(vehicleWorkFlow);
+
+            // When
+            sendToVehicleService.startOwnerPairingCycle(TEST_VIN, TEST_PASSWORD, TEST_SALT);
+
+            // Then
+            assertEquals("true", options.getValue().getMemo().get(ApduBatch.MEMO_KEY));
+        }
+    }
+
     @Test
     @DisplayName("Should throw exception when password is null")
     void shouldThrowExceptionWhenPasswordIsNull() {
@@ -253,4 +304,30 @@ class SendToVehicleServiceTest extends BaseTest {
             verify(fullWorkFlow).processFullCycleOwnerPairing(null, TEST_PASSWORD, TEST_SALT);
         }
     }
+
+    @Test
+    @DisplayName("Should return the next command APDU when called in update mode")
+    void shouldReturnNextCommandInUpdateMode() {
+        // Given
+        try (MockedStatic<RequestContextHolder> mockedRequestContextHolder = mockStatic(RequestContextHolder.class)) {
+            mockedRequestContextHolder.when(RequestContextHolder::getRequestAttributes)
+                .thenReturn(servletRequestAttributes);
+            when(servletRequestAttributes.getRequest()).thenReturn(httpServletRequest);
+            when(httpServletRequest.getHeader("x-requestId")).thenReturn(TEST_REQUEST_ID);
+            when(httpServletRequest.getHeader(ExchangeMode.HEADER)).thenReturn("update");
+
+            when(workflowClient.newWorkflowStub(Spake2PlusVehicleWorkFlow.class, TEST_REQUEST_ID))
+                .thenReturn(vehicleWorkFlow);
+            when(vehicleWorkFlow.exchangeApdu(any(byte[].class)))
+                .thenReturn(new byte[]{(byte) 0x80, 0x32, 0x00, 0x00});
+
+            // When
+            String result = sendToVehicleService.sendToVehicle(TEST_VIN, "50029000");
+
+            // Then
+            assertEquals("80320000", result);
+            verify(vehicleWorkFlow).exchangeApdu(new byte[]{0x50, 0x02, (byte) 0x90, 0x00});
+            verify(vehicleWorkFlow, never()).receiveMessageFromVehicle(any());
+        }
+    }
 }
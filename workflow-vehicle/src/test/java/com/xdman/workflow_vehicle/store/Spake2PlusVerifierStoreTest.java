@@ -0,0 +1,122 @@
+package com.xdman.workflow_vehicle.store;
+
+import com.xdman.spake2plus_core.model.Spake2PlusVerifier;
+import com.xdman.workflow_vehicle.base.BaseTest;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@DisplayName("Spake2PlusVerifierStore Tests")
+class Spake2PlusVerifierStoreTest extends BaseTest {
+
+    @TempDir
+    Path tempDir;
+
+    private Spake2PlusVerifier createVerifier(String vin, long w0) {
+        byte[] L = createTestByteArray(65);
+        L[0] = 0x04;
+        return new Spake2PlusVerifier(vin, BigInteger.valueOf(w0), L, createTestByteArray(16), 4096, 8, 1);
+    }
+
+    @Test
+    @DisplayName("Should find a verifier after it is stored")
+    void shouldFindVerifierAfterPut() throws IOException {
+        // Given
+        try (Spake2PlusVerifierStore store = new Spake2PlusVerifierStore(tempDir.resolve("verifiers.bin"))) {
+            Spake2PlusVerifier verifier = createVerifier(TEST_VIN, 12345);
+
+            // When
+            store.put(verifier);
+
+            // Then
+            assertTrue(store.find(TEST_VIN).isPresent());
+            assertSame(verifier, store.find(TEST_VIN).get());
+            assertTrue(store.find("UNKNOWNVIN0000000").isEmpty());
+            assertEquals(1, store.size());
+        }
+    }
+
+    @Test
+    @DisplayName("Should reload verifiers from disk")
+    void shouldReloadVerifiersFromDisk() throws IOException {
+        // Given
+        Path path = tempDir.resolve("verifiers.bin");
+        Spake2PlusVerifier verifier = createVerifier(TEST_VIN, 12345);
+        try (Spake2PlusVerifierStore store = new Spake2PlusVerifierStore(path)) {
+            store.put(verifier);
+        }
+
+        // When
+        try (Spake2PlusVerifierStore reopened = new Spake2PlusVerifierStore(path)) {
+            Spake2PlusVerifier loaded = reopened.find(TEST_VIN).orElseThrow();
+
+            // Then
+            assertEquals(verifier.vin(), loaded.vin());
+            assertEquals(verifier.w0(), loaded.w0());
+            assertArrayEquals(verifier.L(), loaded.L());
+            assertArrayEquals(verifier.salt(), loaded.salt());
+            assertEquals(4096, loaded.scryptCost());
+            assertEquals(8, loaded.blockSize());
+            assertEquals(1, loaded.parallelization());
+        }
+    }
+
+    @Test
+    @DisplayName("Should keep the latest verifier when a VIN is provisioned twice")
+    void shouldKeepLatestVerifierForVin() throws IOException {
+        // Given
+        Path path = tempDir.resolve("verifiers.bin");
+        try (Spake2PlusVerifierStore store = new Spake2PlusVerifierStore(path)) {
+            store.put(createVerifier(TEST_VIN, 1));
+            store.put(createVerifier(TEST_VIN, 2));
+        }
+
+        // When
+        try (Spake2PlusVerifierStore reopened = new Spake2PlusVerifierStore(path)) {
+
+            // Then
+            assertEquals(1, reopened.size());
+            assertEquals(BigInteger.valueOf(2), reopened.find(TEST_VIN).orElseThrow().w0());
+        }
+    }
+
+    @Test
+    @DisplayName("Should truncate a torn record at the end of the file")
+    void shouldTruncateTornTail() throws IOException {
+        // Given
+        Path path = tempDir.resolve("verifiers.bin");
+        try (Spake2PlusVerifierStore store = new Spake2PlusVerifierStore(path)) {
+            store.put(createVerifier(TEST_VIN, 12345));
+        }
+        long validSize = Files.size(path);
+        Files.write(path, new byte[] {0x00, 0x7F, 0x01, 0x02}, StandardOpenOption.APPEND);
+
+        // When
+        try (Spake2PlusVerifierStore reopened = new Spake2PlusVerifierStore(path)) {
+
+            // Then
+            assertTrue(reopened.find(TEST_VIN).isPresent());
+            assertEquals(validSize, Files.size(path));
+        }
+    }
+
+    @Test
+    @DisplayName("Should reject a file that is not a verifier store")
+    void shouldRejectForeignFile() throws IOException {
+        // Given
+        Path path = tempDir.resolve("verifiers.bin");
+        Files.write(path, createTestByteArray(16));
+
+        // When & Then
+        assertThrows(UncheckedIOException.class, () -> new Spake2PlusVerifierStore(path));
+    }
+}